@@ -4,6 +4,7 @@
 package org.irods.jargon.core.checksum;
 
 import java.io.FileNotFoundException;
+import java.security.MessageDigest;
 
 import org.irods.jargon.core.exception.JargonException;
 
@@ -29,4 +30,34 @@ public abstract class AbstractChecksumComputeStrategy {
 	public abstract ChecksumValue computeChecksumValueForLocalFile(final String localFileAbsolutePath)
 			throws FileNotFoundException, JargonException;
 
+	/**
+	 * Get a fresh {@link MessageDigest} for this algorithm, so that a checksum
+	 * may be computed as data streams past during a transfer rather than by
+	 * reading the local file again afterwards. The finished digest is turned into
+	 * a {@link ChecksumValue} with {@link #computeChecksumValueFromDigest(byte[])}
+	 *
+	 * @return {@link MessageDigest}
+	 * @throws ChecksumMethodUnavailableException
+	 *             if this strategy cannot compute a checksum incrementally
+	 */
+	public MessageDigest instanceMessageDigest() throws ChecksumMethodUnavailableException {
+		throw new ChecksumMethodUnavailableException("incremental checksum not supported by this strategy");
+	}
+
+	/**
+	 * Build a {@link ChecksumValue} from a digest produced by the
+	 * {@link MessageDigest} returned from {@link #instanceMessageDigest()}
+	 *
+	 * @param digest
+	 *            {@code byte[]} with the completed digest
+	 * @return {@link ChecksumValue} in the same form as
+	 *         {@link #computeChecksumValueForLocalFile(String)} returns
+	 * @throws ChecksumMethodUnavailableException
+	 *             if this strategy cannot compute a checksum incrementally
+	 */
+	public ChecksumValue computeChecksumValueFromDigest(final byte[] digest)
+			throws ChecksumMethodUnavailableException {
+		throw new ChecksumMethodUnavailableException("incremental checksum not supported by this strategy");
+	}
+
 }
@@ -0,0 +1,33 @@
+package org.irods.jargon.core.checksum;
+
+/**
+ * Receives the results of a {@link BulkLocalChecksumService} run. Methods are
+ * called from the worker threads of the service as each file finishes, so
+ * implementations must be thread safe.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public interface BulkLocalChecksumListener {
+
+	/**
+	 * A checksum was computed, or found in the {@link LocalChecksumCache}
+	 *
+	 * @param localFileAbsolutePath
+	 *            {@code String} with the path as it was given to the service
+	 * @param checksumValue
+	 *            {@link ChecksumValue} for the file
+	 */
+	void checksumComputed(String localFileAbsolutePath, ChecksumValue checksumValue);
+
+	/**
+	 * A checksum could not be computed. The service continues with the next file.
+	 *
+	 * @param localFileAbsolutePath
+	 *            {@code String} with the path as it was given to the service
+	 * @param exception
+	 *            {@link Exception} describing the failure
+	 */
+	void checksumFailed(String localFileAbsolutePath, Exception exception);
+
+}
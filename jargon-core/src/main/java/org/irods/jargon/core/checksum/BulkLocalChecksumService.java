@@ -0,0 +1,380 @@
+package org.irods.jargon.core.checksum;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes checksums of many local files, for tree diffs, synchronization and
+ * verification after a transfer, keeping the local storage busy.
+ * <p>
+ * Several files are processed at once, each on its own worker thread. Within a
+ * file, reads are double buffered: the next block is read asynchronously while
+ * the current block is hashed, so I/O and hashing overlap. Memory use is
+ * bounded at two buffers per worker no matter how many paths are given, and
+ * paths are pulled from the caller's {@code Iterator} only as workers become
+ * free, so the paths may be produced lazily by a directory walk.
+ * <p>
+ * Checksums are computed with the strategies of the
+ * {@link LocalChecksumComputerFactory}, and a {@link LocalChecksumCache} set on
+ * the factory is consulted and updated.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class BulkLocalChecksumService {
+
+	public static final Logger log = LoggerFactory.getLogger(BulkLocalChecksumService.class);
+
+	/**
+	 * Default count of files processed at once
+	 */
+	public static final int DEFAULT_CONCURRENT_FILES = 4;
+
+	/**
+	 * Default size of each read buffer, two are used per file being processed
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+	private final LocalChecksumComputerFactory localChecksumComputerFactory;
+	private final ChecksumEncodingEnum checksumEncoding;
+	private final int concurrentFiles;
+	private final int bufferSize;
+	private final BulkLocalChecksumStatistics statistics = new BulkLocalChecksumStatistics();
+
+	/**
+	 * Create a service with the default concurrency and buffer size
+	 *
+	 * @param localChecksumComputerFactory
+	 *            {@link LocalChecksumComputerFactory}, typically from the
+	 *            {@code IRODSSession}
+	 * @param checksumEncoding
+	 *            {@link ChecksumEncodingEnum} to compute
+	 */
+	public BulkLocalChecksumService(final LocalChecksumComputerFactory localChecksumComputerFactory,
+			final ChecksumEncodingEnum checksumEncoding) {
+		this(localChecksumComputerFactory, checksumEncoding, DEFAULT_CONCURRENT_FILES, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Create a service
+	 *
+	 * @param localChecksumComputerFactory
+	 *            {@link LocalChecksumComputerFactory}, typically from the
+	 *            {@code IRODSSession}
+	 * @param checksumEncoding
+	 *            {@link ChecksumEncodingEnum} to compute
+	 * @param concurrentFiles
+	 *            {@code int} with the count of files processed at once
+	 * @param bufferSize
+	 *            {@code int} with the size of each read buffer
+	 */
+	public BulkLocalChecksumService(final LocalChecksumComputerFactory localChecksumComputerFactory,
+			final ChecksumEncodingEnum checksumEncoding, final int concurrentFiles, final int bufferSize) {
+
+		if (localChecksumComputerFactory == null) {
+			throw new IllegalArgumentException("null localChecksumComputerFactory");
+		}
+
+		if (checksumEncoding == null) {
+			throw new IllegalArgumentException("null checksumEncoding");
+		}
+
+		if (concurrentFiles <= 0) {
+			throw new IllegalArgumentException("concurrentFiles must be greater than zero");
+		}
+
+		if (bufferSize <= 0) {
+			throw new IllegalArgumentException("bufferSize must be greater than zero");
+		}
+
+		this.localChecksumComputerFactory = localChecksumComputerFactory;
+		this.checksumEncoding = checksumEncoding;
+		this.concurrentFiles = concurrentFiles;
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * Compute checksums for a stream of local files, returning when all are done.
+	 * Results and failures of individual files are reported to the listener.
+	 *
+	 * @param localFileAbsolutePaths
+	 *            {@code Iterator} of {@code String} with absolute local paths.
+	 *            It is only accessed by one thread at a time.
+	 * @param listener
+	 *            {@link BulkLocalChecksumListener} to receive results
+	 * @throws JargonException
+	 *             if the run is interrupted, or the listener throws
+	 */
+	public void computeChecksums(final Iterator<String> localFileAbsolutePaths,
+			final BulkLocalChecksumListener listener) throws JargonException {
+
+		if (localFileAbsolutePaths == null) {
+			throw new IllegalArgumentException("null localFileAbsolutePaths");
+		}
+
+		if (listener == null) {
+			throw new IllegalArgumentException("null listener");
+		}
+
+		log.info("computeChecksums() with {} concurrent files", concurrentFiles);
+
+		final AbstractChecksumComputeStrategy strategy = localChecksumComputerFactory.instance(checksumEncoding);
+		final PathSource pathSource = new PathSource(localFileAbsolutePaths);
+		final List<Callable<Void>> workers = new ArrayList<Callable<Void>>();
+		for (int i = 0; i < concurrentFiles; i++) {
+			workers.add(new ChecksumWorker(strategy, pathSource, listener));
+		}
+
+		long start = System.nanoTime();
+		ExecutorService executorService = Executors.newFixedThreadPool(concurrentFiles);
+		try {
+			List<Future<Void>> results = executorService.invokeAll(workers);
+			for (Future<Void> result : results) {
+				try {
+					result.get();
+				} catch (ExecutionException e) {
+					log.error("error in checksum worker", e.getCause());
+					throw new JargonException("error in bulk checksum", e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			log.error("interrupted computing checksums", e);
+			Thread.currentThread().interrupt();
+			throw new JargonException("interrupted computing checksums", e);
+		} finally {
+			pathSource.abort();
+			executorService.shutdownNow();
+			statistics.addElapsedNanos(System.nanoTime() - start);
+		}
+
+		log.info("bulk checksum complete:{}", statistics);
+	}
+
+	/**
+	 * Compute checksums for a collection of local files. Files that fail are left
+	 * out of the result and counted in the {@link BulkLocalChecksumStatistics}.
+	 *
+	 * @param localFileAbsolutePaths
+	 *            {@code Collection} of {@code String} with absolute local paths
+	 * @return {@code Map} of path to {@link ChecksumValue}
+	 * @throws JargonException
+	 *             if the run is interrupted
+	 */
+	public Map<String, ChecksumValue> computeChecksums(final Collection<String> localFileAbsolutePaths)
+			throws JargonException {
+
+		if (localFileAbsolutePaths == null) {
+			throw new IllegalArgumentException("null localFileAbsolutePaths");
+		}
+
+		final Map<String, ChecksumValue> checksums = new ConcurrentHashMap<String, ChecksumValue>();
+		computeChecksums(localFileAbsolutePaths.iterator(), new BulkLocalChecksumListener() {
+
+			@Override
+			public void checksumComputed(final String localFileAbsolutePath, final ChecksumValue checksumValue) {
+				checksums.put(localFileAbsolutePath, checksumValue);
+			}
+
+			@Override
+			public void checksumFailed(final String localFileAbsolutePath, final Exception exception) {
+				log.warn("unable to compute checksum for:{}", localFileAbsolutePath, exception);
+			}
+		});
+		return checksums;
+	}
+
+	/**
+	 * Get the throughput counters, accumulated across all runs of this service
+	 *
+	 * @return {@link BulkLocalChecksumStatistics}
+	 */
+	public BulkLocalChecksumStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Hands out paths to the workers one at a time
+	 */
+	private static final class PathSource {
+		private final Iterator<String> paths;
+		private boolean aborted = false;
+
+		private PathSource(final Iterator<String> paths) {
+			this.paths = paths;
+		}
+
+		synchronized String next() {
+			if (aborted || !paths.hasNext()) {
+				return null;
+			}
+			return paths.next();
+		}
+
+		synchronized void abort() {
+			aborted = true;
+		}
+	}
+
+	/**
+	 * Processes files one after another, owning a pair of read buffers
+	 */
+	private final class ChecksumWorker implements Callable<Void> {
+		private final AbstractChecksumComputeStrategy strategy;
+		private final PathSource pathSource;
+		private final BulkLocalChecksumListener listener;
+		private final ByteBuffer[] buffers = new ByteBuffer[] { ByteBuffer.allocate(bufferSize),
+				ByteBuffer.allocate(bufferSize) };
+
+		private ChecksumWorker(final AbstractChecksumComputeStrategy strategy, final PathSource pathSource,
+				final BulkLocalChecksumListener listener) {
+			this.strategy = strategy;
+			this.pathSource = pathSource;
+			this.listener = listener;
+		}
+
+		@Override
+		public Void call() throws Exception {
+			try {
+				String path;
+				while ((path = pathSource.next()) != null) {
+					if (Thread.currentThread().isInterrupted()) {
+						throw new InterruptedException("checksum worker interrupted");
+					}
+
+					ChecksumValue checksumValue;
+					try {
+						checksumValue = checksumFile(path);
+					} catch (InterruptedException e) {
+						throw e;
+					} catch (Exception e) {
+						statistics.addFileFailed();
+						listener.checksumFailed(path, e);
+						continue;
+					}
+					listener.checksumComputed(path, checksumValue);
+				}
+				return null;
+			} catch (Exception e) {
+				pathSource.abort();
+				throw e;
+			}
+		}
+
+		private ChecksumValue checksumFile(final String path) throws Exception {
+			File localFile = new File(path);
+			LocalChecksumCache cache = localChecksumComputerFactory.getLocalChecksumCache();
+			LocalChecksumCacheKey keyBefore = null;
+			if (cache != null) {
+				keyBefore = keyFor(localFile);
+				byte[] digest = cache.retrieveDigest(keyBefore, checksumEncoding);
+				if (digest != null) {
+					statistics.addFileFromCache();
+					return strategy.computeChecksumValueFromDigest(digest);
+				}
+			}
+
+			MessageDigest messageDigest;
+			try {
+				messageDigest = strategy.instanceMessageDigest();
+			} catch (ChecksumMethodUnavailableException e) {
+				log.debug("strategy cannot digest incrementally, computing from file:{}", path);
+				ChecksumValue checksumValue = strategy.computeChecksumValueForLocalFile(path);
+				statistics.addFileComputed(localFile.length(), 0, 0);
+				return checksumValue;
+			}
+
+			readAndDigest(localFile, messageDigest);
+			ChecksumValue checksumValue = strategy.computeChecksumValueFromDigest(messageDigest.digest());
+
+			if (cache != null && keyBefore.equals(keyFor(localFile))) {
+				cache.storeDigest(keyBefore, checksumEncoding, checksumValue.getBinaryChecksumValue());
+			}
+
+			return checksumValue;
+		}
+
+		/**
+		 * Read the file with one read always outstanding while the previous block
+		 * is hashed
+		 */
+		private void readAndDigest(final File localFile, final MessageDigest messageDigest) throws Exception {
+			AsynchronousFileChannel channel;
+			try {
+				channel = AsynchronousFileChannel.open(localFile.toPath(), StandardOpenOption.READ);
+			} catch (NoSuchFileException e) {
+				throw new FileNotFoundException(localFile.getAbsolutePath());
+			}
+
+			long position = 0;
+			long readWait = 0;
+			long digestTime = 0;
+			int current = 0;
+			Future<Integer> pending = null;
+			try {
+				buffers[current].clear();
+				pending = channel.read(buffers[current], position);
+				while (true) {
+					long waitStart = System.nanoTime();
+					int bytesRead = pending.get();
+					readWait += System.nanoTime() - waitStart;
+					pending = null;
+					if (bytesRead < 0) {
+						break;
+					}
+					position += bytesRead;
+
+					int next = 1 - current;
+					buffers[next].clear();
+					pending = channel.read(buffers[next], position);
+
+					long digestStart = System.nanoTime();
+					buffers[current].flip();
+					messageDigest.update(buffers[current]);
+					digestTime += System.nanoTime() - digestStart;
+					current = next;
+				}
+			} catch (ExecutionException e) {
+				throw new IOException("error reading:" + localFile.getAbsolutePath(), e.getCause());
+			} finally {
+				if (pending != null) {
+					// do not hand the buffer to the next file while a read may still fill it
+					try {
+						pending.get();
+					} catch (Exception e) {
+						log.debug("ignoring outstanding read failure after error", e);
+					}
+				}
+				channel.close();
+			}
+
+			statistics.addFileComputed(position, readWait, digestTime);
+		}
+
+		private LocalChecksumCacheKey keyFor(final File localFile) throws IOException {
+			return LocalChecksumCacheKey.instance(localFile);
+		}
+	}
+
+}
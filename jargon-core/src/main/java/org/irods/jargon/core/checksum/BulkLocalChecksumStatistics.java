@@ -0,0 +1,119 @@
+package org.irods.jargon.core.checksum;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput counters for a {@link BulkLocalChecksumService}. Counters are
+ * updated by the worker threads as files finish and may be read at any time.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class BulkLocalChecksumStatistics {
+
+	private final AtomicLong filesComputed = new AtomicLong();
+	private final AtomicLong filesFromCache = new AtomicLong();
+	private final AtomicLong filesFailed = new AtomicLong();
+	private final AtomicLong bytesRead = new AtomicLong();
+	private final AtomicLong readWaitNanos = new AtomicLong();
+	private final AtomicLong digestNanos = new AtomicLong();
+	private final AtomicLong elapsedNanos = new AtomicLong();
+
+	void addFileComputed(final long bytes, final long readWait, final long digest) {
+		filesComputed.incrementAndGet();
+		bytesRead.addAndGet(bytes);
+		readWaitNanos.addAndGet(readWait);
+		digestNanos.addAndGet(digest);
+	}
+
+	void addFileFromCache() {
+		filesFromCache.incrementAndGet();
+	}
+
+	void addFileFailed() {
+		filesFailed.incrementAndGet();
+	}
+
+	void addElapsedNanos(final long nanos) {
+		elapsedNanos.addAndGet(nanos);
+	}
+
+	/**
+	 * @return {@code long} with the count of files read and digested
+	 */
+	public long getFilesComputed() {
+		return filesComputed.get();
+	}
+
+	/**
+	 * @return {@code long} with the count of files whose digest was found in the
+	 *         {@link LocalChecksumCache}
+	 */
+	public long getFilesFromCache() {
+		return filesFromCache.get();
+	}
+
+	/**
+	 * @return {@code long} with the count of files that could not be checksummed
+	 */
+	public long getFilesFailed() {
+		return filesFailed.get();
+	}
+
+	/**
+	 * @return {@code long} with the bytes read from local files
+	 */
+	public long getBytesRead() {
+		return bytesRead.get();
+	}
+
+	/**
+	 * @return {@code long} with the nanoseconds worker threads spent waiting for
+	 *         reads, summed across threads. A value close to
+	 *         {@link #getDigestNanos()} or higher means the run is bound by the
+	 *         storage rather than by hashing.
+	 */
+	public long getReadWaitNanos() {
+		return readWaitNanos.get();
+	}
+
+	/**
+	 * @return {@code long} with the nanoseconds worker threads spent hashing,
+	 *         summed across threads
+	 */
+	public long getDigestNanos() {
+		return digestNanos.get();
+	}
+
+	/**
+	 * @return {@code long} with the wall clock nanoseconds of completed runs
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos.get();
+	}
+
+	/**
+	 * @return {@code double} with the bytes read per second of wall clock time
+	 *         of completed runs, or zero if no run has completed
+	 */
+	public double getBytesPerSecond() {
+		long elapsed = elapsedNanos.get();
+		if (elapsed == 0) {
+			return 0;
+		}
+		return bytesRead.get() * 1000000000.0 / elapsed;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("BulkLocalChecksumStatistics [filesComputed=").append(getFilesComputed())
+				.append(", filesFromCache=").append(getFilesFromCache()).append(", filesFailed=")
+				.append(getFilesFailed()).append(", bytesRead=").append(getBytesRead()).append(", readWaitNanos=")
+				.append(getReadWaitNanos()).append(", digestNanos=").append(getDigestNanos())
+				.append(", elapsedNanos=").append(getElapsedNanos()).append(", bytesPerSecond=")
+				.append(getBytesPerSecond()).append("]");
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,125 @@
+package org.irods.jargon.core.checksum;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.security.MessageDigest;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checksum strategy that consults a {@link LocalChecksumCache} before reading a
+ * local file, and delegates to the strategy for the algorithm when the file has
+ * changed or was never seen. Returned by the
+ * {@link LocalChecksumComputerFactory} when a cache is configured.
+ * <p>
+ * A computed digest is only stored when the file has the same key after the
+ * computation as before, so a file that changes while it is read is not
+ * cached. Failures of the cache are logged and the checksum is computed from
+ * the file.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class CachingLocalChecksumComputerStrategy extends AbstractChecksumComputeStrategy {
+
+	public static final Logger log = LoggerFactory.getLogger(CachingLocalChecksumComputerStrategy.class);
+
+	private final AbstractChecksumComputeStrategy delegate;
+	private final ChecksumEncodingEnum checksumEncoding;
+	private final LocalChecksumCache localChecksumCache;
+
+	/**
+	 * @param delegate
+	 *            {@link AbstractChecksumComputeStrategy} that computes the
+	 *            checksum, and that can build a {@link ChecksumValue} from a
+	 *            digest
+	 * @param checksumEncoding
+	 *            {@link ChecksumEncodingEnum} the delegate computes
+	 * @param localChecksumCache
+	 *            {@link LocalChecksumCache} holding digests
+	 */
+	public CachingLocalChecksumComputerStrategy(final AbstractChecksumComputeStrategy delegate,
+			final ChecksumEncodingEnum checksumEncoding, final LocalChecksumCache localChecksumCache) {
+		if (delegate == null) {
+			throw new IllegalArgumentException("null delegate");
+		}
+		if (checksumEncoding == null) {
+			throw new IllegalArgumentException("null checksumEncoding");
+		}
+		if (localChecksumCache == null) {
+			throw new IllegalArgumentException("null localChecksumCache");
+		}
+		this.delegate = delegate;
+		this.checksumEncoding = checksumEncoding;
+		this.localChecksumCache = localChecksumCache;
+	}
+
+	@Override
+	public ChecksumValue computeChecksumValueForLocalFile(final String localFileAbsolutePath)
+			throws FileNotFoundException, JargonException {
+
+		if (localFileAbsolutePath == null || localFileAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty localFileAbsolutePath");
+		}
+
+		File localFile = new File(localFileAbsolutePath);
+		LocalChecksumCacheKey keyBefore = keyFor(localFile);
+
+		if (keyBefore != null) {
+			try {
+				byte[] digest = localChecksumCache.retrieveDigest(keyBefore, checksumEncoding);
+				if (digest != null) {
+					log.debug("checksum cache hit for:{}", localFileAbsolutePath);
+					return delegate.computeChecksumValueFromDigest(digest);
+				}
+			} catch (JargonException e) {
+				log.warn("unable to read checksum cache, will compute checksum", e);
+			}
+		}
+
+		ChecksumValue checksumValue = delegate.computeChecksumValueForLocalFile(localFileAbsolutePath);
+
+		if (keyBefore != null && keyBefore.equals(keyFor(localFile))) {
+			try {
+				localChecksumCache.storeDigest(keyBefore, checksumEncoding, checksumValue.getBinaryChecksumValue());
+			} catch (JargonException e) {
+				log.warn("unable to store digest in checksum cache", e);
+			}
+		} else {
+			log.info("file changed during checksum, not cached:{}", localFileAbsolutePath);
+		}
+
+		return checksumValue;
+	}
+
+	@Override
+	public MessageDigest instanceMessageDigest() throws ChecksumMethodUnavailableException {
+		return delegate.instanceMessageDigest();
+	}
+
+	@Override
+	public ChecksumValue computeChecksumValueFromDigest(final byte[] digest)
+			throws ChecksumMethodUnavailableException {
+		return delegate.computeChecksumValueFromDigest(digest);
+	}
+
+	/**
+	 * @return {@link LocalChecksumCacheKey} or {@code null} if the file cannot be
+	 *         described, in which case the cache is bypassed
+	 */
+	private LocalChecksumCacheKey keyFor(final File localFile) throws FileNotFoundException {
+		try {
+			return LocalChecksumCacheKey.instance(localFile);
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			log.warn("unable to read attributes of:{}, checksum cache bypassed", localFile, e);
+			return null;
+		}
+	}
+
+}
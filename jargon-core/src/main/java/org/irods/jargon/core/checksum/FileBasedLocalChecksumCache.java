@@ -0,0 +1,337 @@
+package org.irods.jargon.core.checksum;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link LocalChecksumCache} kept in an append-only binary file on the local
+ * file system, so that digests survive from one run of a verification to the
+ * next.
+ * <p>
+ * Each record holds the encoding, the {@link LocalChecksumCacheKey} and the
+ * binary digest, followed by a CRC of the record. The whole store is read into
+ * memory as it is opened. A record left partly written by a crash is cut off,
+ * and when the file holds many more records than there are live entries, such
+ * as after files were checksummed again after changing, it is compacted.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class FileBasedLocalChecksumCache implements LocalChecksumCache {
+
+	private static final Logger log = LoggerFactory.getLogger(FileBasedLocalChecksumCache.class);
+
+	/**
+	 * Compact when the store holds more than this many records for each live
+	 * entry
+	 */
+	static final int COMPACTION_RATIO = 2;
+
+	/**
+	 * Largest record that will be read back, anything longer is treated as
+	 * corrupt
+	 */
+	static final int MAX_RECORD_LENGTH = 256 * 1024;
+
+	private final File cacheFile;
+	private final Map<String, CacheEntry> entries = new HashMap<String, CacheEntry>();
+	private FileChannel channel;
+
+	/**
+	 * Open a cache, reading back any digests stored by a prior run
+	 *
+	 * @param cacheFile
+	 *            {@link File} that holds the store. It will be created if it does
+	 *            not exist.
+	 * @return {@link FileBasedLocalChecksumCache}
+	 * @throws JargonException
+	 *             if the store cannot be read or created
+	 */
+	public static FileBasedLocalChecksumCache instance(final File cacheFile) throws JargonException {
+		return new FileBasedLocalChecksumCache(cacheFile);
+	}
+
+	private FileBasedLocalChecksumCache(final File cacheFile) throws JargonException {
+		if (cacheFile == null) {
+			throw new IllegalArgumentException("null cacheFile");
+		}
+
+		log.info("cacheFile:{}", cacheFile);
+		this.cacheFile = cacheFile;
+
+		try {
+			int records = 0;
+			if (cacheFile.exists()) {
+				records = load();
+			}
+
+			if (records > COMPACTION_RATIO * entries.size()) {
+				log.info("compacting checksum cache with {} records", records);
+				compact();
+			}
+
+			channel = new FileOutputStream(cacheFile, true).getChannel();
+		} catch (IOException e) {
+			log.error("unable to open checksum cache:{}", cacheFile, e);
+			throw new JargonException("unable to open checksum cache", e);
+		}
+	}
+
+	/**
+	 * Get the file behind this cache
+	 *
+	 * @return {@link File}
+	 */
+	public File getCacheFile() {
+		return cacheFile;
+	}
+
+	/**
+	 * Get the number of digests held
+	 *
+	 * @return {@code int} with the count of entries
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	@Override
+	public synchronized byte[] retrieveDigest(final LocalChecksumCacheKey key,
+			final ChecksumEncodingEnum checksumEncoding) {
+		if (key == null) {
+			throw new IllegalArgumentException("null key");
+		}
+		if (checksumEncoding == null) {
+			throw new IllegalArgumentException("null checksumEncoding");
+		}
+
+		CacheEntry entry = entries.get(mapKey(key.getCanonicalPath(), checksumEncoding));
+		if (entry == null || !entry.key.equals(key)) {
+			return null;
+		}
+		return entry.digest.clone();
+	}
+
+	@Override
+	public synchronized void storeDigest(final LocalChecksumCacheKey key, final ChecksumEncodingEnum checksumEncoding,
+			final byte[] digest) throws JargonException {
+		if (key == null) {
+			throw new IllegalArgumentException("null key");
+		}
+		if (checksumEncoding == null) {
+			throw new IllegalArgumentException("null checksumEncoding");
+		}
+		if (digest == null || digest.length == 0) {
+			throw new IllegalArgumentException("null or empty digest");
+		}
+		if (channel == null) {
+			throw new JargonException("checksum cache is closed");
+		}
+
+		String mapKey = mapKey(key.getCanonicalPath(), checksumEncoding);
+		CacheEntry existing = entries.get(mapKey);
+		if (existing != null && existing.key.equals(key) && Arrays.equals(existing.digest, digest)) {
+			return;
+		}
+
+		CacheEntry entry = new CacheEntry(checksumEncoding, key, digest.clone());
+		try {
+			ByteBuffer record = ByteBuffer.wrap(formatRecord(entry));
+			while (record.hasRemaining()) {
+				channel.write(record);
+			}
+		} catch (IOException e) {
+			log.error("unable to write checksum cache:{}", cacheFile, e);
+			throw new JargonException("unable to write checksum cache", e);
+		}
+		entries.put(mapKey, entry);
+	}
+
+	@Override
+	public synchronized void close() throws JargonException {
+		if (channel == null) {
+			return;
+		}
+		try {
+			channel.force(false);
+			channel.close();
+		} catch (IOException e) {
+			log.error("unable to close checksum cache:{}", cacheFile, e);
+			throw new JargonException("unable to close checksum cache", e);
+		} finally {
+			channel = null;
+		}
+	}
+
+	/**
+	 * Read the store, keeping the last record for each path and encoding, and
+	 * cut off anything after the last good record
+	 *
+	 * @return {@code int} with the count of records read
+	 */
+	private int load() throws IOException {
+		int records = 0;
+		long goodLength = 0;
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)));
+		try {
+			while (true) {
+				int recordLength;
+				try {
+					recordLength = in.readInt();
+				} catch (EOFException e) {
+					break;
+				}
+				if (recordLength <= 0 || recordLength > MAX_RECORD_LENGTH) {
+					log.warn("bad record length in checksum cache at offset:{}", goodLength);
+					break;
+				}
+				byte[] payload = new byte[recordLength];
+				int crc;
+				try {
+					in.readFully(payload);
+					crc = in.readInt();
+				} catch (EOFException e) {
+					log.warn("torn record at end of checksum cache at offset:{}", goodLength);
+					break;
+				}
+				if (crc != crcOf(payload)) {
+					log.warn("bad crc in checksum cache at offset:{}", goodLength);
+					break;
+				}
+
+				CacheEntry entry = parsePayload(payload);
+				if (entry != null) {
+					entries.put(mapKey(entry.key.getCanonicalPath(), entry.checksumEncoding), entry);
+				}
+				records++;
+				goodLength += 8 + recordLength;
+			}
+		} finally {
+			in.close();
+		}
+
+		if (goodLength < cacheFile.length()) {
+			log.warn("truncating checksum cache after last good record:{}", cacheFile);
+			RandomAccessFile raf = new RandomAccessFile(cacheFile, "rw");
+			try {
+				raf.setLength(goodLength);
+			} finally {
+				raf.close();
+			}
+		}
+
+		log.info("loaded {} checksum cache records", records);
+		return records;
+	}
+
+	/**
+	 * Rewrite the store with one record per live entry
+	 */
+	private void compact() throws IOException {
+		File tempFile = new File(cacheFile.getAbsolutePath() + ".tmp");
+		FileOutputStream fos = new FileOutputStream(tempFile);
+		try {
+			for (CacheEntry entry : entries.values()) {
+				fos.write(formatRecord(entry));
+			}
+			fos.getChannel().force(true);
+		} finally {
+			fos.close();
+		}
+
+		try {
+			Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private static CacheEntry parsePayload(final byte[] payload) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+		String encodingName = in.readUTF();
+		String canonicalPath = in.readUTF();
+		long length = in.readLong();
+		long lastModifiedNanos = in.readLong();
+		String fileKey = in.readUTF();
+		byte[] digest = new byte[in.readUnsignedShort()];
+		in.readFully(digest);
+
+		ChecksumEncodingEnum checksumEncoding;
+		try {
+			checksumEncoding = ChecksumEncodingEnum.valueOf(encodingName);
+		} catch (IllegalArgumentException e) {
+			log.warn("ignoring checksum cache record with unknown encoding:{}", encodingName);
+			return null;
+		}
+
+		return new CacheEntry(checksumEncoding,
+				new LocalChecksumCacheKey(canonicalPath, length, lastModifiedNanos, fileKey), digest);
+	}
+
+	private static byte[] formatRecord(final CacheEntry entry) throws IOException {
+		ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+		DataOutputStream payload = new DataOutputStream(payloadBytes);
+		payload.writeUTF(entry.checksumEncoding.name());
+		payload.writeUTF(entry.key.getCanonicalPath());
+		payload.writeLong(entry.key.getLength());
+		payload.writeLong(entry.key.getLastModifiedNanos());
+		payload.writeUTF(entry.key.getFileKey());
+		payload.writeShort(entry.digest.length);
+		payload.write(entry.digest);
+		payload.flush();
+
+		byte[] payloadArray = payloadBytes.toByteArray();
+		ByteBuffer record = ByteBuffer.allocate(8 + payloadArray.length);
+		record.putInt(payloadArray.length);
+		record.put(payloadArray);
+		record.putInt(crcOf(payloadArray));
+		return record.array();
+	}
+
+	private static int crcOf(final byte[] payload) {
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		return (int) crc.getValue();
+	}
+
+	private static String mapKey(final String canonicalPath, final ChecksumEncodingEnum checksumEncoding) {
+		return checksumEncoding.name() + ':' + canonicalPath;
+	}
+
+	private static final class CacheEntry {
+		private final ChecksumEncodingEnum checksumEncoding;
+		private final LocalChecksumCacheKey key;
+		private final byte[] digest;
+
+		private CacheEntry(final ChecksumEncodingEnum checksumEncoding, final LocalChecksumCacheKey key,
+				final byte[] digest) {
+			this.checksumEncoding = checksumEncoding;
+			this.key = key;
+			this.digest = digest;
+		}
+	}
+
+}
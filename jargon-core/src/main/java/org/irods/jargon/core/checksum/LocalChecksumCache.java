@@ -0,0 +1,59 @@
+package org.irods.jargon.core.checksum;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+
+/**
+ * Store of digests computed for local files, so that a checksum of a file that
+ * has not changed does not have to be computed again by reading the file.
+ * <p>
+ * A cache is plugged into the {@link LocalChecksumComputerFactory} of the
+ * session, and the strategies the factory returns will consult it. A stored
+ * digest is only returned when the {@link LocalChecksumCacheKey} of the file
+ * still matches the key it was stored under.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public interface LocalChecksumCache {
+
+	/**
+	 * Find a stored digest for a file
+	 *
+	 * @param key
+	 *            {@link LocalChecksumCacheKey} describing the file as it is now
+	 * @param checksumEncoding
+	 *            {@link ChecksumEncodingEnum} of the digest
+	 * @return {@code byte[]} with the digest, or {@code null} if there is no
+	 *         digest for this state of the file
+	 * @throws JargonException
+	 *             if the store cannot be read
+	 */
+	byte[] retrieveDigest(LocalChecksumCacheKey key, ChecksumEncodingEnum checksumEncoding) throws JargonException;
+
+	/**
+	 * Store a digest computed for a file, replacing any digest stored for a prior
+	 * state of the same path
+	 *
+	 * @param key
+	 *            {@link LocalChecksumCacheKey} describing the file as it was when
+	 *            the digest was computed
+	 * @param checksumEncoding
+	 *            {@link ChecksumEncodingEnum} of the digest
+	 * @param digest
+	 *            {@code byte[]} with the digest
+	 * @throws JargonException
+	 *             if the store cannot be written
+	 */
+	void storeDigest(LocalChecksumCacheKey key, ChecksumEncodingEnum checksumEncoding, byte[] digest)
+			throws JargonException;
+
+	/**
+	 * Flush and release the store
+	 *
+	 * @throws JargonException
+	 *             if the store cannot be written
+	 */
+	void close() throws JargonException;
+
+}
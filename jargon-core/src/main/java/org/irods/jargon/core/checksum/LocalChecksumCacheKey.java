@@ -0,0 +1,130 @@
+package org.irods.jargon.core.checksum;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identifies a local file in a particular state for a
+ * {@link LocalChecksumCache}. The key holds the canonical path, the length, the
+ * modification time and the file key (such as the device and inode) reported
+ * by the file system, so a file that is rewritten, replaced or moved will no
+ * longer match.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class LocalChecksumCacheKey {
+
+	private final String canonicalPath;
+	private final long length;
+	private final long lastModifiedNanos;
+	private final String fileKey;
+
+	/**
+	 * Build a key from the current attributes of a local file
+	 *
+	 * @param localFile
+	 *            {@link File} to describe
+	 * @return {@link LocalChecksumCacheKey}
+	 * @throws FileNotFoundException
+	 *             if the file does not exist
+	 * @throws IOException
+	 *             if the attributes cannot be read
+	 */
+	public static LocalChecksumCacheKey instance(final File localFile) throws FileNotFoundException, IOException {
+		if (localFile == null) {
+			throw new IllegalArgumentException("null localFile");
+		}
+
+		BasicFileAttributes attributes;
+		try {
+			attributes = Files.readAttributes(localFile.toPath(), BasicFileAttributes.class);
+		} catch (NoSuchFileException e) {
+			throw new FileNotFoundException(localFile.getAbsolutePath());
+		}
+
+		Object fileKey = attributes.fileKey();
+		return new LocalChecksumCacheKey(localFile.getCanonicalPath(), attributes.size(),
+				attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS), fileKey == null ? "" : fileKey.toString());
+	}
+
+	/**
+	 * @param canonicalPath
+	 *            {@code String} with the canonical path of the file
+	 * @param length
+	 *            {@code long} with the length of the file
+	 * @param lastModifiedNanos
+	 *            {@code long} with the modification time in nanoseconds
+	 * @param fileKey
+	 *            {@code String} with the file key of the file system, or blank if
+	 *            the file system does not provide one
+	 */
+	public LocalChecksumCacheKey(final String canonicalPath, final long length, final long lastModifiedNanos,
+			final String fileKey) {
+		if (canonicalPath == null || canonicalPath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty canonicalPath");
+		}
+		if (fileKey == null) {
+			throw new IllegalArgumentException("null fileKey");
+		}
+		this.canonicalPath = canonicalPath;
+		this.length = length;
+		this.lastModifiedNanos = lastModifiedNanos;
+		this.fileKey = fileKey;
+	}
+
+	public String getCanonicalPath() {
+		return canonicalPath;
+	}
+
+	public long getLength() {
+		return length;
+	}
+
+	public long getLastModifiedNanos() {
+		return lastModifiedNanos;
+	}
+
+	public String getFileKey() {
+		return fileKey;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + canonicalPath.hashCode();
+		result = prime * result + fileKey.hashCode();
+		result = prime * result + (int) (lastModifiedNanos ^ (lastModifiedNanos >>> 32));
+		result = prime * result + (int) (length ^ (length >>> 32));
+		return result;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof LocalChecksumCacheKey)) {
+			return false;
+		}
+		LocalChecksumCacheKey other = (LocalChecksumCacheKey) obj;
+		return length == other.length && lastModifiedNanos == other.lastModifiedNanos
+				&& canonicalPath.equals(other.canonicalPath) && fileKey.equals(other.fileKey);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("LocalChecksumCacheKey [canonicalPath=").append(canonicalPath).append(", length=")
+				.append(length).append(", lastModifiedNanos=").append(lastModifiedNanos).append(", fileKey=")
+				.append(fileKey).append("]");
+		return builder.toString();
+	}
+
+}
@@ -26,4 +26,22 @@ public interface LocalChecksumComputerFactory {
 	public abstract AbstractChecksumComputeStrategy instance(ChecksumEncodingEnum checksumEncodingEnum)
 			throws ChecksumMethodUnavailableException;
 
+	/**
+	 * Get the cache of local file digests consulted by the strategies this
+	 * factory returns
+	 *
+	 * @return {@link LocalChecksumCache} or {@code null} if no cache is used
+	 */
+	public abstract LocalChecksumCache getLocalChecksumCache();
+
+	/**
+	 * Set a cache of local file digests, so that checksums of local files that
+	 * have not changed since a prior computation are not computed again. Set to
+	 * {@code null} to compute every checksum from the file.
+	 *
+	 * @param localChecksumCache
+	 *            {@link LocalChecksumCache} or {@code null}
+	 */
+	public abstract void setLocalChecksumCache(LocalChecksumCache localChecksumCache);
+
 }
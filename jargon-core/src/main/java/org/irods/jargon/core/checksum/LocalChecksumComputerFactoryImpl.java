@@ -17,6 +17,21 @@ import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
  */
 public class LocalChecksumComputerFactoryImpl implements LocalChecksumComputerFactory {
 
+	/**
+	 * Optional store of digests for unchanged local files
+	 */
+	private volatile LocalChecksumCache localChecksumCache = null;
+
+	@Override
+	public LocalChecksumCache getLocalChecksumCache() {
+		return localChecksumCache;
+	}
+
+	@Override
+	public void setLocalChecksumCache(final LocalChecksumCache localChecksumCache) {
+		this.localChecksumCache = localChecksumCache;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -31,15 +46,22 @@ public class LocalChecksumComputerFactoryImpl implements LocalChecksumComputerFa
 			throw new IllegalArgumentException("null checksumEncodingEnum");
 		}
 
+		AbstractChecksumComputeStrategy strategy;
 		if (checksumEncodingEnum == ChecksumEncodingEnum.MD5) {
-			return new MD5LocalChecksumComputerStrategy();
+			strategy = new MD5LocalChecksumComputerStrategy();
 		} else if (checksumEncodingEnum == ChecksumEncodingEnum.SHA256) {
-			return new SHA256LocalChecksumComputerStrategy();
+			strategy = new SHA256LocalChecksumComputerStrategy();
 		} else {
 			throw new ChecksumMethodUnavailableException(
 					"unable to find a checksum encoding method for:" + checksumEncodingEnum);
 		}
 
+		LocalChecksumCache cache = localChecksumCache;
+		if (cache == null) {
+			return strategy;
+		}
+		return new CachingLocalChecksumComputerStrategy(strategy, checksumEncodingEnum, cache);
+
 	}
 
 }
@@ -4,6 +4,8 @@
 package org.irods.jargon.core.checksum;
 
 import java.io.FileNotFoundException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.binary.Hex;
@@ -39,6 +41,26 @@ public class MD5LocalChecksumComputerStrategy extends AbstractChecksumComputeStr
 		}
 
 		byte[] digest = LocalFileUtils.computeMD5FileCheckSumViaAbsolutePath(localFileAbsolutePath);
+		return computeChecksumValueFromDigest(digest);
+
+	}
+
+	@Override
+	public MessageDigest instanceMessageDigest() throws ChecksumMethodUnavailableException {
+		try {
+			return MessageDigest.getInstance("MD5");
+		} catch (NoSuchAlgorithmException e) {
+			log.error("no MD5 message digest available", e);
+			throw new ChecksumMethodUnavailableException("no MD5 message digest available", e);
+		}
+	}
+
+	@Override
+	public ChecksumValue computeChecksumValueFromDigest(final byte[] digest) {
+		if (digest == null) {
+			throw new IllegalArgumentException("null digest");
+		}
+
 		ChecksumValue value = new ChecksumValue();
 		value.setBinaryChecksumValue(digest);
 
@@ -49,7 +71,6 @@ public class MD5LocalChecksumComputerStrategy extends AbstractChecksumComputeStr
 		value.setChecksumTransmissionFormat(value.getChecksumStringValue());
 		value.setHexChecksumValue(Hex.encodeHexString(digest));
 		return value;
-
 	}
 
 }
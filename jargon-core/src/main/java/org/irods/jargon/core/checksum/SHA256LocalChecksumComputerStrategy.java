@@ -4,6 +4,8 @@
 package org.irods.jargon.core.checksum;
 
 import java.io.FileNotFoundException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.binary.Hex;
@@ -40,6 +42,26 @@ public class SHA256LocalChecksumComputerStrategy extends AbstractChecksumCompute
 
 		byte[] digest = LocalFileUtils.computeSHA256FileCheckSumViaAbsolutePath(localFileAbsolutePath);
 
+		return computeChecksumValueFromDigest(digest);
+
+	}
+
+	@Override
+	public MessageDigest instanceMessageDigest() throws ChecksumMethodUnavailableException {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			log.error("no SHA-256 message digest available", e);
+			throw new ChecksumMethodUnavailableException("no SHA-256 message digest available", e);
+		}
+	}
+
+	@Override
+	public ChecksumValue computeChecksumValueFromDigest(final byte[] digest) {
+		if (digest == null) {
+			throw new IllegalArgumentException("null digest");
+		}
+
 		ChecksumValue value = new ChecksumValue();
 		value.setChecksumEncoding(ChecksumEncodingEnum.SHA256);
 		value.setChecksumStringValue(Base64.encodeBase64String(digest).trim());
@@ -52,7 +74,6 @@ public class SHA256LocalChecksumComputerStrategy extends AbstractChecksumCompute
 		sb.append(value.getChecksumStringValue());
 		value.setChecksumTransmissionFormat(sb.toString().trim());
 		return value;
-
 	}
 
 }
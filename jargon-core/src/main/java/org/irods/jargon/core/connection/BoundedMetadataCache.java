@@ -0,0 +1,174 @@
+package org.irods.jargon.core.connection;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.irods.jargon.core.connection.MetadataChangeEvent.MetadataChangeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link MetadataCache} held in memory, with a bounded number of entries, the
+ * least recently used dropped first, each expiring after a time to live.
+ * <p>
+ * A change to a path drops the results about that path, anything under it, and
+ * its parent collection, whose listing changes with it. A change to a user
+ * group may change the permissions of any path, so it drops every result. A
+ * read on one thread that overlaps a change made on another may cache the
+ * result from before the change, until it expires.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class BoundedMetadataCache implements MetadataCache {
+
+	public static final Logger log = LoggerFactory.getLogger(BoundedMetadataCache.class);
+
+	private final int maxEntries;
+	private final long timeToLiveMillis;
+	private final LinkedHashMap<MetadataCacheKey, CachedValue> entries;
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxEntries
+	 *            {@code int} with the most results held
+	 * @param timeToLiveMillis
+	 *            {@code long} with how long a result is kept
+	 */
+	public BoundedMetadataCache(final int maxEntries, final long timeToLiveMillis) {
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("maxEntries must be > 0");
+		}
+
+		if (timeToLiveMillis <= 0) {
+			throw new IllegalArgumentException("timeToLiveMillis must be > 0");
+		}
+
+		this.maxEntries = maxEntries;
+		this.timeToLiveMillis = timeToLiveMillis;
+		entries = new LinkedHashMap<MetadataCacheKey, CachedValue>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<MetadataCacheKey, CachedValue> eldest) {
+				return size() > BoundedMetadataCache.this.maxEntries;
+			}
+		};
+	}
+
+	@Override
+	public synchronized Object get(final MetadataCacheKey metadataCacheKey) {
+		if (metadataCacheKey == null) {
+			throw new IllegalArgumentException("null metadataCacheKey");
+		}
+
+		CachedValue cached = entries.get(metadataCacheKey);
+		if (cached == null) {
+			return null;
+		}
+
+		if (System.currentTimeMillis() >= cached.expiresAt) {
+			entries.remove(metadataCacheKey);
+			return null;
+		}
+		return cached.value;
+	}
+
+	@Override
+	public synchronized void put(final MetadataCacheKey metadataCacheKey, final Object value) {
+		if (metadataCacheKey == null) {
+			throw new IllegalArgumentException("null metadataCacheKey");
+		}
+
+		if (value == null) {
+			throw new IllegalArgumentException("null value");
+		}
+
+		entries.put(metadataCacheKey, new CachedValue(value, System.currentTimeMillis() + timeToLiveMillis));
+	}
+
+	@Override
+	public synchronized void invalidatePathPrefix(final String irodsAbsolutePath) {
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty irodsAbsolutePath");
+		}
+
+		String prefix = irodsAbsolutePath.endsWith("/") ? irodsAbsolutePath : irodsAbsolutePath + "/";
+		Iterator<MetadataCacheKey> iterator = entries.keySet().iterator();
+		while (iterator.hasNext()) {
+			String path = iterator.next().getIrodsAbsolutePath();
+			if (path != null && (path.equals(irodsAbsolutePath) || path.startsWith(prefix))) {
+				iterator.remove();
+			}
+		}
+	}
+
+	@Override
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	@Override
+	public void metadataChanged(final MetadataChangeEvent metadataChangeEvent) {
+		if (metadataChangeEvent == null) {
+			throw new IllegalArgumentException("null metadataChangeEvent");
+		}
+
+		log.debug("metadataChanged:{}", metadataChangeEvent);
+
+		if (metadataChangeEvent.getMetadataChangeType() == MetadataChangeType.USER_GROUP_CHANGE) {
+			clear();
+			return;
+		}
+
+		synchronized (this) {
+			invalidatePathAndParent(metadataChangeEvent.getIrodsAbsolutePath());
+			if (metadataChangeEvent.getTargetIrodsAbsolutePath() != null) {
+				invalidatePathAndParent(metadataChangeEvent.getTargetIrodsAbsolutePath());
+			}
+		}
+	}
+
+	/**
+	 * @return {@code int} with the count of results held, including expired ones
+	 *         not yet dropped
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	private void invalidatePathAndParent(final String irodsAbsolutePath) {
+		invalidatePathPrefix(irodsAbsolutePath);
+
+		int lastSlash = irodsAbsolutePath.lastIndexOf('/');
+		String parent;
+		if (lastSlash > 0) {
+			parent = irodsAbsolutePath.substring(0, lastSlash);
+		} else if (lastSlash == 0 && irodsAbsolutePath.length() > 1) {
+			parent = "/";
+		} else {
+			return;
+		}
+
+		Iterator<MetadataCacheKey> iterator = entries.keySet().iterator();
+		while (iterator.hasNext()) {
+			if (parent.equals(iterator.next().getIrodsAbsolutePath())) {
+				iterator.remove();
+			}
+		}
+	}
+
+	private static final class CachedValue {
+		private final Object value;
+		private final long expiresAt;
+
+		CachedValue(final Object value, final long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+}
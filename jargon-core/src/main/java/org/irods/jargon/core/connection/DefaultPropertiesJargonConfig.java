@@ -608,4 +608,59 @@ public class DefaultPropertiesJargonConfig implements JargonProperties {
 		return verifyPropExistsAndGetAsBoolean("rule.engine.set.destination.when.auto");
 
 	}
+
+	@Override
+	public int getRandomAccessCacheBlockSize() {
+		return verifyPropExistsAndGetAsInt("jargon.random.access.cache.block.size");
+	}
+
+	@Override
+	public int getRandomAccessCacheMaxBlocks() {
+		return verifyPropExistsAndGetAsInt("jargon.random.access.cache.max.blocks");
+	}
+
+	@Override
+	public int getWriteBehindQueueDepth() {
+		return verifyPropExistsAndGetAsInt("jargon.write.behind.queue.depth");
+	}
+
+	@Override
+	public int getObjStatCacheTimeToLiveMillis() {
+		return verifyPropExistsAndGetAsInt("jargon.objstat.cache.ttl.millis");
+	}
+
+	@Override
+	public int getObjStatCacheMaxEntries() {
+		return verifyPropExistsAndGetAsInt("jargon.objstat.cache.max.entries");
+	}
+
+	@Override
+	public int getListingQueryThreads() {
+		return verifyPropExistsAndGetAsInt("jargon.listing.query.threads");
+	}
+
+	@Override
+	public boolean isCoalesceReadRequests() {
+		return verifyPropExistsAndGetAsBoolean("jargon.coalesce.read.requests");
+	}
+
+	@Override
+	public int getMetadataCacheTimeToLiveMillis() {
+		return verifyPropExistsAndGetAsInt("jargon.metadata.cache.ttl.millis");
+	}
+
+	@Override
+	public int getMetadataCacheMaxEntries() {
+		return verifyPropExistsAndGetAsInt("jargon.metadata.cache.max.entries");
+	}
+
+	@Override
+	public int getGroupMembershipCacheTimeToLiveMillis() {
+		return verifyPropExistsAndGetAsInt("jargon.group.membership.cache.ttl.millis");
+	}
+
+	@Override
+	public int getGroupMembershipCacheMaxEntries() {
+		return verifyPropExistsAndGetAsInt("jargon.group.membership.cache.max.entries");
+	}
 }
@@ -0,0 +1,194 @@
+package org.irods.jargon.core.connection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.irods.jargon.core.pub.domain.UserGroup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the groups each user is a member of, held by the
+ * {@link IRODSSession} and shared by the access objects that resolve
+ * permissions through group membership. An entry expires after the time to
+ * live given when it was cached.
+ * <p>
+ * Membership is kept per zone (the zone, host and port of the account the
+ * lookup was made as), as each zone has its own catalog. Changes to membership
+ * made through the {@code UserGroupAO} drop the entry of the user, or, when a
+ * group is added or removed, every entry of the zone. Changes made outside of
+ * Jargon are seen once the entry expires, or after an explicit refresh. The
+ * cache holds a bounded number of users, when it is full the expired entries
+ * are purged, and if that does not make room the cache is emptied.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class GroupMembershipCache {
+
+	public static final Logger log = LoggerFactory.getLogger(GroupMembershipCache.class);
+
+	private final ConcurrentHashMap<String, CachedGroupMembership> cacheByZoneAndUser = new ConcurrentHashMap<String, CachedGroupMembership>();
+
+	public GroupMembershipCache() {
+	}
+
+	/**
+	 * Find the cached groups of a user
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the lookup is made as, which gives the zone
+	 * @param userName
+	 *            {@code String} with the user name
+	 * @return {@code List} of {@link UserGroup}, which must not be changed, or
+	 *         {@code null} if not cached or expired
+	 */
+	public List<UserGroup> lookup(final IRODSAccount irodsAccount, final String userName) {
+		String key = buildKey(irodsAccount, userName);
+		CachedGroupMembership cached = cacheByZoneAndUser.get(key);
+		if (cached == null) {
+			return null;
+		}
+
+		if (cached.expiresAt <= System.currentTimeMillis()) {
+			cacheByZoneAndUser.remove(key, cached);
+			return null;
+		}
+		return cached.userGroups;
+	}
+
+	/**
+	 * Cache the groups found for a user
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the lookup was made as
+	 * @param userName
+	 *            {@code String} with the user name
+	 * @param userGroups
+	 *            {@code List} of {@link UserGroup} the user is a member of
+	 * @param timeToLiveMillis
+	 *            {@code int} with how long the entry is kept
+	 * @param maxEntries
+	 *            {@code int} with the most users the cache holds
+	 */
+	public void cacheUserGroups(final IRODSAccount irodsAccount, final String userName,
+			final List<UserGroup> userGroups, final int timeToLiveMillis, final int maxEntries) {
+		if (userGroups == null) {
+			throw new IllegalArgumentException("null userGroups");
+		}
+
+		String key = buildKey(irodsAccount, userName);
+
+		if (timeToLiveMillis <= 0) {
+			return;
+		}
+
+		long now = System.currentTimeMillis();
+		if (cacheByZoneAndUser.size() >= maxEntries && !cacheByZoneAndUser.containsKey(key)) {
+			purgeExpired(now);
+			if (cacheByZoneAndUser.size() >= maxEntries) {
+				log.debug("group membership cache is full, clearing");
+				cacheByZoneAndUser.clear();
+			}
+		}
+
+		cacheByZoneAndUser.put(key, new CachedGroupMembership(
+				Collections.unmodifiableList(new ArrayList<UserGroup>(userGroups)), now + timeToLiveMillis));
+	}
+
+	/**
+	 * Drop the entry for a user whose membership was changed
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the change was made as
+	 * @param userName
+	 *            {@code String} with the user name
+	 */
+	public void invalidateUser(final IRODSAccount irodsAccount, final String userName) {
+		cacheByZoneAndUser.remove(buildKey(irodsAccount, userName));
+	}
+
+	/**
+	 * Drop every entry of the zone of the account, as when a group is added or
+	 * removed
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the change was made as
+	 */
+	public void invalidateZone(final IRODSAccount irodsAccount) {
+		String zonePrefix = buildZoneKey(irodsAccount);
+		Iterator<String> keys = cacheByZoneAndUser.keySet().iterator();
+		while (keys.hasNext()) {
+			if (keys.next().startsWith(zonePrefix)) {
+				keys.remove();
+			}
+		}
+	}
+
+	/**
+	 * Drop every entry
+	 */
+	public void clear() {
+		cacheByZoneAndUser.clear();
+	}
+
+	/**
+	 * @return {@code int} with the count of users cached, including expired
+	 *         entries not yet purged
+	 */
+	public int size() {
+		return cacheByZoneAndUser.size();
+	}
+
+	private void purgeExpired(final long now) {
+		Iterator<Map.Entry<String, CachedGroupMembership>> entries = cacheByZoneAndUser.entrySet().iterator();
+		while (entries.hasNext()) {
+			if (entries.next().getValue().expiresAt <= now) {
+				entries.remove();
+			}
+		}
+	}
+
+	private static String buildKey(final IRODSAccount irodsAccount, final String userName) {
+		if (userName == null || userName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty userName");
+		}
+
+		StringBuilder sb = new StringBuilder(buildZoneKey(irodsAccount));
+		sb.append(userName);
+		return sb.toString();
+	}
+
+	private static String buildZoneKey(final IRODSAccount irodsAccount) {
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(irodsAccount.getZone());
+		sb.append('@');
+		sb.append(irodsAccount.getHost());
+		sb.append(':');
+		sb.append(irodsAccount.getPort());
+		sb.append('|');
+		return sb.toString();
+	}
+
+	/**
+	 * The groups of a user, with when they expire
+	 */
+	private static final class CachedGroupMembership {
+		private final List<UserGroup> userGroups;
+		private final long expiresAt;
+
+		CachedGroupMembership(final List<UserGroup> userGroups, final long expiresAt) {
+			this.userGroups = userGroups;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+}
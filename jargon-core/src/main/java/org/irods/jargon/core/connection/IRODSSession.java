@@ -5,9 +5,13 @@ package org.irods.jargon.core.connection;
 
 import java.lang.management.ManagementFactory;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -90,6 +94,7 @@ public class IRODSSession {
 	 * have no effect.
 	 */
 	private ExecutorService parallelTransferThreadPool = null;
+	private ExecutorService listingQueryThreadPool = null;
 	private IRODSProtocolManager irodsProtocolManager;
 	private static final Logger log = LoggerFactory.getLogger(IRODSSession.class);
 
@@ -160,6 +165,34 @@ public class IRODSSession {
 	 */
 	private final DiscoveredServerPropertiesCache discoveredServerPropertiesCache = new DiscoveredServerPropertiesCache();
 
+	/**
+	 * Cache of objStat results for the paths used through this session, see
+	 * {@link ObjStatCache}
+	 */
+	private final ObjStatCache objStatCache = new ObjStatCache();
+
+	/**
+	 * Cache of the groups of users looked up through this session, see
+	 * {@link GroupMembershipCache}
+	 */
+	private final GroupMembershipCache groupMembershipCache = new GroupMembershipCache();
+
+	/**
+	 * Read requests in flight through this session, see {@link RequestCoalescer}
+	 */
+	private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+
+	/**
+	 * Cache of metadata reads, see {@link MetadataCache}, created when first
+	 * needed unless one was given
+	 */
+	private MetadataCache metadataCache = null;
+
+	/**
+	 * Told of the changes made through the access objects of this session
+	 */
+	private final List<MetadataChangeListener> metadataChangeListeners = new CopyOnWriteArrayList<MetadataChangeListener>();
+
 	/**
 	 * Get the {@code JargonProperties} that contains metadata to tune the behavior
 	 * of Jargon. This will either be the default, loaded from the
@@ -698,6 +731,48 @@ public class IRODSSession {
 		}
 	}
 
+	/**
+	 * Get (lazily) the pool of threads that run the independent queries of a
+	 * collection listing at the same time. This will return {@code null} if
+	 * {@link JargonProperties#getListingQueryThreads()} is 0. As with the parallel
+	 * transfer pool, the pool is sized from the {@code JargonProperties} when it is
+	 * first requested, and is not reconfigured when the properties change. The
+	 * threads are daemon threads, so an idle pool does not keep the JVM running.
+	 *
+	 * @return {@link ExecutorService} that is the pool of listing query threads,
+	 *         or {@code null} if listing queries are not run concurrently
+	 */
+	public ExecutorService getListingQueryThreadPool() {
+		synchronized (this) {
+
+			if (jargonProperties.getListingQueryThreads() <= 0) {
+				return null;
+			}
+
+			if (listingQueryThreadPool != null) {
+				return listingQueryThreadPool;
+			}
+
+			log.debug("creating the listing query threads pool with {} threads",
+					jargonProperties.getListingQueryThreads());
+
+			final ThreadFactory defaultThreadFactory = Executors.defaultThreadFactory();
+			listingQueryThreadPool = Executors.newFixedThreadPool(jargonProperties.getListingQueryThreads(),
+					new ThreadFactory() {
+
+						@Override
+						public Thread newThread(final Runnable runnable) {
+							Thread thread = defaultThreadFactory.newThread(runnable);
+							thread.setName("jargon-listing-query-" + thread.getName());
+							thread.setDaemon(true);
+							return thread;
+						}
+					});
+
+			return listingQueryThreadPool;
+		}
+	}
+
 	/**
 	 * Set the Jargon properties
 	 *
@@ -727,6 +802,138 @@ public class IRODSSession {
 		return discoveredServerPropertiesCache;
 	}
 
+	/**
+	 * Cache of objStat results shared by the access objects and files of this
+	 * session. Entries are only added when
+	 * {@link JargonProperties#getObjStatCacheTimeToLiveMillis()} is greater than
+	 * 0.
+	 *
+	 * @return {@link ObjStatCache}
+	 */
+	public ObjStatCache getObjStatCache() {
+		return objStatCache;
+	}
+
+	/**
+	 * Cache of the groups each user is a member of, shared by the access objects
+	 * of this session. Entries are only added when
+	 * {@link JargonProperties#getGroupMembershipCacheTimeToLiveMillis()} is greater
+	 * than 0. Call {@code clear()} to refresh every user.
+	 *
+	 * @return {@link GroupMembershipCache}
+	 */
+	public GroupMembershipCache getGroupMembershipCache() {
+		return groupMembershipCache;
+	}
+
+	/**
+	 * Shares one call to iRODS between identical read requests made at the same
+	 * time by the access objects of this session. Requests are only shared when
+	 * {@link JargonProperties#isCoalesceReadRequests()} is {@code true}.
+	 *
+	 * @return {@link RequestCoalescer}
+	 */
+	public RequestCoalescer getRequestCoalescer() {
+		return requestCoalescer;
+	}
+
+	/**
+	 * Cache of metadata reads consulted by the access objects of this session.
+	 * Unless a cache was given to {@link #setMetadataCache(MetadataCache)}, a
+	 * {@link BoundedMetadataCache} is used when
+	 * {@link JargonProperties#getMetadataCacheTimeToLiveMillis()} is greater than
+	 * 0.
+	 *
+	 * @return {@link MetadataCache}, or {@code null} if metadata reads are not
+	 *         cached
+	 */
+	public MetadataCache getMetadataCache() {
+		synchronized (this) {
+			if (metadataCache != null) {
+				return metadataCache;
+			}
+
+			if (jargonProperties.getMetadataCacheTimeToLiveMillis() <= 0) {
+				return null;
+			}
+
+			log.debug("creating the metadata cache");
+			metadataCache = new BoundedMetadataCache(jargonProperties.getMetadataCacheMaxEntries(),
+					jargonProperties.getMetadataCacheTimeToLiveMillis());
+			return metadataCache;
+		}
+	}
+
+	/**
+	 * Give the cache of metadata reads to use in place of the one configured by
+	 * the jargon properties
+	 *
+	 * @param metadataCache
+	 *            {@link MetadataCache}, or {@code null} to go back to the one
+	 *            configured by the jargon properties
+	 */
+	public void setMetadataCache(final MetadataCache metadataCache) {
+		synchronized (this) {
+			this.metadataCache = metadataCache;
+		}
+	}
+
+	/**
+	 * Add a listener told of the changes made through the access objects of this
+	 * session
+	 *
+	 * @param metadataChangeListener
+	 *            {@link MetadataChangeListener}
+	 */
+	public void addMetadataChangeListener(final MetadataChangeListener metadataChangeListener) {
+		if (metadataChangeListener == null) {
+			throw new IllegalArgumentException("null metadataChangeListener");
+		}
+		metadataChangeListeners.add(metadataChangeListener);
+	}
+
+	/**
+	 * Remove a listener added by
+	 * {@link #addMetadataChangeListener(MetadataChangeListener)}
+	 *
+	 * @param metadataChangeListener
+	 *            {@link MetadataChangeListener}
+	 */
+	public void removeMetadataChangeListener(final MetadataChangeListener metadataChangeListener) {
+		metadataChangeListeners.remove(metadataChangeListener);
+	}
+
+	/**
+	 * Tell the metadata cache, and the listeners, of a change made through an
+	 * access object of this session. An exception thrown by a listener is logged
+	 * and does not stop the others being told.
+	 *
+	 * @param metadataChangeEvent
+	 *            {@link MetadataChangeEvent}
+	 */
+	public void publishMetadataChange(final MetadataChangeEvent metadataChangeEvent) {
+		if (metadataChangeEvent == null) {
+			throw new IllegalArgumentException("null metadataChangeEvent");
+		}
+
+		MetadataCache cache;
+		synchronized (this) {
+			cache = metadataCache;
+		}
+
+		if (cache != null) {
+			cache.metadataChanged(metadataChangeEvent);
+		}
+
+		for (MetadataChangeListener metadataChangeListener : metadataChangeListeners) {
+			try {
+				metadataChangeListener.metadataChanged(metadataChangeEvent);
+			} catch (RuntimeException e) {
+				log.warn("error in metadata change listener, ignored", e);
+			}
+		}
+	}
+
 	/**
 	 * Handy method to see if we're using the dynamic server properties cache. This
 	 * is set in the jargon properties.
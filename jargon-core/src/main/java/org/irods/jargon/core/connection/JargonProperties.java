@@ -602,4 +602,117 @@ public interface JargonProperties {
 	 */
 	boolean isRulesSetDestinationWhenAuto();
 
+	/**
+	 * Size of the blocks cached by an {@code IRODSRandomAccessFile}. Reads are
+	 * made from iRODS in whole blocks aligned to this size, so that many small
+	 * reads near each other become one read. Set to 0 to turn off the block cache.
+	 *
+	 * @return {@code int} with the block size in bytes
+	 */
+	int getRandomAccessCacheBlockSize();
+
+	/**
+	 * Maximum number of blocks cached by each {@code IRODSRandomAccessFile}, the
+	 * least recently used block is dropped when this is exceeded
+	 *
+	 * @return {@code int} with the count of blocks
+	 */
+	int getRandomAccessCacheMaxBlocks();
+
+	/**
+	 * Count of filled buffers an {@code IRODSFileOutputStream} may queue for a
+	 * background sender. When greater than 0, writes return once the data is
+	 * queued and are sent to iRODS on the connection of the stream while the
+	 * caller produces more, a write waits when the queue is full. Set to 0 to send
+	 * each write before returning.
+	 *
+	 * @return {@code int} with the count of queued buffers
+	 */
+	int getWriteBehindQueueDepth();
+
+	/**
+	 * Time in milliseconds an objStat result, or a not found result, is kept in
+	 * the objStat cache of the {@code IRODSSession}, so repeated checks of the
+	 * same path, such as {@code exists()}, {@code isDirectory()} and
+	 * {@code length()} of an {@code IRODSFile}, cost one round trip. Changes made
+	 * through Jargon drop the cached entries for the paths changed, changes made
+	 * by other clients are seen once the entry expires. Set to 0 to turn off the
+	 * cache.
+	 *
+	 * @return {@code int} with the time to live in milliseconds
+	 */
+	int getObjStatCacheTimeToLiveMillis();
+
+	/**
+	 * Maximum number of paths held in the objStat cache of the
+	 * {@code IRODSSession}
+	 *
+	 * @return {@code int} with the count of paths
+	 */
+	int getObjStatCacheMaxEntries();
+
+	/**
+	 * Count of threads in the pool of the {@code IRODSSession} used to run the
+	 * independent queries of a collection listing, such as the collections and
+	 * data objects under a path, at the same time. Each query runs on its own
+	 * connection, which is returned to the {@code IRODSProtocolManager} when the
+	 * query is done, so this is best used with a pooling protocol manager. Set to
+	 * 0 to run the queries one after another on the connection of the caller.
+	 *
+	 * @return {@code int} with the count of threads
+	 */
+	int getListingQueryThreads();
+
+	/**
+	 * Share one call to iRODS between identical read requests made at the same
+	 * time by different threads of the {@code IRODSSession}, such as the objStat
+	 * of a path, a page of a collection listing, the permission of a user on a
+	 * data object, or the AVUs of a data object or collection. A request made
+	 * while the same request, by the same account, is in flight waits for that
+	 * call and returns its result, rather than sending another call to iRODS.
+	 *
+	 * @return {@code boolean} of {@code true} to coalesce identical read requests
+	 */
+	boolean isCoalesceReadRequests();
+
+	/**
+	 * Time in milliseconds a result held in the metadata cache of the
+	 * {@code IRODSSession}, such as a collection listing page, the AVUs or
+	 * permissions of a path, or the members of a user group, is kept. Changes made
+	 * through Jargon drop the results they make stale, changes made by other
+	 * clients are seen once the result expires. Set to 0 to turn off the cache,
+	 * unless a {@code MetadataCache} is given to the session.
+	 *
+	 * @return {@code int} with the time to live in milliseconds
+	 */
+	int getMetadataCacheTimeToLiveMillis();
+
+	/**
+	 * Maximum number of results held in the metadata cache of the
+	 * {@code IRODSSession}, the least recently used are dropped first
+	 *
+	 * @return {@code int} with the count of results
+	 */
+	int getMetadataCacheMaxEntries();
+
+	/**
+	 * Time in milliseconds the groups a user is a member of are kept in the group
+	 * membership cache of the {@code IRODSSession}, which serves
+	 * {@code UserGroupAO.findUserGroupsForUser} and {@code isUserInGroup}, and the
+	 * permission checks that look at group membership. Changes to membership made
+	 * through the {@code UserGroupAO} drop the entries they make stale. Set to 0 to
+	 * turn off the cache.
+	 *
+	 * @return {@code int} with the time to live in milliseconds
+	 */
+	int getGroupMembershipCacheTimeToLiveMillis();
+
+	/**
+	 * Maximum number of users whose groups are held in the group membership cache
+	 * of the {@code IRODSSession}
+	 *
+	 * @return {@code int} with the count of users
+	 */
+	int getGroupMembershipCacheMaxEntries();
+
 }
@@ -0,0 +1,57 @@
+package org.irods.jargon.core.connection;
+
+/**
+ * Cache of the results of metadata reads, such as collection listings, AVUs,
+ * permissions and user group members, consulted by the access objects of an
+ * {@link IRODSSession} before asking iRODS. The session publishes each change
+ * made through its access objects to the cache as a {@link MetadataChangeEvent}
+ * so the cache can drop what the change made stale.
+ * <p>
+ * Jargon provides {@link BoundedMetadataCache}, held in memory, which the
+ * session uses when {@link JargonProperties#getMetadataCacheTimeToLiveMillis()}
+ * is greater than 0. Another implementation, such as one shared by several
+ * processes, may be given to
+ * {@link IRODSSession#setMetadataCache(MetadataCache)}. Implementations must
+ * tolerate concurrent access. Changes made by other clients are not published,
+ * so an implementation should expire its entries.
+ * <p>
+ * Cached values are shared by callers and must not be changed.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public interface MetadataCache extends MetadataChangeListener {
+
+	/**
+	 * Find a cached result
+	 *
+	 * @param metadataCacheKey
+	 *            {@link MetadataCacheKey} of the result
+	 * @return {@code Object} with the result, or {@code null} if not cached
+	 */
+	Object get(MetadataCacheKey metadataCacheKey);
+
+	/**
+	 * Cache a result
+	 *
+	 * @param metadataCacheKey
+	 *            {@link MetadataCacheKey} of the result
+	 * @param value
+	 *            {@code Object} with the result, which will not be changed
+	 */
+	void put(MetadataCacheKey metadataCacheKey, Object value);
+
+	/**
+	 * Drop the results about a path and about anything under it
+	 *
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the normalized absolute path
+	 */
+	void invalidatePathPrefix(String irodsAbsolutePath);
+
+	/**
+	 * Drop every result
+	 */
+	void clear();
+
+}
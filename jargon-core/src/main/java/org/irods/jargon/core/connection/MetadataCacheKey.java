@@ -0,0 +1,147 @@
+package org.irods.jargon.core.connection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Identifies a result held in a {@link MetadataCache}: the account that asked
+ * (user, zone, host and port), since what is visible depends on the user, the
+ * operation, the path the result is about, if any, and the other arguments of
+ * the operation.
+ * <p>
+ * This object is immutable, and is safe to share between threads.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public final class MetadataCacheKey {
+
+	private final String accountKey;
+	private final String operation;
+	private final String irodsAbsolutePath;
+	private final List<String> arguments;
+	private final int hashCode;
+
+	/**
+	 * Build a key
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the operation is made as
+	 * @param operation
+	 *            {@code String} naming the operation
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the normalized absolute path the result is
+	 *            about, or {@code null} if the result is not about a path, such as
+	 *            the members of a user group
+	 * @param arguments
+	 *            {@code Object...} with the other arguments of the operation,
+	 *            compared by their {@code toString()}
+	 * @return {@link MetadataCacheKey}
+	 */
+	public static MetadataCacheKey instance(final IRODSAccount irodsAccount, final String operation,
+			final String irodsAbsolutePath, final Object... arguments) {
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (operation == null || operation.isEmpty()) {
+			throw new IllegalArgumentException("null or empty operation");
+		}
+
+		List<String> argumentStrings = new ArrayList<String>();
+		if (arguments != null) {
+			for (Object argument : arguments) {
+				argumentStrings.add(String.valueOf(argument));
+			}
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(irodsAccount.getUserName());
+		sb.append('#');
+		sb.append(irodsAccount.getZone());
+		sb.append('@');
+		sb.append(irodsAccount.getHost());
+		sb.append(':');
+		sb.append(irodsAccount.getPort());
+
+		return new MetadataCacheKey(sb.toString(), operation, irodsAbsolutePath,
+				Collections.unmodifiableList(argumentStrings));
+	}
+
+	private MetadataCacheKey(final String accountKey, final String operation, final String irodsAbsolutePath,
+			final List<String> arguments) {
+		this.accountKey = accountKey;
+		this.operation = operation;
+		this.irodsAbsolutePath = irodsAbsolutePath;
+		this.arguments = arguments;
+
+		int result = accountKey.hashCode();
+		result = 31 * result + operation.hashCode();
+		result = 31 * result + (irodsAbsolutePath == null ? 0 : irodsAbsolutePath.hashCode());
+		result = 31 * result + arguments.hashCode();
+		hashCode = result;
+	}
+
+	/**
+	 * @return {@code String} identifying the account (user, zone, host and port)
+	 */
+	public String getAccountKey() {
+		return accountKey;
+	}
+
+	/**
+	 * @return {@code String} naming the operation
+	 */
+	public String getOperation() {
+		return operation;
+	}
+
+	/**
+	 * @return {@code String} with the path the result is about, or {@code null}
+	 */
+	public String getIrodsAbsolutePath() {
+		return irodsAbsolutePath;
+	}
+
+	/**
+	 * @return {@code List<String>} with the other arguments, which may not be
+	 *         changed
+	 */
+	public List<String> getArguments() {
+		return arguments;
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof MetadataCacheKey)) {
+			return false;
+		}
+
+		MetadataCacheKey other = (MetadataCacheKey) obj;
+		return hashCode == other.hashCode && accountKey.equals(other.accountKey)
+				&& operation.equals(other.operation)
+				&& (irodsAbsolutePath == null ? other.irodsAbsolutePath == null
+						: irodsAbsolutePath.equals(other.irodsAbsolutePath))
+				&& arguments.equals(other.arguments);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("MetadataCacheKey [accountKey=").append(accountKey).append(", operation=").append(operation)
+				.append(", irodsAbsolutePath=").append(irodsAbsolutePath).append(", arguments=").append(arguments)
+				.append("]");
+		return builder.toString();
+	}
+
+}
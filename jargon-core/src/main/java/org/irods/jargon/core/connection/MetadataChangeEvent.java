@@ -0,0 +1,178 @@
+package org.irods.jargon.core.connection;
+
+/**
+ * A change made to iRODS metadata through an access object, published to the
+ * {@link MetadataCache} and the {@link MetadataChangeListener}s of the
+ * {@link IRODSSession}.
+ * <p>
+ * This object is immutable, and is safe to share between threads.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public final class MetadataChangeEvent {
+
+	/**
+	 * Kind of change
+	 */
+	public enum MetadataChangeType {
+		/**
+		 * a data object or collection was created or its contents written
+		 */
+		PUT,
+		/**
+		 * a data object or collection was removed
+		 */
+		DELETE,
+		/**
+		 * a data object or collection was renamed or moved, to the target path
+		 */
+		MOVE,
+		/**
+		 * an AVU was added
+		 */
+		AVU_ADD,
+		/**
+		 * an AVU was removed
+		 */
+		AVU_REMOVE,
+		/**
+		 * an AVU was set or modified
+		 */
+		AVU_MODIFY,
+		/**
+		 * a permission, or the inheritance flag of a collection, was changed
+		 */
+		ACL_CHANGE,
+		/**
+		 * a user group was added or removed, or its members changed
+		 */
+		USER_GROUP_CHANGE
+	}
+
+	private final MetadataChangeType metadataChangeType;
+	private final String irodsAbsolutePath;
+	private final String targetIrodsAbsolutePath;
+	private final String userGroupName;
+
+	/**
+	 * Event for a change to a data object or collection
+	 *
+	 * @param metadataChangeType
+	 *            {@link MetadataChangeType}, not {@code MOVE} or
+	 *            {@code USER_GROUP_CHANGE}
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the normalized absolute path that was
+	 *            changed
+	 * @return {@link MetadataChangeEvent}
+	 */
+	public static MetadataChangeEvent instanceForPath(final MetadataChangeType metadataChangeType,
+			final String irodsAbsolutePath) {
+		if (metadataChangeType == null) {
+			throw new IllegalArgumentException("null metadataChangeType");
+		}
+
+		if (metadataChangeType == MetadataChangeType.MOVE || metadataChangeType == MetadataChangeType.USER_GROUP_CHANGE) {
+			throw new IllegalArgumentException("use the instance method for " + metadataChangeType);
+		}
+
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty irodsAbsolutePath");
+		}
+
+		return new MetadataChangeEvent(metadataChangeType, irodsAbsolutePath, null, null);
+	}
+
+	/**
+	 * Event for a data object or collection moved to a new path
+	 *
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the normalized absolute path moved from
+	 * @param targetIrodsAbsolutePath
+	 *            {@code String} with the normalized absolute path moved to
+	 * @return {@link MetadataChangeEvent}
+	 */
+	public static MetadataChangeEvent instanceForMove(final String irodsAbsolutePath,
+			final String targetIrodsAbsolutePath) {
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty irodsAbsolutePath");
+		}
+
+		if (targetIrodsAbsolutePath == null || targetIrodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty targetIrodsAbsolutePath");
+		}
+
+		return new MetadataChangeEvent(MetadataChangeType.MOVE, irodsAbsolutePath, targetIrodsAbsolutePath, null);
+	}
+
+	/**
+	 * Event for a change to a user group
+	 *
+	 * @param userGroupName
+	 *            {@code String} with the name of the group changed
+	 * @return {@link MetadataChangeEvent}
+	 */
+	public static MetadataChangeEvent instanceForUserGroup(final String userGroupName) {
+		if (userGroupName == null || userGroupName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty userGroupName");
+		}
+
+		return new MetadataChangeEvent(MetadataChangeType.USER_GROUP_CHANGE, null, null, userGroupName);
+	}
+
+	private MetadataChangeEvent(final MetadataChangeType metadataChangeType, final String irodsAbsolutePath,
+			final String targetIrodsAbsolutePath, final String userGroupName) {
+		this.metadataChangeType = metadataChangeType;
+		this.irodsAbsolutePath = irodsAbsolutePath;
+		this.targetIrodsAbsolutePath = targetIrodsAbsolutePath;
+		this.userGroupName = userGroupName;
+	}
+
+	/**
+	 * @return {@link MetadataChangeType}
+	 */
+	public MetadataChangeType getMetadataChangeType() {
+		return metadataChangeType;
+	}
+
+	/**
+	 * @return {@code String} with the path changed, or {@code null} for a user
+	 *         group change
+	 */
+	public String getIrodsAbsolutePath() {
+		return irodsAbsolutePath;
+	}
+
+	/**
+	 * @return {@code String} with the path moved to, or {@code null} if not a move
+	 */
+	public String getTargetIrodsAbsolutePath() {
+		return targetIrodsAbsolutePath;
+	}
+
+	/**
+	 * @return {@code String} with the user group changed, or {@code null} if not a
+	 *         user group change
+	 */
+	public String getUserGroupName() {
+		return userGroupName;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("MetadataChangeEvent [metadataChangeType=").append(metadataChangeType);
+		if (irodsAbsolutePath != null) {
+			builder.append(", irodsAbsolutePath=").append(irodsAbsolutePath);
+		}
+		if (targetIrodsAbsolutePath != null) {
+			builder.append(", targetIrodsAbsolutePath=").append(targetIrodsAbsolutePath);
+		}
+		if (userGroupName != null) {
+			builder.append(", userGroupName=").append(userGroupName);
+		}
+		builder.append("]");
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,23 @@
+package org.irods.jargon.core.connection;
+
+/**
+ * Told of each change made to iRODS metadata through the access objects of an
+ * {@link IRODSSession}, such as a put, delete, move, AVU or ACL change, see
+ * {@link IRODSSession#addMetadataChangeListener(MetadataChangeListener)}.
+ * Listeners are called on the thread that made the change, after the change,
+ * and should return quickly.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public interface MetadataChangeListener {
+
+	/**
+	 * Called after a change was made
+	 *
+	 * @param metadataChangeEvent
+	 *            {@link MetadataChangeEvent} describing the change
+	 */
+	void metadataChanged(MetadataChangeEvent metadataChangeEvent);
+
+}
@@ -0,0 +1,259 @@
+package org.irods.jargon.core.connection;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of objStat results held by the {@link IRODSSession}, shared by every
+ * access object and {@code IRODSFile} of the session and tolerating concurrent
+ * access. An entry is either an {@link ObjStat}, or a marker that the path was
+ * not found, and expires after the time to live given when it was cached.
+ * <p>
+ * What a path looks like depends on the user asking, so entries are kept per
+ * account (user, zone, host and port). A change to a path drops the entries for
+ * every account. The cache holds a bounded number of paths, when it is full the
+ * expired entries are purged, and if that does not make room the cache is
+ * emptied. A lookup on one thread that overlaps a change made on another may
+ * cache the result from before the change, until it expires.
+ * <p>
+ * A cached {@code ObjStat} is shared by callers and must not be changed.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class ObjStatCache {
+
+	public static final Logger log = LoggerFactory.getLogger(ObjStatCache.class);
+
+	private final ConcurrentHashMap<String, ConcurrentHashMap<String, CachedObjStat>> cacheByPath = new ConcurrentHashMap<String, ConcurrentHashMap<String, CachedObjStat>>();
+
+	public ObjStatCache() {
+	}
+
+	/**
+	 * Find the cached objStat result for a path
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the objStat is made as
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the normalized absolute path
+	 * @return {@link CachedObjStat}, or {@code null} if not cached or expired
+	 */
+	public CachedObjStat lookup(final IRODSAccount irodsAccount, final String irodsAbsolutePath) {
+		ConcurrentHashMap<String, CachedObjStat> byAccount = cacheByPath.get(irodsAbsolutePath);
+		if (byAccount == null) {
+			return null;
+		}
+
+		String accountKey = buildAccountKey(irodsAccount);
+		CachedObjStat cached = byAccount.get(accountKey);
+		if (cached == null) {
+			return null;
+		}
+
+		if (cached.isExpired(System.currentTimeMillis())) {
+			byAccount.remove(accountKey, cached);
+			return null;
+		}
+		return cached;
+	}
+
+	/**
+	 * Cache the objStat found for a path
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the objStat was made as
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the normalized absolute path
+	 * @param objStat
+	 *            {@link ObjStat} found
+	 * @param timeToLiveMillis
+	 *            {@code int} with how long the entry is kept
+	 * @param maxEntries
+	 *            {@code int} with the most paths the cache holds
+	 */
+	public void cacheObjStat(final IRODSAccount irodsAccount, final String irodsAbsolutePath, final ObjStat objStat,
+			final int timeToLiveMillis, final int maxEntries) {
+		if (objStat == null) {
+			throw new IllegalArgumentException("null objStat");
+		}
+		cache(irodsAccount, irodsAbsolutePath, objStat, timeToLiveMillis, maxEntries);
+	}
+
+	/**
+	 * Cache that a path was not found
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the objStat was made as
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the normalized absolute path
+	 * @param timeToLiveMillis
+	 *            {@code int} with how long the entry is kept
+	 * @param maxEntries
+	 *            {@code int} with the most paths the cache holds
+	 */
+	public void cacheNotFound(final IRODSAccount irodsAccount, final String irodsAbsolutePath,
+			final int timeToLiveMillis, final int maxEntries) {
+		cache(irodsAccount, irodsAbsolutePath, null, timeToLiveMillis, maxEntries);
+	}
+
+	private void cache(final IRODSAccount irodsAccount, final String irodsAbsolutePath, final ObjStat objStat,
+			final int timeToLiveMillis, final int maxEntries) {
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty irodsAbsolutePath");
+		}
+
+		if (timeToLiveMillis <= 0) {
+			return;
+		}
+
+		long now = System.currentTimeMillis();
+		if (cacheByPath.size() >= maxEntries && !cacheByPath.containsKey(irodsAbsolutePath)) {
+			purgeExpired(now);
+			if (cacheByPath.size() >= maxEntries) {
+				log.debug("objStat cache is full, clearing");
+				cacheByPath.clear();
+			}
+		}
+
+		ConcurrentHashMap<String, CachedObjStat> byAccount = cacheByPath.get(irodsAbsolutePath);
+		if (byAccount == null) {
+			ConcurrentHashMap<String, CachedObjStat> newByAccount = new ConcurrentHashMap<String, CachedObjStat>(4,
+					0.75f, 1);
+			byAccount = cacheByPath.putIfAbsent(irodsAbsolutePath, newByAccount);
+			if (byAccount == null) {
+				byAccount = newByAccount;
+			}
+		}
+		byAccount.put(buildAccountKey(irodsAccount), new CachedObjStat(objStat, now + timeToLiveMillis));
+	}
+
+	/**
+	 * Drop the entries for a path that was changed, and for its parent
+	 * collection, whose modification time changes with it
+	 *
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the normalized absolute path
+	 */
+	public void invalidate(final String irodsAbsolutePath) {
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty() || cacheByPath.isEmpty()) {
+			return;
+		}
+
+		cacheByPath.remove(irodsAbsolutePath);
+		int lastSlash = irodsAbsolutePath.lastIndexOf('/');
+		if (lastSlash > 0) {
+			cacheByPath.remove(irodsAbsolutePath.substring(0, lastSlash));
+		} else if (lastSlash == 0 && irodsAbsolutePath.length() > 1) {
+			cacheByPath.remove("/");
+		}
+	}
+
+	/**
+	 * Drop the entries for a path that was changed, its parent, and anything
+	 * under it, as when a collection is removed or renamed
+	 *
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the normalized absolute path
+	 */
+	public void invalidateTree(final String irodsAbsolutePath) {
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty() || cacheByPath.isEmpty()) {
+			return;
+		}
+
+		invalidate(irodsAbsolutePath);
+		String prefix = irodsAbsolutePath.endsWith("/") ? irodsAbsolutePath : irodsAbsolutePath + "/";
+		Iterator<String> iterator = cacheByPath.keySet().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().startsWith(prefix)) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Drop every entry
+	 */
+	public void clear() {
+		cacheByPath.clear();
+	}
+
+	/**
+	 * @return {@code int} with the count of paths with entries
+	 */
+	public int size() {
+		return cacheByPath.size();
+	}
+
+	private void purgeExpired(final long now) {
+		Iterator<Map.Entry<String, ConcurrentHashMap<String, CachedObjStat>>> iterator = cacheByPath.entrySet()
+				.iterator();
+		while (iterator.hasNext()) {
+			ConcurrentHashMap<String, CachedObjStat> byAccount = iterator.next().getValue();
+			Iterator<CachedObjStat> entries = byAccount.values().iterator();
+			while (entries.hasNext()) {
+				if (entries.next().isExpired(now)) {
+					entries.remove();
+				}
+			}
+
+			if (byAccount.isEmpty()) {
+				iterator.remove();
+			}
+		}
+	}
+
+	private static String buildAccountKey(final IRODSAccount irodsAccount) {
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(irodsAccount.getUserName());
+		sb.append('#');
+		sb.append(irodsAccount.getZone());
+		sb.append('@');
+		sb.append(irodsAccount.getHost());
+		sb.append(':');
+		sb.append(irodsAccount.getPort());
+		return sb.toString();
+	}
+
+	/**
+	 * An objStat result held in the cache, either the {@link ObjStat} or a not
+	 * found marker
+	 */
+	public static final class CachedObjStat {
+		private final ObjStat objStat;
+		private final long expiresAt;
+
+		CachedObjStat(final ObjStat objStat, final long expiresAt) {
+			this.objStat = objStat;
+			this.expiresAt = expiresAt;
+		}
+
+		/**
+		 * @return {@link ObjStat}, or {@code null} if the path was not found
+		 */
+		public ObjStat getObjStat() {
+			return objStat;
+		}
+
+		/**
+		 * @return {@code boolean} of {@code true} if the path was not found
+		 */
+		public boolean isNotFound() {
+			return objStat == null;
+		}
+
+		boolean isExpired(final long now) {
+			return now >= expiresAt;
+		}
+	}
+
+}
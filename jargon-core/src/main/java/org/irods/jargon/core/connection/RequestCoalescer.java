@@ -0,0 +1,176 @@
+package org.irods.jargon.core.connection;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shares one call to iRODS between identical read requests made at the same
+ * time by different threads of the {@link IRODSSession}. The first thread to
+ * make a request runs it, and threads that make the same request while it is in
+ * flight wait for it and get its result, or its exception, instead of sending
+ * the same call again. Once the call is done the request is forgotten, so this
+ * is not a cache, and a request made after the call is done runs again.
+ * <p>
+ * A request is identified by a key, which holds the account (user, zone, host
+ * and port), so requests made as different users are never shared, the
+ * operation, and its arguments. The result is shared by every thread that
+ * waited for it and must not be changed.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class RequestCoalescer {
+
+	public static final Logger log = LoggerFactory.getLogger(RequestCoalescer.class);
+
+	private final ConcurrentHashMap<String, InFlightRequest> inFlightRequests = new ConcurrentHashMap<String, InFlightRequest>();
+
+	/**
+	 * A read request that may be shared
+	 *
+	 * @param <T>
+	 *            type of the result
+	 */
+	public interface CoalescedRequest<T> {
+
+		/**
+		 * Make the call to iRODS
+		 *
+		 * @return result of the call
+		 * @throws JargonException
+		 *             {@link JargonException}
+		 */
+		T execute() throws JargonException;
+	}
+
+	public RequestCoalescer() {
+	}
+
+	/**
+	 * Run a request, or wait for the same request in flight on another thread
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the request is made as
+	 * @param operation
+	 *            {@code String} naming the operation
+	 * @param request
+	 *            {@link CoalescedRequest} that makes the call
+	 * @param arguments
+	 *            {@code Object...} with the arguments of the operation, their
+	 *            {@code toString()} is part of the key
+	 * @return result of the call
+	 * @throws JargonException
+	 *             the exception of the call
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T execute(final IRODSAccount irodsAccount, final String operation, final CoalescedRequest<T> request,
+			final Object... arguments) throws JargonException {
+
+		if (operation == null || operation.isEmpty()) {
+			throw new IllegalArgumentException("null or empty operation");
+		}
+
+		if (request == null) {
+			throw new IllegalArgumentException("null request");
+		}
+
+		String key = buildKey(irodsAccount, operation, arguments);
+		InFlightRequest inFlight = new InFlightRequest();
+		InFlightRequest running = inFlightRequests.putIfAbsent(key, inFlight);
+
+		if (running != null) {
+			if (running.thread == Thread.currentThread()) {
+				// the same request made while making it, would wait on itself
+				return request.execute();
+			}
+
+			log.debug("waiting on in flight request:{}", key);
+			return (T) running.await();
+		}
+
+		try {
+			T result = request.execute();
+			inFlight.result = result;
+			return result;
+		} catch (JargonException e) {
+			inFlight.exception = e;
+			throw e;
+		} catch (RuntimeException e) {
+			inFlight.exception = e;
+			throw e;
+		} catch (Error e) {
+			inFlight.exception = e;
+			throw e;
+		} finally {
+			inFlightRequests.remove(key, inFlight);
+			inFlight.done.countDown();
+		}
+	}
+
+	/**
+	 * @return {@code int} with the count of requests in flight
+	 */
+	public int size() {
+		return inFlightRequests.size();
+	}
+
+	private static String buildKey(final IRODSAccount irodsAccount, final String operation,
+			final Object... arguments) {
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(irodsAccount.getUserName());
+		sb.append('#');
+		sb.append(irodsAccount.getZone());
+		sb.append('@');
+		sb.append(irodsAccount.getHost());
+		sb.append(':');
+		sb.append(irodsAccount.getPort());
+		sb.append('|');
+		sb.append(operation);
+		if (arguments != null) {
+			for (Object argument : arguments) {
+				// the separator is not likely in a path or name
+				sb.append('\u0000');
+				sb.append(argument);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * A request being made, with the result once it is done
+	 */
+	private static final class InFlightRequest {
+		private final Thread thread = Thread.currentThread();
+		private final CountDownLatch done = new CountDownLatch(1);
+		private volatile Object result = null;
+		private volatile Throwable exception = null;
+
+		Object await() throws JargonException {
+			try {
+				done.await();
+			} catch (InterruptedException e) {
+				log.error("interrupted waiting on in flight request", e);
+				Thread.currentThread().interrupt();
+				throw new JargonException("interrupted waiting on in flight request", e);
+			}
+
+			if (exception instanceof JargonException) {
+				throw (JargonException) exception;
+			} else if (exception instanceof RuntimeException) {
+				throw (RuntimeException) exception;
+			} else if (exception != null) {
+				throw new JargonException("error in shared request", exception);
+			}
+			return result;
+		}
+	}
+
+}
@@ -69,6 +69,17 @@ public class SettableJargonProperties implements SettableJargonPropertiesMBean {
 	private int socketRenewalIntervalInSeconds;
 	private boolean longTransferRestart = true;
 	private boolean rulesSetDestinationWhenAuto = true;
+	private int randomAccessCacheBlockSize = 65536;
+	private int randomAccessCacheMaxBlocks = 32;
+	private int writeBehindQueueDepth = 0;
+	private int objStatCacheTimeToLiveMillis = 0;
+	private int objStatCacheMaxEntries = 10000;
+	private int listingQueryThreads = 0;
+	private boolean coalesceReadRequests = false;
+	private int metadataCacheTimeToLiveMillis = 0;
+	private int metadataCacheMaxEntries = 10000;
+	private int groupMembershipCacheTimeToLiveMillis = 0;
+	private int groupMembershipCacheMaxEntries = 10000;
 	private String defaultIrodsRuleEngineIdentifier = "irods_rule_engine_plugin-irods_rule_language-instance";
 	private String defaultPythonRuleEngineIdentifier = "irods_rule_engine_plugin-cpp_default_policy-instance";
 	private String defaultCppRuleEngineIdentifier = "irods_rule_engine_plugin-cpp_default_policy-instance";
@@ -207,6 +218,17 @@ public class SettableJargonProperties implements SettableJargonPropertiesMBean {
 		defaultPythonRuleEngineIdentifier = jargonProperties.getDefaultPythonRuleEngineIdentifier();
 		defaultCppRuleEngineIdentifier = jargonProperties.getDefaultCppRuleEngineIdentifier();
 		rulesSetDestinationWhenAuto = jargonProperties.isRulesSetDestinationWhenAuto();
+		randomAccessCacheBlockSize = jargonProperties.getRandomAccessCacheBlockSize();
+		randomAccessCacheMaxBlocks = jargonProperties.getRandomAccessCacheMaxBlocks();
+		writeBehindQueueDepth = jargonProperties.getWriteBehindQueueDepth();
+		objStatCacheTimeToLiveMillis = jargonProperties.getObjStatCacheTimeToLiveMillis();
+		objStatCacheMaxEntries = jargonProperties.getObjStatCacheMaxEntries();
+		listingQueryThreads = jargonProperties.getListingQueryThreads();
+		coalesceReadRequests = jargonProperties.isCoalesceReadRequests();
+		metadataCacheTimeToLiveMillis = jargonProperties.getMetadataCacheTimeToLiveMillis();
+		metadataCacheMaxEntries = jargonProperties.getMetadataCacheMaxEntries();
+		groupMembershipCacheTimeToLiveMillis = jargonProperties.getGroupMembershipCacheTimeToLiveMillis();
+		groupMembershipCacheMaxEntries = jargonProperties.getGroupMembershipCacheMaxEntries();
 	}
 
 	@Override
@@ -760,7 +782,16 @@ public class SettableJargonProperties implements SettableJargonPropertiesMBean {
 				.append(", primaryTcpPerformancePrefsBandwidth=").append(primaryTcpPerformancePrefsBandwidth)
 				.append(", socketRenewalIntervalInSeconds=").append(socketRenewalIntervalInSeconds)
 				.append(", longTransferRestart=").append(longTransferRestart).append(", rulesSetDestinationWhenAuto=")
-				.append(rulesSetDestinationWhenAuto).append(", ");
+				.append(rulesSetDestinationWhenAuto).append(", randomAccessCacheBlockSize=")
+				.append(randomAccessCacheBlockSize).append(", randomAccessCacheMaxBlocks=")
+				.append(randomAccessCacheMaxBlocks).append(", writeBehindQueueDepth=").append(writeBehindQueueDepth)
+				.append(", objStatCacheTimeToLiveMillis=").append(objStatCacheTimeToLiveMillis)
+				.append(", objStatCacheMaxEntries=").append(objStatCacheMaxEntries).append(", listingQueryThreads=")
+				.append(listingQueryThreads).append(", coalesceReadRequests=").append(coalesceReadRequests)
+				.append(", metadataCacheTimeToLiveMillis=").append(metadataCacheTimeToLiveMillis)
+				.append(", metadataCacheMaxEntries=").append(metadataCacheMaxEntries)
+				.append(", groupMembershipCacheTimeToLiveMillis=").append(groupMembershipCacheTimeToLiveMillis)
+				.append(", groupMembershipCacheMaxEntries=").append(groupMembershipCacheMaxEntries).append(", ");
 		if (defaultIrodsRuleEngineIdentifier != null) {
 			builder.append("defaultIrodsRuleEngineIdentifier=").append(defaultIrodsRuleEngineIdentifier).append(", ");
 		}
@@ -946,4 +977,114 @@ public class SettableJargonProperties implements SettableJargonPropertiesMBean {
 		this.rulesSetDestinationWhenAuto = rulesSetDestinationWhenAuto;
 	}
 
+	@Override
+	public synchronized int getRandomAccessCacheBlockSize() {
+		return randomAccessCacheBlockSize;
+	}
+
+	@Override
+	public synchronized void setRandomAccessCacheBlockSize(final int randomAccessCacheBlockSize) {
+		this.randomAccessCacheBlockSize = randomAccessCacheBlockSize;
+	}
+
+	@Override
+	public synchronized int getRandomAccessCacheMaxBlocks() {
+		return randomAccessCacheMaxBlocks;
+	}
+
+	@Override
+	public synchronized void setRandomAccessCacheMaxBlocks(final int randomAccessCacheMaxBlocks) {
+		this.randomAccessCacheMaxBlocks = randomAccessCacheMaxBlocks;
+	}
+
+	@Override
+	public synchronized int getWriteBehindQueueDepth() {
+		return writeBehindQueueDepth;
+	}
+
+	@Override
+	public synchronized void setWriteBehindQueueDepth(final int writeBehindQueueDepth) {
+		this.writeBehindQueueDepth = writeBehindQueueDepth;
+	}
+
+	@Override
+	public synchronized int getObjStatCacheTimeToLiveMillis() {
+		return objStatCacheTimeToLiveMillis;
+	}
+
+	@Override
+	public synchronized void setObjStatCacheTimeToLiveMillis(final int objStatCacheTimeToLiveMillis) {
+		this.objStatCacheTimeToLiveMillis = objStatCacheTimeToLiveMillis;
+	}
+
+	@Override
+	public synchronized int getObjStatCacheMaxEntries() {
+		return objStatCacheMaxEntries;
+	}
+
+	@Override
+	public synchronized void setObjStatCacheMaxEntries(final int objStatCacheMaxEntries) {
+		this.objStatCacheMaxEntries = objStatCacheMaxEntries;
+	}
+
+	@Override
+	public synchronized int getListingQueryThreads() {
+		return listingQueryThreads;
+	}
+
+	@Override
+	public synchronized void setListingQueryThreads(final int listingQueryThreads) {
+		this.listingQueryThreads = listingQueryThreads;
+	}
+
+	@Override
+	public synchronized boolean isCoalesceReadRequests() {
+		return coalesceReadRequests;
+	}
+
+	@Override
+	public synchronized void setCoalesceReadRequests(final boolean coalesceReadRequests) {
+		this.coalesceReadRequests = coalesceReadRequests;
+	}
+
+	@Override
+	public synchronized int getMetadataCacheTimeToLiveMillis() {
+		return metadataCacheTimeToLiveMillis;
+	}
+
+	@Override
+	public synchronized void setMetadataCacheTimeToLiveMillis(final int metadataCacheTimeToLiveMillis) {
+		this.metadataCacheTimeToLiveMillis = metadataCacheTimeToLiveMillis;
+	}
+
+	@Override
+	public synchronized int getMetadataCacheMaxEntries() {
+		return metadataCacheMaxEntries;
+	}
+
+	@Override
+	public synchronized void setMetadataCacheMaxEntries(final int metadataCacheMaxEntries) {
+		this.metadataCacheMaxEntries = metadataCacheMaxEntries;
+	}
+
+	@Override
+	public synchronized int getGroupMembershipCacheTimeToLiveMillis() {
+		return groupMembershipCacheTimeToLiveMillis;
+	}
+
+	@Override
+	public synchronized void setGroupMembershipCacheTimeToLiveMillis(final int groupMembershipCacheTimeToLiveMillis) {
+		this.groupMembershipCacheTimeToLiveMillis = groupMembershipCacheTimeToLiveMillis;
+	}
+
+	@Override
+	public synchronized int getGroupMembershipCacheMaxEntries() {
+		return groupMembershipCacheMaxEntries;
+	}
+
+	@Override
+	public synchronized void setGroupMembershipCacheMaxEntries(final int groupMembershipCacheMaxEntries) {
+		this.groupMembershipCacheMaxEntries = groupMembershipCacheMaxEntries;
+	}
+
 }
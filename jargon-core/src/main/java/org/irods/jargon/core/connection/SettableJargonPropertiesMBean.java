@@ -15,6 +15,28 @@ import org.irods.jargon.core.protovalues.EncryptionAlgorithmEnum;
  */
 public interface SettableJargonPropertiesMBean extends JargonProperties {
 
+	void setRandomAccessCacheBlockSize(final int randomAccessCacheBlockSize);
+
+	void setRandomAccessCacheMaxBlocks(final int randomAccessCacheMaxBlocks);
+
+	void setWriteBehindQueueDepth(final int writeBehindQueueDepth);
+
+	void setObjStatCacheTimeToLiveMillis(final int objStatCacheTimeToLiveMillis);
+
+	void setObjStatCacheMaxEntries(final int objStatCacheMaxEntries);
+
+	void setListingQueryThreads(final int listingQueryThreads);
+
+	void setCoalesceReadRequests(final boolean coalesceReadRequests);
+
+	void setMetadataCacheTimeToLiveMillis(final int metadataCacheTimeToLiveMillis);
+
+	void setMetadataCacheMaxEntries(final int metadataCacheMaxEntries);
+
+	void setGroupMembershipCacheTimeToLiveMillis(final int groupMembershipCacheTimeToLiveMillis);
+
+	void setGroupMembershipCacheMaxEntries(final int groupMembershipCacheMaxEntries);
+
 	void setRulesSetDestinationWhenAuto(final boolean rulesSetDestinationWhenAuto);
 
 	void setDefaultCppRuleEngineIdentifier(final String defaultCppRuleEngineIdentifier);
@@ -0,0 +1,446 @@
+package org.irods.jargon.core.pub;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.connection.ObjStatCache;
+import org.irods.jargon.core.connection.ObjStatCache.CachedObjStat;
+import org.irods.jargon.core.exception.FileNotFoundException;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.pub.domain.ObjStat.SpecColType;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry.ObjectType;
+import org.irods.jargon.core.query.GenQueryBuilderException;
+import org.irods.jargon.core.query.IRODSGenQueryBuilder;
+import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+import org.irods.jargon.core.query.JargonQueryException;
+import org.irods.jargon.core.query.QueryConditionOperators;
+import org.irods.jargon.core.query.RodsGenQueryEnum;
+import org.irods.jargon.core.utils.IRODSDataConversionUtil;
+import org.irods.jargon.core.utils.MiscIRODSUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Retrieves {@link ObjStat}s for many paths with a few GenQueries instead of an
+ * objStat per path. The paths are grouped by parent collection, the
+ * collections are found with an IN condition on the collection name, and the
+ * data objects with IN conditions on the parent collection and data name.
+ * <p>
+ * The catalog only knows about paths in ordinary collections. A path whose
+ * parent is a special collection (a mount or soft link), or whose parent is not
+ * found in the catalog, is handed to the objStat of
+ * {@link CollectionListingUtils}, as is a path with a quote that cannot be put
+ * in a GenQuery condition.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+class BulkObjStatUtils {
+
+	private static final Logger log = LoggerFactory.getLogger(BulkObjStatUtils.class);
+
+	/**
+	 * Most values put in one IN condition
+	 */
+	static final int MAX_IN_VALUES = 100;
+
+	private final IRODSAccount irodsAccount;
+	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private final CollectionListingUtils collectionListingUtils;
+
+	/**
+	 * @param irodsAccount             {@link IRODSAccount}
+	 * @param irodsAccessObjectFactory {@link IRODSAccessObjectFactory}
+	 * @param collectionListingUtils   {@link CollectionListingUtils} used for
+	 *                                 paths the catalog cannot answer for
+	 */
+	BulkObjStatUtils(final IRODSAccount irodsAccount, final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final CollectionListingUtils collectionListingUtils) {
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (irodsAccessObjectFactory == null) {
+			throw new IllegalArgumentException("null irodsAccessObjectFactory");
+		}
+
+		if (collectionListingUtils == null) {
+			throw new IllegalArgumentException("null collectionListingUtils");
+		}
+
+		this.irodsAccount = irodsAccount;
+		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+		this.collectionListingUtils = collectionListingUtils;
+	}
+
+	/**
+	 * Retrieve the {@code ObjStat} for each of the given paths
+	 *
+	 * @param irodsAbsolutePaths {@code List<String>} of absolute paths
+	 * @return {@code List<ObjStat>} in the order of the given paths, with
+	 *         {@code null} for each path that was not found
+	 * @throws JargonException {@link JargonException}
+	 */
+	List<ObjStat> retrieveObjectStatsForPaths(final List<String> irodsAbsolutePaths) throws JargonException {
+
+		if (irodsAbsolutePaths == null) {
+			throw new IllegalArgumentException("null irodsAbsolutePaths");
+		}
+
+		log.info("retrieveObjectStatsForPaths() for {} paths", irodsAbsolutePaths.size());
+
+		JargonProperties jargonProperties = irodsAccessObjectFactory.getJargonProperties();
+		int timeToLiveMillis = jargonProperties.getObjStatCacheTimeToLiveMillis();
+		int maxEntries = jargonProperties.getObjStatCacheMaxEntries();
+		ObjStatCache objStatCache = irodsAccessObjectFactory.getIrodsSession().getObjStatCache();
+
+		List<String> normalizedPaths = new ArrayList<>(irodsAbsolutePaths.size());
+		Map<String, ObjStat> found = new HashMap<>();
+		Set<String> notFound = new LinkedHashSet<>();
+		Set<String> toQuery = new LinkedHashSet<>();
+		Set<String> toObjStat = new LinkedHashSet<>();
+
+		for (String irodsAbsolutePath : irodsAbsolutePaths) {
+			if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+				throw new IllegalArgumentException("null or empty path in irodsAbsolutePaths");
+			}
+
+			String myPath = MiscIRODSUtils.normalizeIrodsPath(irodsAbsolutePath);
+			normalizedPaths.add(myPath);
+
+			if (timeToLiveMillis > 0) {
+				CachedObjStat cached = objStatCache.lookup(irodsAccount, myPath);
+				if (cached != null) {
+					if (cached.isNotFound()) {
+						notFound.add(myPath);
+					} else {
+						found.put(myPath, cached.getObjStat());
+					}
+					continue;
+				}
+			}
+
+			if (myPath.equals("/") || myPath.indexOf('\'') > -1) {
+				toObjStat.add(myPath);
+			} else {
+				toQuery.add(myPath);
+			}
+		}
+
+		if (!toQuery.isEmpty()) {
+			queryCatalog(toQuery, found, notFound, toObjStat, timeToLiveMillis, maxEntries, objStatCache);
+		}
+
+		/*
+		 * objStat caches its own results
+		 */
+		for (String path : toObjStat) {
+			try {
+				found.put(path, collectionListingUtils.retrieveObjectStatForPath(path));
+			} catch (FileNotFoundException e) {
+				notFound.add(path);
+			}
+		}
+
+		List<ObjStat> objStats = new ArrayList<>(normalizedPaths.size());
+		for (String path : normalizedPaths) {
+			objStats.add(found.get(path));
+		}
+
+		log.info("found {} of {} paths", found.size(), found.size() + notFound.size());
+		return objStats;
+	}
+
+	private void queryCatalog(final Set<String> toQuery, final Map<String, ObjStat> found,
+			final Set<String> notFound, final Set<String> toObjStat, final int timeToLiveMillis,
+			final int maxEntries, final ObjStatCache objStatCache) throws JargonException {
+
+		/*
+		 * Group by parent, the parents are looked up with the paths so that it is
+		 * known which of the data objects the catalog can answer for
+		 */
+		Map<String, List<String>> namesByParent = new LinkedHashMap<>();
+		Set<String> collectionNames = new LinkedHashSet<>(toQuery);
+		for (String path : toQuery) {
+			int lastSlash = path.lastIndexOf('/');
+			String parent = lastSlash == 0 ? "/" : path.substring(0, lastSlash);
+			List<String> names = namesByParent.get(parent);
+			if (names == null) {
+				names = new ArrayList<>();
+				namesByParent.put(parent, names);
+			}
+			names.add(path.substring(lastSlash + 1));
+			collectionNames.add(parent);
+		}
+
+		Map<String, ObjStat> collections = new HashMap<>();
+		Set<String> specialCollections = new LinkedHashSet<>();
+		queryCollections(collectionNames, collections, specialCollections);
+
+		Map<String, List<String>> dataNamesByParent = new LinkedHashMap<>();
+		for (Map.Entry<String, List<String>> entry : namesByParent.entrySet()) {
+			String parent = entry.getKey();
+			boolean catalogKnowsChildren = collections.containsKey(parent);
+			List<String> dataNames = new ArrayList<>();
+			for (String name : entry.getValue()) {
+				String path = parent.equals("/") ? "/" + name : parent + "/" + name;
+				if (specialCollections.contains(path) || !catalogKnowsChildren) {
+					toObjStat.add(path);
+				} else if (collections.containsKey(path)) {
+					found.put(path, collections.get(path));
+				} else {
+					dataNames.add(name);
+				}
+			}
+
+			if (!dataNames.isEmpty()) {
+				dataNamesByParent.put(parent, dataNames);
+			}
+		}
+
+		Map<String, ObjStat> dataObjects = queryDataObjects(dataNamesByParent);
+
+		for (Map.Entry<String, List<String>> entry : dataNamesByParent.entrySet()) {
+			String parent = entry.getKey();
+			for (String name : entry.getValue()) {
+				String path = parent.equals("/") ? "/" + name : parent + "/" + name;
+				ObjStat objStat = dataObjects.get(path);
+				if (objStat == null) {
+					notFound.add(path);
+					objStatCache.cacheNotFound(irodsAccount, path, timeToLiveMillis, maxEntries);
+				} else {
+					found.put(path, objStat);
+				}
+			}
+		}
+
+		for (String path : toQuery) {
+			ObjStat objStat = found.get(path);
+			if (objStat != null) {
+				objStatCache.cacheObjStat(irodsAccount, path, objStat, timeToLiveMillis, maxEntries);
+			}
+		}
+	}
+
+	/**
+	 * Find the given collections, special collections are noted but not returned,
+	 * as their objStat carries more than the catalog has
+	 */
+	private void queryCollections(final Set<String> collectionNames, final Map<String, ObjStat> collections,
+			final Set<String> specialCollections) throws JargonException {
+
+		for (Map.Entry<String, List<String>> zoneEntry : groupByZone(collectionNames).entrySet()) {
+			for (List<String> chunk : chunk(zoneEntry.getValue(), MAX_IN_VALUES)) {
+				IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+				try {
+					builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_COLL_NAME)
+							.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_COLL_ID)
+							.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_COLL_OWNER_NAME)
+							.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_COLL_OWNER_ZONE)
+							.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_COLL_CREATE_TIME)
+							.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_COLL_MODIFY_TIME)
+							.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_COLL_TYPE)
+							.addConditionAsMultiValueCondition(RodsGenQueryEnum.COL_COLL_NAME,
+									QueryConditionOperators.IN, chunk);
+				} catch (GenQueryBuilderException e) {
+					log.error(CollectionListingUtils.QUERY_EXCEPTION_FOR_QUERY, e);
+					throw new JargonException("error building bulk collection query", e);
+				}
+
+				for (IRODSQueryResultRow row : executeAllPages(builder, zoneEntry.getKey())) {
+					String collName = row.getColumn(0);
+					String collType = row.getColumn(6);
+					if (collType != null && !collType.isEmpty()) {
+						log.debug("special collection:{} of type:{}", collName, collType);
+						specialCollections.add(collName);
+						continue;
+					}
+
+					ObjStat objStat = new ObjStat();
+					objStat.setAbsolutePath(collName);
+					objStat.setObjectType(ObjectType.COLLECTION);
+					objStat.setDataId(row.getColumnAsIntOrZero(1));
+					objStat.setOwnerName(row.getColumn(2));
+					objStat.setOwnerZone(row.getColumn(3));
+					objStat.setCreatedAt(IRODSDataConversionUtil.getDateFromIRODSValue(row.getColumn(4)));
+					objStat.setModifiedAt(IRODSDataConversionUtil.getDateFromIRODSValue(row.getColumn(5)));
+					objStat.setSpecColType(SpecColType.NORMAL);
+					collections.put(collName, objStat);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Find the given data objects, grouping parents so that each query has at most
+	 * {@link #MAX_IN_VALUES} parents and names. Rows for a name under a parent it
+	 * was not asked for, and for replicas other than the lowest numbered, are
+	 * dropped.
+	 */
+	private Map<String, ObjStat> queryDataObjects(final Map<String, List<String>> dataNamesByParent)
+			throws JargonException {
+
+		Map<String, ObjStat> dataObjects = new HashMap<>();
+		Map<String, Integer> replNumbers = new HashMap<>();
+
+		for (Map.Entry<String, List<String>> zoneEntry : groupByZone(dataNamesByParent.keySet()).entrySet()) {
+
+			List<String> parents = new ArrayList<>();
+			Set<String> names = new LinkedHashSet<>();
+			for (String parent : zoneEntry.getValue()) {
+				List<String> parentNames = dataNamesByParent.get(parent);
+				int start = 0;
+				while (start < parentNames.size()) {
+					if (parents.size() == MAX_IN_VALUES || names.size() == MAX_IN_VALUES) {
+						queryDataObjectChunk(parents, names, zoneEntry.getKey(), dataObjects, replNumbers);
+						parents.clear();
+						names.clear();
+					}
+
+					if (parents.isEmpty() || !parents.get(parents.size() - 1).equals(parent)) {
+						parents.add(parent);
+					}
+
+					while (start < parentNames.size() && names.size() < MAX_IN_VALUES) {
+						names.add(parentNames.get(start++));
+					}
+				}
+			}
+
+			if (!parents.isEmpty()) {
+				queryDataObjectChunk(parents, names, zoneEntry.getKey(), dataObjects, replNumbers);
+			}
+		}
+
+		return dataObjects;
+	}
+
+	private void queryDataObjectChunk(final List<String> parents, final Set<String> names, final String zone,
+			final Map<String, ObjStat> dataObjects, final Map<String, Integer> replNumbers) throws JargonException {
+
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		try {
+			builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_COLL_NAME)
+					.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_NAME)
+					.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_D_DATA_ID)
+					.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_D_DATA_CHECKSUM)
+					.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_D_OWNER_NAME)
+					.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_D_OWNER_ZONE)
+					.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_SIZE)
+					.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_D_CREATE_TIME)
+					.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_D_MODIFY_TIME)
+					.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_REPL_NUM);
+
+			if (parents.size() == 1) {
+				builder.addConditionAsGenQueryField(RodsGenQueryEnum.COL_COLL_NAME, QueryConditionOperators.EQUAL,
+						parents.get(0));
+			} else {
+				builder.addConditionAsMultiValueCondition(RodsGenQueryEnum.COL_COLL_NAME, QueryConditionOperators.IN,
+						new ArrayList<>(parents));
+			}
+
+			if (names.size() == 1) {
+				builder.addConditionAsGenQueryField(RodsGenQueryEnum.COL_DATA_NAME, QueryConditionOperators.EQUAL,
+						names.iterator().next());
+			} else {
+				builder.addConditionAsMultiValueCondition(RodsGenQueryEnum.COL_DATA_NAME, QueryConditionOperators.IN,
+						new ArrayList<>(names));
+			}
+		} catch (GenQueryBuilderException e) {
+			log.error(CollectionListingUtils.QUERY_EXCEPTION_FOR_QUERY, e);
+			throw new JargonException("error building bulk data object query", e);
+		}
+
+		for (IRODSQueryResultRow row : executeAllPages(builder, zone)) {
+			String collName = row.getColumn(0);
+			String dataName = row.getColumn(1);
+			String path = collName.equals("/") ? "/" + dataName : collName + "/" + dataName;
+			int replNumber = row.getColumnAsIntOrZero(9);
+
+			Integer foundReplNumber = replNumbers.get(path);
+			if (foundReplNumber != null && foundReplNumber <= replNumber) {
+				continue;
+			}
+
+			ObjStat objStat = new ObjStat();
+			objStat.setAbsolutePath(path);
+			objStat.setObjectType(ObjectType.DATA_OBJECT);
+			objStat.setDataId(row.getColumnAsIntOrZero(2));
+			objStat.setChecksum(row.getColumn(3));
+			objStat.setOwnerName(row.getColumn(4));
+			objStat.setOwnerZone(row.getColumn(5));
+			objStat.setObjSize(row.getColumnAsLongOrZero(6));
+			objStat.setCreatedAt(IRODSDataConversionUtil.getDateFromIRODSValue(row.getColumn(7)));
+			objStat.setModifiedAt(IRODSDataConversionUtil.getDateFromIRODSValue(row.getColumn(8)));
+			objStat.setSpecColType(SpecColType.NORMAL);
+			dataObjects.put(path, objStat);
+			replNumbers.put(path, replNumber);
+		}
+	}
+
+	/**
+	 * Run the query, reading every page of results
+	 */
+	private List<IRODSQueryResultRow> executeAllPages(final IRODSGenQueryBuilder builder, final String zone)
+			throws JargonException {
+
+		IRODSGenQueryExecutor irodsGenQueryExecutor = irodsAccessObjectFactory.getIRODSGenQueryExecutor(irodsAccount);
+		int pageSize = irodsAccessObjectFactory.getJargonProperties().getMaxFilesAndDirsQueryMax();
+		List<IRODSQueryResultRow> rows = new ArrayList<>();
+
+		try {
+			IRODSGenQueryFromBuilder irodsQuery = builder.exportIRODSQueryFromBuilder(pageSize);
+			IRODSQueryResultSet resultSet = irodsGenQueryExecutor.executeIRODSQueryAndCloseResultInZone(irodsQuery,
+					0, zone);
+			rows.addAll(resultSet.getResults());
+
+			while (resultSet.isHasMoreRecords() && !resultSet.getResults().isEmpty()) {
+				int nextIndex = resultSet.getResults().get(resultSet.getResults().size() - 1).getRecordCount();
+				resultSet = irodsGenQueryExecutor.executeIRODSQueryAndCloseResultInZone(irodsQuery, nextIndex, zone);
+				rows.addAll(resultSet.getResults());
+			}
+		} catch (JargonQueryException e) {
+			log.error(CollectionListingUtils.QUERY_EXCEPTION_FOR_QUERY, e);
+			throw new JargonException("error in bulk objStat query", e);
+		} catch (GenQueryBuilderException e) {
+			log.error(CollectionListingUtils.QUERY_EXCEPTION_FOR_QUERY, e);
+			throw new JargonException("error in bulk objStat query", e);
+		}
+
+		return rows;
+	}
+
+	private static Map<String, List<String>> groupByZone(final Set<String> paths) {
+		Map<String, List<String>> pathsByZone = new LinkedHashMap<>();
+		for (String path : paths) {
+			String zone = MiscIRODSUtils.getZoneInPath(path);
+			List<String> zonePaths = pathsByZone.get(zone);
+			if (zonePaths == null) {
+				zonePaths = new ArrayList<>();
+				pathsByZone.put(zone, zonePaths);
+			}
+			zonePaths.add(path);
+		}
+		return pathsByZone;
+	}
+
+	private static List<List<String>> chunk(final List<String> values, final int size) {
+		List<List<String>> chunks = new ArrayList<>();
+		for (int i = 0; i < values.size(); i += size) {
+			chunks.add(values.subList(i, Math.min(values.size(), i + size)));
+		}
+		return chunks;
+	}
+
+}
@@ -5,6 +5,8 @@ import java.util.List;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.MetadataChangeEvent.MetadataChangeType;
+import org.irods.jargon.core.connection.RequestCoalescer.CoalescedRequest;
 import org.irods.jargon.core.exception.CatalogSQLException;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.DuplicateDataException;
@@ -453,6 +455,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		try {
 
 			getIRODSProtocol().irodsFunction(modifyAvuMetadataInp);
+			publishMetadataChange(MetadataChangeType.AVU_ADD, myPath);
 
 		} catch (JargonException je) {
 
@@ -499,6 +502,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		try {
 
 			getIRODSProtocol().irodsFunction(modifyAvuMetadataInp);
+			publishMetadataChange(MetadataChangeType.AVU_MODIFY, myPath);
 
 		} catch (JargonException je) {
 
@@ -546,6 +550,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 
 		try {
 			getIRODSProtocol().irodsFunction(modifyAvuMetadataInp);
+			publishMetadataChange(MetadataChangeType.AVU_REMOVE, myPath);
 		} catch (JargonException je) {
 
 			if (je.getMessage().indexOf("-814000") > -1) {
@@ -701,6 +706,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		try {
 
 			getIRODSProtocol().irodsFunction(modifyAvuMetadataInp);
+			publishMetadataChange(MetadataChangeType.AVU_MODIFY, myPath);
 
 		} catch (JargonException je) {
 
@@ -736,8 +742,20 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		log.info("find metadata values for collection:{}", collectionAbsolutePath);
 		log.info("with partial start of:{}", partialStartIndex);
 
-		ObjStat objStat = getObjectStatForAbsolutePath(collectionAbsolutePath);
-		return findMetadataValuesForCollection(objStat, partialStartIndex);
+		return cachedReadRequestForList("findMetadataValuesForCollection", collectionAbsolutePath,
+				new CoalescedRequest<List<MetaDataAndDomainData>>() {
+
+					@Override
+					public List<MetaDataAndDomainData> execute() throws JargonException {
+						ObjStat objStat = getObjectStatForAbsolutePath(collectionAbsolutePath);
+						try {
+							return findMetadataValuesForCollection(objStat, partialStartIndex);
+						} catch (JargonQueryException e) {
+							log.error("error executing query", e);
+							throw new JargonException("error executing query", e);
+						}
+					}
+				}, partialStartIndex);
 
 	}
 
@@ -1130,6 +1148,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp
 				.instanceForSetInheritOnACollection(collNeedsRecursive, zone, effectiveAbsPath);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, effectiveAbsPath);
 
 	}
 
@@ -1160,6 +1179,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp
 				.instanceForSetInheritOnACollectionInAdminMode(collNeedsRecursive, zone, effectiveAbsPath);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, effectiveAbsPath);
 
 	}
 
@@ -1191,6 +1211,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp
 				.instanceForSetNoInheritOnACollection(collNeedsRecursive, zone, effectiveAbsPath);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, effectiveAbsPath);
 
 	}
 
@@ -1223,6 +1244,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp
 				.instanceForSetNoInheritOnACollectionInAdminMode(collNeedsRecursive, zone, effectiveAbsPath);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, effectiveAbsPath);
 
 	}
 
@@ -1255,6 +1277,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(collNeedsRecursive, zone,
 				effectiveAbsPath, userName, ModAccessControlInp.READ_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, effectiveAbsPath);
 
 	}
 
@@ -1290,6 +1313,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(
 				collNeedsRecursive, zone, effectiveAbsPath, userName, ModAccessControlInp.READ_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, effectiveAbsPath);
 
 	}
 
@@ -1364,6 +1388,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(collNeedsRecursive, zone,
 				effectiveAbsPath, userName, ModAccessControlInp.WRITE_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, effectiveAbsPath);
 
 	}
 
@@ -1400,6 +1425,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(
 				collNeedsRecursive, zone, effectiveAbsPath, userName, ModAccessControlInp.WRITE_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, effectiveAbsPath);
 
 	}
 
@@ -1437,6 +1463,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(collNeedsRecursive, zone,
 				effectiveAbsPath, userName, ModAccessControlInp.OWN_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, effectiveAbsPath);
 
 	}
 
@@ -1473,6 +1500,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(
 				collNeedsRecursive, zone, effectiveAbsPath, userName, ModAccessControlInp.OWN_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, effectiveAbsPath);
 
 	}
 
@@ -1510,6 +1538,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(collNeedsRecursive, zone,
 				effectiveAbsPath, userName, ModAccessControlInp.NULL_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, effectiveAbsPath);
 
 	}
 
@@ -1548,6 +1577,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(
 				collNeedsRecursive, zone, effectiveAbsPath, userName, ModAccessControlInp.NULL_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, effectiveAbsPath);
 
 	}
 
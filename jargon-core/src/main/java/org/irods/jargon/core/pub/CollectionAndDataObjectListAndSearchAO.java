@@ -1,11 +1,14 @@
 package org.irods.jargon.core.pub;
 
 import java.util.List;
+import java.util.Map;
 
 import org.irods.jargon.core.exception.FileNotFoundException;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.protovalues.FilePermissionEnum;
 import org.irods.jargon.core.pub.domain.IRODSDomainObject;
 import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.pub.domain.UserFilePermission;
 import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
 import org.irods.jargon.core.query.PagingAwareCollectionListing;
 
@@ -160,6 +163,29 @@ public interface CollectionAndDataObjectListAndSearchAO extends IRODSAccessObjec
 	List<CollectionAndDataObjectListingEntry> listDataObjectsAndCollectionsUnderPath(final String absolutePathToParent)
 			throws FileNotFoundException, JargonException;
 
+	/**
+	 * Iterate over the collections, and then the data objects, that are direct
+	 * children of the given parent, reading the listing from iRODS a page at a
+	 * time as the iterator advances. This suits collections too large to list into
+	 * memory, and callers that may stop early. The iterator holds an open query in
+	 * iRODS, and must be closed if it is not read to the end.
+	 * <p>
+	 * Soft links are supported as for
+	 * {@link #listDataObjectsAndCollectionsUnderPath(String)}.
+	 *
+	 * @param absolutePathToParent
+	 *            {@code String} with the absolute path to the parent collection
+	 * @return {@link CollectionAndDataObjectListingIterator} over the
+	 *         {@link org.irods.jargon.core.query.CollectionAndDataObjectListingEntry}
+	 *         children, which may also be read as a {@code Stream}
+	 * @throws FileNotFoundException
+	 *             if the given path does not exist
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	CollectionAndDataObjectListingIterator iterateDataObjectsAndCollectionsUnderPath(String absolutePathToParent)
+			throws FileNotFoundException, JargonException;
+
 	/**
 	 * This method is in support of applications and interfaces that need to support
 	 * listing and paging of collections. This method returns a simple value object
@@ -475,6 +501,73 @@ public interface CollectionAndDataObjectListAndSearchAO extends IRODSAccessObjec
 	List<CollectionAndDataObjectListingEntry> listDataObjectsAndCollectionsUnderPathWithPermissions(
 			String absolutePathToParent) throws FileNotFoundException, JargonException;
 
+	/**
+	 * List the ACL of each collection and data object in the first page of the
+	 * listing under the given path. The ACLs are read with the listing, in one
+	 * query for the collections and one for the data objects, rather than with a
+	 * query for each entry. Later pages may be read with
+	 * {@code listCollectionsUnderPathWithPermissions} and
+	 * {@code listDataObjectsUnderPathWithPermissions}, and their ACLs are in
+	 * {@link CollectionAndDataObjectListingEntry#getUserFilePermission()}.
+	 *
+	 * @param absolutePathToParent
+	 *            {@code String} with the absolute path to the parent
+	 * @return {@code Map} of the absolute path of each entry, in listing order, to
+	 *         a {@code List} of {@link UserFilePermission} with the user and group
+	 *         permissions of the entry
+	 * @throws FileNotFoundException
+	 *             if the given absolutePathToParent does not exist
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	Map<String, List<UserFilePermission>> listPermissionsForEntriesUnderPath(String absolutePathToParent)
+			throws FileNotFoundException, JargonException;
+
+	/**
+	 * Resolve the permission a user has on each entry of a listing page that was
+	 * read with permissions, as the highest permission granted to the user
+	 * directly or through a group. The groups of the user are looked up once for
+	 * the whole page, and the rest is resolved from the ACLs in the entries
+	 * without querying iRODS again.
+	 *
+	 * @param collectionAndDataObjectListingEntries
+	 *            {@code List} of {@link CollectionAndDataObjectListingEntry} read
+	 *            with one of the {@code WithPermissions} listing methods
+	 * @param userName
+	 *            {@code String} with the user name, which may be in user#zone
+	 *            form
+	 * @return {@code Map} of the absolute path of each entry, in listing order, to
+	 *         the {@link FilePermissionEnum} of the user, {@code NONE} if nothing
+	 *         is granted
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	Map<String, FilePermissionEnum> resolveEffectivePermissionsForUser(
+			List<CollectionAndDataObjectListingEntry> collectionAndDataObjectListingEntries, String userName)
+			throws JargonException;
+
+	/**
+	 * List the permission a user has on each collection and data object in the
+	 * first page of the listing under the given path. This is
+	 * {@link #listDataObjectsAndCollectionsUnderPathWithPermissions(String)}
+	 * followed by
+	 * {@link #resolveEffectivePermissionsForUser(List, String)}.
+	 *
+	 * @param absolutePathToParent
+	 *            {@code String} with the absolute path to the parent
+	 * @param userName
+	 *            {@code String} with the user name, which may be in user#zone
+	 *            form
+	 * @return {@code Map} of the absolute path of each entry, in listing order, to
+	 *         the {@link FilePermissionEnum} of the user
+	 * @throws FileNotFoundException
+	 *             if the given absolutePathToParent does not exist
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	Map<String, FilePermissionEnum> listEffectivePermissionsForUserUnderPath(String absolutePathToParent,
+			String userName) throws FileNotFoundException, JargonException;
+
 	/**
 	 * Retrieve the {@code ObjStat} for a collection or data object at the given
 	 * absolute path in iRODS. This is the result of a call to rsObjStat. Note that
@@ -494,6 +587,26 @@ public interface CollectionAndDataObjectListAndSearchAO extends IRODSAccessObjec
 	 */
 	ObjStat retrieveObjectStatForPath(String irodsAbsolutePath) throws FileNotFoundException, JargonException;
 
+	/**
+	 * Retrieve the {@code ObjStat} for each of a list of paths, using a few
+	 * GenQueries for the paths that share a parent collection rather than an
+	 * objStat per path. This suits callers such as WebDAV that look up many
+	 * explicit paths at once.
+	 * <p>
+	 * Paths that the catalog cannot describe, such as those in mounted or soft
+	 * linked collections, are looked up with an objStat. Cached objStats are used,
+	 * and the results cached, as for {@link #retrieveObjectStatForPath(String)}.
+	 *
+	 * @param irodsAbsolutePaths
+	 *            {@code List<String>} with the absolute paths to iRODS collections
+	 *            or data objects
+	 * @return {@code List<ObjStat>} in the order of the given paths, with
+	 *         {@code null} at the place of each path that was not found
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	List<ObjStat> retrieveObjectStatsForPaths(List<String> irodsAbsolutePaths) throws JargonException;
+
 	/**
 	 * Return the {@code CollectionAndDataObjectListingEntry} that is associated
 	 * with the given iRODS absolute path. This is equivalent to doing an 'objStat'
@@ -670,6 +783,56 @@ public interface CollectionAndDataObjectListAndSearchAO extends IRODSAccessObjec
 	List<CollectionAndDataObjectListingEntry> listCollectionsUnderPath(final ObjStat objStat,
 			final int partialStartIndex) throws FileNotFoundException, JargonException;
 
+	/**
+	 * List a page of the collections underneath a given parent path whose names
+	 * sort after a given name, in name order. Rather than an offset, the page
+	 * starts from a condition on the collection name, so the catalog does not
+	 * read past the earlier pages, and collections added or removed before the
+	 * given name do not shift the page. Entries do not carry a total record count.
+	 *
+	 * @param objStat
+	 *            {@link ObjStat} that has already been obtained
+	 * @param lastCollectionName
+	 *            <code>String</code> with the last path component of the last
+	 *            collection already seen, or <code>null</code> or blank to start
+	 *            with the first collection
+	 * @param pageSize
+	 *            <code>int</code> with the most rows to read in the page
+	 * @return <code>List</code> of {@link CollectionAndDataObjectListingEntry},
+	 *         where the last entry is marked as the last result when no more
+	 *         collections follow
+	 * @throws FileNotFoundException
+	 *             {@link FileNotFoundException}
+	 * @throws JargonException
+	 *             {@link JargonException}
+	 */
+	List<CollectionAndDataObjectListingEntry> listCollectionsUnderPathAfterName(final ObjStat objStat,
+			final String lastCollectionName, final int pageSize) throws FileNotFoundException, JargonException;
+
+	/**
+	 * List a page of the data objects underneath a given parent path whose names
+	 * sort after a given name, in name order. See
+	 * {@link #listCollectionsUnderPathAfterName(ObjStat, String, int)}. A data
+	 * object is read once for each replica, so a page may have fewer entries than
+	 * the page size.
+	 *
+	 * @param objStat
+	 *            {@link ObjStat} that has already been obtained
+	 * @param lastDataObjectName
+	 *            <code>String</code> with the name of the last data object
+	 *            already seen, or <code>null</code> or blank to start with the
+	 *            first data object
+	 * @param pageSize
+	 *            <code>int</code> with the most rows to read in the page
+	 * @return <code>List</code> of {@link CollectionAndDataObjectListingEntry},
+	 *         where the last entry is marked as the last result when no more data
+	 *         objects follow
+	 * @throws JargonException
+	 *             {@link JargonException}
+	 */
+	List<CollectionAndDataObjectListingEntry> listDataObjectsUnderPathAfterName(final ObjStat objStat,
+			final String lastDataObjectName, final int pageSize) throws JargonException;
+
 	/**
 	 * Return a count of the number of collections under the path represented by the
 	 * objStat
@@ -1,20 +1,28 @@
 package org.irods.jargon.core.pub;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.RequestCoalescer.CoalescedRequest;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.FileNotFoundException;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.exception.JargonRuntimeException;
 import org.irods.jargon.core.exception.SpecificQueryException;
+import org.irods.jargon.core.protovalues.FilePermissionEnum;
+import org.irods.jargon.core.pub.ListingQueryFanOut.ListingQuery;
 import org.irods.jargon.core.pub.aohelper.CollectionAOHelper;
 import org.irods.jargon.core.pub.domain.DataObject;
 import org.irods.jargon.core.pub.domain.ObjStat;
 import org.irods.jargon.core.pub.domain.ObjStat.SpecColType;
 import org.irods.jargon.core.pub.domain.UserFilePermission;
+import org.irods.jargon.core.pub.domain.UserGroup;
 import org.irods.jargon.core.pub.io.IRODSFile;
 import org.irods.jargon.core.pub.io.IRODSFileSystemAOHelper;
 import org.irods.jargon.core.query.AbstractIRODSQueryResultSet;
@@ -289,12 +297,33 @@ public class CollectionAndDataObjectListAndSearchAOImpl extends IRODSGenericAO
 
 		log.info("querying for children...");
 
-		final List<CollectionAndDataObjectListingEntry> entries = new ArrayList<>();
+		return listCollectionsAndDataObjectsUnderPath(collectionListingUtils, objStat);
+	}
 
-		entries.addAll(collectionListingUtils.listCollectionsUnderPath(objStat, 0));
-		entries.addAll(collectionListingUtils.listDataObjectsUnderPath(objStat, 0));
+	@Override
+	public CollectionAndDataObjectListingIterator iterateDataObjectsAndCollectionsUnderPath(
+			final String absolutePathToParent) throws FileNotFoundException, JargonException {
 
-		return entries;
+		log.info("iterateDataObjectsAndCollectionsUnderPath()");
+
+		if (absolutePathToParent == null || absolutePathToParent.isEmpty()) {
+			throw new IllegalArgumentException("absolutePathToParent is null or empty");
+		}
+
+		log.info("absolutePathToParent:{}", absolutePathToParent);
+
+		ObjStat objStat;
+
+		try {
+			objStat = retrieveObjectStatForPath(absolutePathToParent);
+		} catch (final FileNotFoundException fnf) {
+			log.info("didn't find an objStat for the path, look for stand-in collections under root or home");
+			return CollectionAndDataObjectListingIterator
+					.instanceForEntries(collectionListingUtils.handleNoListingUnderRootOrHome(absolutePathToParent));
+		}
+
+		return CollectionAndDataObjectListingIterator.instance(objStat, getIRODSAccount(),
+				getIRODSAccessObjectFactory(), collectionListingUtils);
 	}
 
 	@Override
@@ -313,11 +342,58 @@ public class CollectionAndDataObjectListAndSearchAOImpl extends IRODSGenericAO
 
 		final CollectionListingUtils collectionListingUtils = new CollectionListingUtils(getIRODSAccount(),
 				getIRODSAccessObjectFactory());
-		final List<CollectionAndDataObjectListingEntry> entries = new ArrayList<>();
 
-		entries.addAll(collectionListingUtils.listCollectionsUnderPath(objStat, 0));
-		entries.addAll(collectionListingUtils.listDataObjectsUnderPath(objStat, 0));
+		return listCollectionsAndDataObjectsUnderPath(collectionListingUtils, objStat);
+	}
+
+	/**
+	 * List the collections, then the data objects, under a path. The two queries
+	 * are run at the same time when the listing query pool of the session is
+	 * configured, see {@link ListingQueryFanOut}, and the listing is shared with
+	 * the same listing made at the same time on other threads when read requests
+	 * are coalesced.
+	 */
+	private List<CollectionAndDataObjectListingEntry> listCollectionsAndDataObjectsUnderPath(
+			final CollectionListingUtils collectionListingUtils, final ObjStat objStat) throws JargonException {
+
+		return cachedReadRequestForList("listDataObjectsAndCollectionsUnderPath", objStat.getAbsolutePath(),
+				new CoalescedRequest<List<CollectionAndDataObjectListingEntry>>() {
+
+					@Override
+					public List<CollectionAndDataObjectListingEntry> execute() throws JargonException {
+						return queryCollectionsAndDataObjectsUnderPath(collectionListingUtils, objStat);
+					}
+				}, objStat.getObjectPath());
+	}
+
+	private List<CollectionAndDataObjectListingEntry> queryCollectionsAndDataObjectsUnderPath(
+			final CollectionListingUtils collectionListingUtils, final ObjStat objStat) throws JargonException {
+
+		final List<ListingQuery<List<CollectionAndDataObjectListingEntry>>> queries = new ArrayList<>();
+		queries.add(new ListingQuery<List<CollectionAndDataObjectListingEntry>>() {
+
+			@Override
+			public List<CollectionAndDataObjectListingEntry> query() throws JargonException {
+				return collectionListingUtils.listCollectionsUnderPath(objStat, 0);
+			}
+		});
+		queries.add(new ListingQuery<List<CollectionAndDataObjectListingEntry>>() {
+
+			@Override
+			public List<CollectionAndDataObjectListingEntry> query() throws JargonException {
+				return collectionListingUtils.listDataObjectsUnderPath(objStat, 0);
+			}
+		});
+
+		return mergeListings(ListingQueryFanOut.queryAll(getIRODSSession(), getIRODSAccount(), queries));
+	}
 
+	private List<CollectionAndDataObjectListingEntry> mergeListings(
+			final List<List<CollectionAndDataObjectListingEntry>> listings) {
+		final List<CollectionAndDataObjectListingEntry> entries = new ArrayList<>();
+		for (List<CollectionAndDataObjectListingEntry> listing : listings) {
+			entries.addAll(listing);
+		}
 		return entries;
 	}
 
@@ -358,11 +434,114 @@ public class CollectionAndDataObjectListAndSearchAOImpl extends IRODSGenericAO
 		 */
 		MiscIRODSUtils.evaluateSpecCollSupport(objStat);
 
-		final List<CollectionAndDataObjectListingEntry> entries = listCollectionsUnderPathWithPermissionsCheckingIfSpecQueryUsed(
-				absolutePathToParent, 0, objStat);
-		entries.addAll(
-				listDataObjectsUnderPathWithPermissionsCheckingIfSpecQueryUsed(absolutePathToParent, 0, objStat));
-		return entries;
+		// the collection and data object queries are independent, and may run at the same time
+		final ObjStat listingObjStat = objStat;
+		final List<ListingQuery<List<CollectionAndDataObjectListingEntry>>> queries = new ArrayList<>();
+		queries.add(new ListingQuery<List<CollectionAndDataObjectListingEntry>>() {
+
+			@Override
+			public List<CollectionAndDataObjectListingEntry> query() throws JargonException {
+				return listCollectionsUnderPathWithPermissionsCheckingIfSpecQueryUsed(absolutePathToParent, 0,
+						listingObjStat);
+			}
+		});
+		queries.add(new ListingQuery<List<CollectionAndDataObjectListingEntry>>() {
+
+			@Override
+			public List<CollectionAndDataObjectListingEntry> query() throws JargonException {
+				return listDataObjectsUnderPathWithPermissionsCheckingIfSpecQueryUsed(absolutePathToParent, 0,
+						listingObjStat);
+			}
+		});
+
+		return mergeListings(ListingQueryFanOut.queryAll(getIRODSSession(), getIRODSAccount(), queries));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.CollectionAndDataObjectListAndSearchAO#
+	 * listPermissionsForEntriesUnderPath(java.lang.String)
+	 */
+	@Override
+	public Map<String, List<UserFilePermission>> listPermissionsForEntriesUnderPath(final String absolutePathToParent)
+			throws FileNotFoundException, JargonException {
+
+		log.info("listPermissionsForEntriesUnderPath:{}", absolutePathToParent);
+
+		final Map<String, List<UserFilePermission>> permissions = new LinkedHashMap<>();
+		for (CollectionAndDataObjectListingEntry entry : listDataObjectsAndCollectionsUnderPathWithPermissions(
+				absolutePathToParent)) {
+			permissions.put(entry.getFormattedAbsolutePath(), entry.getUserFilePermission());
+		}
+
+		return permissions;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.CollectionAndDataObjectListAndSearchAO#
+	 * resolveEffectivePermissionsForUser(java.util.List, java.lang.String)
+	 */
+	@Override
+	public Map<String, FilePermissionEnum> resolveEffectivePermissionsForUser(
+			final List<CollectionAndDataObjectListingEntry> collectionAndDataObjectListingEntries,
+			final String userName) throws JargonException {
+
+		if (collectionAndDataObjectListingEntries == null) {
+			throw new IllegalArgumentException("null collectionAndDataObjectListingEntries");
+		}
+
+		if (userName == null || userName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty userName");
+		}
+
+		log.info("resolveEffectivePermissionsForUser:{}", userName);
+
+		final Map<String, FilePermissionEnum> permissions = new LinkedHashMap<>();
+		if (collectionAndDataObjectListingEntries.isEmpty()) {
+			return permissions;
+		}
+
+		final String userNameOnly = MiscIRODSUtils.getUserInUserName(userName);
+		String userZone = MiscIRODSUtils.getZoneInUserName(userName);
+		if (userZone.isEmpty()) {
+			userZone = getIRODSAccount().getZone();
+		}
+
+		// one lookup of the groups for the page, cached when the group membership cache is on
+		final Set<String> userGroupNames = new HashSet<>();
+		for (UserGroup userGroup : getIRODSAccessObjectFactory().getUserGroupAO(getIRODSAccount())
+				.findUserGroupsForUser(userNameOnly)) {
+			userGroupNames.add(userGroup.getUserGroupName());
+		}
+		log.debug("user is in groups:{}", userGroupNames);
+
+		for (CollectionAndDataObjectListingEntry entry : collectionAndDataObjectListingEntries) {
+			permissions.put(entry.getFormattedAbsolutePath(), CollectionAOHelper.resolveEffectivePermission(
+					entry.getUserFilePermission(), userNameOnly, userZone, userGroupNames));
+		}
+
+		return permissions;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.CollectionAndDataObjectListAndSearchAO#
+	 * listEffectivePermissionsForUserUnderPath(java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Map<String, FilePermissionEnum> listEffectivePermissionsForUserUnderPath(final String absolutePathToParent,
+			final String userName) throws FileNotFoundException, JargonException {
+
+		if (userName == null || userName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty userName");
+		}
+
+		return resolveEffectivePermissionsForUser(
+				listDataObjectsAndCollectionsUnderPathWithPermissions(absolutePathToParent), userName);
 	}
 
 	/*
@@ -401,8 +580,24 @@ public class CollectionAndDataObjectListAndSearchAOImpl extends IRODSGenericAO
 			throw new JargonException("attempting to count children under a file at path:" + absolutePathToParent);
 		}
 
-		return collectionListingUtils.countCollectionsUnderPath(objStat)
-				+ collectionListingUtils.countDataObjectsUnderPath(objStat);
+		final List<ListingQuery<Integer>> queries = new ArrayList<>();
+		queries.add(new ListingQuery<Integer>() {
+
+			@Override
+			public Integer query() throws JargonException {
+				return collectionListingUtils.countCollectionsUnderPath(objStat);
+			}
+		});
+		queries.add(new ListingQuery<Integer>() {
+
+			@Override
+			public Integer query() throws JargonException {
+				return collectionListingUtils.countDataObjectsUnderPath(objStat);
+			}
+		});
+
+		final List<Integer> counts = ListingQueryFanOut.queryAll(getIRODSSession(), getIRODSAccount(), queries);
+		return counts.get(0) + counts.get(1);
 
 	}
 
@@ -680,7 +875,56 @@ public class CollectionAndDataObjectListAndSearchAOImpl extends IRODSGenericAO
 		 * See if jargon supports the given object type
 		 */
 		MiscIRODSUtils.evaluateSpecCollSupport(objStat);
-		return collectionListingUtils.listCollectionsUnderPath(objStat, partialStartIndex);
+		return cachedReadRequestForList("listCollectionsUnderPath", objStat.getAbsolutePath(),
+				new CoalescedRequest<List<CollectionAndDataObjectListingEntry>>() {
+
+					@Override
+					public List<CollectionAndDataObjectListingEntry> execute() throws JargonException {
+						return collectionListingUtils.listCollectionsUnderPath(objStat, partialStartIndex);
+					}
+				}, objStat.getObjectPath(), partialStartIndex);
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.CollectionAndDataObjectListAndSearchAO#
+	 * listCollectionsUnderPathAfterName(org.irods.jargon.core.pub.domain.ObjStat,
+	 * java.lang.String, int)
+	 */
+	@Override
+	public List<CollectionAndDataObjectListingEntry> listCollectionsUnderPathAfterName(final ObjStat objStat,
+			final String lastCollectionName, final int pageSize) throws FileNotFoundException, JargonException {
+
+		log.info("listCollectionsUnderPathAfterName()");
+
+		if (objStat == null) {
+			throw new IllegalArgumentException("objStat is null");
+		}
+
+		return collectionListingUtils.listCollectionsUnderPathAfterName(objStat, lastCollectionName, pageSize);
+
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.CollectionAndDataObjectListAndSearchAO#
+	 * listDataObjectsUnderPathAfterName(org.irods.jargon.core.pub.domain.ObjStat,
+	 * java.lang.String, int)
+	 */
+	@Override
+	public List<CollectionAndDataObjectListingEntry> listDataObjectsUnderPathAfterName(final ObjStat objStat,
+			final String lastDataObjectName, final int pageSize) throws JargonException {
+
+		log.info("listDataObjectsUnderPathAfterName()");
+
+		if (objStat == null) {
+			throw new IllegalArgumentException("objStat is null");
+		}
+
+		return collectionListingUtils.listDataObjectsUnderPathAfterName(objStat, lastDataObjectName, pageSize);
 
 	}
 
@@ -1050,7 +1294,14 @@ public class CollectionAndDataObjectListAndSearchAOImpl extends IRODSGenericAO
 		final CollectionListingUtils collectionListingUtils = new CollectionListingUtils(getIRODSAccount(),
 				getIRODSAccessObjectFactory());
 
-		return collectionListingUtils.listDataObjectsUnderPath(objStat, partialStartIndex);
+		return cachedReadRequestForList("listDataObjectsUnderPath", objStat.getAbsolutePath(),
+				new CoalescedRequest<List<CollectionAndDataObjectListingEntry>>() {
+
+					@Override
+					public List<CollectionAndDataObjectListingEntry> execute() throws JargonException {
+						return collectionListingUtils.listDataObjectsUnderPath(objStat, partialStartIndex);
+					}
+				}, objStat.getObjectPath(), partialStartIndex);
 
 	}
 
@@ -1469,7 +1720,26 @@ public class CollectionAndDataObjectListAndSearchAOImpl extends IRODSGenericAO
 	@Override
 	public ObjStat retrieveObjectStatForPath(final String irodsAbsolutePath)
 			throws FileNotFoundException, JargonException {
-		return collectionListingUtils.retrieveObjectStatForPath(irodsAbsolutePath);
+		return coalesceReadRequest("retrieveObjectStatForPath", new CoalescedRequest<ObjStat>() {
+
+			@Override
+			public ObjStat execute() throws JargonException {
+				return collectionListingUtils.retrieveObjectStatForPath(irodsAbsolutePath);
+			}
+		}, irodsAbsolutePath);
 
 	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.CollectionAndDataObjectListAndSearchAO#
+	 * retrieveObjectStatsForPaths(java.util.List)
+	 */
+	@Override
+	public List<ObjStat> retrieveObjectStatsForPaths(final List<String> irodsAbsolutePaths) throws JargonException {
+		BulkObjStatUtils bulkObjStatUtils = new BulkObjStatUtils(getIRODSAccount(), getIRODSAccessObjectFactory(),
+				collectionListingUtils);
+		return bulkObjStatUtils.retrieveObjectStatsForPaths(irodsAbsolutePaths);
+	}
 }
@@ -0,0 +1,320 @@
+package org.irods.jargon.core.pub;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.irods.jargon.core.pub.aohelper.CollectionAOHelper;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.pub.domain.ObjStat.SpecColType;
+import org.irods.jargon.core.pub.io.IRODSFileSystemAOHelper;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
+import org.irods.jargon.core.query.GenQueryBuilderException;
+import org.irods.jargon.core.query.IRODSGenQueryBuilder;
+import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+import org.irods.jargon.core.query.JargonQueryException;
+import org.irods.jargon.core.utils.MiscIRODSUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Iterates over the collections, and then the data objects, under a parent
+ * collection, reading a page of GenQuery results at a time from iRODS, so that a
+ * collection with millions of children can be listed holding only one page in
+ * memory. Pages after the first are read with the continuation of the open
+ * query, rather than by running the query again from an offset.
+ * <p>
+ * The query is held open in iRODS until the listing has been read, so an
+ * iterator that is not read to the end must be closed, ideally with a
+ * try-with-resources block. The iterator is read on the connection of the
+ * thread that created it, and like the other access objects is not to be shared
+ * between threads.
+ * <p>
+ * Entries do not carry a total record count. Listings of mounted and structured
+ * file collections, and of the stand-in collections for the root and home when
+ * strict ACLs hide them, are not paged by GenQuery and are read at once.
+ * <p>
+ * Errors from iRODS while reading a page are thrown as a
+ * {@link JargonRuntimeException}.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class CollectionAndDataObjectListingIterator
+		implements Iterator<CollectionAndDataObjectListingEntry>, Closeable {
+
+	private static final Logger log = LoggerFactory.getLogger(CollectionAndDataObjectListingIterator.class);
+
+	private final ObjStat objStat;
+	private final String effectiveAbsolutePath;
+	private final String zone;
+	private final IRODSAccount irodsAccount;
+	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private final CollectionListingUtils collectionListingUtils;
+	private final LinkedList<CollectionAndDataObjectListingEntry> page = new LinkedList<CollectionAndDataObjectListingEntry>();
+	private IRODSGenQueryExecutor irodsGenQueryExecutor = null;
+	private IRODSQueryResultSet openResultSet = null;
+	private boolean listingCollections = true;
+	private boolean queryStarted = false;
+	private boolean done = false;
+	private boolean closed = false;
+	private String lastDataObjectPath = "";
+
+	/**
+	 * Iterator over a listing already read into memory, used when iRODS has
+	 * nothing to page
+	 */
+	private CollectionAndDataObjectListingIterator(final List<CollectionAndDataObjectListingEntry> entries) {
+		objStat = null;
+		effectiveAbsolutePath = null;
+		zone = null;
+		irodsAccount = null;
+		irodsAccessObjectFactory = null;
+		collectionListingUtils = null;
+		page.addAll(entries);
+		done = true;
+	}
+
+	private CollectionAndDataObjectListingIterator(final ObjStat objStat, final IRODSAccount irodsAccount,
+			final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final CollectionListingUtils collectionListingUtils) {
+		this.objStat = objStat;
+		effectiveAbsolutePath = MiscIRODSUtils.determineAbsolutePathBasedOnCollTypeInObjectStat(objStat);
+		zone = MiscIRODSUtils.getZoneInPath(objStat.getAbsolutePath());
+		this.irodsAccount = irodsAccount;
+		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+		this.collectionListingUtils = collectionListingUtils;
+	}
+
+	/**
+	 * Create an iterator over the children of the collection described by the
+	 * given {@code ObjStat}
+	 *
+	 * @param objStat                  {@link ObjStat} of the parent collection
+	 * @param irodsAccount             {@link IRODSAccount}
+	 * @param irodsAccessObjectFactory {@link IRODSAccessObjectFactory}
+	 * @param collectionListingUtils   {@link CollectionListingUtils}
+	 * @return {@link CollectionAndDataObjectListingIterator}
+	 * @throws JargonException {@link JargonException}
+	 */
+	static CollectionAndDataObjectListingIterator instance(final ObjStat objStat, final IRODSAccount irodsAccount,
+			final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final CollectionListingUtils collectionListingUtils) throws JargonException {
+
+		if (objStat == null) {
+			throw new IllegalArgumentException("null objStat");
+		}
+
+		MiscIRODSUtils.evaluateSpecCollSupport(objStat);
+
+		if (!objStat.isSomeTypeOfCollection()) {
+			log.error("this is a file, not a directory: {}", objStat.getAbsolutePath());
+			throw new JargonException("attempting to list children under a file at path:" + objStat.getAbsolutePath());
+		}
+
+		if (objStat.isStandInGeneratedObjStat() || objStat.getSpecColType() == SpecColType.STRUCT_FILE_COLL
+				|| objStat.getSpecColType() == SpecColType.MOUNTED_COLL) {
+			log.info("listing is not paged by GenQuery, reading it at once");
+			List<CollectionAndDataObjectListingEntry> entries = collectionListingUtils
+					.listCollectionsUnderPath(objStat, 0);
+			if (!objStat.isStandInGeneratedObjStat()) {
+				entries.addAll(collectionListingUtils.listDataObjectsUnderPath(objStat, 0));
+			}
+			return instanceForEntries(entries);
+		}
+
+		return new CollectionAndDataObjectListingIterator(objStat, irodsAccount, irodsAccessObjectFactory,
+				collectionListingUtils);
+	}
+
+	/**
+	 * Create an iterator over a listing already in memory
+	 *
+	 * @param entries {@code List} of {@link CollectionAndDataObjectListingEntry}
+	 * @return {@link CollectionAndDataObjectListingIterator}
+	 */
+	static CollectionAndDataObjectListingIterator instanceForEntries(
+			final List<CollectionAndDataObjectListingEntry> entries) {
+		if (entries == null) {
+			throw new IllegalArgumentException("null entries");
+		}
+		return new CollectionAndDataObjectListingIterator(entries);
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (page.isEmpty() && !done && !closed) {
+			readPage();
+		}
+		return !closed && !page.isEmpty();
+	}
+
+	@Override
+	public CollectionAndDataObjectListingEntry next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return page.removeFirst();
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("remove");
+	}
+
+	/**
+	 * Close the listing, closing the query in iRODS if it has not been read to the
+	 * end. Errors closing the query are logged and ignored.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+		page.clear();
+		closeOpenQuery();
+	}
+
+	/**
+	 * @return {@code Stream} of the entries, closing the stream closes this
+	 *         iterator
+	 */
+	public Stream<CollectionAndDataObjectListingEntry> stream() {
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(new Runnable() {
+					@Override
+					public void run() {
+						close();
+					}
+				});
+	}
+
+	private void readPage() {
+		try {
+			List<IRODSQueryResultRow> rows;
+			if (!queryStarted) {
+				rows = startQuery();
+			} else if (openResultSet != null && openResultSet.isHasMoreRecords()) {
+				openResultSet = irodsGenQueryExecutor.getMoreResultsInZone(openResultSet, zone);
+				rows = openResultSet.getResults();
+			} else {
+				rows = Collections.emptyList();
+			}
+
+			for (IRODSQueryResultRow row : rows) {
+				addEntryForRow(row);
+			}
+
+			if (openResultSet == null || !openResultSet.isHasMoreRecords()) {
+				openResultSet = null;
+				queryStarted = false;
+				if (listingCollections) {
+					listingCollections = false;
+				} else {
+					done = true;
+				}
+			}
+		} catch (JargonException e) {
+			log.error("error reading listing page for:{}", objStat.getAbsolutePath(), e);
+			closeOpenQuery();
+			done = true;
+			throw new JargonRuntimeException("error reading listing for:" + objStat.getAbsolutePath(), e);
+		} catch (JargonQueryException e) {
+			log.error("query error reading listing page for:{}", objStat.getAbsolutePath(), e);
+			closeOpenQuery();
+			done = true;
+			throw new JargonRuntimeException("query error reading listing for:" + objStat.getAbsolutePath(), e);
+		}
+	}
+
+	private List<IRODSQueryResultRow> startQuery() throws JargonException, JargonQueryException {
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, false, false, null);
+		IRODSGenQueryFromBuilder irodsQuery;
+		try {
+			if (listingCollections) {
+				IRODSFileSystemAOHelper.buildQueryListAllCollections(effectiveAbsolutePath, builder);
+			} else {
+				IRODSFileSystemAOHelper.buildQueryListAllDataObjectsWithSizeAndDateInfo(effectiveAbsolutePath,
+						builder);
+			}
+			irodsQuery = builder.exportIRODSQueryFromBuilder(
+					irodsAccessObjectFactory.getJargonProperties().getMaxFilesAndDirsQueryMax());
+		} catch (GenQueryBuilderException e) {
+			log.error(CollectionListingUtils.QUERY_EXCEPTION_FOR_QUERY, e);
+			throw new JargonException("error building listing query", e);
+		}
+
+		if (irodsGenQueryExecutor == null) {
+			irodsGenQueryExecutor = irodsAccessObjectFactory.getIRODSGenQueryExecutor(irodsAccount);
+		}
+
+		queryStarted = true;
+		openResultSet = irodsGenQueryExecutor.executeIRODSQueryInZone(irodsQuery, 0, zone);
+		return openResultSet.getResults();
+	}
+
+	private void addEntryForRow(final IRODSQueryResultRow row) throws JargonException {
+		CollectionAndDataObjectListingEntry entry;
+		if (listingCollections) {
+			entry = CollectionAOHelper.buildCollectionListEntryFromResultSetRowForCollectionQuery(row, 0);
+			collectionListingUtils.adjustEntryFromRowInCaseOfSpecialCollection(objStat, effectiveAbsolutePath,
+					entry);
+
+			/*
+			 * a query for collections with a parent of '/' returns the root itself
+			 */
+			if (entry.getPathOrName().equals("/")) {
+				return;
+			}
+		} else {
+			entry = CollectionAOHelper.buildCollectionListEntryFromResultSetRowForDataObjectQuery(row, 0);
+			collectionListingUtils.augmentCollectionEntryForSpecialCollections(objStat, effectiveAbsolutePath, entry);
+
+			/*
+			 * a data object is returned once per replica, in order, so skip repeats
+			 */
+			String currentPath = entry.getParentPath() + "/" + entry.getPathOrName();
+			if (currentPath.equals(lastDataObjectPath)) {
+				return;
+			}
+			lastDataObjectPath = currentPath;
+		}
+
+		page.add(entry);
+	}
+
+	private void closeOpenQuery() {
+		if (openResultSet == null) {
+			return;
+		}
+
+		IRODSQueryResultSet toClose = openResultSet;
+		openResultSet = null;
+		if (!toClose.isHasMoreRecords()) {
+			return;
+		}
+
+		try {
+			log.debug("closing open listing query");
+			irodsGenQueryExecutor.closeResults(toClose);
+		} catch (JargonException e) {
+			log.warn("error closing listing query, ignored", e);
+		}
+	}
+
+}
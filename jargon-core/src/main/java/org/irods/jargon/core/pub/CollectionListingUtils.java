@@ -4,10 +4,15 @@
 package org.irods.jargon.core.pub;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 
 import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.connection.ObjStatCache;
+import org.irods.jargon.core.connection.ObjStatCache.CachedObjStat;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.FileDriverError;
 import org.irods.jargon.core.exception.FileNotFoundException;
@@ -25,6 +30,7 @@ import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
 import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry.ObjectType;
 import org.irods.jargon.core.query.GenQueryBuilderException;
 import org.irods.jargon.core.query.GenQueryField.SelectFieldTypes;
+import org.irods.jargon.core.query.GenQueryOrderByField.OrderByType;
 import org.irods.jargon.core.query.IRODSGenQueryBuilder;
 import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
 import org.irods.jargon.core.query.IRODSQueryResultRow;
@@ -647,6 +653,13 @@ class CollectionListingUtils {
 
 	IRODSQueryResultSet queryForPathAndReturnResultSet(final String absolutePath, final IRODSGenQueryBuilder builder,
 			final int partialStartIndex, final ObjStat objStat) throws JargonException {
+		return queryForPathAndReturnResultSet(absolutePath, builder, partialStartIndex,
+				irodsAccessObjectFactory.getJargonProperties().getMaxFilesAndDirsQueryMax());
+	}
+
+	private IRODSQueryResultSet queryForPathAndReturnResultSet(final String absolutePath,
+			final IRODSGenQueryBuilder builder, final int partialStartIndex, final int numberOfResultsDesired)
+			throws JargonException {
 
 		log.info("queryForPathAndReturnResultSet for: {}", absolutePath);
 		IRODSGenQueryExecutor irodsGenQueryExecutor = irodsAccessObjectFactory.getIRODSGenQueryExecutor(irodsAccount);
@@ -655,8 +668,7 @@ class CollectionListingUtils {
 		IRODSQueryResultSet resultSet;
 
 		try {
-			irodsQuery = builder.exportIRODSQueryFromBuilder(
-					irodsAccessObjectFactory.getJargonProperties().getMaxFilesAndDirsQueryMax());
+			irodsQuery = builder.exportIRODSQueryFromBuilder(numberOfResultsDesired);
 			resultSet = irodsGenQueryExecutor.executeIRODSQueryWithPagingInZone(irodsQuery, partialStartIndex,
 					MiscIRODSUtils.getZoneInPath(absolutePath));
 		} catch (JargonQueryException e) {
@@ -670,7 +682,7 @@ class CollectionListingUtils {
 		return resultSet;
 	}
 
-	private void adjustEntryFromRowInCaseOfSpecialCollection(final ObjStat objStat, final String effectiveAbsolutePath,
+	void adjustEntryFromRowInCaseOfSpecialCollection(final ObjStat objStat, final String effectiveAbsolutePath,
 			final CollectionAndDataObjectListingEntry collectionAndDataObjectListingEntry) {
 		if (objStat.getSpecColType() == SpecColType.LINKED_COLL) {
 			log.info("adjusting paths in entry to reflect linked collection info");
@@ -779,6 +791,296 @@ class CollectionListingUtils {
 		return files;
 	}
 
+	/**
+	 * List a page of the collections underneath the given path whose names sort
+	 * after the given name, using a condition on the collection name in place of
+	 * an offset, so that the cost of a page does not grow with its depth in the
+	 * listing.
+	 * <p>
+	 * Mounted and structured file collections are not listed by GenQuery, so they
+	 * are read whole and paged in memory. A last name with a quote is queried
+	 * after the part before the quote, and the rows up to the name are skipped,
+	 * see {@link #keysetNameForQuery(String)}.
+	 *
+	 * @param objStat            {@link ObjStat} from iRODS that details the nature
+	 *                           of the collection
+	 * @param lastCollectionName {@code String} with the last path component of the
+	 *                           last collection already seen, or {@code null} or
+	 *                           blank for the first page
+	 * @param pageSize           {@code int} with the most rows to read
+	 * @return {@code List} of {@link CollectionAndDataObjectListingEntry}
+	 * @throws FileNotFoundException {@link FileNotFoundException}
+	 * @throws JargonException       {@link JargonException}
+	 */
+	List<CollectionAndDataObjectListingEntry> listCollectionsUnderPathAfterName(final ObjStat objStat,
+			final String lastCollectionName, final int pageSize) throws FileNotFoundException, JargonException {
+
+		log.info("listCollectionsUnderPathAfterName()");
+
+		if (objStat == null) {
+			throw new IllegalArgumentException("objStat is null");
+		}
+
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("pageSize must be greater than zero");
+		}
+
+		log.info("lastCollectionName:{}", lastCollectionName);
+
+		MiscIRODSUtils.evaluateSpecCollSupport(objStat);
+
+		if (objStat.isStandInGeneratedObjStat()) {
+			log.info("this objStat was heuristically generated, create stand-in subdirs if needed");
+			return pageEntriesAfterNameInMemory(handleNoListingUnderRootOrHome(objStat.getAbsolutePath()),
+					lastCollectionName, pageSize);
+		}
+
+		String effectiveAbsolutePath = MiscIRODSUtils.determineAbsolutePathBasedOnCollTypeInObjectStat(objStat);
+
+		if (objStat.getSpecColType() == SpecColType.STRUCT_FILE_COLL
+				|| objStat.getSpecColType() == SpecColType.MOUNTED_COLL) {
+			return pageEntriesAfterNameInMemory(listUnderPathWhenSpecColl(objStat, effectiveAbsolutePath, true, 0),
+					lastCollectionName, pageSize);
+		}
+
+		String keysetName = keysetNameForQuery(lastCollectionName);
+		String skipThroughName = skipThroughNameForKeyset(lastCollectionName, keysetName);
+
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, false, false, null);
+		try {
+			IRODSFileSystemAOHelper.buildQueryListAllCollections(effectiveAbsolutePath, builder);
+			if (keysetName != null) {
+				StringBuilder sb = new StringBuilder(effectiveAbsolutePath);
+				if (!effectiveAbsolutePath.endsWith("/")) {
+					sb.append('/');
+				}
+				sb.append(keysetName);
+				builder.addConditionAsGenQueryField(RodsGenQueryEnum.COL_COLL_NAME,
+						QueryConditionOperators.GREATER_THAN, sb.toString());
+			}
+			builder.addOrderByGenQueryField(RodsGenQueryEnum.COL_COLL_NAME, OrderByType.ASC);
+		} catch (GenQueryBuilderException e) {
+			log.error("query builder exception", e);
+			throw new JargonException("error building query", e);
+		}
+
+		List<CollectionAndDataObjectListingEntry> subdirs = new ArrayList<>(pageSize);
+		IRODSQueryResultSet resultSet;
+		int offset = 0;
+		CollectionAndDataObjectListingEntry entry;
+		do {
+			resultSet = queryForPathAndReturnResultSet(effectiveAbsolutePath, builder, offset, pageSize);
+			offset += resultSet.getResults().size();
+
+			for (IRODSQueryResultRow row : resultSet.getResults()) {
+				entry = CollectionAOHelper.buildCollectionListEntryFromResultSetRowForCollectionQuery(row, 0);
+				adjustEntryFromRowInCaseOfSpecialCollection(objStat, effectiveAbsolutePath, entry);
+
+				/*
+				 * a query for collections with a parent of '/' returns the root itself
+				 */
+				if (entry.getPathOrName().equals("/")) {
+					continue;
+				}
+
+				if (!isAfterName(entry.getNodeLabelDisplayValue(), skipThroughName)) {
+					continue;
+				}
+
+				subdirs.add(entry);
+			}
+		} while (subdirs.size() < pageSize && resultSet.isHasMoreRecords() && !resultSet.getResults().isEmpty());
+
+		return markLastResultOfKeysetPage(subdirs, pageSize, resultSet.isHasMoreRecords());
+	}
+
+	/**
+	 * List a page of the data objects underneath the given path whose names sort
+	 * after the given name, see
+	 * {@link #listCollectionsUnderPathAfterName(ObjStat, String, int)}
+	 *
+	 * @param objStat            {@link ObjStat} describing the collection
+	 * @param lastDataObjectName {@code String} with the name of the last data
+	 *                           object already seen, or {@code null} or blank for
+	 *                           the first page
+	 * @param pageSize           {@code int} with the most rows to read, a data
+	 *                           object is read once per replica
+	 * @return {@code List} of {@link CollectionAndDataObjectListingEntry}
+	 * @throws JargonException {@link JargonException}
+	 */
+	List<CollectionAndDataObjectListingEntry> listDataObjectsUnderPathAfterName(final ObjStat objStat,
+			final String lastDataObjectName, final int pageSize) throws JargonException {
+
+		log.info("listDataObjectsUnderPathAfterName()");
+
+		if (objStat == null) {
+			throw new IllegalArgumentException("objStat is null");
+		}
+
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("pageSize must be greater than zero");
+		}
+
+		log.info("lastDataObjectName:{}", lastDataObjectName);
+
+		MiscIRODSUtils.evaluateSpecCollSupport(objStat);
+
+		if (objStat.isStandInGeneratedObjStat()) {
+			log.info("no data objects in a stand-in collection");
+			return new ArrayList<>();
+		}
+
+		String effectiveAbsolutePath = MiscIRODSUtils.determineAbsolutePathBasedOnCollTypeInObjectStat(objStat);
+
+		if (objStat.getSpecColType() == SpecColType.STRUCT_FILE_COLL
+				|| objStat.getSpecColType() == SpecColType.MOUNTED_COLL) {
+			return pageEntriesAfterNameInMemory(listUnderPathWhenSpecColl(objStat, effectiveAbsolutePath, false, 0),
+					lastDataObjectName, pageSize);
+		}
+
+		String keysetName = keysetNameForQuery(lastDataObjectName);
+		String skipThroughName = skipThroughNameForKeyset(lastDataObjectName, keysetName);
+
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, false, false, null);
+		IRODSFileSystemAOHelper.buildQueryListAllDataObjectsWithSizeAndDateInfo(effectiveAbsolutePath, builder);
+		if (keysetName != null) {
+			builder.addConditionAsGenQueryField(RodsGenQueryEnum.COL_DATA_NAME, QueryConditionOperators.GREATER_THAN,
+					keysetName);
+		}
+
+		try {
+			builder.addOrderByGenQueryField(RodsGenQueryEnum.COL_DATA_NAME, OrderByType.ASC);
+		} catch (GenQueryBuilderException e) {
+			log.error("query builder exception", e);
+			throw new JargonException("error building query", e);
+		}
+
+		List<CollectionAndDataObjectListingEntry> files = new ArrayList<>(pageSize);
+		IRODSQueryResultSet resultSet;
+		int offset = 0;
+
+		/*
+		 * replicas of a data object come back together in name order, keep the first
+		 */
+		String lastName = "";
+		CollectionAndDataObjectListingEntry entry;
+		do {
+			resultSet = queryForPathAndReturnResultSet(effectiveAbsolutePath, builder, offset, pageSize);
+			offset += resultSet.getResults().size();
+
+			for (IRODSQueryResultRow row : resultSet.getResults()) {
+				entry = CollectionAOHelper.buildCollectionListEntryFromResultSetRowForDataObjectQuery(row, 0);
+				augmentCollectionEntryForSpecialCollections(objStat, effectiveAbsolutePath, entry);
+
+				if (entry.getPathOrName().equals(lastName)) {
+					continue;
+				}
+
+				lastName = entry.getPathOrName();
+
+				if (!isAfterName(entry.getNodeLabelDisplayValue(), skipThroughName)) {
+					continue;
+				}
+
+				files.add(entry);
+			}
+		} while (files.size() < pageSize && resultSet.isHasMoreRecords() && !resultSet.getResults().isEmpty());
+
+		return markLastResultOfKeysetPage(files, pageSize, resultSet.isHasMoreRecords());
+	}
+
+	/**
+	 * The name to put in the keyset condition of a query for the page after the
+	 * given name. GenQuery has no escape for a quote in a condition value, so a
+	 * name with a quote is cut back to the part before the first quote, which
+	 * never sorts after the name itself.
+	 *
+	 * @param lastName {@code String} with the last name already seen, or
+	 *                 {@code null} or blank for the first page
+	 * @return {@code String} to compare with in the query, or {@code null} if the
+	 *         query should have no keyset condition
+	 */
+	static String keysetNameForQuery(final String lastName) {
+		if (lastName == null || lastName.isEmpty()) {
+			return null;
+		}
+
+		int quoteIndex = lastName.indexOf('\'');
+		if (quoteIndex == -1) {
+			return lastName;
+		} else if (quoteIndex == 0) {
+			return null;
+		} else {
+			return lastName.substring(0, quoteIndex);
+		}
+	}
+
+	/**
+	 * The name to skip rows through when the keyset condition in the query was cut
+	 * back by {@link #keysetNameForQuery(String)}, or {@code null} when the query
+	 * alone starts the page after the last name
+	 */
+	private static String skipThroughNameForKeyset(final String lastName, final String keysetName) {
+		if (lastName == null || lastName.isEmpty() || lastName.equals(keysetName)) {
+			return null;
+		}
+		log.info("last name has a quote, query after:{} and skip through:{}", keysetName, lastName);
+		return lastName;
+	}
+
+	private static boolean isAfterName(final String name, final String lastName) {
+		return lastName == null || lastName.isEmpty() || name.compareTo(lastName) > 0;
+	}
+
+	/**
+	 * Trim a keyset page that was read over more than one query to the page size,
+	 * and mark whether it ends the listing
+	 */
+	private static List<CollectionAndDataObjectListingEntry> markLastResultOfKeysetPage(
+			final List<CollectionAndDataObjectListingEntry> entries, final int pageSize,
+			final boolean queryHasMoreRecords) {
+		boolean hasMore = queryHasMoreRecords || entries.size() > pageSize;
+		List<CollectionAndDataObjectListingEntry> page = entries;
+		if (entries.size() > pageSize) {
+			page = new ArrayList<>(entries.subList(0, pageSize));
+		}
+		for (CollectionAndDataObjectListingEntry entry : page) {
+			entry.setLastResult(!hasMore);
+		}
+		return page;
+	}
+
+	/**
+	 * Page a listing that was read whole, keeping the entries with names after the
+	 * given name, in name order
+	 */
+	private List<CollectionAndDataObjectListingEntry> pageEntriesAfterNameInMemory(
+			final List<CollectionAndDataObjectListingEntry> entries, final String lastName, final int pageSize) {
+
+		List<CollectionAndDataObjectListingEntry> after = new ArrayList<>(entries.size());
+		for (CollectionAndDataObjectListingEntry entry : entries) {
+			if (isAfterName(entry.getNodeLabelDisplayValue(), lastName)) {
+				after.add(entry);
+			}
+		}
+
+		Collections.sort(after, new Comparator<CollectionAndDataObjectListingEntry>() {
+			@Override
+			public int compare(final CollectionAndDataObjectListingEntry o1,
+					final CollectionAndDataObjectListingEntry o2) {
+				return o1.getNodeLabelDisplayValue().compareTo(o2.getNodeLabelDisplayValue());
+			}
+		});
+
+		boolean hasMore = after.size() > pageSize;
+		List<CollectionAndDataObjectListingEntry> page = new ArrayList<>(after.subList(0,
+				Math.min(pageSize, after.size())));
+		for (CollectionAndDataObjectListingEntry entry : page) {
+			entry.setLastResult(!hasMore);
+		}
+		return page;
+	}
+
 	/**
 	 * Use the data in the objStat, in the case of special collections, to augment
 	 * the entry for a collection
@@ -1055,6 +1357,39 @@ class CollectionListingUtils {
 
 		String myPath = MiscIRODSUtils.normalizeIrodsPath(irodsAbsolutePath);
 
+		JargonProperties jargonProperties = irodsAccessObjectFactory.getJargonProperties();
+		int timeToLiveMillis = jargonProperties.getObjStatCacheTimeToLiveMillis();
+		if (timeToLiveMillis <= 0) {
+			return retrieveObjectStatForPathFromIrods(myPath);
+		}
+
+		ObjStatCache objStatCache = irodsAccessObjectFactory.getIrodsSession().getObjStatCache();
+		CachedObjStat cached = objStatCache.lookup(irodsAccount, myPath);
+		if (cached != null) {
+			log.debug("objStat cache hit for:{}", myPath);
+			if (cached.isNotFound()) {
+				throw new FileNotFoundException("no objStat found for path:" + myPath);
+			}
+			return cached.getObjStat();
+		}
+
+		ObjStat objStat;
+		try {
+			objStat = retrieveObjectStatForPathFromIrods(myPath);
+		} catch (FileNotFoundException e) {
+			objStatCache.cacheNotFound(irodsAccount, myPath, timeToLiveMillis,
+					jargonProperties.getObjStatCacheMaxEntries());
+			throw e;
+		}
+
+		objStatCache.cacheObjStat(irodsAccount, myPath, objStat, timeToLiveMillis,
+				jargonProperties.getObjStatCacheMaxEntries());
+		return objStat;
+	}
+
+	private ObjStat retrieveObjectStatForPathFromIrods(final String myPath)
+			throws FileNotFoundException, JargonException {
+
 		DataObjInpForObjStat dataObjInp = DataObjInpForObjStat.instance(myPath);
 		Tag response;
 		ObjStat objStat;
@@ -76,4 +76,35 @@ public interface CollectionPagerAO {
 	PagingAwareCollectionListing retrieveNextOffset(String irodsAbsolutePath, boolean inCollections, int offset,
 			long pageSize) throws FileNotFoundException, NoMoreDataException, JargonException;
 
+	/**
+	 * Retrieve a page of collections, then data objects, under a path, resuming
+	 * from a continuation token rather than an offset. Each page is read with a
+	 * condition on the name of the last entry of the previous page, so a deep page
+	 * costs the same as the first, and entries added or removed before the
+	 * position do not shift the page.
+	 * <p>
+	 * The token for the next page is in the
+	 * {@link PagingAwareCollectionListingDescriptor} of the listing, and is
+	 * {@code null} when the listing is complete. Tokens are opaque, URL safe
+	 * strings holding the whole position, so a stateless service can hand them to
+	 * its clients and accept them back on any server. The descriptor holds the
+	 * counts of collections and data objects in the page, total record counts and
+	 * offsets are not computed. The last page may be empty.
+	 *
+	 * @param irodsAbsolutePath <code>String</code> with the iRODS absolute path of
+	 *                          the parent collection
+	 * @param continuationToken {@code String} with the token from the previous
+	 *                          page, or {@code null} or blank for the first page
+	 * @param pageSize          {@code int} with the most entries in the page, or
+	 *                          0 to use the files and dirs query max from the
+	 *                          jargon properties
+	 * @return {@link PagingAwareCollectionListing}
+	 * @throws FileNotFoundException    {@link FileNotFoundException}
+	 * @throws JargonException          {@link JargonException}
+	 * @throws IllegalArgumentException if the token is not valid, or was made for
+	 *                                  another path
+	 */
+	PagingAwareCollectionListing retrievePageAfterContinuationToken(String irodsAbsolutePath,
+			String continuationToken, int pageSize) throws FileNotFoundException, JargonException;
+
 }
\ No newline at end of file
@@ -3,6 +3,8 @@
  */
 package org.irods.jargon.core.pub;
 
+import java.util.List;
+
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.exception.FileNotFoundException;
@@ -182,6 +184,97 @@ public class CollectionPagerAOImpl extends IRODSGenericAO implements CollectionP
 
 	}
 
+	@Override
+	public PagingAwareCollectionListing retrievePageAfterContinuationToken(final String irodsAbsolutePath,
+			final String continuationToken, final int pageSize) throws FileNotFoundException, JargonException {
+
+		log.info("retrievePageAfterContinuationToken()");
+
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty irodsAbsolutePath");
+		}
+
+		if (pageSize < 0) {
+			throw new IllegalArgumentException("negative pageSize");
+		}
+
+		log.info("irodsAbsolutePath:{}", irodsAbsolutePath);
+		log.info("continuationToken:{}", continuationToken);
+
+		final String normalizedPath = MiscIRODSUtils.normalizeIrodsPath(irodsAbsolutePath);
+		final int effectivePageSize = pageSize > 0 ? pageSize : defaultPageSize;
+
+		boolean inCollections = true;
+		String lastName = "";
+		if (continuationToken != null && !continuationToken.isEmpty()) {
+			final CollectionPagingContinuationToken position = CollectionPagingContinuationToken
+					.decode(continuationToken);
+			log.info("position:{}", position);
+			if (!position.getParentAbsolutePath().equals(normalizedPath)) {
+				log.error("continuation token is for another path:{}", position.getParentAbsolutePath());
+				throw new IllegalArgumentException("continuation token is for another path");
+			}
+			inCollections = position.isInCollections();
+			lastName = position.getLastName();
+		}
+
+		final PagingAwareCollectionListing pagingAwareCollectionListing = this
+				.obtainObjStatAndBuildSkeletonPagingAwareCollectionListing(normalizedPath);
+		final PagingAwareCollectionListingDescriptor descriptor = pagingAwareCollectionListing
+				.getPagingAwareCollectionListingDescriptor();
+		descriptor.setPageSizeUtilized(effectivePageSize);
+
+		CollectionPagingContinuationToken next = null;
+
+		if (inCollections) {
+			final List<CollectionAndDataObjectListingEntry> collections = collectionAndDataObjectListAndSearchAO
+					.listCollectionsUnderPathAfterName(descriptor.getObjStat(), lastName, effectivePageSize);
+			pagingAwareCollectionListing.getCollectionAndDataObjectListingEntries().addAll(collections);
+			descriptor.setCount(collections.size());
+
+			if (collections.isEmpty() || collections.get(collections.size() - 1).isLastResult()) {
+				log.info("collections complete, continue into data objects");
+				descriptor.setCollectionsComplete(true);
+				inCollections = false;
+				lastName = "";
+			} else {
+				descriptor.setCollectionsComplete(false);
+				next = new CollectionPagingContinuationToken(normalizedPath, true,
+						collections.get(collections.size() - 1).getNodeLabelDisplayValue());
+			}
+		} else {
+			descriptor.setCollectionsComplete(true);
+		}
+
+		if (!inCollections) {
+			final int remaining = effectivePageSize - pagingAwareCollectionListing
+					.getCollectionAndDataObjectListingEntries().size();
+			if (remaining <= 0) {
+				log.info("page is full, data objects start on the next page");
+				descriptor.setDataObjectsComplete(false);
+				next = new CollectionPagingContinuationToken(normalizedPath, false, "");
+			} else {
+				final List<CollectionAndDataObjectListingEntry> dataObjects = collectionAndDataObjectListAndSearchAO
+						.listDataObjectsUnderPathAfterName(descriptor.getObjStat(), lastName, remaining);
+				pagingAwareCollectionListing.getCollectionAndDataObjectListingEntries().addAll(dataObjects);
+				descriptor.setDataObjectsCount(dataObjects.size());
+
+				if (dataObjects.isEmpty() || dataObjects.get(dataObjects.size() - 1).isLastResult()) {
+					descriptor.setDataObjectsComplete(true);
+				} else {
+					descriptor.setDataObjectsComplete(false);
+					next = new CollectionPagingContinuationToken(normalizedPath, false,
+							dataObjects.get(dataObjects.size() - 1).getNodeLabelDisplayValue());
+				}
+			}
+		}
+
+		descriptor.setHasMore(next != null);
+		descriptor.setContinuationToken(next == null ? null : next.encode());
+		return pagingAwareCollectionListing;
+
+	}
+
 	private void addDataObjectsToExistingListing(final PagingAwareCollectionListing pagingAwareCollectionListing)
 			throws JargonException {
 		final ListAndCount listAndCount = listDataObjectsGivenObjStat(
@@ -0,0 +1,124 @@
+package org.irods.jargon.core.pub;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Position in a listing paged by {@link CollectionPagerAO} with continuation
+ * tokens, and its encoding as an opaque, URL safe {@code String}. The token
+ * holds the parent path, whether the listing is still in the collections, and
+ * the name of the last entry seen, so it can be handed to a client and brought
+ * back to any server without keeping state.
+ * <p>
+ * A token is not signed. It only says where to resume, what the user may see
+ * is still decided by iRODS.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+final class CollectionPagingContinuationToken {
+
+	private static final byte VERSION = 1;
+
+	private final String parentAbsolutePath;
+	private final boolean inCollections;
+	private final String lastName;
+
+	/**
+	 * @param parentAbsolutePath {@code String} with the path of the collection
+	 *                           being listed
+	 * @param inCollections      {@code boolean} that is {@code true} if the next
+	 *                           page continues in the collections
+	 * @param lastName           {@code String} with the name of the last entry
+	 *                           seen, blank to start the collections or data
+	 *                           objects from the beginning
+	 */
+	CollectionPagingContinuationToken(final String parentAbsolutePath, final boolean inCollections,
+			final String lastName) {
+		if (parentAbsolutePath == null || parentAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty parentAbsolutePath");
+		}
+
+		if (lastName == null) {
+			throw new IllegalArgumentException("null lastName");
+		}
+
+		this.parentAbsolutePath = parentAbsolutePath;
+		this.inCollections = inCollections;
+		this.lastName = lastName;
+	}
+
+	/**
+	 * Read a token made by {@link #encode()}
+	 *
+	 * @param token {@code String} with the encoded token
+	 * @return {@link CollectionPagingContinuationToken}
+	 * @throws IllegalArgumentException if the token was not made by
+	 *                                  {@link #encode()}
+	 */
+	static CollectionPagingContinuationToken decode(final String token) {
+		if (token == null || token.isEmpty()) {
+			throw new IllegalArgumentException("null or empty token");
+		}
+
+		try {
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)));
+			if (in.readByte() != VERSION) {
+				throw new IllegalArgumentException("unsupported continuation token");
+			}
+			boolean inCollections = in.readBoolean();
+			String parentAbsolutePath = in.readUTF();
+			String lastName = in.readUTF();
+			if (in.read() != -1 || parentAbsolutePath.isEmpty()) {
+				throw new IllegalArgumentException("invalid continuation token");
+			}
+			return new CollectionPagingContinuationToken(parentAbsolutePath, inCollections, lastName);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("invalid continuation token", e);
+		}
+	}
+
+	/**
+	 * @return {@code String} with the token encoded for a client
+	 */
+	String encode() {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		try {
+			out.writeByte(VERSION);
+			out.writeBoolean(inCollections);
+			out.writeUTF(parentAbsolutePath);
+			out.writeUTF(lastName);
+			out.flush();
+		} catch (IOException e) {
+			throw new IllegalStateException("unable to encode continuation token", e);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+	}
+
+	String getParentAbsolutePath() {
+		return parentAbsolutePath;
+	}
+
+	boolean isInCollections() {
+		return inCollections;
+	}
+
+	String getLastName() {
+		return lastName;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("CollectionPagingContinuationToken [parentAbsolutePath=").append(parentAbsolutePath)
+				.append(", inCollections=").append(inCollections).append(", lastName=").append(lastName)
+				.append("]");
+		return builder.toString();
+	}
+
+}
@@ -8,16 +8,21 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.irods.jargon.core.checksum.AbstractChecksumComputeStrategy;
 import org.irods.jargon.core.checksum.ChecksumManager;
 import org.irods.jargon.core.checksum.ChecksumManagerImpl;
+import org.irods.jargon.core.checksum.ChecksumMethodUnavailableException;
 import org.irods.jargon.core.checksum.ChecksumValue;
 import org.irods.jargon.core.connection.ConnectionProgressStatusListener;
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
+import org.irods.jargon.core.exception.FileIntegrityException;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.packinstr.DataObjInp;
 import org.irods.jargon.core.packinstr.OpenedDataObjInp;
@@ -263,10 +268,13 @@ public final class DataAOHelper extends AOHelper {
 	 *            {@link TransferStatusCallbackListener}
 	 * @param transferControlBlock
 	 *            {@link TransferControlBlock}
+	 * @return {@link ChecksumValue} of the local file, computed as the data was
+	 *         written, if the transfer options ask for a checksum to be verified
+	 *         after the transfer, otherwise {@code null}
 	 * @throws JargonException
 	 *             for iRODS error
 	 */
-	void processNormalGetTransfer(final File localFileToHoldData, final long length,
+	ChecksumValue processNormalGetTransfer(final File localFileToHoldData, final long length,
 			final IRODSMidLevelProtocol irodsProtocol, final TransferOptions transferOptions,
 			final TransferControlBlock transferControlBlock,
 			final TransferStatusCallbackListener transferStatusCallbackListener) throws JargonException {
@@ -286,7 +294,7 @@ public final class DataAOHelper extends AOHelper {
 		}
 
 		// get an input stream from the irodsFile
-		BufferedOutputStream localFileOutputStream;
+		OutputStream localFileOutputStream;
 
 		try {
 
@@ -316,6 +324,20 @@ public final class DataAOHelper extends AOHelper {
 					transferControlBlock, transferStatusCallbackListener);
 		}
 
+		/*
+		 * If the checksum will be verified after the transfer, digest the data as it is
+		 * written so the local file does not have to be read again
+		 */
+		AbstractChecksumComputeStrategy inlineChecksumStrategy = null;
+		MessageDigest inlineDigest = null;
+		if (transferOptions.isComputeAndVerifyChecksumAfterTransfer()) {
+			inlineChecksumStrategy = instanceInlineChecksumStrategy();
+			inlineDigest = instanceInlineMessageDigest(inlineChecksumStrategy);
+			if (inlineDigest != null) {
+				localFileOutputStream = new DigestOutputStream(localFileOutputStream, inlineDigest);
+			}
+		}
+
 		// read the message byte stream into the local file
 		irodsProtocol.read(localFileOutputStream, length, intraFileStatusListener);
 		log.info("transfer is complete");
@@ -328,6 +350,14 @@ public final class DataAOHelper extends AOHelper {
 			throw new JargonException(
 					"IOException for local file when trying to get to: " + localFileToHoldData.getAbsolutePath(), e);
 		}
+
+		if (inlineDigest == null) {
+			return null;
+		}
+
+		ChecksumValue localFileChecksum = inlineChecksumStrategy.computeChecksumValueFromDigest(inlineDigest.digest());
+		log.info("local file checksum computed during get:{}", localFileChecksum);
+		return localFileChecksum;
 	}
 
 	/**
@@ -385,26 +415,7 @@ public final class DataAOHelper extends AOHelper {
 		TransferOptions myTransferOptions = new TransferOptions(transferControlBlock.getTransferOptions());
 		myTransferOptions.setMaxThreads(0);
 
-		boolean execFlag = false;
-		if (localFile.canExecute()) {
-			log.info("file is executable");
-			execFlag = true;
-		}
-
-		DataObjInp dataObjInp = DataObjInp.instanceForNormalPutStrategy(targetFile.getAbsolutePath(),
-				localFile.length(), targetFile.getResource(), overwrite, myTransferOptions, execFlag);
-
-		// see if checksum is required
-
-		if (myTransferOptions.isComputeAndVerifyChecksumAfterTransfer()
-				|| myTransferOptions.isComputeChecksumAfterTransfer()) {
-			log.info("computing a checksum on the file at:{}", localFile.getAbsolutePath());
-
-			ChecksumValue localFileChecksum = computeLocalFileChecksum(localFile, null);
-
-			log.info("local file checksum is:{}", localFileChecksum);
-			dataObjInp.setFileChecksumValue(localFileChecksum);
-		}
+		DataObjInp dataObjInp = buildNormalPutDataObjInp(localFile, overwrite, targetFile, myTransferOptions);
 
 		ConnectionProgressStatusListener intraFileStatusListener = null;
 
@@ -432,6 +443,126 @@ public final class DataAOHelper extends AOHelper {
 
 	}
 
+	/**
+	 * Build the request for a normal put. When a checksum is to be computed or
+	 * verified, the checksum of the local file is sent with the request, so that
+	 * iRODS verifies the data before registering it and a corrupt upload is
+	 * refused rather than registered. Unlike a get, the checksum is therefore not
+	 * computed as the data streams.
+	 *
+	 * @param localFile
+	 *            {@code File} to upload
+	 * @param overwrite
+	 *            {@code boolean} that indicates whether the data can be overwritten
+	 * @param targetFile
+	 *            {@link IRODSFile} that will be the target of the put
+	 * @param transferOptions
+	 *            {@link TransferOptions} for this put
+	 * @return {@link DataObjInp} for the put
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	DataObjInp buildNormalPutDataObjInp(final File localFile, final boolean overwrite, final IRODSFile targetFile,
+			final TransferOptions transferOptions) throws JargonException {
+
+		boolean execFlag = false;
+		if (localFile.canExecute()) {
+			log.info("file is executable");
+			execFlag = true;
+		}
+
+		DataObjInp dataObjInp = DataObjInp.instanceForNormalPutStrategy(targetFile.getAbsolutePath(),
+				localFile.length(), targetFile.getResource(), overwrite, transferOptions, execFlag);
+
+		// see if checksum is required
+
+		if (transferOptions.isComputeAndVerifyChecksumAfterTransfer()
+				|| transferOptions.isComputeChecksumAfterTransfer()) {
+			log.info("computing a checksum on the file at:{}", localFile.getAbsolutePath());
+
+			ChecksumValue localFileChecksum = computeLocalFileChecksum(localFile, null);
+
+			log.info("local file checksum is:{}", localFileChecksum);
+			dataObjInp.setFileChecksumValue(localFileChecksum);
+		}
+		return dataObjInp;
+	}
+
+	/**
+	 * Compare the checksum of a local file to the checksum iRODS computes for the
+	 * data object after a transfer. A checksum computed while the data streamed is
+	 * used when it has the same encoding as iRODS, otherwise the local file is read
+	 * to compute a checksum with the iRODS encoding.
+	 *
+	 * @param localFile
+	 *            {@link File} that was transferred
+	 * @param irodsFile
+	 *            {@link IRODSFile} that was transferred
+	 * @param inlineChecksum
+	 *            {@link ChecksumValue} computed during the transfer, or
+	 *            {@code null} if none was computed
+	 * @param failureMessage
+	 *            {@code String} with the message for the exception when the
+	 *            checksums differ
+	 * @throws FileIntegrityException
+	 *             if the checksums do not match
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	void verifyChecksumAgainstIrods(final File localFile, final IRODSFile irodsFile,
+			final ChecksumValue inlineChecksum, final String failureMessage)
+			throws FileIntegrityException, JargonException {
+
+		// compute iRODS first, use algorithm from iRODS to compute the
+		// local checksum that should match
+		DataObjectChecksumUtilitiesAO checksumUtils = irodsAccessObjectFactory
+				.getDataObjectChecksumUtilitiesAO(irodsAccount);
+
+		ChecksumValue irodsChecksum = checksumUtils.computeChecksumOnDataObject(irodsFile);
+
+		ChecksumValue localFileChecksum;
+		if (inlineChecksum != null && inlineChecksum.getChecksumEncoding() == irodsChecksum.getChecksumEncoding()) {
+			localFileChecksum = inlineChecksum;
+		} else {
+			log.info("computing a checksum on the file at:{}", localFile.getAbsolutePath());
+			localFileChecksum = computeLocalFileChecksum(localFile, irodsChecksum.getChecksumEncoding());
+		}
+
+		log.info("local file checksum is:{}", localFileChecksum);
+		log.info("irods checksum:{}", irodsChecksum);
+		if (!(irodsChecksum.getChecksumStringValue().equals(localFileChecksum.getChecksumStringValue()))) {
+			throw new FileIntegrityException(failureMessage);
+		}
+	}
+
+	/**
+	 * Get the local checksum strategy for the encoding the server uses
+	 *
+	 * @return {@link AbstractChecksumComputeStrategy}
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	private AbstractChecksumComputeStrategy instanceInlineChecksumStrategy() throws JargonException {
+		ChecksumEncodingEnum checksumEncoding = checksumManager.determineChecksumEncodingForTargetServer();
+		log.info("using checksum algorithm:{}", checksumEncoding);
+		return irodsAccessObjectFactory.getIrodsSession().getLocalChecksumComputerFactory()
+				.instance(checksumEncoding);
+	}
+
+	/**
+	 * Get a digest to compute a checksum while data streams, or {@code null} if
+	 * the strategy cannot do this, in which case the checksum will be computed from
+	 * the local file
+	 */
+	private MessageDigest instanceInlineMessageDigest(final AbstractChecksumComputeStrategy strategy) {
+		try {
+			return strategy.instanceMessageDigest();
+		} catch (ChecksumMethodUnavailableException e) {
+			log.info("strategy cannot compute checksum during transfer, will read local file:{}", e.getMessage());
+			return null;
+		}
+	}
+
 	/**
 	 * Given local file data, compute the appropriate checksum
 	 *
@@ -9,7 +9,9 @@ import java.security.NoSuchAlgorithmException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.irods.jargon.core.checksum.ChecksumValue;
 import org.irods.jargon.core.connection.ConnectionConstants;
@@ -17,10 +19,11 @@ import org.irods.jargon.core.connection.ConnectionProgressStatus;
 import org.irods.jargon.core.connection.ConnectionProgressStatusListener;
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.MetadataChangeEvent.MetadataChangeType;
+import org.irods.jargon.core.connection.RequestCoalescer.CoalescedRequest;
 import org.irods.jargon.core.exception.CatNoAccessException;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.DuplicateDataException;
-import org.irods.jargon.core.exception.FileIntegrityException;
 import org.irods.jargon.core.exception.FileNotFoundException;
 import org.irods.jargon.core.exception.InvalidInputParameterException;
 import org.irods.jargon.core.exception.JargonException;
@@ -47,6 +50,7 @@ import org.irods.jargon.core.pub.domain.ObjStat;
 import org.irods.jargon.core.pub.domain.ObjStat.SpecColType;
 import org.irods.jargon.core.pub.domain.Resource;
 import org.irods.jargon.core.pub.domain.UserFilePermission;
+import org.irods.jargon.core.pub.domain.UserGroup;
 import org.irods.jargon.core.pub.io.IRODSFile;
 import org.irods.jargon.core.query.AVUQueryElement;
 import org.irods.jargon.core.query.GenQueryBuilderException;
@@ -470,6 +474,9 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 	}
 
 	/**
+	 * Put the file, dropping any cached objStat for the destination, which may be
+	 * a collection the data object is put under, once done
+	 *
 	 * @param localFile
 	 * @param irodsFileDestination
 	 * @param ignoreChecks
@@ -484,6 +491,32 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 			final boolean ignoreChecks, final TransferControlBlock transferControlBlock,
 			final TransferStatusCallbackListener transferStatusCallbackListener)
 			throws DataNotFoundException, JargonException, JargonRuntimeException, OverwriteException {
+		try {
+			putAndProcessFile(localFile, irodsFileDestination, ignoreChecks, transferControlBlock,
+					transferStatusCallbackListener);
+		} finally {
+			if (irodsFileDestination != null) {
+				invalidateObjStatTree(irodsFileDestination.getAbsolutePath());
+				publishMetadataChange(MetadataChangeType.PUT, irodsFileDestination.getAbsolutePath());
+			}
+		}
+	}
+
+	/**
+	 * @param localFile
+	 * @param irodsFileDestination
+	 * @param ignoreChecks
+	 * @param transferControlBlock
+	 * @param transferStatusCallbackListener
+	 * @throws DataNotFoundException
+	 * @throws JargonException
+	 * @throws JargonRuntimeException
+	 * @throws OverwriteException
+	 */
+	private void putAndProcessFile(final File localFile, final IRODSFile irodsFileDestination,
+			final boolean ignoreChecks, final TransferControlBlock transferControlBlock,
+			final TransferStatusCallbackListener transferStatusCallbackListener)
+			throws DataNotFoundException, JargonException, JargonRuntimeException, OverwriteException {
 
 		log.info("putCommonProcessing()");
 
@@ -645,7 +678,9 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 			try {
 				Thread.sleep(offsetInMillis);
 			} catch (InterruptedException e) {
-				return;
+				log.warn("interrupted waiting to restart, file is not complete:{}", myFileRestartInfo);
+				Thread.currentThread().interrupt();
+				throw new RestartFailedException("interrupted waiting to restart transfer", e);
 			}
 			offsetInMillis *= 2;
 			try {
@@ -1077,7 +1112,9 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 			try {
 				Thread.sleep(offsetInMillis);
 			} catch (InterruptedException e) {
-				return;
+				log.warn("interrupted waiting to restart, file is not complete:{}", myFileRestartInfo);
+				Thread.currentThread().interrupt();
+				throw new RestartFailedException("interrupted waiting to restart transfer", e);
 			}
 			offsetInMillis *= 2;
 
@@ -1378,6 +1415,9 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 
 		log.debug("l1descInx value is:{}", l1descInx);
 
+		// checksum of the local file computed as a normal get writes it
+		ChecksumValue inlineChecksum = null;
+
 		// if length == zero, check for multiple thread copy, may still process
 		// as a standard txfr if 0 threads specified
 		try {
@@ -1427,8 +1467,9 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 				}
 			} else {
 				log.debug("process as a single-buffer transfer based on the advertised iRODS length");
-				dataAOHelper.processNormalGetTransfer(localFileToHoldData, lengthFromIrodsResponse, getIRODSProtocol(),
-						thisFileTransferOptions, transferControlBlock, transferStatusCallbackListener);
+				inlineChecksum = dataAOHelper.processNormalGetTransfer(localFileToHoldData, lengthFromIrodsResponse,
+						getIRODSProtocol(), thisFileTransferOptions, transferControlBlock,
+						transferStatusCallbackListener);
 			}
 
 			/*
@@ -1446,24 +1487,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 			}
 
 			if (thisFileTransferOptions != null && thisFileTransferOptions.isComputeAndVerifyChecksumAfterTransfer()) {
-
-				// compute iRODS first, use algorithm from iRODS to compute the
-				// local checksum that should match
-				DataObjectChecksumUtilitiesAO checksumUtils = getIRODSAccessObjectFactory()
-						.getDataObjectChecksumUtilitiesAO(getIRODSAccount());
-
-				ChecksumValue irodsChecksum = checksumUtils.computeChecksumOnDataObject(irodsFileToGet);
-
-				log.info("computing a checksum on the file at:{}", localFileToHoldData.getAbsolutePath());
-
-				ChecksumValue localFileChecksum = dataAOHelper.computeLocalFileChecksum(localFileToHoldData,
-						irodsChecksum.getChecksumEncoding());
-
-				log.info("local file checksum is:{}", localFileChecksum);
-				log.info("irods checksum:{}", irodsChecksum);
-				if (!(irodsChecksum.getChecksumStringValue().equals(localFileChecksum.getChecksumStringValue()))) {
-					throw new FileIntegrityException("checksum verification after get fails");
-				}
+				dataAOHelper.verifyChecksumAgainstIrods(localFileToHoldData, irodsFileToGet, inlineChecksum,
+						"checksum verification after get fails");
 			}
 
 			if (!clientSideAction) {
@@ -1891,6 +1916,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		try {
 
 			getIRODSProtocol().irodsFunction(modifyAvuMetadataInp);
+			publishMetadataChange(MetadataChangeType.AVU_ADD, absPath);
 
 		} catch (JargonException je) {
 
@@ -2029,6 +2055,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		try {
 
 			getIRODSProtocol().irodsFunction(modifyAvuMetadataInp);
+			publishMetadataChange(MetadataChangeType.AVU_MODIFY, absPath);
 
 		} catch (JargonException je) {
 
@@ -2135,6 +2162,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 
 		try {
 			getIRODSProtocol().irodsFunction(modifyAvuMetadataInp);
+			publishMetadataChange(MetadataChangeType.AVU_REMOVE, absPath);
 		} catch (JargonException je) {
 
 			if (je.getMessage().indexOf("-817000") > -1) {
@@ -2356,6 +2384,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		} catch (JargonException je) {
 			log.error("error replicating irods file", je);
 			throw je;
+		} finally {
+			invalidateObjStat(myPath);
 		}
 		log.info("replication complete");
 	}
@@ -2413,6 +2443,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		IRODSRuleExecResult result = ruleProcessingAO.executeRuleFromResource("/rules/rulemsiDataObjReplAsync.r",
 				irodsRuleParameters, ruleInvocationConfiguration);
 		log.info("result of action:{}", result.getRuleExecOut().trim());
+		invalidateObjStat(sb.toString());
 
 	}
 
@@ -2510,6 +2541,9 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		} catch (JargonException je) {
 			log.error("error copying irods file", je);
 			throw je;
+		} finally {
+			invalidateObjStat(myTargetFile.getAbsolutePath());
+			publishMetadataChange(MetadataChangeType.PUT, myTargetFile.getAbsolutePath());
 		}
 		log.info("copy complete");
 
@@ -2546,6 +2580,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		} catch (JargonException je) {
 			log.error("error replicating irods file to resource group", je);
 			throw je;
+		} finally {
+			invalidateObjStat(myPath);
 		}
 		log.info("replication complete");
 	}
@@ -2714,9 +2750,15 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 
 		log.info("findMetadataValuesForDataObject: {}", dataObjectAbsolutePath);
 
-		ObjStat objStat = this.retrieveObjStat(dataObjectAbsolutePath);
+		return cachedReadRequestForList("findMetadataValuesForDataObject", dataObjectAbsolutePath,
+				new CoalescedRequest<List<MetaDataAndDomainData>>() {
 
-		return findMetadataValuesForDataObject(objStat);
+					@Override
+					public List<MetaDataAndDomainData> execute() throws JargonException {
+						ObjStat objStat = retrieveObjStat(dataObjectAbsolutePath);
+						return findMetadataValuesForDataObject(objStat);
+					}
+				});
 	}
 
 	private List<MetaDataAndDomainData> findMetadataValuesForDataObject(final ObjStat objStat)
@@ -2789,6 +2831,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 
 		DataObjInp dataObjInp = DataObjInp.instanceForDataObjectChecksum(irodsFile.getAbsolutePath());
 		Tag response = getIRODSProtocol().irodsFunction(dataObjInp);
+		invalidateObjStat(irodsFile.getAbsolutePath());
 
 		if (response == null) {
 			log.error("invalid response to checksum call, response was null, expected checksum value");
@@ -2889,6 +2932,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(false, zone, absPath,
 				userName, ModAccessControlInp.READ_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, absPath);
 	}
 
 	/*
@@ -2931,6 +2975,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(false, zone,
 				absPath, userName, ModAccessControlInp.READ_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, absPath);
 	}
 
 	/*
@@ -2968,6 +3013,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(false, zone, absPath,
 				userName, ModAccessControlInp.WRITE_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, absPath);
 	}
 
 	/*
@@ -3044,6 +3090,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(false, zone,
 				absPath, userName, ModAccessControlInp.WRITE_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, absPath);
 	}
 
 	/*
@@ -3082,6 +3129,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(false, zone, absPath,
 				userName, ModAccessControlInp.OWN_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, absPath);
 	}
 
 	/*
@@ -3122,6 +3170,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(false, zone,
 				absPath, userName, ModAccessControlInp.OWN_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, absPath);
 	}
 
 	/*
@@ -3161,6 +3210,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(false, zone, absPath,
 				userName, ModAccessControlInp.NULL_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, absPath);
 	}
 
 	/*
@@ -3199,6 +3249,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(false, zone,
 				absPath, userName, ModAccessControlInp.NULL_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		publishMetadataChange(MetadataChangeType.ACL_CHANGE, absPath);
 	}
 
 	/*
@@ -3223,13 +3274,21 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 			throw new IllegalArgumentException("null zone");
 		}
 
-		UserFilePermission userFilePermission = this.getPermissionForDataObjectForUserName(absolutePath, userName);
+		return cachedReadRequest("getPermissionForDataObject", absolutePath,
+				new CoalescedRequest<FilePermissionEnum>() {
 
-		if (userFilePermission == null) {
-			return null;
-		} else {
-			return userFilePermission.getFilePermissionEnum();
-		}
+					@Override
+					public FilePermissionEnum execute() throws JargonException {
+						UserFilePermission userFilePermission = getPermissionForDataObjectForUserName(absolutePath,
+								userName);
+
+						if (userFilePermission == null) {
+							return null;
+						} else {
+							return userFilePermission.getFilePermissionEnum();
+						}
+					}
+				}, userName, zone);
 
 	}
 
@@ -3444,6 +3503,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		try {
 
 			getIRODSProtocol().irodsFunction(modifyAvuMetadataInp);
+			publishMetadataChange(MetadataChangeType.AVU_MODIFY, dataObjectAbsolutePath);
 
 		} catch (JargonException je) {
 
@@ -3524,6 +3584,12 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		log.info("see if there is a permission based on group membership...");
 		UserFilePermission permissionViaGroup = null;
 
+		if (getJargonProperties().getGroupMembershipCacheTimeToLiveMillis() > 0) {
+			log.info("group membership cache is on, resolving group permission from the ACL");
+			return findPermissionForUserGrantedThroughCachedUserGroups(userName,
+					objStat.determineAbsolutePathBasedOnCollTypeInObjectStat());
+		}
+
 		if (getJargonProperties().isUsingSpecQueryForDataObjPermissionsForUserInGroup()) {
 			log.info(
 					"is set to use specific query for group permissions via isUsingSpecQueryForDataObjPermissionsForUserInGroup()");
@@ -3572,6 +3638,47 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		return userFilePermission;
 	}
 
+	/**
+	 * Find the highest permission granted on a data object to a group the user is
+	 * a member of, using the ACL of the data object and the groups of the user from
+	 * the group membership cache, rather than the group specific query
+	 *
+	 * @param userName
+	 * @param absPath
+	 * @return {@link UserFilePermission} of the group, or {@code null} if none of
+	 *         the groups of the user has a permission
+	 * @throws JargonException
+	 */
+	private UserFilePermission findPermissionForUserGrantedThroughCachedUserGroups(final String userName,
+			final String absPath) throws JargonException {
+
+		log.info("findPermissionForUserGrantedThroughCachedUserGroups()");
+
+		Set<String> userGroupNames = new HashSet<>();
+		for (UserGroup userGroup : getIRODSAccessObjectFactory().getUserGroupAO(getIRODSAccount())
+				.findUserGroupsForUser(MiscIRODSUtils.getUserInUserName(userName))) {
+			userGroupNames.add(userGroup.getUserGroupName());
+		}
+
+		if (userGroupNames.isEmpty()) {
+			return null;
+		}
+
+		UserFilePermission highestPermission = null;
+		for (UserFilePermission userFilePermission : listPermissionsForDataObject(absPath)) {
+			if (!userGroupNames.contains(userFilePermission.getUserName())) {
+				continue;
+			}
+
+			if (highestPermission == null || userFilePermission.getFilePermissionEnum()
+					.getPermissionNumericValue() > highestPermission.getFilePermissionEnum().getPermissionNumericValue()) {
+				highestPermission = userFilePermission;
+			}
+		}
+
+		return highestPermission;
+	}
+
 	private UserFilePermission findPermissionForUserGrantedThroughUserGroup(final String userName, final String zone,
 			final String absPath) throws JargonException {
 
@@ -0,0 +1,581 @@
+package org.irods.jargon.core.pub;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.FederatedQueryResultRow;
+import org.irods.jargon.core.query.FederatedZoneQueryStatus;
+import org.irods.jargon.core.query.FederatedZoneQueryStatus.ZoneQueryState;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams the merged results of a GenQuery sent to several zones at the same
+ * time, each row tagged with the zone that returned it. Obtained from
+ * {@link IRODSGenQueryExecutor#executeIRODSQueryInZones(AbstractIRODSGenQuery, Collection, long, String)}.
+ * <p>
+ * Each zone is queried on a thread of its own, with its own connection, and
+ * pages through its results into a small queue, so at most a few pages per
+ * zone are held in memory. Rows are returned as they arrive, or, if ordered by
+ * a column, merged so the stream is ordered by that column as long as each
+ * zone returns its rows in that order.
+ * <p>
+ * Each zone has until its timeout, counted from the start of the query, to
+ * return all its rows. A zone that finishes in time is read to the end of its
+ * rows, however slowly the caller reads them. A zone that fails or times out
+ * does not fail the others, the rows it returned before then are kept, and its
+ * state is reported by {@link #getZoneStatuses()}, so the caller can tell a
+ * partial result from a complete one. Call {@link #close()} if the results are
+ * not read to the end.
+ * <p>
+ * This object is meant to be read by one thread.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public final class FederatedQueryResults implements Iterator<FederatedQueryResultRow>, Closeable {
+
+	private static final Logger log = LoggerFactory.getLogger(FederatedQueryResults.class);
+
+	/**
+	 * pages of results queued for each zone before the zone waits for the reader
+	 */
+	private static final int QUEUED_PAGES_PER_ZONE = 2;
+
+	/**
+	 * how often a zone waiting on a full queue checks whether it was cancelled
+	 */
+	private static final long OFFER_WAIT_MILLIS = 100;
+
+	private final Map<String, ZoneQuery> zoneQueries = new LinkedHashMap<String, ZoneQuery>();
+	private final String orderByColumnName;
+	private final ExecutorService executorService;
+
+	/**
+	 * rows of all zones, when not ordered
+	 */
+	private final BlockingQueue<Object> sharedQueue;
+
+	/**
+	 * zones not yet finished, timed out, or failed, as seen by the reader
+	 */
+	private final List<ZoneQuery> activeZones;
+
+	/**
+	 * when ordered, zones that need a row in the merge heap before the next row
+	 * may be returned
+	 */
+	private final List<ZoneQuery> zonesNeedingHead;
+	private final PriorityQueue<FederatedQueryResultRow> mergeHeap;
+
+	private FederatedQueryResultRow nextRow = null;
+	private boolean closed = false;
+
+	/**
+	 * Start the query in each zone
+	 *
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} to send to each zone
+	 * @param zoneNames
+	 *            {@code Collection} of {@code String} with the zones to query
+	 * @param zoneTimeoutMillis
+	 *            {@code long} with the time each zone has to return its rows
+	 * @param orderByColumnName
+	 *            {@code String} with the column to merge the rows by, or
+	 *            {@code null} to return rows as they arrive
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory}
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} to query as
+	 * @return {@link FederatedQueryResults}
+	 */
+	static FederatedQueryResults instance(final AbstractIRODSGenQuery irodsQuery,
+			final Collection<String> zoneNames, final long zoneTimeoutMillis, final String orderByColumnName,
+			final IRODSAccessObjectFactory irodsAccessObjectFactory, final IRODSAccount irodsAccount) {
+
+		if (irodsQuery == null) {
+			throw new IllegalArgumentException("null irodsQuery");
+		}
+
+		if (zoneNames == null || zoneNames.isEmpty()) {
+			throw new IllegalArgumentException("null or empty zoneNames");
+		}
+
+		if (zoneTimeoutMillis <= 0) {
+			throw new IllegalArgumentException("zoneTimeoutMillis must be > 0");
+		}
+
+		if (orderByColumnName != null && orderByColumnName.isEmpty()) {
+			throw new IllegalArgumentException("empty orderByColumnName");
+		}
+
+		if (irodsAccessObjectFactory == null) {
+			throw new IllegalArgumentException("null irodsAccessObjectFactory");
+		}
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		FederatedQueryResults results = new FederatedQueryResults(irodsQuery, zoneNames, zoneTimeoutMillis,
+				orderByColumnName, irodsAccessObjectFactory, irodsAccount);
+		results.start();
+		return results;
+	}
+
+	private FederatedQueryResults(final AbstractIRODSGenQuery irodsQuery, final Collection<String> zoneNames,
+			final long zoneTimeoutMillis, final String orderByColumnName,
+			final IRODSAccessObjectFactory irodsAccessObjectFactory, final IRODSAccount irodsAccount) {
+
+		this.orderByColumnName = orderByColumnName;
+		int queueCapacity = Math.max(1, irodsQuery.getNumberOfResultsDesired()) * QUEUED_PAGES_PER_ZONE;
+		long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(zoneTimeoutMillis);
+
+		sharedQueue = orderByColumnName == null
+				? new ArrayBlockingQueue<Object>(queueCapacity * zoneNames.size() + zoneNames.size())
+				: null;
+
+		for (String zoneName : zoneNames) {
+			if (zoneName == null || zoneName.isEmpty()) {
+				throw new IllegalArgumentException("null or empty zone name");
+			}
+
+			if (!zoneQueries.containsKey(zoneName)) {
+				BlockingQueue<Object> queue = sharedQueue != null ? sharedQueue
+						: new ArrayBlockingQueue<Object>(queueCapacity + 1);
+				zoneQueries.put(zoneName, new ZoneQuery(zoneName, irodsQuery, deadlineNanos, queue,
+						irodsAccessObjectFactory, irodsAccount));
+			}
+		}
+
+		activeZones = new ArrayList<ZoneQuery>(zoneQueries.values());
+		if (orderByColumnName != null) {
+			zonesNeedingHead = new ArrayList<ZoneQuery>(zoneQueries.values());
+			mergeHeap = new PriorityQueue<FederatedQueryResultRow>(zoneQueries.size(),
+					new OrderByColumnComparator(orderByColumnName));
+		} else {
+			zonesNeedingHead = null;
+			mergeHeap = null;
+		}
+
+		final ThreadFactory defaultThreadFactory = Executors.defaultThreadFactory();
+		executorService = Executors.newFixedThreadPool(zoneQueries.size(), new ThreadFactory() {
+
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				Thread thread = defaultThreadFactory.newThread(runnable);
+				thread.setName("jargon-federated-query-" + thread.getName());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	private void start() {
+		log.info("querying zones:{}", zoneQueries.keySet());
+		for (ZoneQuery zoneQuery : zoneQueries.values()) {
+			executorService.execute(zoneQuery);
+		}
+		executorService.shutdown();
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (nextRow != null) {
+			return true;
+		}
+
+		if (closed) {
+			return false;
+		}
+
+		try {
+			nextRow = orderByColumnName == null ? readNextUnordered() : readNextOrdered();
+		} catch (InterruptedException e) {
+			log.error("interrupted reading federated query results", e);
+			Thread.currentThread().interrupt();
+			close();
+			throw new JargonRuntimeException("interrupted reading federated query results", e);
+		}
+
+		if (nextRow == null) {
+			log.info("federated query complete:{}", getZoneStatuses());
+			close();
+			return false;
+		}
+
+		return true;
+	}
+
+	@Override
+	public FederatedQueryResultRow next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		FederatedQueryResultRow row = nextRow;
+		nextRow = null;
+		return row;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("remove not supported");
+	}
+
+	/**
+	 * Return rows from all zones as they arrive
+	 */
+	private FederatedQueryResultRow readNextUnordered() throws InterruptedException {
+		while (!activeZones.isEmpty()) {
+			long waitNanos = timeOutExpiredZones();
+			if (activeZones.isEmpty()) {
+				break;
+			}
+
+			Object item = sharedQueue.poll(waitNanos, TimeUnit.NANOSECONDS);
+			if (item == null) {
+				continue;
+			}
+
+			if (item instanceof ZoneQuery) {
+				activeZones.remove(item);
+				continue;
+			}
+
+			FederatedQueryResultRow row = (FederatedQueryResultRow) item;
+			ZoneQuery zoneQuery = zoneQueries.get(row.getZoneName());
+			if (activeZones.contains(zoneQuery)) {
+				zoneQuery.rowsReturned.incrementAndGet();
+				return row;
+			}
+			// rows that arrive after their zone timed out are dropped
+		}
+
+		return null;
+	}
+
+	/**
+	 * Merge the rows of the zones, taking the least row once each zone still
+	 * running has a row waiting
+	 */
+	private FederatedQueryResultRow readNextOrdered() throws InterruptedException {
+		for (Iterator<ZoneQuery> needing = zonesNeedingHead.iterator(); needing.hasNext();) {
+			ZoneQuery zoneQuery = needing.next();
+			Object item = null;
+			while (item == null && activeZones.contains(zoneQuery)) {
+				long waitNanos = timeOutExpiredZones();
+				if (activeZones.contains(zoneQuery)) {
+					item = zoneQuery.queue.poll(waitNanos, TimeUnit.NANOSECONDS);
+				}
+			}
+
+			needing.remove();
+			if (item == null) {
+				// timed out
+				continue;
+			}
+
+			if (item instanceof ZoneQuery) {
+				activeZones.remove(zoneQuery);
+				continue;
+			}
+
+			mergeHeap.add((FederatedQueryResultRow) item);
+		}
+
+		FederatedQueryResultRow row = mergeHeap.poll();
+		if (row == null) {
+			return null;
+		}
+
+		ZoneQuery zoneQuery = zoneQueries.get(row.getZoneName());
+		zoneQuery.rowsReturned.incrementAndGet();
+		if (activeZones.contains(zoneQuery)) {
+			zonesNeedingHead.add(zoneQuery);
+		}
+		return row;
+	}
+
+	/**
+	 * Time out the zones still running past their deadline. Zones that finished
+	 * in time stay active until the end of their rows is read, however slowly the
+	 * rows are read.
+	 *
+	 * @return {@code long} with the nanoseconds until the next deadline of a zone
+	 *         still running
+	 */
+	private long timeOutExpiredZones() {
+		long now = System.nanoTime();
+		long waitNanos = Long.MAX_VALUE;
+		for (Iterator<ZoneQuery> active = activeZones.iterator(); active.hasNext();) {
+			ZoneQuery zoneQuery = active.next();
+			ZoneQueryState state = zoneQuery.state.get();
+			if (state == ZoneQueryState.RUNNING) {
+				long remaining = zoneQuery.deadlineNanos - now;
+				if (remaining > 0) {
+					waitNanos = Math.min(waitNanos, remaining);
+					continue;
+				}
+
+				if (!zoneQuery.cancel(ZoneQueryState.TIMED_OUT)) {
+					// finished just now, read to the end of its rows
+					continue;
+				}
+				state = ZoneQueryState.TIMED_OUT;
+			}
+
+			if (state == ZoneQueryState.TIMED_OUT) {
+				log.warn("zone {} timed out, results are partial", zoneQuery.zoneName);
+				active.remove();
+			}
+		}
+		return waitNanos;
+	}
+
+	/**
+	 * Get the state of each zone. Zones are {@code RUNNING} until all their rows
+	 * have been read.
+	 *
+	 * @return {@code Map} of zone name to {@link FederatedZoneQueryStatus}, in the
+	 *         order the zones were given
+	 */
+	public Map<String, FederatedZoneQueryStatus> getZoneStatuses() {
+		Map<String, FederatedZoneQueryStatus> statuses = new LinkedHashMap<String, FederatedZoneQueryStatus>();
+		for (ZoneQuery zoneQuery : zoneQueries.values()) {
+			ZoneQueryState state = zoneQuery.state.get();
+			if (state == ZoneQueryState.COMPLETE && activeZones.contains(zoneQuery)) {
+				// done in the zone, but rows are still waiting to be read
+				state = ZoneQueryState.RUNNING;
+			}
+			statuses.put(zoneQuery.zoneName, new FederatedZoneQueryStatus(zoneQuery.zoneName, state,
+					zoneQuery.rowsReturned.get(), zoneQuery.exception));
+		}
+		return statuses;
+	}
+
+	/**
+	 * @return {@code boolean} that is {@code true} if any zone failed or timed
+	 *         out, so the rows read are not all the results
+	 */
+	public boolean isPartial() {
+		for (ZoneQuery zoneQuery : zoneQueries.values()) {
+			ZoneQueryState state = zoneQuery.state.get();
+			if (state == ZoneQueryState.FAILED || state == ZoneQueryState.TIMED_OUT) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Stop reading results. Zones still running are stopped and reported as timed
+	 * out. Closing is not needed once {@link #hasNext()} returns {@code false}.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+		nextRow = null;
+		for (ZoneQuery zoneQuery : zoneQueries.values()) {
+			zoneQuery.cancel(ZoneQueryState.TIMED_OUT);
+			zoneQuery.readerClosed = true;
+		}
+		activeZones.clear();
+		executorService.shutdown();
+	}
+
+	/**
+	 * Query of one zone, paging its results into a queue. The zone query itself
+	 * is put on the queue when the zone is done.
+	 */
+	private static final class ZoneQuery implements Runnable {
+
+		private final String zoneName;
+		private final AbstractIRODSGenQuery irodsQuery;
+		private final long deadlineNanos;
+		private final BlockingQueue<Object> queue;
+		private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+		private final IRODSAccount irodsAccount;
+		private final AtomicReference<ZoneQueryState> state = new AtomicReference<ZoneQueryState>(
+				ZoneQueryState.RUNNING);
+		private final AtomicLong rowsReturned = new AtomicLong();
+		private volatile Exception exception = null;
+
+		/**
+		 * set when the reader will take no more from the queue
+		 */
+		private volatile boolean readerClosed = false;
+
+		ZoneQuery(final String zoneName, final AbstractIRODSGenQuery irodsQuery, final long deadlineNanos,
+				final BlockingQueue<Object> queue, final IRODSAccessObjectFactory irodsAccessObjectFactory,
+				final IRODSAccount irodsAccount) {
+			this.zoneName = zoneName;
+			this.irodsQuery = irodsQuery;
+			this.deadlineNanos = deadlineNanos;
+			this.queue = queue;
+			this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+			this.irodsAccount = irodsAccount;
+		}
+
+		/**
+		 * Stop the zone if it is still running
+		 *
+		 * @return {@code boolean} that is {@code true} if the zone was stopped,
+		 *         {@code false} if it had already finished
+		 */
+		boolean cancel(final ZoneQueryState cancelledState) {
+			return state.compareAndSet(ZoneQueryState.RUNNING, cancelledState);
+		}
+
+		private boolean isCancelled() {
+			return state.get() != ZoneQueryState.RUNNING;
+		}
+
+		@Override
+		public void run() {
+			log.debug("querying zone:{}", zoneName);
+			IRODSGenQueryExecutor irodsGenQueryExecutor = null;
+			IRODSQueryResultSet resultSet = null;
+			try {
+				irodsGenQueryExecutor = irodsAccessObjectFactory.getIRODSGenQueryExecutor(irodsAccount);
+				resultSet = irodsGenQueryExecutor.executeIRODSQueryInZone(irodsQuery, 0, zoneName);
+
+				while (!isCancelled()) {
+					for (IRODSQueryResultRow row : resultSet.getResults()) {
+						if (!offer(new FederatedQueryResultRow(zoneName, row), false)) {
+							break;
+						}
+					}
+
+					if (!resultSet.isHasMoreRecords() || isCancelled()) {
+						break;
+					}
+
+					resultSet = irodsGenQueryExecutor.getMoreResultsInZone(resultSet, zoneName);
+				}
+
+				state.compareAndSet(ZoneQueryState.RUNNING, ZoneQueryState.COMPLETE);
+			} catch (InterruptedException e) {
+				log.warn("zone {} query interrupted", zoneName);
+				Thread.currentThread().interrupt();
+				cancel(ZoneQueryState.TIMED_OUT);
+			} catch (Exception e) {
+				log.error("query failed in zone:{}", zoneName, e);
+				exception = e;
+				state.compareAndSet(ZoneQueryState.RUNNING, ZoneQueryState.FAILED);
+			} finally {
+				if (resultSet != null && resultSet.isHasMoreRecords()) {
+					try {
+						irodsGenQueryExecutor.closeResults(resultSet);
+					} catch (JargonException e) {
+						log.warn("error closing query in zone {}, ignored", zoneName, e);
+					}
+				}
+
+				try {
+					irodsAccessObjectFactory.getIrodsSession().closeSession(irodsAccount);
+				} catch (JargonException e) {
+					log.warn("error closing connection for zone {}, ignored", zoneName, e);
+				}
+			}
+
+			try {
+				offer(this, true);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		/**
+		 * Queue an item, waiting while the queue is full. A row is given up once
+		 * the zone is cancelled. The end of the zone is given up only if the zone
+		 * timed out or the reader closed, as the reader keeps reading a finished
+		 * zone until its end arrives.
+		 *
+		 * @param item
+		 *            a row, or this zone query to mark the end of the zone
+		 * @param endOfZone
+		 *            {@code boolean} that is {@code true} if the item marks the end
+		 *            of the zone
+		 * @return {@code boolean} that is {@code false} if the item was given up
+		 */
+		private boolean offer(final Object item, final boolean endOfZone) throws InterruptedException {
+			while (true) {
+				if (queue.offer(item, OFFER_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+					return true;
+				}
+
+				if (readerClosed) {
+					return false;
+				}
+
+				if (endOfZone ? state.get() == ZoneQueryState.TIMED_OUT : isCancelled()) {
+					return false;
+				}
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "ZoneQuery [zoneName=" + zoneName + ", state=" + state.get() + "]";
+		}
+
+	}
+
+	/**
+	 * Orders rows by the value of a column, then by zone so rows with the same
+	 * value keep a stable order
+	 */
+	private static final class OrderByColumnComparator implements Comparator<FederatedQueryResultRow> {
+
+		private final String columnName;
+
+		OrderByColumnComparator(final String columnName) {
+			this.columnName = columnName;
+		}
+
+		@Override
+		public int compare(final FederatedQueryResultRow o1, final FederatedQueryResultRow o2) {
+			int result = columnValue(o1).compareTo(columnValue(o2));
+			if (result == 0) {
+				result = o1.getZoneName().compareTo(o2.getZoneName());
+			}
+			return result;
+		}
+
+		private String columnValue(final FederatedQueryResultRow row) {
+			try {
+				return row.getRow().getColumn(columnName);
+			} catch (JargonException e) {
+				throw new IllegalArgumentException("order by column not in results:" + columnName, e);
+			}
+		}
+	}
+
+}
@@ -12,6 +12,7 @@ import java.util.List;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.MetadataChangeEvent.MetadataChangeType;
 import org.irods.jargon.core.exception.CatalogAlreadyHasItemByThatNameException;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.DuplicateDataException;
@@ -886,6 +887,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 		}
 		// parse out the response
 		responseFileNbr = response.getTag(MsgHeader.PI_NAME).getTag(MsgHeader.INT_INFO).getIntValue();
+		invalidateObjStat(absolutePath);
+		publishMetadataChange(MetadataChangeType.PUT, absolutePath);
 
 		log.debug("response file nbr:{}", responseFileNbr);
 
@@ -922,6 +925,19 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 			log.info("directory already exists in mkdir, log and ignore");
 		}
 
+		invalidateObjStatTree(irodsFile.getAbsolutePath());
+		publishMetadataChange(MetadataChangeType.PUT, irodsFile.getAbsolutePath());
+		if (recursiveOpr) {
+			// parents may have been created too, and may be cached as not found
+			String parent = irodsFile.getAbsolutePath();
+			int lastSlash = parent.lastIndexOf('/');
+			while (lastSlash > 0) {
+				parent = parent.substring(0, lastSlash);
+				invalidateObjStat(parent);
+				publishMetadataChange(MetadataChangeType.PUT, parent);
+				lastSlash = parent.lastIndexOf('/');
+			}
+		}
 		log.debug("mkdir succesful");
 	}
 
@@ -982,6 +998,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 		DataObjInp dataObjInp = DataObjInp.instanceForDeleteWithForce(irodsFile.getAbsolutePath());
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjInp.getParsedTags(),
 				DataObjInp.DELETE_FILE_API_NBR);
+		invalidateObjStat(irodsFile.getAbsolutePath());
+		publishMetadataChange(MetadataChangeType.DELETE, irodsFile.getAbsolutePath());
 
 		if (response != null) {
 			String msg = "unexpected response from irods, expected null message - logged and ignored ";
@@ -1023,6 +1041,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 			log.warn(
 					"duplicate data exception logged and ignored, see GForge: [#639] 809000 errors on delete operations when trash file already exists");
 		}
+		invalidateObjStat(irodsFile.getAbsolutePath());
+		publishMetadataChange(MetadataChangeType.DELETE, irodsFile.getAbsolutePath());
 
 	}
 
@@ -1054,6 +1074,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, collInp.getParsedTags(),
 				CollInp.RMDIR_API_NBR);
+		invalidateObjStatTree(irodsFile.getAbsolutePath());
+		publishMetadataChange(MetadataChangeType.DELETE, irodsFile.getAbsolutePath());
 
 		processClientStatusMessages(response);
 
@@ -1087,6 +1109,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, collInp.getParsedTags(),
 				CollInp.RMDIR_API_NBR);
+		invalidateObjStatTree(irodsFile.getAbsolutePath());
+		publishMetadataChange(MetadataChangeType.DELETE, irodsFile.getAbsolutePath());
 
 		processClientStatusMessages(response);
 
@@ -1145,6 +1169,9 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 				toFile.getAbsolutePath());
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjCopyInp.getParsedTags(),
 				DataObjCopyInp.RENAME_FILE_API_NBR);
+		invalidateObjStatTree(fromFile.getAbsolutePath());
+		invalidateObjStatTree(toFile.getAbsolutePath());
+		publishMetadataMove(fromFile.getAbsolutePath(), toFile.getAbsolutePath());
 
 		if (response != null) {
 			log.warn("unexpected response from irods, expected null message - logged and ignored ");
@@ -1175,6 +1202,9 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 				toFile.getAbsolutePath());
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjCopyInp.getParsedTags(),
 				DataObjCopyInp.RENAME_FILE_API_NBR);
+		invalidateObjStatTree(fromFile.getAbsolutePath());
+		invalidateObjStatTree(toFile.getAbsolutePath());
+		publishMetadataMove(fromFile.getAbsolutePath(), toFile.getAbsolutePath());
 
 		if (response != null) {
 			log.warn("unexpected response from irods, expected null message - logged and ignored ");
@@ -1285,6 +1315,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 
 		Tag response = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, dataObjCopyInp.getParsedTags(),
 				apiNbr);
+		invalidateObjStat(absolutePathToSourceFile);
+		publishMetadataChange(MetadataChangeType.PUT, absolutePathToSourceFile);
 
 		if (response != null) {
 			log.warn("unexpected response from irods, expected null message - logged and ignored ");
@@ -3,6 +3,8 @@
  */
 package org.irods.jargon.core.pub;
 
+import java.util.Collection;
+
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.query.AbstractIRODSGenQuery;
 import org.irods.jargon.core.query.IRODSQueryResultSet;
@@ -217,4 +219,39 @@ public interface IRODSGenQueryExecutor extends IRODSAccessObject {
 	IRODSQueryResultSet getMoreResults(IRODSQueryResultSet irodsQueryResultSet)
 			throws JargonException, JargonQueryException;
 
+	/**
+	 * Send the same query to each of a set of zones at the same time, and stream
+	 * the rows of all the zones as one result, each row tagged with its zone.
+	 * <p>
+	 * Each zone is queried on its own thread and connection, paging through its
+	 * results as they are read. A zone that fails, or does not return all its
+	 * rows within {@code zoneTimeoutMillis} of the call, is dropped from the
+	 * results without failing the others, and its state is reported by
+	 * {@link FederatedQueryResults#getZoneStatuses()}.
+	 * <p>
+	 * If {@code orderByColumnName} is given, the rows of the zones are merged so
+	 * the stream is ordered by the value of that column, compared as a
+	 * {@code String}. The query must then order its results ascending by that
+	 * column, so each zone returns its rows in order. Otherwise rows are returned
+	 * as they arrive.
+	 * <p>
+	 * Call {@code close()} on the results if they are not read to the end.
+	 *
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} to run in each zone
+	 * @param zoneNames
+	 *            {@code Collection} of {@code String} with the zones to query
+	 * @param zoneTimeoutMillis
+	 *            {@code long} with the time, in milliseconds, each zone has to
+	 *            return its rows
+	 * @param orderByColumnName
+	 *            {@code String} ({@code null} if not used) with the column to
+	 *            merge the rows of the zones by
+	 * @return {@link FederatedQueryResults} with the rows of all the zones
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	FederatedQueryResults executeIRODSQueryInZones(AbstractIRODSGenQuery irodsQuery, Collection<String> zoneNames,
+			long zoneTimeoutMillis, String orderByColumnName) throws JargonException;
+
 }
@@ -1,5 +1,7 @@
 package org.irods.jargon.core.pub;
 
+import java.util.Collection;
+
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.exception.JargonException;
@@ -251,4 +253,23 @@ public final class IRODSGenQueryExecutorImpl extends IRODSGenericAO implements I
 		genQueryProcessor.closeResults(irodsQueryResultSet);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.IRODSGenQueryExecutor#executeIRODSQueryInZones(
+	 * org.irods.jargon.core.query.AbstractIRODSGenQuery, java.util.Collection,
+	 * long, java.lang.String)
+	 */
+	@Override
+	public FederatedQueryResults executeIRODSQueryInZones(final AbstractIRODSGenQuery irodsQuery,
+			final Collection<String> zoneNames, final long zoneTimeoutMillis, final String orderByColumnName)
+			throws JargonException {
+
+		log.info("executeIRODSQueryInZones()");
+		log.info("zoneNames:{}", zoneNames);
+		log.info("orderByColumnName:{}", orderByColumnName);
+		return FederatedQueryResults.instance(irodsQuery, zoneNames, zoneTimeoutMillis, orderByColumnName,
+				getIRODSAccessObjectFactory(), getIRODSAccount());
+	}
+
 }
@@ -3,17 +3,28 @@
  */
 package org.irods.jargon.core.pub;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
 import org.irods.jargon.core.connection.IRODSServerProperties;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.connection.MetadataCache;
+import org.irods.jargon.core.connection.MetadataCacheKey;
+import org.irods.jargon.core.connection.MetadataChangeEvent;
+import org.irods.jargon.core.connection.MetadataChangeEvent.MetadataChangeType;
+import org.irods.jargon.core.connection.RequestCoalescer.CoalescedRequest;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.PathTooLongException;
 import org.irods.jargon.core.packinstr.OperationComplete;
 import org.irods.jargon.core.packinstr.Tag;
 import org.irods.jargon.core.packinstr.TransferOptions;
 import org.irods.jargon.core.pub.io.IRODSFileFactory;
 import org.irods.jargon.core.transfer.TransferControlBlock;
+import org.irods.jargon.core.utils.MiscIRODSUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -91,6 +102,237 @@ public abstract class IRODSGenericAO implements IRODSAccessObject {
 		return irodsAccount;
 	}
 
+	/**
+	 * Make a read request, sharing the call to iRODS with the same request made at
+	 * the same time on other threads when
+	 * {@link JargonProperties#isCoalesceReadRequests()} is {@code true}, see
+	 * {@link org.irods.jargon.core.connection.RequestCoalescer}. The result may be
+	 * shared and must not be changed.
+	 *
+	 * @param operation
+	 *            {@code String} naming the operation
+	 * @param request
+	 *            {@link CoalescedRequest} that makes the call
+	 * @param arguments
+	 *            {@code Object...} with the arguments that identify the request
+	 * @return result of the call
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	protected <T> T coalesceReadRequest(final String operation, final CoalescedRequest<T> request,
+			final Object... arguments) throws JargonException {
+		if (!getJargonProperties().isCoalesceReadRequests()) {
+			return request.execute();
+		}
+		return irodsSession.getRequestCoalescer().execute(irodsAccount, operation, request, arguments);
+	}
+
+	/**
+	 * Make a read request that returns a list, as in
+	 * {@link #coalesceReadRequest(String, CoalescedRequest, Object...)}, giving
+	 * each caller a list of its own when the request is shared
+	 *
+	 * @param operation
+	 *            {@code String} naming the operation
+	 * @param request
+	 *            {@link CoalescedRequest} that makes the call
+	 * @param arguments
+	 *            {@code Object...} with the arguments that identify the request
+	 * @return {@code List} with the result of the call
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	protected <T> List<T> coalesceReadRequestForList(final String operation, final CoalescedRequest<List<T>> request,
+			final Object... arguments) throws JargonException {
+		if (!getJargonProperties().isCoalesceReadRequests()) {
+			return request.execute();
+		}
+		return new ArrayList<T>(irodsSession.getRequestCoalescer().execute(irodsAccount, operation, request, arguments));
+	}
+
+	/**
+	 * Make a read request, answering from the {@link MetadataCache} of the session
+	 * when it holds the result, and otherwise making the request as in
+	 * {@link #coalesceReadRequest(String, CoalescedRequest, Object...)} and caching
+	 * the result. The result may be shared and must not be changed.
+	 *
+	 * @param operation
+	 *            {@code String} naming the operation
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the path the result is about, so a change to
+	 *            the path drops the result, or {@code null} if not about a path
+	 * @param request
+	 *            {@link CoalescedRequest} that makes the call
+	 * @param arguments
+	 *            {@code Object...} with the other arguments that identify the
+	 *            request
+	 * @return result of the call
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T> T cachedReadRequest(final String operation, final String irodsAbsolutePath,
+			final CoalescedRequest<T> request, final Object... arguments) throws JargonException {
+		MetadataCache metadataCache = irodsSession.getMetadataCache();
+		if (metadataCache == null) {
+			return coalesceReadRequest(operation, request, buildRequestArguments(irodsAbsolutePath, arguments));
+		}
+
+		MetadataCacheKey metadataCacheKey = MetadataCacheKey.instance(irodsAccount, operation,
+				normalizePathForObjStatCache(irodsAbsolutePath), arguments);
+		Object cached = metadataCache.get(metadataCacheKey);
+		if (cached != null) {
+			log.debug("metadata cache hit for:{}", metadataCacheKey);
+			return (T) cached;
+		}
+
+		T result = coalesceReadRequest(operation, request, buildRequestArguments(irodsAbsolutePath, arguments));
+		if (result != null) {
+			metadataCache.put(metadataCacheKey, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Make a read request that returns a list, as in
+	 * {@link #cachedReadRequest(String, String, CoalescedRequest, Object...)},
+	 * giving each caller a list of its own when the result is shared
+	 *
+	 * @param operation
+	 *            {@code String} naming the operation
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the path the result is about, so a change to
+	 *            the path drops the result, or {@code null} if not about a path
+	 * @param request
+	 *            {@link CoalescedRequest} that makes the call
+	 * @param arguments
+	 *            {@code Object...} with the other arguments that identify the
+	 *            request
+	 * @return {@code List} with the result of the call
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T> List<T> cachedReadRequestForList(final String operation, final String irodsAbsolutePath,
+			final CoalescedRequest<List<T>> request, final Object... arguments) throws JargonException {
+		MetadataCache metadataCache = irodsSession.getMetadataCache();
+		if (metadataCache == null) {
+			return coalesceReadRequestForList(operation, request, buildRequestArguments(irodsAbsolutePath, arguments));
+		}
+
+		MetadataCacheKey metadataCacheKey = MetadataCacheKey.instance(irodsAccount, operation,
+				normalizePathForObjStatCache(irodsAbsolutePath), arguments);
+		Object cached = metadataCache.get(metadataCacheKey);
+		if (cached != null) {
+			log.debug("metadata cache hit for:{}", metadataCacheKey);
+			return new ArrayList<T>((List<T>) cached);
+		}
+
+		List<T> result = coalesceReadRequestForList(operation, request,
+				buildRequestArguments(irodsAbsolutePath, arguments));
+		metadataCache.put(metadataCacheKey, Collections.unmodifiableList(new ArrayList<T>(result)));
+		return result;
+	}
+
+	private static Object[] buildRequestArguments(final String irodsAbsolutePath, final Object... arguments) {
+		int count = arguments == null ? 0 : arguments.length;
+		Object[] requestArguments = new Object[count + 1];
+		requestArguments[0] = irodsAbsolutePath;
+		if (count > 0) {
+			System.arraycopy(arguments, 0, requestArguments, 1, count);
+		}
+		return requestArguments;
+	}
+
+	/**
+	 * Tell the session of a change this access object made to a data object or
+	 * collection, see {@link IRODSSession#publishMetadataChange(MetadataChangeEvent)}
+	 *
+	 * @param metadataChangeType
+	 *            {@link MetadataChangeType} of the change
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the absolute path changed
+	 */
+	protected void publishMetadataChange(final MetadataChangeType metadataChangeType,
+			final String irodsAbsolutePath) {
+		String normalizedPath = normalizePathForObjStatCache(irodsAbsolutePath);
+		if (normalizedPath != null) {
+			irodsSession.publishMetadataChange(MetadataChangeEvent.instanceForPath(metadataChangeType, normalizedPath));
+		}
+	}
+
+	/**
+	 * Tell the session this access object moved a data object or collection
+	 *
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the absolute path moved from
+	 * @param targetIrodsAbsolutePath
+	 *            {@code String} with the absolute path moved to
+	 */
+	protected void publishMetadataMove(final String irodsAbsolutePath, final String targetIrodsAbsolutePath) {
+		String normalizedPath = normalizePathForObjStatCache(irodsAbsolutePath);
+		String normalizedTargetPath = normalizePathForObjStatCache(targetIrodsAbsolutePath);
+		if (normalizedPath != null && normalizedTargetPath != null) {
+			irodsSession.publishMetadataChange(MetadataChangeEvent.instanceForMove(normalizedPath, normalizedTargetPath));
+		}
+	}
+
+	/**
+	 * Tell the session this access object changed a user group
+	 *
+	 * @param userGroupName
+	 *            {@code String} with the name of the group
+	 */
+	protected void publishUserGroupChange(final String userGroupName) {
+		irodsSession.publishMetadataChange(MetadataChangeEvent.instanceForUserGroup(userGroupName));
+	}
+
+	/**
+	 * Drop cached objStat results for a path changed by this access object, see
+	 * {@link org.irods.jargon.core.connection.ObjStatCache}
+	 *
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the absolute path of the data object or
+	 *            collection that was changed
+	 */
+	protected void invalidateObjStat(final String irodsAbsolutePath) {
+		String normalizedPath = normalizePathForObjStatCache(irodsAbsolutePath);
+		if (normalizedPath != null) {
+			irodsSession.getObjStatCache().invalidate(normalizedPath);
+		}
+	}
+
+	/**
+	 * Drop cached objStat results for a path changed by this access object and
+	 * for anything under it, as when a collection is removed or renamed
+	 *
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the absolute path of the collection or data
+	 *            object that was changed
+	 */
+	protected void invalidateObjStatTree(final String irodsAbsolutePath) {
+		String normalizedPath = normalizePathForObjStatCache(irodsAbsolutePath);
+		if (normalizedPath != null) {
+			irodsSession.getObjStatCache().invalidateTree(normalizedPath);
+		}
+	}
+
+	/**
+	 * @return {@code String} with the path as it is cached, or {@code null} if it
+	 *         cannot be in the cache
+	 */
+	private String normalizePathForObjStatCache(final String irodsAbsolutePath) {
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			return null;
+		}
+
+		try {
+			return MiscIRODSUtils.normalizeIrodsPath(irodsAbsolutePath);
+		} catch (PathTooLongException e) {
+			return null;
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
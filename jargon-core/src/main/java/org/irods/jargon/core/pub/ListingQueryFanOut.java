@@ -0,0 +1,146 @@
+package org.irods.jargon.core.pub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.exception.JargonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the independent queries of a collection listing, such as the collections
+ * and the data objects under a path, at the same time, so a listing costs one
+ * round trip rather than one for each query. The first query runs on the thread
+ * and connection of the caller, the others on the listing query pool of the
+ * {@link IRODSSession}, each on a connection of its own that is returned to the
+ * protocol manager when the query is done. When the pool is not configured the
+ * queries run one after another on the caller's connection.
+ * <p>
+ * Results are returned in the order of the queries, so callers merge them just
+ * as they did when the queries ran one after another.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+final class ListingQueryFanOut {
+
+	private static final Logger log = LoggerFactory.getLogger(ListingQueryFanOut.class);
+
+	/**
+	 * One query of a listing
+	 *
+	 * @param <T>
+	 *            type of the query result
+	 */
+	interface ListingQuery<T> {
+
+		/**
+		 * Run the query, on whatever thread calls this
+		 *
+		 * @return result of the query
+		 * @throws JargonException
+		 *             {@link JargonException}
+		 */
+		T query() throws JargonException;
+	}
+
+	private ListingQueryFanOut() {
+	}
+
+	/**
+	 * Run the queries, concurrently if the session has a listing query pool
+	 *
+	 * @param irodsSession
+	 *            {@link IRODSSession} with the listing query pool
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} the queries are run as
+	 * @param queries
+	 *            {@code List} of {@link ListingQuery} to run
+	 * @return {@code List} with the result of each query, in the order of the
+	 *         queries
+	 * @throws JargonException
+	 *             the exception of the first query, in order, that failed
+	 */
+	static <T> List<T> queryAll(final IRODSSession irodsSession, final IRODSAccount irodsAccount,
+			final List<ListingQuery<T>> queries) throws JargonException {
+
+		if (irodsSession == null) {
+			throw new IllegalArgumentException("null irodsSession");
+		}
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (queries == null) {
+			throw new IllegalArgumentException("null queries");
+		}
+
+		List<T> results = new ArrayList<T>(queries.size());
+		ExecutorService listingQueryThreadPool = queries.size() > 1 ? irodsSession.getListingQueryThreadPool()
+				: null;
+
+		if (listingQueryThreadPool == null) {
+			for (ListingQuery<T> query : queries) {
+				results.add(query.query());
+			}
+			return results;
+		}
+
+		log.debug("running {} listing queries concurrently", queries.size());
+
+		List<Future<T>> futures = new ArrayList<Future<T>>(queries.size() - 1);
+		try {
+			for (final ListingQuery<T> query : queries.subList(1, queries.size())) {
+				futures.add(listingQueryThreadPool.submit(new Callable<T>() {
+
+					@Override
+					public T call() throws JargonException {
+						try {
+							return query.query();
+						} finally {
+							// the pool thread holds no other work, so give back its connection
+							try {
+								irodsSession.closeSession(irodsAccount);
+							} catch (JargonException e) {
+								log.warn("error closing listing query connection, ignored", e);
+							}
+						}
+					}
+				}));
+			}
+
+			results.add(queries.get(0).query());
+
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			log.error("interrupted running listing queries", e);
+			Thread.currentThread().interrupt();
+			throw new JargonException("interrupted running listing queries", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof JargonException) {
+				throw (JargonException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			log.error("error running listing query", cause);
+			throw new JargonException("error running listing query", cause);
+		} finally {
+			for (Future<T> future : futures) {
+				future.cancel(false);
+			}
+		}
+
+		return results;
+	}
+
+}
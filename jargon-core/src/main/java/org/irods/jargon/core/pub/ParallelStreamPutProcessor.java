@@ -0,0 +1,495 @@
+package org.irods.jargon.core.pub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.irods.jargon.core.checksum.AbstractChecksumComputeStrategy;
+import org.irods.jargon.core.checksum.ChecksumManagerImpl;
+import org.irods.jargon.core.checksum.ChecksumMethodUnavailableException;
+import org.irods.jargon.core.checksum.ChecksumValue;
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSServerProperties;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.exception.FileIntegrityException;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.NoResourceDefinedException;
+import org.irods.jargon.core.packinstr.DataObjInp.OpenFlags;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.irods.jargon.core.pub.io.FileIOOperations;
+import org.irods.jargon.core.pub.io.FileIOOperations.SeekWhenceType;
+import org.irods.jargon.core.pub.io.FileIOOperationsAOImpl;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Uploads an {@code InputStream} of unknown length to an iRODS data object
+ * over several connections. The calling thread cuts the stream into chunks of
+ * {@code getParallelCopyBufferSize} from the jargon properties and computes the
+ * checksum as it reads. Writer threads each open the data object on a
+ * connection of their own and write the chunks they take at their offsets,
+ * with a seek and a write.
+ * <p>
+ * At most one chunk per connection waits to be written, so memory is bounded
+ * to about twice the connections in chunks. From iRODS 4.2.9 a second open for
+ * write of a replica must carry the replica token of the first, which jargon
+ * cannot yet obtain, so {@link #writersForServer(IRODSServerProperties, int)}
+ * gives those servers a single writer. A writer that cannot open the data
+ * object leaves the upload to the others, and the writers that opened are
+ * reported in the {@link TransferStatistics}. After the writers close, the size
+ * of the data object is checked against the bytes read, and a checksum is
+ * computed or verified in iRODS as the jargon properties ask.
+ * <p>
+ * Used by {@link Stream2StreamAOImpl}, an instance handles one upload.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+class ParallelStreamPutProcessor {
+
+	private static final Logger log = LoggerFactory.getLogger(ParallelStreamPutProcessor.class);
+
+	/**
+	 * How long waits last before checking whether a writer failed
+	 */
+	private static final long POLL_MILLIS = 100;
+
+	/**
+	 * Queued once per writer after the last chunk
+	 */
+	private static final Chunk END_OF_DATA = new Chunk(-1, null, 0);
+
+	/**
+	 * First iRODS release that refuses to open a replica for write again without
+	 * the replica token of the open already made
+	 */
+	static final String REPLICA_TOKEN_REQUIRED_VERSION = "rods4.2.9";
+
+	private final IRODSSession irodsSession;
+	private final IRODSAccount irodsAccount;
+	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private final int chunkSize;
+	private final int connections;
+	private final BlockingQueue<Chunk> chunks;
+	private final Object writerMonitor = new Object();
+
+	/**
+	 * Guarded by {@code writerMonitor}
+	 */
+	private int writersStarting;
+	private int writersOpened = 0;
+	private volatile Exception failure = null;
+
+	ParallelStreamPutProcessor(final IRODSSession irodsSession, final IRODSAccount irodsAccount,
+			final IRODSAccessObjectFactory irodsAccessObjectFactory, final int connections) {
+		if (irodsSession == null) {
+			throw new IllegalArgumentException("null irodsSession");
+		}
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+		if (irodsAccessObjectFactory == null) {
+			throw new IllegalArgumentException("null irodsAccessObjectFactory");
+		}
+		if (connections <= 0) {
+			throw new IllegalArgumentException("connections must be greater than zero");
+		}
+		this.irodsSession = irodsSession;
+		this.irodsAccount = irodsAccount;
+		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+		this.connections = connections;
+		chunkSize = irodsSession.getJargonProperties().getParallelCopyBufferSize();
+		if (chunkSize <= 0) {
+			throw new IllegalStateException("misconfiguration in jargon.properties, parallelCopyBufferSize is <= 0");
+		}
+		writersStarting = connections;
+		chunks = new ArrayBlockingQueue<Chunk>(connections);
+	}
+
+	/**
+	 * The count of writers the server can take for one data object, one when the
+	 * server requires a replica token to open a replica for write again
+	 *
+	 * @param irodsServerProperties
+	 *            {@link IRODSServerProperties} of the target server
+	 * @param connections
+	 *            {@code int} with the count of connections asked for
+	 * @return {@code int} with the count of writers to start
+	 */
+	static int writersForServer(final IRODSServerProperties irodsServerProperties, final int connections) {
+		if (irodsServerProperties == null) {
+			throw new IllegalArgumentException("null irodsServerProperties");
+		}
+
+		if (connections > 1
+				&& irodsServerProperties.isTheIrodsServerAtLeastAtTheGivenReleaseVersion(REPLICA_TOKEN_REQUIRED_VERSION)) {
+			log.info("server:{} requires a replica token for a second open, using one connection",
+					irodsServerProperties.getIrodsVersion());
+			return 1;
+		}
+		return connections;
+	}
+
+	/**
+	 * Upload the stream, replacing the data object if it exists. The stream is
+	 * read to the end but not closed.
+	 *
+	 * @param inputStream
+	 *            {@link InputStream} to upload
+	 * @param irodsTargetFile
+	 *            {@link IRODSFile} to create or replace, using its resource if
+	 *            set
+	 * @return {@link TransferStatistics} including the checksum of the data read
+	 * @throws NoResourceDefinedException
+	 *             if no resource was given and iRODS has no default
+	 * @throws FileIntegrityException
+	 *             if the size or checksum in iRODS does not match the data read
+	 * @throws JargonException
+	 *             for iRODS or stream error
+	 */
+	TransferStatistics upload(final InputStream inputStream, final IRODSFile irodsTargetFile)
+			throws NoResourceDefinedException, JargonException {
+
+		long timeStart = System.currentTimeMillis();
+		createOrTruncate(irodsTargetFile);
+
+		AbstractChecksumComputeStrategy checksumStrategy = instanceChecksumStrategy();
+		MessageDigest messageDigest = instanceMessageDigest(checksumStrategy);
+
+		List<Thread> writerThreads = new ArrayList<Thread>(connections);
+		for (int i = 0; i < connections; i++) {
+			Thread writerThread = new Thread(new Writer(irodsTargetFile.getAbsolutePath()),
+					"irods-parallel-stream-put-" + i + ":" + irodsTargetFile.getName());
+			writerThread.setDaemon(true);
+			writerThreads.add(writerThread);
+		}
+		for (Thread writerThread : writerThreads) {
+			writerThread.start();
+		}
+
+		long totalBytes = 0;
+		try {
+			totalBytes = readAndQueueChunks(inputStream, messageDigest, writerThreads);
+		} finally {
+			endWriters(writerThreads);
+		}
+
+		if (failure != null) {
+			log.error("parallel stream put failed for:{}", irodsTargetFile.getAbsolutePath(), failure);
+			throw new JargonException("error in parallel stream put to:" + irodsTargetFile.getAbsolutePath(),
+					failure);
+		}
+
+		long irodsLength = irodsAccessObjectFactory.getIRODSFileFactory(irodsAccount)
+				.instanceIRODSFile(irodsTargetFile.getAbsolutePath()).length();
+		if (irodsLength != totalBytes) {
+			log.error("size in iRODS:{} does not match bytes read:{}", irodsLength, totalBytes);
+			throw new FileIntegrityException("size of data object after parallel stream put does not match the stream");
+		}
+
+		ChecksumValue checksumValue = null;
+		if (messageDigest != null) {
+			checksumValue = checksumStrategy.computeChecksumValueFromDigest(messageDigest.digest());
+			log.info("checksum of stream:{}", checksumValue);
+		}
+		processChecksumAfterTransfer(irodsTargetFile, checksumValue);
+
+		long seconds = (System.currentTimeMillis() - timeStart) / 1000;
+		if (seconds == 0) {
+			seconds = 1;
+		}
+
+		TransferStatistics transferStatistics = new TransferStatistics();
+		transferStatistics.setSeconds((int) seconds);
+		transferStatistics.setTotalBytes(totalBytes);
+		transferStatistics.setKbPerSecond((int) (totalBytes / seconds));
+		transferStatistics.setChecksumValue(checksumValue);
+		synchronized (writerMonitor) {
+			transferStatistics.setConnectionsUsed(writersOpened);
+		}
+		log.info("transfer stats:{}", transferStatistics);
+		return transferStatistics;
+	}
+
+	private void createOrTruncate(final IRODSFile irodsTargetFile)
+			throws NoResourceDefinedException, JargonException {
+		if (irodsTargetFile.exists()) {
+			log.info("truncating existing data object:{}", irodsTargetFile.getAbsolutePath());
+			irodsTargetFile.open(OpenFlags.WRITE_TRUNCATE);
+		} else {
+			log.info("creating data object:{}", irodsTargetFile.getAbsolutePath());
+			irodsTargetFile.createNewFileCheckNoResourceFound(OpenFlags.WRITE);
+		}
+		irodsTargetFile.close();
+	}
+
+	/**
+	 * Read the stream into chunks and queue them for the writers
+	 *
+	 * @return {@code long} with the bytes read
+	 */
+	private long readAndQueueChunks(final InputStream inputStream, final MessageDigest messageDigest,
+			final List<Thread> writerThreads) throws JargonException {
+		long offset = 0;
+		try {
+			while (failure == null) {
+				byte[] data = new byte[chunkSize];
+				int length = 0;
+				int read;
+				while (length < chunkSize && (read = inputStream.read(data, length, chunkSize - length)) != -1) {
+					length += read;
+				}
+
+				if (length == 0) {
+					break;
+				}
+
+				if (messageDigest != null) {
+					messageDigest.update(data, 0, length);
+				}
+				queue(new Chunk(offset, data, length), writerThreads);
+				offset += length;
+
+				if (length < chunkSize) {
+					break;
+				}
+			}
+		} catch (IOException e) {
+			log.error("error reading stream for parallel put", e);
+			failIfFirst(e);
+		}
+		return offset;
+	}
+
+	private void queue(final Chunk chunk, final List<Thread> writerThreads) throws JargonException {
+		try {
+			while (!chunks.offer(chunk, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+				if (failure != null) {
+					return;
+				}
+				if (!anyAlive(writerThreads)) {
+					throw new JargonException("parallel stream put writers ended unexpectedly");
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			failIfFirst(e);
+		}
+	}
+
+	/**
+	 * Queue the end of data for each writer that is still running and wait for
+	 * them to close the data object
+	 */
+	private void endWriters(final List<Thread> writerThreads) {
+		for (int i = 0; i < writerThreads.size(); i++) {
+			try {
+				while (!chunks.offer(END_OF_DATA, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+					if (!anyAlive(writerThreads)) {
+						break;
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failIfFirst(e);
+				break;
+			}
+		}
+
+		for (Thread writerThread : writerThreads) {
+			try {
+				writerThread.join();
+			} catch (InterruptedException e) {
+				log.warn("interrupted waiting for parallel stream put writers");
+				Thread.currentThread().interrupt();
+				failIfFirst(e);
+				return;
+			}
+		}
+	}
+
+	private void processChecksumAfterTransfer(final IRODSFile irodsTargetFile, final ChecksumValue checksumValue)
+			throws JargonException {
+		boolean verify = irodsSession.getJargonProperties().isComputeAndVerifyChecksumAfterTransfer();
+		if (!verify && !irodsSession.getJargonProperties().isComputeChecksumAfterTransfer()) {
+			return;
+		}
+
+		ChecksumValue irodsChecksum = irodsAccessObjectFactory.getDataObjectChecksumUtilitiesAO(irodsAccount)
+				.computeChecksumOnDataObject(irodsTargetFile);
+		log.info("irods checksum:{}", irodsChecksum);
+
+		if (!verify) {
+			return;
+		}
+
+		if (checksumValue == null || checksumValue.getChecksumEncoding() != irodsChecksum.getChecksumEncoding()) {
+			log.warn("no checksum of the stream in the encoding of iRODS, cannot verify:{}",
+					irodsTargetFile.getAbsolutePath());
+			return;
+		}
+
+		if (!irodsChecksum.getChecksumStringValue().equals(checksumValue.getChecksumStringValue())) {
+			throw new FileIntegrityException("checksum verification after parallel stream put fails");
+		}
+	}
+
+	private AbstractChecksumComputeStrategy instanceChecksumStrategy() throws JargonException {
+		ChecksumEncodingEnum checksumEncoding = new ChecksumManagerImpl(irodsAccount, irodsAccessObjectFactory)
+				.determineChecksumEncodingForTargetServer();
+		log.info("using checksum algorithm:{}", checksumEncoding);
+		return irodsSession.getLocalChecksumComputerFactory().instance(checksumEncoding);
+	}
+
+	private MessageDigest instanceMessageDigest(final AbstractChecksumComputeStrategy checksumStrategy) {
+		try {
+			return checksumStrategy.instanceMessageDigest();
+		} catch (ChecksumMethodUnavailableException e) {
+			log.info("strategy cannot compute checksum during transfer, no checksum of stream:{}", e.getMessage());
+			return null;
+		}
+	}
+
+	private void failIfFirst(final Exception e) {
+		synchronized (writerMonitor) {
+			if (failure == null) {
+				failure = e;
+			}
+		}
+	}
+
+	private boolean anyAlive(final List<Thread> threads) {
+		for (Thread thread : threads) {
+			if (thread.isAlive()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Data at an offset of the data object
+	 */
+	private static final class Chunk {
+		private final long offset;
+		private final byte[] data;
+		private final int length;
+
+		private Chunk(final long offset, final byte[] data, final int length) {
+			this.offset = offset;
+			this.data = data;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * Writes chunks on a connection of its own until the end of data
+	 */
+	private final class Writer implements Runnable {
+
+		private final String irodsAbsolutePath;
+
+		private Writer(final String irodsAbsolutePath) {
+			this.irodsAbsolutePath = irodsAbsolutePath;
+		}
+
+		@Override
+		public void run() {
+			IRODSFile writerFile = null;
+			boolean open = false;
+			try {
+				writerFile = irodsAccessObjectFactory.getIRODSFileFactory(irodsAccount)
+						.instanceIRODSFile(irodsAbsolutePath);
+				int fd;
+				try {
+					fd = writerFile.open(OpenFlags.WRITE);
+					open = true;
+				} catch (JargonException e) {
+					openFailed(e);
+					return;
+				}
+				opened();
+
+				writeChunks(fd, new FileIOOperationsAOImpl(irodsSession, irodsAccount));
+				open = false;
+				writerFile.close();
+			} catch (Exception e) {
+				log.error("error in parallel stream put writer for:{}", irodsAbsolutePath, e);
+				failIfFirst(e);
+			} finally {
+				closeWriterConnection(writerFile, open);
+			}
+		}
+
+		private void writeChunks(final int fd, final FileIOOperations fileIOOperations)
+				throws JargonException, InterruptedException {
+			long position = -1;
+			while (true) {
+				Chunk chunk = chunks.take();
+				if (chunk == END_OF_DATA) {
+					return;
+				}
+
+				if (failure != null) {
+					continue;
+				}
+
+				if (position != chunk.offset) {
+					fileIOOperations.seek(fd, chunk.offset, SeekWhenceType.SEEK_START);
+				}
+				int written = fileIOOperations.write(fd, chunk.data, 0, chunk.length);
+				if (written != chunk.length) {
+					throw new JargonException("short write in parallel stream put, wrote " + written + " of "
+							+ chunk.length + " at offset:" + chunk.offset);
+				}
+				position = chunk.offset + chunk.length;
+			}
+		}
+
+		private void opened() {
+			synchronized (writerMonitor) {
+				writersStarting--;
+				writersOpened++;
+			}
+		}
+
+		/**
+		 * A writer that cannot open leaves the upload to the others, unless no
+		 * writer could open
+		 */
+		private void openFailed(final JargonException e) {
+			synchronized (writerMonitor) {
+				writersStarting--;
+				if (writersStarting == 0 && writersOpened == 0) {
+					log.error("no writer could open:{}", irodsAbsolutePath, e);
+					failIfFirst(e);
+				} else {
+					log.warn("writer could not open:{}, continuing with other connections", irodsAbsolutePath, e);
+				}
+			}
+		}
+
+		private void closeWriterConnection(final IRODSFile writerFile, final boolean open) {
+			if (open && writerFile != null) {
+				try {
+					writerFile.close();
+				} catch (JargonException e) {
+					log.warn("error closing parallel stream put file handle", e);
+				}
+			}
+
+			try {
+				irodsSession.closeSession(irodsAccount);
+			} catch (JargonException e) {
+				log.warn("error closing parallel stream put connection", e);
+			}
+		}
+	}
+
+}
@@ -9,6 +9,7 @@ import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.pub.domain.SpecificQueryDefinition;
 import org.irods.jargon.core.query.IRODSQueryResultSet;
 import org.irods.jargon.core.query.JargonQueryException;
+import org.irods.jargon.core.query.QueryResultRowMapper;
 import org.irods.jargon.core.query.SpecificQuery;
 import org.irods.jargon.core.query.SpecificQueryResultSet;
 
@@ -207,6 +208,54 @@ public interface SpecificQueryAO extends IRODSAccessObject {
 	SpecificQueryResultSet executeSpecificQueryUsingSql(SpecificQuery specificQuery, int maxRows, int userDefinedOffset)
 			throws DataNotFoundException, JargonException, JargonQueryException;
 
+	/**
+	 * Stream the results of a specific query by alias, a page at a time, mapping
+	 * each row into a record with the given mapper. Only one page is held in
+	 * memory, and pages after the first are read with the continuation of the
+	 * query, so this suits queries with very large results. The iterator must be
+	 * closed if it is not read to the end, which closes the query in iRODS.
+	 *
+	 * @param specificQuery
+	 *            {@link SpecificQuery} that defines the query alias, and any
+	 *            associated parameters to use
+	 * @param pageSize
+	 *            {@code int} with the number of rows read from iRODS at a time
+	 * @param rowMapper
+	 *            {@link QueryResultRowMapper} that maps each row into a record
+	 * @return {@link SpecificQueryResultIterator} over the records
+	 * @throws DataNotFoundException
+	 *             if the alias cannot be located
+	 * @throws JargonException
+	 *             general exception
+	 * @throws JargonQueryException
+	 *             exception in the forumulation of the query
+	 */
+	<T> SpecificQueryResultIterator<T> iterateSpecificQueryUsingAlias(SpecificQuery specificQuery, int pageSize,
+			QueryResultRowMapper<T> rowMapper) throws DataNotFoundException, JargonException, JargonQueryException;
+
+	/**
+	 * Stream the results of a specific query by the exact sql that was registered
+	 * in iRODS, a page at a time, mapping each row into a record with the given
+	 * mapper. Only one page is held in memory, and pages after the first are read
+	 * with the continuation of the query. The iterator must be closed if it is not
+	 * read to the end, which closes the query in iRODS.
+	 *
+	 * @param specificQuery
+	 *            {@link SpecificQuery} that defines the query sql, and any
+	 *            associated parameters to use
+	 * @param pageSize
+	 *            {@code int} with the number of rows read from iRODS at a time
+	 * @param rowMapper
+	 *            {@link QueryResultRowMapper} that maps each row into a record
+	 * @return {@link SpecificQueryResultIterator} over the records
+	 * @throws JargonException
+	 *             general exception
+	 * @throws JargonQueryException
+	 *             exception in the forumulation of the query
+	 */
+	<T> SpecificQueryResultIterator<T> iterateSpecificQueryUsingSql(SpecificQuery specificQuery, int pageSize,
+			QueryResultRowMapper<T> rowMapper) throws JargonException, JargonQueryException;
+
 	/**
 	 * Given a portion of a query alias, find matching specific queries as stored in
 	 * iRODS. Note that wildcards in the 'like' statement are not imposed by this
@@ -17,6 +17,7 @@ import org.irods.jargon.core.pub.domain.SpecificQueryDefinition;
 import org.irods.jargon.core.query.IRODSQueryResultRow;
 import org.irods.jargon.core.query.JargonQueryException;
 import org.irods.jargon.core.query.QueryResultProcessingUtils;
+import org.irods.jargon.core.query.QueryResultRowMapper;
 import org.irods.jargon.core.query.SpecificQuery;
 import org.irods.jargon.core.query.SpecificQueryResultSet;
 import org.irods.jargon.core.utils.MiscIRODSUtils;
@@ -467,9 +468,35 @@ public class SpecificQueryAOImpl extends IRODSGenericAO implements SpecificQuery
 	private SpecificQueryResultSet queryOnAliasGivenDefinition(final SpecificQuery specificQuery, final int maxRows,
 			final SpecificQueryDefinition specificQueryDefinition, final int userDefinedOffset) throws JargonException {
 
+		SpecificQueryResultSet results = readSpecificQueryPage(specificQuery, specificQueryDefinition.getColumnNames(),
+				maxRows, specificQuery.getContinuationValue(), userDefinedOffset);
+
+		log.debug("doing a close for this page...");
+		closeResultSet(results);
+		return results;
+
+	}
+
+	/**
+	 * Read a page of a specific query, leaving the query open in iRODS if there are
+	 * more results. No results is read as an empty page.
+	 *
+	 * @param specificQuery
+	 * @param columnNames
+	 * @param maxRows
+	 * @param continuation      {@code int} with the continuation of an open query,
+	 *                          or 0 to start the query
+	 * @param userDefinedOffset {@code int} with the offset of the first row, used
+	 *                          in the record counts
+	 * @return
+	 * @throws JargonException
+	 */
+	private SpecificQueryResultSet readSpecificQueryPage(final SpecificQuery specificQuery,
+			final List<String> columnNames, final int maxRows, final int continuation, final int userDefinedOffset)
+			throws JargonException {
+
 		SpecificQueryInp specificQueryInp = SpecificQueryInp.instance(specificQuery.getArguments(),
-				specificQuery.getQueryString(), maxRows, specificQuery.getContinuationValue(),
-				specificQuery.getZoneHint());
+				specificQuery.getQueryString(), maxRows, continuation, specificQuery.getZoneHint());
 
 		Tag response = null;
 
@@ -483,29 +510,111 @@ public class SpecificQueryAOImpl extends IRODSGenericAO implements SpecificQuery
 		} catch (DataNotFoundException e) {
 			log.debug("no results from iRODS, return as an empty result set");
 
-			return new SpecificQueryResultSet(specificQuery, specificQueryDefinition.getColumnNames());
+			return new SpecificQueryResultSet(specificQuery, columnNames);
 		}
 
 		// result set is not empty
 
-		int continuation = QueryResultProcessingUtils.getContinuationValue(response);
+		int nextContinuation = QueryResultProcessingUtils.getContinuationValue(response);
 
 		boolean hasMoreRecords = false;
 
-		if (continuation != 0) {
+		if (nextContinuation != 0) {
 			hasMoreRecords = true;
 		}
 
 		List<IRODSQueryResultRow> resultRows = QueryResultProcessingUtils.translateResponseIntoResultSet(response,
-				specificQueryDefinition.getColumnNames(), continuation, userDefinedOffset);
+				columnNames, nextContinuation, userDefinedOffset);
 
-		SpecificQueryResultSet results = new SpecificQueryResultSet(specificQuery, resultRows,
-				specificQueryDefinition.getColumnNames(), hasMoreRecords, continuation);
+		return new SpecificQueryResultSet(specificQuery, resultRows, columnNames, hasMoreRecords, nextContinuation);
+	}
 
-		log.debug("doing a close for this page...");
-		closeResultSet(results);
-		return results;
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.SpecificQueryAO#iterateSpecificQueryUsingAlias(org.
+	 * irods.jargon.core.query.SpecificQuery, int,
+	 * org.irods.jargon.core.query.QueryResultRowMapper)
+	 */
+	@Override
+	public <T> SpecificQueryResultIterator<T> iterateSpecificQueryUsingAlias(final SpecificQuery specificQuery,
+			final int pageSize, final QueryResultRowMapper<T> rowMapper)
+			throws DataNotFoundException, JargonException, JargonQueryException {
+
+		log.info("iterateSpecificQueryUsingAlias()");
+		if (specificQuery == null) {
+			throw new IllegalArgumentException("null specific query");
+		}
+
+		checkSupportForSpecificQuery();
+
+		SpecificQueryDefinition specificQueryDefinition = findSpecificQueryByAlias(specificQuery.getQueryString());
+
+		if (specificQuery.getArguments().size() != specificQueryDefinition.getArgumentCount()) {
+			log.error("number of parameters in query does not match number of parameters provided");
+			throw new JargonQueryException("mismatch between query parameters and number of arguments provided");
+		}
+
+		return iterateSpecificQuery(specificQuery, specificQueryDefinition.getColumnNames(), pageSize, rowMapper);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.SpecificQueryAO#iterateSpecificQueryUsingSql(org.
+	 * irods.jargon.core.query.SpecificQuery, int,
+	 * org.irods.jargon.core.query.QueryResultRowMapper)
+	 */
+	@Override
+	public <T> SpecificQueryResultIterator<T> iterateSpecificQueryUsingSql(final SpecificQuery specificQuery,
+			final int pageSize, final QueryResultRowMapper<T> rowMapper) throws JargonException, JargonQueryException {
+
+		log.info("iterateSpecificQueryUsingSql()");
+		if (specificQuery == null) {
+			throw new IllegalArgumentException("null specific query");
+		}
+
+		checkSupportForSpecificQuery();
+
+		List<String> columnNames = SpecificQueryAOImpl.parseColumnNamesFromQuery(specificQuery.getQueryString());
+		int numberOfParameters = SpecificQueryAOImpl.countArgumentsInQuery(specificQuery.getQueryString());
+
+		if (specificQuery.getArguments().size() != numberOfParameters) {
+			log.error("number of parameters in query does not match number of parameters provided");
+			throw new JargonQueryException("mismatch between query parameters and number of arguments provided");
+		}
+
+		return iterateSpecificQuery(specificQuery, columnNames, pageSize, rowMapper);
+	}
+
+	private <T> SpecificQueryResultIterator<T> iterateSpecificQuery(final SpecificQuery specificQuery,
+			final List<String> columnNames, final int pageSize, final QueryResultRowMapper<T> rowMapper) {
 
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("pageSize must be greater than 0");
+		}
+
+		if (rowMapper == null) {
+			throw new IllegalArgumentException("null rowMapper");
+		}
+
+		log.info("streaming specific query:{}", specificQuery.getQueryString());
+
+		return SpecificQueryResultIterator.instance(new SpecificQueryResultIterator.PageReader() {
+
+			@Override
+			public SpecificQueryResultSet readPage(final int continuation, final int rowOffset)
+					throws JargonException {
+				return readSpecificQueryPage(specificQuery, columnNames, pageSize, continuation, rowOffset);
+			}
+
+			@Override
+			public void closeQuery(final SpecificQueryResultSet specificQueryResultSet) throws JargonException {
+				closeResultSet(specificQueryResultSet);
+			}
+		}, rowMapper, specificQuery.getQueryString());
 	}
 
 	/*
@@ -0,0 +1,216 @@
+package org.irods.jargon.core.pub;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.QueryResultRowMapper;
+import org.irods.jargon.core.query.SpecificQueryResultSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Iterates over the results of a specific query as records of a type chosen by
+ * the caller, reading a page of results at a time from iRODS, so that a query
+ * with hundreds of thousands of rows can be read holding only one page in
+ * memory. Each row is handed to a {@link QueryResultRowMapper} as its page is
+ * read, and only the mapped records of the page are kept. Pages after the first
+ * are read with the continuation of the open query, rather than by running the
+ * query again from an offset.
+ * <p>
+ * The query is held open in iRODS until the results have been read, so an
+ * iterator that is not read to the end must be closed, ideally with a
+ * try-with-resources block. The iterator is read on the connection of the
+ * thread that created it, and like the other access objects is not to be shared
+ * between threads.
+ * <p>
+ * Errors from iRODS or from the mapper while reading a page are thrown as a
+ * {@link JargonRuntimeException}.
+ *
+ * @param <T>
+ *            type of the records
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class SpecificQueryResultIterator<T> implements Iterator<T>, Closeable {
+
+	private static final Logger log = LoggerFactory.getLogger(SpecificQueryResultIterator.class);
+
+	/**
+	 * Reads the pages of the query from iRODS
+	 */
+	interface PageReader {
+
+		/**
+		 * Read a page of results, leaving the query open if there are more
+		 *
+		 * @param continuation
+		 *            {@code int} with the continuation of the open query, 0 for the
+		 *            first page
+		 * @param rowOffset
+		 *            {@code int} with the count of rows read before this page
+		 * @return {@link SpecificQueryResultSet} with the page
+		 * @throws JargonException
+		 *             {@link JargonException}
+		 */
+		SpecificQueryResultSet readPage(int continuation, int rowOffset) throws JargonException;
+
+		/**
+		 * Close the query in iRODS before it has been read to the end
+		 *
+		 * @param specificQueryResultSet
+		 *            {@link SpecificQueryResultSet} with the last page read
+		 * @throws JargonException
+		 *             {@link JargonException}
+		 */
+		void closeQuery(SpecificQueryResultSet specificQueryResultSet) throws JargonException;
+	}
+
+	private final PageReader pageReader;
+	private final QueryResultRowMapper<T> rowMapper;
+	private final String queryDescription;
+	private final LinkedList<T> page = new LinkedList<T>();
+	private SpecificQueryResultSet openResultSet = null;
+	private int rowsRead = 0;
+	private boolean done = false;
+	private boolean closed = false;
+
+	/**
+	 * Create an iterator over the results of a query
+	 *
+	 * @param pageReader       {@link PageReader} that reads the pages of the query
+	 * @param rowMapper        {@link QueryResultRowMapper} that maps each row
+	 * @param queryDescription {@code String} with the alias or sql of the query,
+	 *                         for messages
+	 * @return {@link SpecificQueryResultIterator}
+	 */
+	static <T> SpecificQueryResultIterator<T> instance(final PageReader pageReader,
+			final QueryResultRowMapper<T> rowMapper, final String queryDescription) {
+
+		if (pageReader == null) {
+			throw new IllegalArgumentException("null pageReader");
+		}
+
+		if (rowMapper == null) {
+			throw new IllegalArgumentException("null rowMapper");
+		}
+
+		return new SpecificQueryResultIterator<T>(pageReader, rowMapper, queryDescription);
+	}
+
+	private SpecificQueryResultIterator(final PageReader pageReader, final QueryResultRowMapper<T> rowMapper,
+			final String queryDescription) {
+		this.pageReader = pageReader;
+		this.rowMapper = rowMapper;
+		this.queryDescription = queryDescription;
+	}
+
+	@Override
+	public boolean hasNext() {
+		while (page.isEmpty() && !done && !closed) {
+			readPage();
+		}
+		return !closed && !page.isEmpty();
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return page.removeFirst();
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("remove");
+	}
+
+	/**
+	 * Close the results, closing the query in iRODS if it has not been read to the
+	 * end. Errors closing the query are logged and ignored.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+
+		closed = true;
+		page.clear();
+		closeOpenQuery();
+	}
+
+	/**
+	 * @return {@code int} with the count of rows read from iRODS so far
+	 */
+	public int getRowsRead() {
+		return rowsRead;
+	}
+
+	/**
+	 * @return {@code Stream} of the records, closing the stream closes this
+	 *         iterator
+	 */
+	public Stream<T> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+				.onClose(new Runnable() {
+					@Override
+					public void run() {
+						close();
+					}
+				});
+	}
+
+	private void readPage() {
+		try {
+			int continuation = openResultSet == null ? 0 : openResultSet.getContinuationIndex();
+			openResultSet = pageReader.readPage(continuation, rowsRead);
+			log.debug("read page of {} rows", openResultSet.getResults().size());
+
+			for (IRODSQueryResultRow row : openResultSet.getResults()) {
+				page.add(rowMapper.mapRow(row));
+			}
+			rowsRead += openResultSet.getResults().size();
+
+			if (!openResultSet.isHasMoreRecords()) {
+				openResultSet = null;
+				done = true;
+			}
+		} catch (JargonException e) {
+			log.error("error reading specific query page for:{}", queryDescription, e);
+			closeOpenQuery();
+			done = true;
+			throw new JargonRuntimeException("error reading specific query:" + queryDescription, e);
+		}
+	}
+
+	private void closeOpenQuery() {
+		if (openResultSet == null) {
+			return;
+		}
+
+		SpecificQueryResultSet toClose = openResultSet;
+		openResultSet = null;
+		if (!toClose.isHasMoreRecords()) {
+			return;
+		}
+
+		try {
+			log.debug("closing open specific query");
+			pageReader.closeQuery(toClose);
+		} catch (JargonException e) {
+			log.warn("error closing specific query, ignored", e);
+		}
+	}
+
+}
@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import org.irods.jargon.core.exception.FileIntegrityException;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.exception.NoResourceDefinedException;
 import org.irods.jargon.core.pub.io.IRODSFile;
@@ -100,6 +101,43 @@ public interface Stream2StreamAO extends IRODSAccessObject {
 	TransferStatistics transferStreamToFileUsingIOStreams(InputStream inputStream, File targetFile, long length,
 			int readBuffSize) throws JargonException;
 
+	/**
+	 * Upload a stream of unknown length to an iRODS file over several
+	 * connections at once, without spooling it to a local file. The stream is cut
+	 * into chunks of the parallel copy buffer size in the jargon properties, and
+	 * each connection writes the chunks it takes at their offsets. Memory is
+	 * bounded to about two chunks per connection.
+	 * <p>
+	 * The checksum of the data is computed as the stream is read and returned in
+	 * the statistics. The size of the data object is checked after the upload, and
+	 * an iRODS checksum is computed or verified as the jargon properties ask.
+	 * <p>
+	 * From iRODS 4.2.9 the server refuses a second open for write of a replica
+	 * that does not carry the replica token of the first, so uploads to those
+	 * servers use one connection whatever is asked for. On older servers a
+	 * connection that cannot open the data object leaves the work to the others.
+	 * The connections that carried data are given by
+	 * {@link TransferStatistics#getConnectionsUsed()}.
+	 *
+	 * @param inputStream
+	 *            {@link InputStream} to upload, it is read to the end and not
+	 *            closed
+	 * @param irodsTargetFile
+	 *            {@link IRODSFile} to create, or to replace if it exists
+	 * @param connections
+	 *            {@code int} with the most connections writing at once
+	 * @return {@link TransferStatistics} that give information about the transfer
+	 *         size and rate, the checksum of the stream and the connections used
+	 * @throws NoResourceDefinedException
+	 *             if no resource was given and iRODS has no default
+	 * @throws FileIntegrityException
+	 *             if the size or checksum in iRODS does not match the stream
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	TransferStatistics streamToIRODSFileInParallel(InputStream inputStream, IRODSFile irodsTargetFile,
+			int connections) throws NoResourceDefinedException, JargonException;
+
 	/**
 	 * Stream a class-path resource to a target iRODS file
 	 *
@@ -238,6 +238,32 @@ public class Stream2StreamAOImpl extends IRODSGenericAO implements Stream2Stream
 
 	}
 
+	@Override
+	public TransferStatistics streamToIRODSFileInParallel(final InputStream inputStream,
+			final IRODSFile irodsTargetFile, final int connections) throws NoResourceDefinedException, JargonException {
+
+		log.info("streamToIRODSFileInParallel()");
+
+		if (inputStream == null) {
+			throw new IllegalArgumentException("null inputStream");
+		}
+
+		if (irodsTargetFile == null) {
+			throw new IllegalArgumentException("null irodsTargetFile");
+		}
+
+		if (connections <= 0) {
+			throw new IllegalArgumentException("connections must be greater than zero");
+		}
+
+		log.info("irodsTargetFile:{}", irodsTargetFile);
+		log.info("connections:{}", connections);
+
+		int writers = ParallelStreamPutProcessor.writersForServer(getIRODSServerProperties(), connections);
+		return new ParallelStreamPutProcessor(getIRODSSession(), getIRODSAccount(), getIRODSAccessObjectFactory(),
+				writers).upload(inputStream, irodsTargetFile);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -10,6 +10,7 @@ import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.exception.OverwriteException;
 import org.irods.jargon.core.pub.io.IRODSFile;
 import org.irods.jargon.core.transfer.TransferControlBlock;
+import org.irods.jargon.core.transfer.TransferManifest;
 import org.irods.jargon.core.transfer.TransferStatus;
 import org.irods.jargon.core.transfer.TransferStatus.TransferState;
 import org.irods.jargon.core.transfer.TransferStatus.TransferType;
@@ -90,6 +91,16 @@ final class TransferOperationsHelper {
 		log.info("recursively getting source file: {}", irodsSourceFile.getAbsolutePath());
 		log.info("    into iRODS file: {}", targetLocalFile.getAbsolutePath());
 
+		TransferManifest transferManifest = transferControlBlock.getTransferManifest();
+		if (transferManifest != null) {
+			if (transferManifest.isDirectoryComplete(irodsSourceFile.getAbsolutePath())) {
+				log.info("collection is complete in the transfer manifest, skipping");
+				return;
+			}
+			transferManifest.markDirectoryPending(irodsSourceFile.getAbsolutePath());
+		}
+		int errorCountAtStart = transferControlBlock.getErrorCount();
+
 		for (File fileInSourceCollection : irodsSourceFile.listFiles()) {
 
 			if (Thread.interrupted()) {
@@ -172,6 +183,8 @@ final class TransferOperationsHelper {
 				}
 			}
 		}
+
+		markDirectoryCompleteInManifest(irodsSourceFile.getAbsolutePath(), transferControlBlock, errorCountAtStart);
 	}
 
 	/**
@@ -213,6 +226,11 @@ final class TransferOperationsHelper {
 			throw new IllegalArgumentException("null targetLocalFile");
 		}
 
+		if (skipIfCompleteInManifest(TransferType.GET, irodsSourceFile.getAbsolutePath(),
+				targetLocalFile.getAbsolutePath(), transferStatusCallbackListener, transferControlBlock)) {
+			return;
+		}
+
 		/*
 		 * This is a transfer of a single file, normalize the target path to be a file,
 		 * rather then the parent collection, so restarts can find the previous attempt.
@@ -288,6 +306,11 @@ final class TransferOperationsHelper {
 
 			}
 
+			int errorCountAtStart = transferControlBlock.getErrorCount();
+			if (transferControlBlock.getTransferManifest() != null) {
+				transferControlBlock.getTransferManifest().markFileStarted(irodsSourceFile.getAbsolutePath());
+			}
+
 			try {
 				dataObjectAO.getDataObjectFromIrods(irodsSourceFile, targetLocalFileAsFile, transferControlBlock,
 						transferStatusCallbackListener);
@@ -301,6 +324,8 @@ final class TransferOperationsHelper {
 				throw new JargonException(e);
 			}
 
+			markFileCompleteInManifest(irodsSourceFile.getAbsolutePath(), transferControlBlock, errorCountAtStart);
+
 			transferControlBlock.incrementFilesTransferredSoFar();
 
 			if (transferStatusCallbackListener != null) {
@@ -392,6 +417,16 @@ final class TransferOperationsHelper {
 		log.info("    into iRODS file: {}", targetIrodsCollection.getAbsolutePath());
 		log.info("     to resource:{}", targetIrodsCollection.getResource());
 
+		TransferManifest transferManifest = transferControlBlock.getTransferManifest();
+		if (transferManifest != null) {
+			if (transferManifest.isDirectoryComplete(sourceFile.getAbsolutePath())) {
+				log.info("directory is complete in the transfer manifest, skipping");
+				return;
+			}
+			transferManifest.markDirectoryPending(sourceFile.getAbsolutePath());
+		}
+		int errorCountAtStart = transferControlBlock.getErrorCount();
+
 		try {
 			File[] files = sourceFile.listFiles();
 			if (files != null) {
@@ -420,6 +455,12 @@ final class TransferOperationsHelper {
 					}
 
 					if (fileInSourceCollection.isDirectory()) {
+						if (transferManifest != null
+								&& transferManifest.isDirectoryComplete(fileInSourceCollection.getAbsolutePath())) {
+							log.info("directory is complete in the transfer manifest, skipping:{}",
+									fileInSourceCollection);
+							continue;
+						}
 						recursivelyPutACollection(targetIrodsCollection, transferStatusCallbackListener,
 								transferControlBlock, fileInSourceCollection);
 
@@ -430,6 +471,7 @@ final class TransferOperationsHelper {
 					}
 				}
 			}
+			markDirectoryCompleteInManifest(sourceFile.getAbsolutePath(), transferControlBlock, errorCountAtStart);
 		} catch (Exception e) {
 			if (!transferControlBlock.isCancelled()) {
 				log.info("unanticipated exception will be transformed into a Jargon exception", e);
@@ -749,6 +791,11 @@ final class TransferOperationsHelper {
 			throw new IllegalArgumentException("null transferControlBlock");
 		}
 
+		if (skipIfCompleteInManifest(TransferType.PUT, sourceFile.getAbsolutePath(),
+				targetIrodsFile.getAbsolutePath(), transferStatusCallbackListener, transferControlBlock)) {
+			return;
+		}
+
 		/*
 		 * This is a transfer of a single file, normalize the target path to be a file,
 		 * rather then the parent collection, so restarts can find the previous attempt.
@@ -816,12 +863,19 @@ final class TransferOperationsHelper {
 				}
 			}
 
+			int errorCountAtStart = transferControlBlock.getErrorCount();
+			if (transferControlBlock.getTransferManifest() != null) {
+				transferControlBlock.getTransferManifest().markFileStarted(sourceFile.getAbsolutePath());
+			}
+
 			/*
 			 * The put operation handles any restart processing
 			 */
 			dataObjectAO.putLocalDataObjectToIRODS(sourceFile, targetFileAsFile, transferControlBlock,
 					transferStatusCallbackListener, false);
 
+			markFileCompleteInManifest(sourceFile.getAbsolutePath(), transferControlBlock, errorCountAtStart);
+
 			transferControlBlock.incrementFilesTransferredSoFar();
 
 			if (transferStatusCallbackListener != null) {
@@ -1137,4 +1191,84 @@ final class TransferOperationsHelper {
 		}
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Check the transfer manifest, if one is in use, and skip a file that a prior
+	 * run already transferred. This is done before any iRODS or local file system
+	 * calls are made for the file.
+	 *
+	 * @return {@code boolean} of {@code true} if the file was skipped
+	 * @throws JargonException
+	 */
+	private boolean skipIfCompleteInManifest(final TransferType transferType, final String sourceAbsolutePath,
+			final String targetAbsolutePath, final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock) throws JargonException {
+
+		TransferManifest transferManifest = transferControlBlock.getTransferManifest();
+		if (transferManifest == null || !transferManifest.isFileComplete(sourceAbsolutePath)) {
+			return false;
+		}
+
+		log.info("file is complete in the transfer manifest, skipping:{}", sourceAbsolutePath);
+		transferControlBlock.incrementFilesSkippedSoFar();
+
+		if (transferStatusCallbackListener != null) {
+			TransferStatus status = TransferStatus.instance(transferType, sourceAbsolutePath, targetAbsolutePath, "",
+					0, 0, transferControlBlock.getTotalFilesTransferredSoFar(),
+					transferControlBlock.getTotalFilesSkippedSoFar(), transferControlBlock.getTotalFilesToTransfer(),
+					TransferState.RESTARTING, dataObjectAO.getIRODSAccount().getHost(),
+					dataObjectAO.getIRODSAccount().getZone());
+			transferStatusCallbackListener.statusCallback(status);
+		}
+		return true;
+	}
+
+	/**
+	 * Record a file as complete in the transfer manifest, if one is in use, as
+	 * long as the transfer was not cancelled or paused while the file was sent,
+	 * and no errors were reported for it. Otherwise the file is left as started,
+	 * and is sent again when the transfer is resumed.
+	 *
+	 * @throws JargonException
+	 */
+	private void markFileCompleteInManifest(final String sourceAbsolutePath,
+			final TransferControlBlock transferControlBlock, final int errorCountAtStart) throws JargonException {
+
+		TransferManifest transferManifest = transferControlBlock.getTransferManifest();
+		if (transferManifest == null) {
+			return;
+		}
+
+		if (transferControlBlock.isCancelled() || transferControlBlock.isPaused()
+				|| transferControlBlock.getErrorCount() != errorCountAtStart) {
+			log.info("file not complete, leaving as started in the manifest:{}", sourceAbsolutePath);
+			return;
+		}
+
+		transferManifest.markFileComplete(sourceAbsolutePath);
+	}
+
+	/**
+	 * Record a directory as complete in the transfer manifest, if one is in use,
+	 * as long as the directory was not cut short by a cancel or pause, and no
+	 * errors were reported while processing it.
+	 *
+	 * @throws JargonException
+	 */
+	private void markDirectoryCompleteInManifest(final String sourceAbsolutePath,
+			final TransferControlBlock transferControlBlock, final int errorCountAtStart) throws JargonException {
+
+		TransferManifest transferManifest = transferControlBlock.getTransferManifest();
+		if (transferManifest == null) {
+			return;
+		}
+
+		if (transferControlBlock.isCancelled() || transferControlBlock.isPaused()
+				|| transferControlBlock.getErrorCount() != errorCountAtStart) {
+			log.info("directory not complete, leaving as pending in the manifest:{}", sourceAbsolutePath);
+			return;
+		}
+
+		transferManifest.markDirectoryComplete(sourceAbsolutePath);
+	}
+
+}
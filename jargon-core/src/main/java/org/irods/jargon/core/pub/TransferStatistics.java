@@ -3,6 +3,8 @@
  */
 package org.irods.jargon.core.pub;
 
+import org.irods.jargon.core.checksum.ChecksumValue;
+
 /**
  *
  * @author Mike Conway - DICE (www.irods.org) see http://code.renci.org for
@@ -14,6 +16,17 @@ public class TransferStatistics {
 	private long totalBytes = 0;
 	private int seconds = 0;
 	private int kbPerSecond = 0;
+	/**
+	 * Checksum computed while the data was read, or {@code null} if none was
+	 * computed
+	 */
+	private ChecksumValue checksumValue = null;
+
+	/**
+	 * Connections that carried data in a parallel transfer, or zero if not
+	 * recorded
+	 */
+	private int connectionsUsed = 0;
 
 	/**
 	 *
@@ -31,6 +44,10 @@ public class TransferStatistics {
 		sb.append(seconds);
 		sb.append("\n\t kbPerSecond:");
 		sb.append(kbPerSecond);
+		sb.append("\n\t checksumValue:");
+		sb.append(checksumValue);
+		sb.append("\n\t connectionsUsed:");
+		sb.append(connectionsUsed);
 		return sb.toString();
 	}
 
@@ -58,4 +75,20 @@ public class TransferStatistics {
 		this.kbPerSecond = kbPerSecond;
 	}
 
+	public ChecksumValue getChecksumValue() {
+		return checksumValue;
+	}
+
+	public void setChecksumValue(final ChecksumValue checksumValue) {
+		this.checksumValue = checksumValue;
+	}
+
+	public int getConnectionsUsed() {
+		return connectionsUsed;
+	}
+
+	public void setConnectionsUsed(final int connectionsUsed) {
+		this.connectionsUsed = connectionsUsed;
+	}
+
 }
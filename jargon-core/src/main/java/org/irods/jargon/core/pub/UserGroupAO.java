@@ -72,6 +72,19 @@ public interface UserGroupAO extends IRODSAccessObject {
 	 */
 	List<UserGroup> findUserGroupsForUser(String userName) throws JargonException;
 
+	/**
+	 * Given a user name, drop any cached group membership of the user and query
+	 * the user groups that the user belongs to again. Use this when membership may
+	 * have been changed outside of Jargon, and the group membership cache is on.
+	 *
+	 * @param userName
+	 *            {@code String} with an IRODS user name
+	 * @return {@code List} of {@link UserGroup}
+	 * @throws JargonException
+	 *             {@link JargonException}
+	 */
+	List<UserGroup> refreshUserGroupsForUser(String userName) throws JargonException;
+
 	/**
 	 * Add the given user group to iRODS
 	 *
@@ -163,7 +176,9 @@ public interface UserGroupAO extends IRODSAccessObject {
 	List<UserGroup> findAll() throws JargonException;
 
 	/**
-	 * Query the ICAT and see if the given user is in the given group
+	 * Query the ICAT and see if the given user is in the given group. When the
+	 * group membership cache is on, this is answered from the cached groups of the
+	 * user.
 	 *
 	 * @param userName
 	 *            {@code String} with the user name
@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.RequestCoalescer.CoalescedRequest;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.DuplicateDataException;
 import org.irods.jargon.core.exception.InvalidGroupException;
@@ -76,6 +77,8 @@ public final class UserGroupAOImpl extends IRODSGenericAO implements UserGroupAO
 			GeneralAdminInp adminPI = GeneralAdminInp.instanceForAddUserGroup(userGroup);
 			log.debug("executing admin PI");
 			getIRODSProtocol().irodsFunction(adminPI);
+			getIRODSSession().getGroupMembershipCache().invalidateZone(getIRODSAccount());
+			publishUserGroupChange(userGroup.getUserGroupName());
 
 		} catch (NoMoreRulesException nmr) {
 			log.warn(
@@ -108,6 +111,8 @@ public final class UserGroupAOImpl extends IRODSGenericAO implements UserGroupAO
 			UserAdminInp adminPI = UserAdminInp.instanceForAddUserGroup(userGroup);
 			log.debug("executing user admin PI");
 			getIRODSProtocol().irodsFunction(adminPI);
+			getIRODSSession().getGroupMembershipCache().invalidateZone(getIRODSAccount());
+			publishUserGroupChange(userGroup.getUserGroupName());
 
 		} catch (NoMoreRulesException nmr) {
 			log.warn(
@@ -166,6 +171,9 @@ public final class UserGroupAOImpl extends IRODSGenericAO implements UserGroupAO
 			log.debug("no more rules exception interpereted as user does not exist, just behave as if deleted");
 		}
 
+		getIRODSSession().getGroupMembershipCache().invalidateZone(getIRODSAccount());
+		publishUserGroupChange(userGroup.getUserGroupName());
+
 	}
 
 	/*
@@ -370,6 +378,17 @@ public final class UserGroupAOImpl extends IRODSGenericAO implements UserGroupAO
 
 		log.info("for user group name:{}", userGroupName);
 
+		return cachedReadRequestForList("listUserGroupMembers", null, new CoalescedRequest<List<User>>() {
+
+			@Override
+			public List<User> execute() throws JargonException {
+				return queryUserGroupMembers(userGroupName);
+			}
+		}, userGroupName);
+	}
+
+	private List<User> queryUserGroupMembers(final String userGroupName) throws JargonException {
+
 		List<User> users = new ArrayList<>();
 
 		// create query for users in group
@@ -428,6 +447,46 @@ public final class UserGroupAOImpl extends IRODSGenericAO implements UserGroupAO
 
 		log.info("find user group with user name: {}", userName);
 
+		int timeToLiveMillis = getJargonProperties().getGroupMembershipCacheTimeToLiveMillis();
+		if (timeToLiveMillis > 0) {
+			List<UserGroup> cached = getIRODSSession().getGroupMembershipCache().lookup(getIRODSAccount(),
+					userName);
+			if (cached != null) {
+				log.debug("group membership cache hit for:{}", userName);
+				return new ArrayList<>(cached);
+			}
+		}
+
+		List<UserGroup> userGroups = coalesceReadRequestForList("findUserGroupsForUser",
+				new CoalescedRequest<List<UserGroup>>() {
+
+					@Override
+					public List<UserGroup> execute() throws JargonException {
+						return queryUserGroupsForUser(userName);
+					}
+				}, userName);
+
+		if (timeToLiveMillis > 0) {
+			getIRODSSession().getGroupMembershipCache().cacheUserGroups(getIRODSAccount(), userName, userGroups,
+					timeToLiveMillis, getJargonProperties().getGroupMembershipCacheMaxEntries());
+		}
+
+		return userGroups;
+	}
+
+	@Override
+	public List<UserGroup> refreshUserGroupsForUser(final String userName) throws JargonException {
+		if (userName == null || userName.length() == 0) {
+			throw new JargonException("null or missing userName");
+		}
+
+		log.info("refreshUserGroupsForUser:{}", userName);
+		getIRODSSession().getGroupMembershipCache().invalidateUser(getIRODSAccount(), userName);
+		return findUserGroupsForUser(userName);
+	}
+
+	private List<UserGroup> queryUserGroupsForUser(final String userName) throws JargonException {
+
 		IRODSGenQueryExecutor irodsGenQueryExecutor = getGenQueryExecutor();
 
 		StringBuilder query = new StringBuilder();
@@ -479,6 +538,20 @@ public final class UserGroupAOImpl extends IRODSGenericAO implements UserGroupAO
 		log.info("userName:{}", userName);
 		log.info("groupName:{}", groupName);
 
+		/*
+		 * The groups of a user leave out the group of the user's own name, so that
+		 * one is always asked of the catalog
+		 */
+		if (getJargonProperties().getGroupMembershipCacheTimeToLiveMillis() > 0
+				&& !groupName.trim().equals(userName.trim())) {
+			for (UserGroup userGroup : findUserGroupsForUser(userName.trim())) {
+				if (userGroup.getUserGroupName().equals(groupName.trim())) {
+					return true;
+				}
+			}
+			return false;
+		}
+
 		boolean inGroup = false;
 
 		AbstractIRODSQueryResultSet resultSet = null;
@@ -543,6 +616,8 @@ public final class UserGroupAOImpl extends IRODSGenericAO implements UserGroupAO
 		log.debug("executing admin PI");
 
 		getIRODSProtocol().irodsFunction(adminPI);
+		getIRODSSession().getGroupMembershipCache().invalidateUser(getIRODSAccount(), userName);
+		publishUserGroupChange(userGroupName);
 	}
 
 	@Override
@@ -573,6 +648,8 @@ public final class UserGroupAOImpl extends IRODSGenericAO implements UserGroupAO
 		log.debug("executing admin PI");
 
 		getIRODSProtocol().irodsFunction(adminPI);
+		getIRODSSession().getGroupMembershipCache().invalidateUser(getIRODSAccount(), userName);
+		publishUserGroupChange(userGroupName);
 	}
 
 	@Override
@@ -604,6 +681,8 @@ public final class UserGroupAOImpl extends IRODSGenericAO implements UserGroupAO
 		log.debug("executing admin PI");
 
 		getIRODSProtocol().irodsFunction(adminPI);
+		getIRODSSession().getGroupMembershipCache().invalidateUser(getIRODSAccount(), userName);
+		publishUserGroupChange(userGroupName);
 
 	}
 
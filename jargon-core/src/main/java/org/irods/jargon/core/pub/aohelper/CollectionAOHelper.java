@@ -5,6 +5,7 @@ package org.irods.jargon.core.pub.aohelper;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.JargonException;
@@ -451,6 +452,64 @@ public class CollectionAOHelper extends AOHelper {
 		userFilePermissions.add(userFilePermission);
 	}
 
+	/**
+	 * Resolve the permission a user has on a collection or data object from its
+	 * ACL, as the highest of the permissions granted to the user directly, or to
+	 * one of the groups the user is a member of. This works on the ACL that is
+	 * already in hand, and does not query iRODS.
+	 *
+	 * @param userFilePermissions
+	 *            {@code List} of {@link UserFilePermission} with the ACL of the
+	 *            collection or data object
+	 * @param userName
+	 *            {@code String} with the name of the user (no #zone)
+	 * @param userZone
+	 *            {@code String} with the zone of the user, blank matches any zone
+	 * @param userGroupNames
+	 *            {@code Set} of {@code String} with the names of the groups
+	 *            the user is a member of
+	 * @return {@link FilePermissionEnum} with the effective permission,
+	 *         {@code NONE} if nothing is granted to the user or the groups
+	 */
+	public static FilePermissionEnum resolveEffectivePermission(final List<UserFilePermission> userFilePermissions,
+			final String userName, final String userZone, final Set<String> userGroupNames) {
+
+		if (userFilePermissions == null) {
+			throw new IllegalArgumentException("null userFilePermissions");
+		}
+
+		if (userName == null || userName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty userName");
+		}
+
+		if (userZone == null) {
+			throw new IllegalArgumentException("null userZone");
+		}
+
+		if (userGroupNames == null) {
+			throw new IllegalArgumentException("null userGroupNames");
+		}
+
+		FilePermissionEnum effectivePermission = FilePermissionEnum.NONE;
+
+		for (UserFilePermission userFilePermission : userFilePermissions) {
+			boolean granted;
+			if (userFilePermission.getUserName().equals(userName)) {
+				granted = userZone.isEmpty() || userFilePermission.getUserZone() == null
+						|| userFilePermission.getUserZone().isEmpty() || userFilePermission.getUserZone().equals(userZone);
+			} else {
+				granted = userGroupNames.contains(userFilePermission.getUserName());
+			}
+
+			if (granted && userFilePermission.getFilePermissionEnum().getPermissionNumericValue() > effectivePermission
+					.getPermissionNumericValue()) {
+				effectivePermission = userFilePermission.getFilePermissionEnum();
+			}
+		}
+
+		return effectivePermission;
+	}
+
 	/**
 	 * Build a select for a collection ACL with the given collection absolute path
 	 *
@@ -77,12 +77,37 @@ public final class FileIOOperationsAOImpl extends IRODSGenericAO implements File
 					+ " using a length of " + length + " and an offset of " + offset);
 		}
 
+		return writeOnConnection(getIRODSProtocol(), fd, buffer, offset, length);
+	}
+
+	/**
+	 * Write to an open file on a given connection, rather than the connection of
+	 * the calling thread. Used by the write-behind sender of an
+	 * {@link IRODSFileOutputStream}, which sends on the connection of the thread
+	 * that opened the stream.
+	 *
+	 * @param irodsProtocol
+	 *            {@link IRODSMidLevelProtocol} the file was opened on
+	 * @param fd
+	 *            {@code int} with the file descriptor
+	 * @param buffer
+	 *            {@code byte[]} with the data
+	 * @param offset
+	 *            {@code int} with the offset in the buffer
+	 * @param length
+	 *            {@code int} with the count of bytes to write
+	 * @return {@code int} with the count of bytes written
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	static int writeOnConnection(final IRODSMidLevelProtocol irodsProtocol, final int fd, final byte buffer[],
+			final int offset, final int length) throws JargonException {
 		OpenedDataObjInp openedDataObjInp = OpenedDataObjInp.instanceForFileWrite(fd, offset, length);
 		// DataObjWriteInp dataObjWriteInp = DataObjWriteInp.instance(fd,
 		// length);
 
-		Tag message = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, openedDataObjInp.getParsedTags(),
-				null, 0, 0, buffer, offset, length, openedDataObjInp.getApiNumber());
+		Tag message = irodsProtocol.irodsFunction(IRODSConstants.RODS_API_REQ, openedDataObjInp.getParsedTags(), null,
+				0, 0, buffer, offset, length, openedDataObjInp.getApiNumber());
 
 		return message.getTag(IRODSConstants.MsgHeader_PI).getTag(IRODSConstants.intInfo).getIntValue();
 	}
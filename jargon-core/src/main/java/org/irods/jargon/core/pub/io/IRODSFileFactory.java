@@ -270,6 +270,78 @@ public interface IRODSFileFactory {
 	 */
 	IRODSFile instanceIRODSFile(File parent, String child) throws JargonException;
 
+	/**
+	 * Create an instance of a {@link ReadAheadIrodsInputStream}. This input stream
+	 * reads ahead of the caller on a dedicated connection, so that sequential
+	 * reads of a large file do not wait on the network for each block. The
+	 * default number of blocks is kept in flight, see
+	 * {@link ReadAheadIrodsInputStream#DEFAULT_BLOCKS_IN_FLIGHT}.
+	 *
+	 * @param file
+	 *            {@link IRODSFile} with the iRODS file that will be read and
+	 *            streamed.
+	 * @return {@link ReadAheadIrodsInputStream}
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	ReadAheadIrodsInputStream instanceReadAheadIRODSFileInputStream(IRODSFile file) throws JargonException;
+
+	/**
+	 * Create an instance of a {@link ReadAheadIrodsInputStream}. This input stream
+	 * reads ahead of the caller on a dedicated connection, so that sequential
+	 * reads of a large file do not wait on the network for each block.
+	 *
+	 * @param file
+	 *            {@link IRODSFile} with the iRODS file that will be read and
+	 *            streamed.
+	 * @param blocksInFlight
+	 *            {@code int} with the count of blocks of the get buffer size from
+	 *            the jargon properties to keep read ahead of the caller
+	 * @return {@link ReadAheadIrodsInputStream}
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	ReadAheadIrodsInputStream instanceReadAheadIRODSFileInputStream(IRODSFile file, int blocksInFlight)
+			throws JargonException;
+
+	/**
+	 * Create an instance of a {@link ParallelRangeIrodsInputStream} that reads the
+	 * whole file. The file is read on several connections at once and the data
+	 * is returned in order, using the default number of connections, see
+	 * {@link ParallelRangeIrodsInputStream#DEFAULT_CONNECTIONS}.
+	 *
+	 * @param file
+	 *            {@link IRODSFile} with the iRODS file that will be read and
+	 *            streamed.
+	 * @return {@link ParallelRangeIrodsInputStream}
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	ParallelRangeIrodsInputStream instanceParallelRangeIRODSFileInputStream(IRODSFile file) throws JargonException;
+
+	/**
+	 * Create an instance of a {@link ParallelRangeIrodsInputStream} that reads a
+	 * range of the file on several connections at once and returns the data in
+	 * order.
+	 *
+	 * @param file
+	 *            {@link IRODSFile} with the iRODS file that will be read and
+	 *            streamed.
+	 * @param offset
+	 *            {@code long} with the offset of the first byte to read
+	 * @param length
+	 *            {@code long} with the count of bytes to read, or -1 to read to
+	 *            the end of the file
+	 * @param connections
+	 *            {@code int} with the maximum count of connections reading at
+	 *            once
+	 * @return {@link ParallelRangeIrodsInputStream}
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	ParallelRangeIrodsInputStream instanceParallelRangeIRODSFileInputStream(IRODSFile file, long offset, long length,
+			int connections) throws JargonException;
+
 	/**
 	 * Create an instance of a {@link SessionClosingIRODSFileInputStream}. This
 	 * special input stream will close the underlying iRODS connection when the
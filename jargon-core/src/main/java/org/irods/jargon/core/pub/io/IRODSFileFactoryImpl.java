@@ -494,6 +494,44 @@ public final class IRODSFileFactoryImpl extends IRODSGenericAO implements IRODSF
 		}
 	}
 
+	@Override
+	public ReadAheadIrodsInputStream instanceReadAheadIRODSFileInputStream(final IRODSFile file)
+			throws JargonException {
+		return instanceReadAheadIRODSFileInputStream(file, ReadAheadIrodsInputStream.DEFAULT_BLOCKS_IN_FLIGHT);
+	}
+
+	@Override
+	public ReadAheadIrodsInputStream instanceReadAheadIRODSFileInputStream(final IRODSFile file,
+			final int blocksInFlight) throws JargonException {
+
+		FileIOOperations fileIOOperations = new FileIOOperationsAOImpl(getIRODSSession(), getIRODSAccount());
+		try {
+			return new ReadAheadIrodsInputStream(file, fileIOOperations, blocksInFlight);
+		} catch (FileNotFoundException e) {
+			log.error("FileNotFound creating read ahead input stream", e);
+			throw new JargonException(e);
+		}
+	}
+
+	@Override
+	public ParallelRangeIrodsInputStream instanceParallelRangeIRODSFileInputStream(final IRODSFile file)
+			throws JargonException {
+		return instanceParallelRangeIRODSFileInputStream(file, 0, -1, ParallelRangeIrodsInputStream.DEFAULT_CONNECTIONS);
+	}
+
+	@Override
+	public ParallelRangeIrodsInputStream instanceParallelRangeIRODSFileInputStream(final IRODSFile file,
+			final long offset, final long length, final int connections) throws JargonException {
+
+		FileIOOperations fileIOOperations = new FileIOOperationsAOImpl(getIRODSSession(), getIRODSAccount());
+		try {
+			return new ParallelRangeIrodsInputStream(file, fileIOOperations, offset, length, connections);
+		} catch (FileNotFoundException e) {
+			log.error("FileNotFound creating parallel range input stream", e);
+			throw new JargonException(e);
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
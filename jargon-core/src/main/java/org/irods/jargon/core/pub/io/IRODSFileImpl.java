@@ -22,6 +22,7 @@ import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.exception.JargonFileOrCollAlreadyExistsException;
 import org.irods.jargon.core.exception.JargonRuntimeException;
 import org.irods.jargon.core.exception.NoResourceDefinedException;
+import org.irods.jargon.core.exception.PathTooLongException;
 import org.irods.jargon.core.packinstr.DataObjInp;
 import org.irods.jargon.core.packinstr.DataObjInp.OpenFlags;
 import org.irods.jargon.core.pub.IRODSFileSystemAO;
@@ -1323,6 +1324,16 @@ public class IRODSFileImpl extends File implements IRODSFile {
 
 		setFileDescriptor(-1);
 
+		if (openFlags != OpenFlags.READ) {
+			// size and modification time are updated by iRODS on close
+			try {
+				irodsFileSystemAO.getIRODSSession().getObjStatCache()
+						.invalidate(MiscIRODSUtils.normalizeIrodsPath(getAbsolutePath()));
+			} catch (PathTooLongException e) {
+				log.debug("path too long to be cached, nothing to invalidate");
+			}
+		}
+
 	}
 
 	/*
@@ -3,6 +3,7 @@ package org.irods.jargon.core.pub.io;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
 
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.exception.JargonRuntimeException;
@@ -21,6 +22,15 @@ import org.slf4j.LoggerFactory;
  *
  * IRODSFileOutputStream is meant for writing streams of raw bytes such as image
  * data.
+ * <p>
+ * When {@code getWriteBehindQueueDepth} in the jargon properties is greater
+ * than 0, a write copies the data to a queue and returns, and a background
+ * thread sends it to iRODS on the connection of the thread that created the
+ * stream. A write waits when the queue is full. An error sending is thrown on
+ * the next {@code write}, {@code flush} or {@code close}, and {@code flush}
+ * waits until all queued data is sent. While writes are queued, the connection
+ * of the creating thread should only be used for calls that are one request,
+ * not for reading or transferring file contents.
  *
  *
  * @author Mike Conway - DICE (www.irods.org)
@@ -32,6 +42,7 @@ public class IRODSFileOutputStream extends OutputStream {
 
 	private final IRODSFile irodsFile;
 	private final FileIOOperations fileIOOperations;
+	private final WriteBehindSender writeBehindSender;
 
 	/**
 	 * This is the default open mode see {@link DataObjInp.OpenFlags} for details.
@@ -90,8 +101,18 @@ public class IRODSFileOutputStream extends OutputStream {
 
 		this.irodsFile = irodsFile;
 		this.openFlags = openFlags;
-		openIRODSFile(fileIOOperations);
+		int fileDescriptor = openIRODSFile(fileIOOperations);
 		this.fileIOOperations = fileIOOperations;
+
+		int writeBehindQueueDepth = fileIOOperations.getJargonProperties().getWriteBehindQueueDepth();
+		if (writeBehindQueueDepth > 0) {
+			log.info("write behind with queue of {} buffers", writeBehindQueueDepth);
+			writeBehindSender = new WriteBehindSender(
+					fileIOOperations.getIRODSSession().currentConnection(fileIOOperations.getIRODSAccount()),
+					fileDescriptor, writeBehindQueueDepth, irodsFile.getName());
+		} else {
+			writeBehindSender = null;
+		}
 	}
 
 	private int openIRODSFile(final FileIOOperations fileIOOperations)
@@ -163,9 +184,23 @@ public class IRODSFileOutputStream extends OutputStream {
 	 */
 	@Override
 	public void close() throws IOException {
+		IOException writeBehindException = null;
+		if (writeBehindSender != null) {
+			try {
+				writeBehindSender.close();
+			} catch (IOException e) {
+				log.error("error sending queued writes, closing file", e);
+				writeBehindException = e;
+			}
+		}
+
 		try {
 			irodsFile.close();
 
+			if (writeBehindException != null) {
+				throw writeBehindException;
+			}
+
 			/*
 			 * If checksum compute is true, add an iRODS checksum
 			 */
@@ -206,6 +241,12 @@ public class IRODSFileOutputStream extends OutputStream {
 		}
 
 		checkIfOpen();
+
+		if (writeBehindSender != null) {
+			writeBehindSender.send(Arrays.copyOfRange(b, off, off + len));
+			return;
+		}
+
 		try {
 			fileIOOperations.write(getFileDescriptor(), b, off, len);
 		} catch (JargonException e) {
@@ -214,6 +255,55 @@ public class IRODSFileOutputStream extends OutputStream {
 		}
 	}
 
+	/**
+	 * Write a whole buffer that the caller will not change again, which lets a
+	 * write behind stream queue it without a copy
+	 *
+	 * @param b
+	 *            {@code byte[]} to write
+	 * @throws IOException
+	 *             for an error writing, or an earlier error of write behind
+	 */
+	void writeHandingOffBuffer(final byte[] b) throws IOException {
+		if (writeBehindSender == null || b == null || b.length == 0) {
+			write(b);
+			return;
+		}
+
+		checkIfOpen();
+		writeBehindSender.send(b);
+	}
+
+	/**
+	 * Throw an error of write behind that has not been reported yet
+	 *
+	 * @throws IOException
+	 *             if an earlier write could not be sent
+	 */
+	void checkForWriteBehindError() throws IOException {
+		if (writeBehindSender != null) {
+			writeBehindSender.checkForError();
+		}
+	}
+
+	/**
+	 * Waits until writes queued by write behind are sent to iRODS
+	 */
+	@Override
+	public void flush() throws IOException {
+		if (writeBehindSender != null) {
+			writeBehindSender.drain();
+		}
+	}
+
+	/**
+	 * @return {@code boolean} that is {@code true} if writes are queued and sent
+	 *         by a background thread
+	 */
+	public boolean isWriteBehind() {
+		return writeBehindSender != null;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
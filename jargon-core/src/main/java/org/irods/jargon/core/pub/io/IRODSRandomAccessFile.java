@@ -8,7 +8,9 @@ import java.io.DataOutput;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.UTFDataFormatException;
+import java.util.Arrays;
 
+import org.irods.jargon.core.connection.JargonProperties;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.pub.io.FileIOOperations.SeekWhenceType;
 import org.irods.jargon.core.utils.BinaryDataFormat;
@@ -50,6 +52,17 @@ import org.slf4j.LoggerFactory;
  * <b>Note:</b> This class offers features that extend those found in
  * java.io.RandomAccessFile. However, it <i>is not</i> a subclass, due to the
  * unfortunate use of final methods in java.io.RandomAccessFile.
+ * <p>
+ * Reads are served from a least recently used cache of aligned blocks, sized by
+ * {@code getRandomAccessCacheBlockSize} and
+ * {@code getRandomAccessCacheMaxBlocks} in the jargon properties, so that many
+ * small reads near each other, such as reading the header and index of a
+ * structured file, become a few large reads from iRODS. Reads that continue
+ * where the last fetch ended fetch a growing number of blocks at once. A read
+ * of at least a block that is not cached goes directly to iRODS. Writes through
+ * this instance drop the blocks they overlap, writes to the same data object
+ * by other clients are not seen in blocks already cached. The server seek is
+ * deferred until the next read or write that needs it.
  *
  *
  * @author Mike Conway - DICE (www.irods.org) adopted from original Jargon
@@ -62,7 +75,12 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	private final FileIOOperations fileIOOperations;
 	private final IRODSFile irodsFile;
 	private long filePointer = 0;
+	/**
+	 * Position of the file descriptor in iRODS, or -1 if not known
+	 */
+	private long serverPosition = -1;
 	private BinaryDataFormat fileFormat = new BinaryDataFormat();
+	private final RandomAccessBlockCache blockCache;
 
 	/**
 	 * Create an instance of the IRODS implementation of a random access file
@@ -100,6 +118,17 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 		this.irodsFile = irodsFile;
 		this.fileIOOperations = fileIOOperations;
 
+		JargonProperties jargonProperties = fileIOOperations.getJargonProperties();
+		int blockSize = jargonProperties.getRandomAccessCacheBlockSize();
+		int maxBlocks = jargonProperties.getRandomAccessCacheMaxBlocks();
+		if (blockSize > 0 && maxBlocks > 0) {
+			log.debug("block cache of {} blocks of {}", maxBlocks, blockSize);
+			blockCache = new RandomAccessBlockCache(blockSize, maxBlocks);
+		} else {
+			log.debug("block cache is off");
+			blockCache = null;
+		}
+
 	}
 
 	/**
@@ -329,18 +358,22 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	@Override
 	public String readLine() throws IOException {
-		char ch = (char) read();
-		StringBuffer line = new StringBuffer();
+		int ch = read();
+		if (ch == -1) {
+			return null;
+		}
 
-		while ((ch != '\n') && (ch != '\r') && (ch != (char) -1)) {
-			line.append(ch);
-			ch = (char) read();
+		StringBuilder line = new StringBuilder();
+		while ((ch != '\n') && (ch != '\r') && (ch != -1)) {
+			line.append((char) ch);
+			ch = read();
 		}
 
-		if ((ch == '\r') && ((read()) != '\n')) {
-			seek(getFilePointer(), null);
-		} else if ((line.length() == 0)) {
-			return null;
+		if (ch == '\r') {
+			long afterReturn = filePointer;
+			if (read() != '\n') {
+				filePointer = afterReturn;
+			}
 		}
 
 		return line.toString();
@@ -503,7 +536,7 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 			newPosition = length;
 		}
 
-		seek(newPosition, SeekWhenceType.SEEK_CURRENT);
+		seek(newPosition, SeekWhenceType.SEEK_START);
 
 		return (int) (newPosition - position);
 	}
@@ -848,18 +881,9 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	public int read() throws IOException {
 		byte buffer[] = new byte[1];
-		int offset = 0;
-		int read;
-		try {
-			read = fileIOOperations.fileRead(irodsFile.getFileDescriptor(), buffer, offset, 1);
-		} catch (JargonException e) {
-			log.error("JargonException reading file", e);
-			throw new IOException(e);
-		}
+		int read = readBytes(buffer, 0, 1);
 		if (read == 1) {
-			filePointer += 1;
-
-			return buffer[0];
+			return (buffer[0] & 0xFF);
 		}
 		return -1;
 
@@ -879,18 +903,119 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 *             If an I/O error has occurred.
 	 */
 	protected int readBytes(final byte buffer[], final int offset, final int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+
+		if (blockCache == null) {
+			return readFromIrods(buffer, offset, len);
+		}
+
+		long blockIndex = blockCache.blockIndex(filePointer);
+		int blockOffset = blockCache.blockOffset(filePointer);
+		byte[] block = blockCache.get(blockIndex);
+
+		if (block == null) {
+			if (len >= blockCache.getBlockSize()) {
+				log.debug("read of {} bypasses block cache", len);
+				return readFromIrods(buffer, offset, len);
+			}
+			block = fetchBlocks(blockIndex);
+		}
+
+		if (block == null || blockOffset >= block.length) {
+			return -1;
+		}
+
+		int toCopy = Math.min(len, block.length - blockOffset);
+		System.arraycopy(block, blockOffset, buffer, offset, toCopy);
+		filePointer += toCopy;
+		return toCopy;
+	}
+
+	/**
+	 * Read at the file pointer directly from iRODS
+	 */
+	private int readFromIrods(final byte buffer[], final int offset, final int len) throws IOException {
 		int read;
 		try {
+			syncServerPosition();
 			read = fileIOOperations.fileRead(irodsFile.getFileDescriptor(), buffer, offset, len);
 		} catch (JargonException e) {
 			log.error("JargonException reading file", e);
 			throw new IOException(e);
 		}
-		filePointer += read;
 
+		if (read <= 0) {
+			return -1;
+		}
+
+		filePointer += read;
+		serverPosition = filePointer;
 		return read;
 	}
 
+	/**
+	 * Read one or more blocks starting at the given block in a single request
+	 * and add them to the cache
+	 *
+	 * @return {@code byte[]} with the requested block, or {@code null} if it is
+	 *         past the end of the file
+	 */
+	private byte[] fetchBlocks(final long blockIndex) throws IOException {
+		int blockSize = blockCache.getBlockSize();
+		int count = blockCache.blocksToFetch(blockIndex);
+		long start = blockIndex * blockSize;
+		byte[] data = new byte[count * blockSize];
+		int total = 0;
+
+		log.debug("fetching {} blocks at:{}", count, start);
+
+		try {
+			if (serverPosition != start) {
+				fileIOOperations.seek(irodsFile.getFileDescriptor(), start, SeekWhenceType.SEEK_START);
+				serverPosition = start;
+			}
+
+			while (total < data.length) {
+				int read = fileIOOperations.fileRead(irodsFile.getFileDescriptor(), data, total, data.length - total);
+				if (read <= 0) {
+					break;
+				}
+				total += read;
+				serverPosition += read;
+			}
+		} catch (JargonException e) {
+			log.error("JargonException reading file", e);
+			throw new IOException(e);
+		}
+
+		byte[] first = null;
+		for (int i = 0; i < count; i++) {
+			int from = i * blockSize;
+			if (from >= total) {
+				break;
+			}
+			byte[] block = Arrays.copyOfRange(data, from, Math.min(from + blockSize, total));
+			blockCache.put(blockIndex + i, block);
+			if (i == 0) {
+				first = block;
+			}
+		}
+		return first;
+	}
+
+	/**
+	 * Position the file descriptor in iRODS at the file pointer if a seek was
+	 * deferred or a cached read moved the file pointer
+	 */
+	private void syncServerPosition() throws JargonException {
+		if (serverPosition != filePointer) {
+			fileIOOperations.seek(irodsFile.getFileDescriptor(), filePointer, SeekWhenceType.SEEK_START);
+			serverPosition = filePointer;
+		}
+	}
+
 	/**
 	 * Writes a sub array as a sequence of bytes.
 	 *
@@ -905,7 +1030,12 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 */
 	protected void writeBytes(final byte buffer[], final int offset, final int len) throws IOException {
 		try {
+			syncServerPosition();
+			if (blockCache != null) {
+				blockCache.invalidate(filePointer, len);
+			}
 			filePointer += fileIOOperations.write(irodsFile.getFileDescriptor(), buffer, offset, len);
+			serverPosition = filePointer;
 		} catch (JargonException e) {
 			log.error("JargonException reading file", e);
 			throw new IOException(e);
@@ -929,6 +1059,9 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 * offset may be set beyond the end of the file. Setting the offset beyond the
 	 * end of the file does not change the file length. The file length will change
 	 * only by writing after the offset has been set beyond the end of the file.
+	 * <p>
+	 * A seek from the start or from the current position is made in iRODS when
+	 * the next read or write needs it, a seek from the end is made at once.
 	 *
 	 * @param position
 	 *            the offset position, measured in bytes from the at which to set
@@ -948,13 +1081,19 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 			throw new IllegalArgumentException();
 		}
 
-		try {
-			fileIOOperations.seek(irodsFile.getFileDescriptor(), position, origin);
-		} catch (JargonException e) {
-			log.error("JargonException reading file", e);
-			throw new IOException(e);
+		if (origin == null || origin == SeekWhenceType.SEEK_START) {
+			filePointer = position;
+		} else if (origin == SeekWhenceType.SEEK_CURRENT) {
+			filePointer += position;
+		} else {
+			try {
+				filePointer = fileIOOperations.seek(irodsFile.getFileDescriptor(), position, origin);
+			} catch (JargonException e) {
+				log.error("JargonException reading file", e);
+				throw new IOException(e);
+			}
+			serverPosition = filePointer;
 		}
-		filePointer = position;
 	}
 
 	/**
@@ -1051,6 +1190,10 @@ public class IRODSRandomAccessFile implements DataInput, DataOutput {
 	 *             for any underlying iRODS error
 	 */
 	public void close() throws IOException {
+		if (blockCache != null) {
+			blockCache.clear();
+		}
+
 		try {
 			log.debug("closing: {}", irodsFile.getAbsolutePath());
 			irodsFile.close();
@@ -20,6 +20,10 @@ import org.slf4j.LoggerFactory;
  * <p>
  * Flush and close are used and behave as expected, and will properly handle the
  * close of the underlying iRODS File and stream.
+ * <p>
+ * When the underlying stream uses write behind, each full buffer is handed to
+ * the background sender without a copy, so the caller fills the next buffer
+ * while the last one is sent. An error sending is thrown on the next write.
  *
  *
  * @author Mike Conway - DICE
@@ -63,6 +67,7 @@ public class PackingIrodsOutputStream extends OutputStream {
 	@Override
 	public void write(final byte[] b, final int off, final int len) throws IOException {
 		log.debug("write()");
+		irodsFileOutputStream.checkForWriteBehindError();
 		controlBytesIn += len;
 		log.debug("controlBytesIn:{}", controlBytesIn);
 		int projectedLen = byteArrayOutputStream.size() + (len - off);
@@ -79,7 +84,7 @@ public class PackingIrodsOutputStream extends OutputStream {
 
 	private void flushAndResetBufferStream() throws IOException {
 		if (byteArrayOutputStream.size() > 0) {
-			irodsFileOutputStream.write(byteArrayOutputStream.toByteArray());
+			irodsFileOutputStream.writeHandingOffBuffer(byteArrayOutputStream.toByteArray());
 			controlByteCount += byteArrayOutputStream.size();
 			log.debug("controlByteCount:{}", controlByteCount);
 			byteArrayOutputStream.reset();
@@ -115,12 +120,15 @@ public class PackingIrodsOutputStream extends OutputStream {
 	 */
 	@Override
 	public void close() throws IOException {
-		flush();
-		log.info("closing underlying stream");
-		if (controlByteCount != controlBytesIn) {
-			throw new IOException("control balance error in stream");
+		try {
+			flush();
+			if (controlByteCount != controlBytesIn) {
+				throw new IOException("control balance error in stream");
+			}
+		} finally {
+			log.info("closing underlying stream");
+			irodsFileOutputStream.close();
 		}
-		irodsFileOutputStream.close();
 	}
 
 	/*
@@ -134,8 +142,8 @@ public class PackingIrodsOutputStream extends OutputStream {
 		if (byteArrayOutputStream.size() > 0) {
 			log.debug("flushing buffered bytes and resetting");
 			flushAndResetBufferStream();
-			log.debug("now flushing the underlying iRODS stream");
-			irodsFileOutputStream.flush();
 		}
+		log.debug("now flushing the underlying iRODS stream");
+		irodsFileOutputStream.flush();
 	}
 }
@@ -0,0 +1,447 @@
+package org.irods.jargon.core.pub.io;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.irods.jargon.core.packinstr.DataObjInp.OpenFlags;
+import org.irods.jargon.core.pub.io.FileIOOperations.SeekWhenceType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Input stream for a range of an iRODS file that is read over several
+ * connections at once. The range is split into chunks of
+ * {@code getParallelCopyBufferSize} from the jargon properties. Each reader
+ * thread opens the file on a connection of its own and fetches the next chunk
+ * not yet taken, and the chunks are handed to the caller in file order. This
+ * gives a streaming consumer, such as an HTTP range server, the bandwidth of a
+ * parallel transfer without a temporary file.
+ * <p>
+ * Readers only fetch chunks within a window of twice the number of
+ * connections past the chunk being consumed, so memory is bounded to that
+ * many chunks. The stream is also a {@link ReadableByteChannel}. When the
+ * stream is closed the readers finish the read in progress, close the file and
+ * close their connections.
+ * <p>
+ * This stream is created by the {@link IRODSFileFactory}. Like the other iRODS
+ * streams, it is not safe for use by more than one thread at a time.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class ParallelRangeIrodsInputStream extends InputStream implements ReadableByteChannel {
+
+	private static final Logger log = LoggerFactory.getLogger(ParallelRangeIrodsInputStream.class);
+
+	/**
+	 * Default count of connections used to read
+	 */
+	public static final int DEFAULT_CONNECTIONS = 4;
+
+	/**
+	 * How long waits last before checking whether the stream was closed or a
+	 * reader failed
+	 */
+	private static final long POLL_MILLIS = 100;
+
+	private final IRODSFile irodsFile;
+	private final FileIOOperations fileIOOperations;
+	private final long rangeStart;
+	private final long rangeLength;
+	private final int chunkSize;
+	private final long chunkCount;
+	private final long maxChunksInMemory;
+	private final List<Thread> readerThreads;
+	private final Object chunkMonitor = new Object();
+
+	/**
+	 * Chunks read and not yet consumed, by chunk index, guarded by
+	 * {@code chunkMonitor} as are the fields that follow
+	 */
+	private final Map<Long, byte[]> fetchedChunks = new HashMap<Long, byte[]>();
+	private long nextChunkToFetch = 0;
+	private long nextChunkToConsume = 0;
+	private Exception failure = null;
+	private volatile boolean closed = false;
+
+	private byte[] current = null;
+	private int currentPosition = 0;
+
+	/**
+	 * Create a parallel reader of a range of a file
+	 *
+	 * @param irodsFile
+	 *            {@link IRODSFile} to read, it is not opened by this stream, each
+	 *            reader opens its own handle
+	 * @param fileIOOperations
+	 *            {@link FileIOOperations} that supports the iRODS protocol
+	 * @param offset
+	 *            {@code long} with the offset of the first byte to read
+	 * @param length
+	 *            {@code long} with the count of bytes to read, or -1 to read to
+	 *            the end of the file. A range past the end of the file is cut
+	 *            short at the end.
+	 * @param connections
+	 *            {@code int} with the maximum count of connections reading at
+	 *            once
+	 * @throws FileNotFoundException
+	 *             if the file does not exist or is not a data object
+	 */
+	protected ParallelRangeIrodsInputStream(final IRODSFile irodsFile, final FileIOOperations fileIOOperations,
+			final long offset, final long length, final int connections) throws FileNotFoundException {
+
+		super();
+
+		if (irodsFile == null) {
+			throw new IllegalArgumentException("null irodsFile");
+		}
+
+		if (fileIOOperations == null) {
+			throw new IllegalArgumentException("null fileIOOperations");
+		}
+
+		if (offset < 0) {
+			throw new IllegalArgumentException("offset is negative");
+		}
+
+		if (length < -1) {
+			throw new IllegalArgumentException("length must be -1 or greater");
+		}
+
+		if (connections <= 0) {
+			throw new IllegalArgumentException("connections must be greater than zero");
+		}
+
+		if (!irodsFile.exists()) {
+			final String msg = "file does not exist:" + irodsFile.getAbsolutePath();
+			log.error(msg);
+			throw new FileNotFoundException(msg);
+		}
+
+		if (!irodsFile.isFile()) {
+			final String msg = "this is not a file, it is a directory:" + irodsFile.getAbsolutePath();
+			log.error(msg);
+			throw new FileNotFoundException(msg);
+		}
+
+		this.irodsFile = irodsFile;
+		this.fileIOOperations = fileIOOperations;
+		chunkSize = fileIOOperations.getJargonProperties().getParallelCopyBufferSize();
+		if (chunkSize <= 0) {
+			throw new JargonRuntimeException("misconfiguration in jargon.properties, parallelCopyBufferSize is <= 0");
+		}
+
+		long fileLength = irodsFile.length();
+		rangeStart = Math.min(offset, fileLength);
+		long available = fileLength - rangeStart;
+		rangeLength = length == -1 ? available : Math.min(length, available);
+		chunkCount = (rangeLength + chunkSize - 1) / chunkSize;
+		maxChunksInMemory = 2L * connections;
+
+		int readers = (int) Math.min(connections, chunkCount);
+		log.info("parallel read of {} bytes at {} in {} chunks on {} connections for:{}", rangeLength, rangeStart,
+				chunkCount, readers, irodsFile.getAbsolutePath());
+
+		readerThreads = new ArrayList<Thread>(readers);
+		for (int i = 0; i < readers; i++) {
+			Thread readerThread = new Thread(new Reader(), "irods-parallel-range-" + i + ":" + irodsFile.getName());
+			readerThread.setDaemon(true);
+			readerThreads.add(readerThread);
+		}
+		for (Thread readerThread : readerThreads) {
+			readerThread.start();
+		}
+	}
+
+	@Override
+	public int read() throws IOException {
+		byte buffer[] = new byte[1];
+		int temp = read(buffer, 0, 1);
+		if (temp < 0) {
+			return -1;
+		}
+		return (buffer[0] & 0xFF);
+	}
+
+	@Override
+	public int read(final byte b[]) throws IOException {
+		return read(b, 0, b.length);
+	}
+
+	@Override
+	public int read(final byte b[], final int off, final int len) throws IOException {
+		if (b == null) {
+			throw new IllegalArgumentException("null buffer");
+		}
+
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (len == 0) {
+			return 0;
+		}
+
+		if (!ensureCurrentChunk()) {
+			return -1;
+		}
+
+		int toCopy = Math.min(len, current.length - currentPosition);
+		System.arraycopy(current, currentPosition, b, off, toCopy);
+		currentPosition += toCopy;
+		return toCopy;
+	}
+
+	@Override
+	public int read(final ByteBuffer dst) throws IOException {
+		if (dst == null) {
+			throw new IllegalArgumentException("null dst");
+		}
+
+		if (closed) {
+			throw new ClosedChannelException();
+		}
+
+		if (!dst.hasRemaining()) {
+			return 0;
+		}
+
+		if (!ensureCurrentChunk()) {
+			return -1;
+		}
+
+		int toCopy = Math.min(dst.remaining(), current.length - currentPosition);
+		dst.put(current, currentPosition, toCopy);
+		currentPosition += toCopy;
+		return toCopy;
+	}
+
+	/**
+	 * Returns the number of bytes already read from iRODS and available without
+	 * blocking in the current chunk
+	 */
+	@Override
+	public int available() throws IOException {
+		checkIfOpen();
+		if (current == null) {
+			return 0;
+		}
+		return current.length - currentPosition;
+	}
+
+	@Override
+	public boolean isOpen() {
+		return !closed;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+
+		log.info("closing parallel range stream for:{}", irodsFile.getAbsolutePath());
+		synchronized (chunkMonitor) {
+			closed = true;
+			fetchedChunks.clear();
+			chunkMonitor.notifyAll();
+		}
+
+		for (Thread readerThread : readerThreads) {
+			try {
+				readerThread.join();
+			} catch (InterruptedException e) {
+				log.warn("interrupted waiting for parallel range reader to close");
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		current = null;
+	}
+
+	/**
+	 * @return {@code long} with the count of bytes in the range read by this
+	 *         stream
+	 */
+	public long getRangeLength() {
+		return rangeLength;
+	}
+
+	/**
+	 * Take the next chunk in order if the current one is used up
+	 *
+	 * @return {@code boolean} of {@code false} at the end of the range
+	 */
+	private boolean ensureCurrentChunk() throws IOException {
+		checkIfOpen();
+
+		while (current == null || currentPosition == current.length) {
+			synchronized (chunkMonitor) {
+				if (nextChunkToConsume >= chunkCount) {
+					return false;
+				}
+
+				byte[] next;
+				while ((next = fetchedChunks.remove(nextChunkToConsume)) == null) {
+					if (failure != null) {
+						throw new IOException("error reading range from iRODS", failure);
+					}
+
+					if (!anyReaderAlive()) {
+						throw new IOException("parallel range readers ended unexpectedly");
+					}
+
+					try {
+						chunkMonitor.wait(POLL_MILLIS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new IOException("interrupted waiting for data from iRODS", e);
+					}
+				}
+
+				if (next.length < expectedChunkLength(nextChunkToConsume)) {
+					log.warn("file is shorter than when opened, ending stream at chunk:{}", nextChunkToConsume);
+					nextChunkToConsume = chunkCount;
+				} else {
+					nextChunkToConsume++;
+				}
+				chunkMonitor.notifyAll();
+
+				if (next.length == 0) {
+					return false;
+				}
+
+				current = next;
+				currentPosition = 0;
+			}
+		}
+		return true;
+	}
+
+	private boolean anyReaderAlive() {
+		for (Thread readerThread : readerThreads) {
+			if (readerThread.isAlive()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private int expectedChunkLength(final long chunk) {
+		return (int) Math.min(chunkSize, rangeLength - chunk * chunkSize);
+	}
+
+	private void checkIfOpen() throws IOException {
+		if (closed) {
+			throw new IOException("stream is closed");
+		}
+	}
+
+	/**
+	 * Fetches chunks on a connection of its own until every chunk is taken or
+	 * the stream is closed
+	 */
+	private final class Reader implements Runnable {
+
+		@Override
+		public void run() {
+			IRODSSession irodsSession = fileIOOperations.getIRODSSession();
+			IRODSAccount irodsAccount = fileIOOperations.getIRODSAccount();
+			IRODSFile readerFile = null;
+			int fd = -1;
+			try {
+				readerFile = new IRODSFileFactoryImpl(irodsSession, irodsAccount)
+						.instanceIRODSFile(irodsFile.getAbsolutePath());
+				fd = readerFile.open(OpenFlags.READ);
+				readChunks(fd);
+			} catch (Exception e) {
+				log.error("error in parallel range read for:{}", irodsFile.getAbsolutePath(), e);
+				synchronized (chunkMonitor) {
+					if (failure == null) {
+						failure = e;
+					}
+					chunkMonitor.notifyAll();
+				}
+			} finally {
+				closeReaderConnection(irodsSession, irodsAccount, readerFile, fd);
+			}
+		}
+
+		private void readChunks(final int fd) throws JargonException, InterruptedException {
+			long position = -1;
+			while (true) {
+				long chunk;
+				synchronized (chunkMonitor) {
+					while (!closed && failure == null && nextChunkToFetch < chunkCount
+							&& nextChunkToFetch >= nextChunkToConsume + maxChunksInMemory) {
+						chunkMonitor.wait(POLL_MILLIS);
+					}
+					if (closed || failure != null || nextChunkToFetch >= chunkCount) {
+						return;
+					}
+					chunk = nextChunkToFetch++;
+				}
+
+				long start = rangeStart + chunk * chunkSize;
+				int length = expectedChunkLength(chunk);
+				if (position != start) {
+					fileIOOperations.seek(fd, start, SeekWhenceType.SEEK_START);
+				}
+
+				byte[] data = new byte[length];
+				int total = 0;
+				while (total < length) {
+					int read = fileIOOperations.fileRead(fd, data, total, length - total);
+					if (read <= 0) {
+						break;
+					}
+					total += read;
+				}
+				position = start + total;
+
+				if (total < length) {
+					data = Arrays.copyOf(data, total);
+				}
+
+				synchronized (chunkMonitor) {
+					if (closed) {
+						return;
+					}
+					fetchedChunks.put(chunk, data);
+					chunkMonitor.notifyAll();
+				}
+			}
+		}
+
+		private void closeReaderConnection(final IRODSSession irodsSession, final IRODSAccount irodsAccount,
+				final IRODSFile readerFile, final int fd) {
+			try {
+				if (readerFile != null && fd > 0) {
+					readerFile.close();
+				}
+			} catch (JargonException e) {
+				log.warn("error closing parallel range file handle", e);
+			}
+
+			try {
+				irodsSession.closeSession(irodsAccount);
+			} catch (JargonException e) {
+				log.warn("error closing parallel range connection", e);
+			}
+		}
+	}
+
+}
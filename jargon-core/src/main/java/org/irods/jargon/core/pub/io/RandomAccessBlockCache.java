@@ -0,0 +1,139 @@
+package org.irods.jargon.core.pub.io;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of aligned blocks of an iRODS file, used by the
+ * {@link IRODSRandomAccessFile}. Block {@code n} holds the bytes starting at
+ * {@code n * blockSize}. A block shorter than the block size is the last block
+ * of the file as it was when read.
+ * <p>
+ * The cache also tracks whether misses arrive in file order, so that a caller
+ * reading sequentially is given a growing number of blocks to fetch in one
+ * request, up to a quarter of the cache.
+ * <p>
+ * This class is not thread safe, like the random access file that owns it.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+final class RandomAccessBlockCache {
+
+	private final int blockSize;
+	private final int maxBlocks;
+	private final int maxPrefetchBlocks;
+	private final LinkedHashMap<Long, byte[]> blocks;
+
+	/**
+	 * Block index expected next if the misses are sequential
+	 */
+	private long nextSequentialBlock = -1;
+	private int prefetchBlocks = 1;
+
+	RandomAccessBlockCache(final int blockSize, final int maxBlocks) {
+		if (blockSize <= 0) {
+			throw new IllegalArgumentException("blockSize must be greater than zero");
+		}
+		if (maxBlocks <= 0) {
+			throw new IllegalArgumentException("maxBlocks must be greater than zero");
+		}
+		this.blockSize = blockSize;
+		this.maxBlocks = maxBlocks;
+		maxPrefetchBlocks = Math.max(1, maxBlocks / 4);
+		blocks = new LinkedHashMap<Long, byte[]>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Long, byte[]> eldest) {
+				return size() > RandomAccessBlockCache.this.maxBlocks;
+			}
+		};
+	}
+
+	int getBlockSize() {
+		return blockSize;
+	}
+
+	int getMaxBlocks() {
+		return maxBlocks;
+	}
+
+	int size() {
+		return blocks.size();
+	}
+
+	long blockIndex(final long position) {
+		return position / blockSize;
+	}
+
+	int blockOffset(final long position) {
+		return (int) (position % blockSize);
+	}
+
+	/**
+	 * @return {@code byte[]} with the block, or {@code null} if not cached
+	 */
+	byte[] get(final long blockIndex) {
+		return blocks.get(blockIndex);
+	}
+
+	void put(final long blockIndex, final byte[] block) {
+		blocks.put(blockIndex, block);
+	}
+
+	/**
+	 * Decide how many blocks to fetch for a miss on the given block. Misses that
+	 * continue where the previous fetch ended double the count, any other miss
+	 * starts again at one block. The count stops short of a block that is
+	 * already cached.
+	 *
+	 * @param blockIndex
+	 *            {@code long} with the block that was not found
+	 * @return {@code int} with the count of blocks to fetch, at least one
+	 */
+	int blocksToFetch(final long blockIndex) {
+		if (blockIndex == nextSequentialBlock) {
+			prefetchBlocks = Math.min(prefetchBlocks * 2, maxPrefetchBlocks);
+		} else {
+			prefetchBlocks = 1;
+		}
+
+		int count = 1;
+		while (count < prefetchBlocks && !blocks.containsKey(blockIndex + count)) {
+			count++;
+		}
+		nextSequentialBlock = blockIndex + count;
+		return count;
+	}
+
+	/**
+	 * Drop the blocks overlapping a range that was written, and any short block,
+	 * since a write can extend the file past it
+	 *
+	 * @param position
+	 *            {@code long} with the start of the write
+	 * @param length
+	 *            {@code int} with the length of the write
+	 */
+	void invalidate(final long position, final int length) {
+		long first = blockIndex(position);
+		long last = blockIndex(position + Math.max(length, 1) - 1);
+		Iterator<Map.Entry<Long, byte[]>> iterator = blocks.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Long, byte[]> entry = iterator.next();
+			long index = entry.getKey();
+			if ((index >= first && index <= last) || entry.getValue().length < blockSize) {
+				iterator.remove();
+			}
+		}
+	}
+
+	void clear() {
+		blocks.clear();
+		nextSequentialBlock = -1;
+		prefetchBlocks = 1;
+	}
+
+}
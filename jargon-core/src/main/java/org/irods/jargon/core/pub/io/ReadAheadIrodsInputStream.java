@@ -0,0 +1,403 @@
+package org.irods.jargon.core.pub.io;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.irods.jargon.core.packinstr.DataObjInp.OpenFlags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Input stream for an iRODS file that reads ahead of the caller. A dedicated
+ * thread opens the file on its own connection to iRODS and keeps up to a fixed
+ * number of blocks of {@code getBufferSize} from the jargon properties read and
+ * waiting, so the network transfer of the next blocks overlaps with the caller
+ * consuming the current one, such as when streaming to an HTTP client.
+ * <p>
+ * Memory is bounded to the blocks in flight plus the block being filled and
+ * the block being consumed. A {@code skip} within the data already read is
+ * served from memory, a longer one repositions the reader. When the stream is
+ * closed the reader finishes the read in progress, closes the file and closes
+ * its connection.
+ * <p>
+ * This stream is created by the {@link IRODSFileFactory}. Like the other iRODS
+ * streams, it is not safe for use by more than one thread at a time.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class ReadAheadIrodsInputStream extends InputStream {
+
+	private static final Logger log = LoggerFactory.getLogger(ReadAheadIrodsInputStream.class);
+
+	/**
+	 * Default count of blocks kept read ahead of the caller
+	 */
+	public static final int DEFAULT_BLOCKS_IN_FLIGHT = 2;
+
+	/**
+	 * How long blocking operations wait before checking whether the stream was
+	 * closed or repositioned
+	 */
+	private static final long POLL_MILLIS = 100;
+
+	private final IRODSFile irodsFile;
+	private final FileIOOperations fileIOOperations;
+	private final int blockSize;
+	private final long fileLength;
+	private final BlockingQueue<Block> blocks;
+	private final Thread readerThread;
+	private final Object readerMonitor = new Object();
+
+	/**
+	 * Incremented by the caller to ask the reader to continue from
+	 * {@code repositionTarget}, blocks of an older generation are dropped
+	 */
+	private volatile int generation = 0;
+	private volatile long repositionTarget = 0;
+	private volatile boolean closed = false;
+
+	private Block current = null;
+	private int currentPosition = 0;
+	private long position = 0;
+
+	/**
+	 * Create a read-ahead stream
+	 *
+	 * @param irodsFile
+	 *            {@link IRODSFile} to read, it is not opened by this stream, the
+	 *            reader opens its own handle
+	 * @param fileIOOperations
+	 *            {@link FileIOOperations} that supports the iRODS protocol
+	 * @param blocksInFlight
+	 *            {@code int} with the count of blocks kept read ahead
+	 * @throws FileNotFoundException
+	 *             if the file does not exist or is not a data object
+	 */
+	protected ReadAheadIrodsInputStream(final IRODSFile irodsFile, final FileIOOperations fileIOOperations,
+			final int blocksInFlight) throws FileNotFoundException {
+
+		super();
+
+		if (irodsFile == null) {
+			throw new IllegalArgumentException("null irodsFile");
+		}
+
+		if (fileIOOperations == null) {
+			throw new IllegalArgumentException("null fileIOOperations");
+		}
+
+		if (blocksInFlight <= 0) {
+			throw new IllegalArgumentException("blocksInFlight must be greater than zero");
+		}
+
+		if (!irodsFile.exists()) {
+			final String msg = "file does not exist:" + irodsFile.getAbsolutePath();
+			log.error(msg);
+			throw new FileNotFoundException(msg);
+		}
+
+		if (!irodsFile.isFile()) {
+			final String msg = "this is not a file, it is a directory:" + irodsFile.getAbsolutePath();
+			log.error(msg);
+			throw new FileNotFoundException(msg);
+		}
+
+		this.irodsFile = irodsFile;
+		this.fileIOOperations = fileIOOperations;
+		blockSize = fileIOOperations.getJargonProperties().getGetBufferSize();
+		if (blockSize <= 0) {
+			throw new JargonRuntimeException("misconfiguration in jargon.properties, getBufferSize is <= 0");
+		}
+		fileLength = irodsFile.length();
+		blocks = new ArrayBlockingQueue<Block>(blocksInFlight);
+
+		log.info("read ahead of {} blocks of {} for:{}", blocksInFlight, blockSize, irodsFile.getAbsolutePath());
+
+		readerThread = new Thread(new Reader(), "irods-read-ahead:" + irodsFile.getName());
+		readerThread.setDaemon(true);
+		readerThread.start();
+	}
+
+	@Override
+	public int read() throws IOException {
+		byte buffer[] = new byte[1];
+		int temp = read(buffer, 0, 1);
+		if (temp < 0) {
+			return -1;
+		}
+		return (buffer[0] & 0xFF);
+	}
+
+	@Override
+	public int read(final byte b[]) throws IOException {
+		return read(b, 0, b.length);
+	}
+
+	@Override
+	public int read(final byte b[], final int off, final int len) throws IOException {
+		if (b == null) {
+			throw new IllegalArgumentException("null buffer");
+		}
+
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (len == 0) {
+			return 0;
+		}
+
+		if (!ensureCurrentBlock()) {
+			return -1;
+		}
+
+		int toCopy = Math.min(len, current.length - currentPosition);
+		System.arraycopy(current.data, currentPosition, b, off, toCopy);
+		currentPosition += toCopy;
+		position += toCopy;
+		return toCopy;
+	}
+
+	/**
+	 * Skips up to {@code n} bytes, stopping at the end of the file as iRODS
+	 * reported it when the stream was opened
+	 */
+	@Override
+	public long skip(final long n) throws IOException {
+		checkIfOpen();
+
+		if (n <= 0) {
+			return 0;
+		}
+
+		long toSkip = Math.min(n, fileLength - position);
+		if (toSkip <= 0) {
+			return 0;
+		}
+
+		if (current != null && toSkip <= current.length - currentPosition) {
+			currentPosition += (int) toSkip;
+			position += toSkip;
+			return toSkip;
+		}
+
+		log.debug("repositioning read ahead to:{}", position + toSkip);
+		current = null;
+		currentPosition = 0;
+		position += toSkip;
+		synchronized (readerMonitor) {
+			repositionTarget = position;
+			generation++;
+			blocks.clear();
+			readerMonitor.notifyAll();
+		}
+		return toSkip;
+	}
+
+	/**
+	 * Returns the number of bytes already read from iRODS and available without
+	 * blocking in the current block
+	 */
+	@Override
+	public int available() throws IOException {
+		checkIfOpen();
+		if (current == null || current.isEndOfData()) {
+			return 0;
+		}
+		return current.length - currentPosition;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+
+		log.info("closing read ahead stream for:{}", irodsFile.getAbsolutePath());
+		synchronized (readerMonitor) {
+			closed = true;
+			blocks.clear();
+			readerMonitor.notifyAll();
+		}
+
+		try {
+			readerThread.join();
+		} catch (InterruptedException e) {
+			log.warn("interrupted waiting for read ahead thread to close");
+			Thread.currentThread().interrupt();
+		}
+		current = null;
+	}
+
+	/**
+	 * Get the next block from the reader if the current one is used up
+	 *
+	 * @return {@code boolean} of {@code false} at end of file
+	 */
+	private boolean ensureCurrentBlock() throws IOException {
+		checkIfOpen();
+
+		while (current == null || currentPosition == current.length) {
+			if (current != null && current.isEndOfData()) {
+				if (current.error != null) {
+					throw new IOException("error reading ahead from iRODS", current.error);
+				}
+				return false;
+			}
+
+			Block next;
+			try {
+				next = blocks.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("interrupted waiting for data from iRODS", e);
+			}
+
+			if (next == null) {
+				if (!readerThread.isAlive()) {
+					throw new IOException("read ahead thread ended unexpectedly");
+				}
+				continue;
+			}
+
+			if (next.generation != generation) {
+				continue;
+			}
+
+			current = next;
+			currentPosition = 0;
+		}
+		return true;
+	}
+
+	private void checkIfOpen() throws IOException {
+		if (closed) {
+			throw new IOException("stream is closed");
+		}
+	}
+
+	/**
+	 * A block of data read from iRODS, or the end of the data, with any error
+	 */
+	private static final class Block {
+		private final int generation;
+		private final byte[] data;
+		private final int length;
+		private final Exception error;
+
+		private Block(final int generation, final byte[] data, final int length, final Exception error) {
+			this.generation = generation;
+			this.data = data;
+			this.length = length;
+			this.error = error;
+		}
+
+		private boolean isEndOfData() {
+			return data == null;
+		}
+	}
+
+	/**
+	 * Reads blocks on a connection of its own until closed
+	 */
+	private final class Reader implements Runnable {
+
+		@Override
+		public void run() {
+			IRODSSession irodsSession = fileIOOperations.getIRODSSession();
+			IRODSAccount irodsAccount = fileIOOperations.getIRODSAccount();
+			IRODSFile readerFile = null;
+			int fd = -1;
+			try {
+				readerFile = new IRODSFileFactoryImpl(irodsSession, irodsAccount)
+						.instanceIRODSFile(irodsFile.getAbsolutePath());
+				fd = readerFile.open(OpenFlags.READ);
+				readUntilClosed(fd);
+			} catch (Exception e) {
+				log.error("error reading ahead for:{}", irodsFile.getAbsolutePath(), e);
+				deliver(new Block(generation, null, 0, e));
+				waitForCloseOrReposition(generation);
+			} finally {
+				closeReaderConnection(irodsSession, irodsAccount, readerFile, fd);
+			}
+		}
+
+		private void readUntilClosed(final int fd) throws JargonException {
+			int readerGeneration = generation;
+			while (!closed) {
+				if (readerGeneration != generation) {
+					synchronized (readerMonitor) {
+						readerGeneration = generation;
+						fileIOOperations.seek(fd, repositionTarget, FileIOOperations.SeekWhenceType.SEEK_START);
+					}
+					continue;
+				}
+
+				byte[] data = new byte[blockSize];
+				int read = fileIOOperations.fileRead(fd, data, 0, blockSize);
+				if (read <= 0) {
+					deliver(new Block(readerGeneration, null, 0, null));
+					waitForCloseOrReposition(readerGeneration);
+				} else {
+					deliver(new Block(readerGeneration, data, read, null));
+				}
+			}
+		}
+
+		/**
+		 * Queue a block, giving up if the stream is closed or repositioned while
+		 * waiting for room
+		 */
+		private void deliver(final Block block) {
+			try {
+				while (!blocks.offer(block, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+					if (closed || block.generation != generation) {
+						return;
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private void waitForCloseOrReposition(final int readerGeneration) {
+			synchronized (readerMonitor) {
+				while (!closed && readerGeneration == generation) {
+					try {
+						readerMonitor.wait(POLL_MILLIS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+				}
+			}
+		}
+
+		private void closeReaderConnection(final IRODSSession irodsSession, final IRODSAccount irodsAccount,
+				final IRODSFile readerFile, final int fd) {
+			try {
+				if (readerFile != null && fd > 0) {
+					readerFile.close();
+				}
+			} catch (JargonException e) {
+				log.warn("error closing read ahead file handle", e);
+			}
+
+			try {
+				irodsSession.closeSession(irodsAccount);
+			} catch (JargonException e) {
+				log.warn("error closing read ahead connection", e);
+			}
+		}
+	}
+
+}
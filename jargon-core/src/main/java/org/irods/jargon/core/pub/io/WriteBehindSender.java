@@ -0,0 +1,217 @@
+package org.irods.jargon.core.pub.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends buffers written to an {@link IRODSFileOutputStream} from a background
+ * thread, so the caller can fill the next buffer while the last one is on the
+ * network. Buffers are sent in order on the connection the file was opened on,
+ * each write is one complete request on that connection.
+ * <p>
+ * At most a fixed number of buffers wait to be sent, a caller handing off a
+ * buffer waits when the queue is full. The first error of the sender is kept,
+ * later buffers are dropped, and the error is thrown to the caller on the next
+ * {@code send}, {@code drain} or {@code close}.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+final class WriteBehindSender {
+
+	private static final Logger log = LoggerFactory.getLogger(WriteBehindSender.class);
+
+	/**
+	 * How long a caller waits for room in the queue before checking for an error
+	 */
+	private static final long POLL_MILLIS = 100;
+
+	/**
+	 * Queued after the last buffer to end the sender
+	 */
+	private static final byte[] END_OF_DATA = new byte[0];
+
+	private final IRODSMidLevelProtocol irodsProtocol;
+	private final int fileDescriptor;
+	private final BlockingQueue<byte[]> buffers;
+	private final Thread senderThread;
+	private final Object pendingMonitor = new Object();
+
+	/**
+	 * Buffers queued or being sent, guarded by {@code pendingMonitor}
+	 */
+	private int pending = 0;
+	private volatile Exception failure = null;
+	private boolean closed = false;
+
+	WriteBehindSender(final IRODSMidLevelProtocol irodsProtocol, final int fileDescriptor, final int queueDepth,
+			final String name) {
+		if (irodsProtocol == null) {
+			throw new IllegalArgumentException("null irodsProtocol");
+		}
+		if (queueDepth <= 0) {
+			throw new IllegalArgumentException("queueDepth must be greater than zero");
+		}
+		this.irodsProtocol = irodsProtocol;
+		this.fileDescriptor = fileDescriptor;
+		buffers = new ArrayBlockingQueue<byte[]>(queueDepth);
+		senderThread = new Thread(new Sender(), "irods-write-behind:" + name);
+		senderThread.setDaemon(true);
+		senderThread.start();
+	}
+
+	/**
+	 * Queue a buffer to be sent, waiting if the queue is full. The buffer must not
+	 * be changed by the caller afterwards.
+	 *
+	 * @param buffer
+	 *            {@code byte[]} with the data, all of which is written
+	 * @throws IOException
+	 *             if an earlier buffer could not be sent
+	 */
+	void send(final byte[] buffer) throws IOException {
+		checkForError();
+		if (closed) {
+			throw new IOException("write behind sender is closed");
+		}
+
+		synchronized (pendingMonitor) {
+			pending++;
+		}
+
+		boolean queued = false;
+		try {
+			while (!buffers.offer(buffer, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+				checkForError();
+			}
+			queued = true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted waiting to queue a write");
+		} finally {
+			if (!queued) {
+				completed();
+			}
+		}
+	}
+
+	/**
+	 * Wait until every queued buffer is sent
+	 *
+	 * @throws IOException
+	 *             if a buffer could not be sent
+	 */
+	void drain() throws IOException {
+		synchronized (pendingMonitor) {
+			while (pending > 0 && failure == null) {
+				try {
+					pendingMonitor.wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("interrupted waiting for writes to be sent");
+				}
+			}
+		}
+		checkForError();
+	}
+
+	/**
+	 * Send what is queued and end the sender thread. The connection is not
+	 * closed.
+	 *
+	 * @throws IOException
+	 *             if a buffer could not be sent
+	 */
+	void close() throws IOException {
+		if (closed) {
+			checkForError();
+			return;
+		}
+
+		try {
+			drain();
+		} finally {
+			closed = true;
+			endSender();
+		}
+		checkForError();
+	}
+
+	/**
+	 * Queue the end of data and wait for the sender thread to end. A sender that
+	 * has already ended, such as after an error, may have left the queue full, so
+	 * the end of data is not waited on once the thread is gone.
+	 */
+	private void endSender() {
+		try {
+			while (!buffers.offer(END_OF_DATA, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+				if (!senderThread.isAlive()) {
+					log.debug("write behind thread already ended");
+					return;
+				}
+			}
+			senderThread.join();
+		} catch (InterruptedException e) {
+			log.warn("interrupted waiting for write behind thread to end");
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	void checkForError() throws IOException {
+		Exception exception = failure;
+		if (exception != null) {
+			throw new IOException("error in write behind to iRODS", exception);
+		}
+	}
+
+	private void completed() {
+		synchronized (pendingMonitor) {
+			pending--;
+			pendingMonitor.notifyAll();
+		}
+	}
+
+	/**
+	 * Takes buffers from the queue in order and writes them
+	 */
+	private final class Sender implements Runnable {
+
+		@Override
+		public void run() {
+			while (true) {
+				byte[] buffer;
+				try {
+					buffer = buffers.take();
+				} catch (InterruptedException e) {
+					log.warn("write behind thread interrupted");
+					failure = e;
+					completed();
+					return;
+				}
+
+				if (buffer == END_OF_DATA) {
+					return;
+				}
+
+				if (failure == null) {
+					try {
+						FileIOOperationsAOImpl.writeOnConnection(irodsProtocol, fileDescriptor, buffer, 0,
+								buffer.length);
+					} catch (Exception e) {
+						log.error("error in write behind, later writes are dropped", e);
+						failure = e;
+					}
+				}
+				completed();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,115 @@
+package org.irods.jargon.core.pub.nio;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short lived cache of {@link IRODSBasicFileAttributes} by absolute path,
+ * shared by the threads using an {@link IRODSNioFileSystem}. Entries come from
+ * directory listings and from objStat lookups, and are dropped when they
+ * expire or when the file system changes the path.
+ * <p>
+ * When the cache is full, expired entries are purged, and if that does not make
+ * room the cache is emptied, which keeps the bookkeeping of a tree walk cheap.
+ * A time to live of zero or less turns the cache off.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+final class IRODSAttributeCache {
+
+	private final long timeToLiveMillis;
+	private final int maxEntries;
+	private final ConcurrentHashMap<String, CachedAttributes> entries = new ConcurrentHashMap<String, CachedAttributes>();
+
+	IRODSAttributeCache(final long timeToLiveMillis, final int maxEntries) {
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("maxEntries must be greater than zero");
+		}
+		this.timeToLiveMillis = timeToLiveMillis;
+		this.maxEntries = maxEntries;
+	}
+
+	boolean isEnabled() {
+		return timeToLiveMillis > 0;
+	}
+
+	/**
+	 * @return {@link IRODSBasicFileAttributes} for the path, or {@code null} if
+	 *         not cached or expired
+	 */
+	IRODSBasicFileAttributes get(final String absolutePath) {
+		CachedAttributes cached = entries.get(absolutePath);
+		if (cached == null) {
+			return null;
+		}
+
+		if (cached.isExpired(System.currentTimeMillis())) {
+			entries.remove(absolutePath, cached);
+			return null;
+		}
+		return cached.attributes;
+	}
+
+	void put(final String absolutePath, final IRODSBasicFileAttributes attributes) {
+		if (!isEnabled()) {
+			return;
+		}
+
+		long now = System.currentTimeMillis();
+		if (entries.size() >= maxEntries) {
+			purgeExpired(now);
+			if (entries.size() >= maxEntries) {
+				entries.clear();
+			}
+		}
+		entries.put(absolutePath, new CachedAttributes(attributes, now + timeToLiveMillis));
+	}
+
+	/**
+	 * Drop the entry for a path and for anything under it
+	 */
+	void invalidate(final String absolutePath) {
+		entries.remove(absolutePath);
+		String prefix = absolutePath.endsWith("/") ? absolutePath : absolutePath + "/";
+		Iterator<String> iterator = entries.keySet().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().startsWith(prefix)) {
+				iterator.remove();
+			}
+		}
+	}
+
+	void clear() {
+		entries.clear();
+	}
+
+	int size() {
+		return entries.size();
+	}
+
+	private void purgeExpired(final long now) {
+		Iterator<Map.Entry<String, CachedAttributes>> iterator = entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().getValue().isExpired(now)) {
+				iterator.remove();
+			}
+		}
+	}
+
+	private static final class CachedAttributes {
+		private final IRODSBasicFileAttributes attributes;
+		private final long expiresAt;
+
+		private CachedAttributes(final IRODSBasicFileAttributes attributes, final long expiresAt) {
+			this.attributes = attributes;
+			this.expiresAt = expiresAt;
+		}
+
+		private boolean isExpired(final long now) {
+			return now >= expiresAt;
+		}
+	}
+
+}
@@ -0,0 +1,144 @@
+package org.irods.jargon.core.pub.nio;
+
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Date;
+
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
+
+/**
+ * Basic attributes of an iRODS collection or data object, built either from an
+ * {@link ObjStat} or from a {@link CollectionAndDataObjectListingEntry} of a
+ * collection listing, so that the attributes of every entry of a directory
+ * stream are known without a further query. iRODS keeps no access time, the
+ * modification time is given instead. The file key is the absolute path.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class IRODSBasicFileAttributes implements BasicFileAttributes {
+
+	private final String absolutePath;
+	private final boolean directory;
+	private final long size;
+	private final FileTime createdAt;
+	private final FileTime modifiedAt;
+
+	/**
+	 * Build the attributes from the result of an objStat
+	 *
+	 * @param objStat
+	 *            {@link ObjStat} for the collection or data object
+	 * @return {@link IRODSBasicFileAttributes}
+	 */
+	public static IRODSBasicFileAttributes instance(final ObjStat objStat) {
+		if (objStat == null) {
+			throw new IllegalArgumentException("null objStat");
+		}
+
+		boolean directory = objStat.isSomeTypeOfCollection();
+		return new IRODSBasicFileAttributes(objStat.getAbsolutePath(), directory,
+				directory ? 0L : objStat.getObjSize(), objStat.getCreatedAt(), objStat.getModifiedAt());
+	}
+
+	/**
+	 * Build the attributes from an entry of a collection listing
+	 *
+	 * @param absolutePath
+	 *            {@code String} with the absolute path of the entry as listed
+	 * @param entry
+	 *            {@link CollectionAndDataObjectListingEntry} from the listing
+	 * @return {@link IRODSBasicFileAttributes}
+	 */
+	public static IRODSBasicFileAttributes instance(final String absolutePath,
+			final CollectionAndDataObjectListingEntry entry) {
+		if (absolutePath == null || absolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty absolutePath");
+		}
+
+		if (entry == null) {
+			throw new IllegalArgumentException("null entry");
+		}
+
+		boolean directory = entry.isCollection();
+		return new IRODSBasicFileAttributes(absolutePath, directory, directory ? 0L : entry.getDataSize(),
+				entry.getCreatedAt(), entry.getModifiedAt());
+	}
+
+	private IRODSBasicFileAttributes(final String absolutePath, final boolean directory, final long size,
+			final Date createdAt, final Date modifiedAt) {
+		this.absolutePath = absolutePath;
+		this.directory = directory;
+		this.size = size;
+		this.createdAt = toFileTime(createdAt);
+		this.modifiedAt = toFileTime(modifiedAt);
+	}
+
+	private static FileTime toFileTime(final Date date) {
+		return FileTime.fromMillis(date == null ? 0L : date.getTime());
+	}
+
+	/**
+	 * @return {@code String} with the absolute iRODS path these attributes are
+	 *         for
+	 */
+	public String getAbsolutePath() {
+		return absolutePath;
+	}
+
+	@Override
+	public FileTime lastModifiedTime() {
+		return modifiedAt;
+	}
+
+	@Override
+	public FileTime lastAccessTime() {
+		return modifiedAt;
+	}
+
+	@Override
+	public FileTime creationTime() {
+		return createdAt;
+	}
+
+	@Override
+	public boolean isRegularFile() {
+		return !directory;
+	}
+
+	@Override
+	public boolean isDirectory() {
+		return directory;
+	}
+
+	@Override
+	public boolean isSymbolicLink() {
+		return false;
+	}
+
+	@Override
+	public boolean isOther() {
+		return false;
+	}
+
+	@Override
+	public long size() {
+		return size;
+	}
+
+	@Override
+	public Object fileKey() {
+		return absolutePath;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("IRODSBasicFileAttributes [absolutePath=").append(absolutePath).append(", directory=")
+				.append(directory).append(", size=").append(size).append(", createdAt=").append(createdAt)
+				.append(", modifiedAt=").append(modifiedAt).append("]");
+		return sb.toString();
+	}
+
+}
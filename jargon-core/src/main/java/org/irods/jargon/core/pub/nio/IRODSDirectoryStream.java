@@ -0,0 +1,125 @@
+package org.irods.jargon.core.pub.nio;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.irods.jargon.core.pub.CollectionAndDataObjectListingIterator;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link DirectoryStream} over the children of an iRODS collection. The
+ * listing is read a page at a time from the catalog as the iterator advances,
+ * first the child collections and then the data objects, so a large collection
+ * is never held in memory. Closing the stream closes the listing query in iRODS
+ * if it was not read to the end.
+ * <p>
+ * Each listing entry carries the size, type and times of the child, and these
+ * are put in the attribute cache of the file system, so that reading the
+ * attributes of the paths returned by the stream does not query iRODS again.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+class IRODSDirectoryStream implements DirectoryStream<Path> {
+
+	private static final Logger log = LoggerFactory.getLogger(IRODSDirectoryStream.class);
+
+	private final IRODSNioPath directory;
+	private final String absolutePath;
+	private final CollectionAndDataObjectListingIterator listingIterator;
+	private final DirectoryStream.Filter<? super Path> filter;
+	private final IRODSAttributeCache attributeCache;
+	private boolean iteratorReturned = false;
+	private volatile boolean closed = false;
+
+	IRODSDirectoryStream(final IRODSNioPath directory, final CollectionAndDataObjectListingIterator listingIterator,
+			final DirectoryStream.Filter<? super Path> filter, final IRODSAttributeCache attributeCache) {
+		this.directory = directory;
+		absolutePath = directory.getIrodsAbsolutePath();
+		this.listingIterator = listingIterator;
+		this.filter = filter;
+		this.attributeCache = attributeCache;
+	}
+
+	@Override
+	public synchronized Iterator<Path> iterator() {
+		if (closed) {
+			throw new IllegalStateException("directory stream is closed");
+		}
+
+		if (iteratorReturned) {
+			throw new IllegalStateException("iterator already returned");
+		}
+
+		iteratorReturned = true;
+		return new ListingIterator();
+	}
+
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		listingIterator.close();
+	}
+
+	/**
+	 * Reads the listing entries, skipping those the filter does not accept
+	 */
+	private final class ListingIterator implements Iterator<Path> {
+
+		private Path nextPath = null;
+
+		@Override
+		public boolean hasNext() {
+			while (nextPath == null && !closed && hasNextEntry()) {
+				CollectionAndDataObjectListingEntry entry = listingIterator.next();
+				String name = entry.getNodeLabelDisplayValue();
+				String childPath = absolutePath.equals("/") ? "/" + name : absolutePath + "/" + name;
+				attributeCache.put(childPath, IRODSBasicFileAttributes.instance(childPath, entry));
+				accept(directory.resolve(name));
+			}
+			return !closed && nextPath != null;
+		}
+
+		@Override
+		public Path next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Path path = nextPath;
+			nextPath = null;
+			return path;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException("remove");
+		}
+
+		private boolean hasNextEntry() {
+			try {
+				return listingIterator.hasNext();
+			} catch (JargonRuntimeException e) {
+				log.error("error listing:{}", absolutePath, e);
+				throw new DirectoryIteratorException(new IOException("error listing:" + absolutePath, e));
+			}
+		}
+
+		private void accept(final Path child) {
+			try {
+				if (filter == null || filter.accept(child)) {
+					nextPath = child;
+				}
+			} catch (IOException e) {
+				throw new DirectoryIteratorException(e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,272 @@
+package org.irods.jargon.core.pub.nio;
+
+import java.io.IOException;
+import java.nio.file.ClosedFileSystemException;
+import java.nio.file.FileStore;
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.UserPrincipalLookupService;
+import java.util.Collections;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link FileSystem} over the catalog of an iRODS zone, as seen by one
+ * {@link IRODSAccount}. Operations run on the connection of the calling thread,
+ * obtained through the {@link IRODSAccessObjectFactory}, so the file system may
+ * be shared by threads like the other access objects.
+ * <p>
+ * The file system holds a short lived cache of file attributes, filled by
+ * directory listings and objStat lookups, so that a tree walk or a series of
+ * {@code Files.exists}, {@code Files.size} and {@code Files.isDirectory} calls
+ * does not make a round trip for every path.
+ * <p>
+ * File systems are created by the {@link IRODSNioFileSystemProvider}.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class IRODSNioFileSystem extends FileSystem {
+
+	private static final Logger log = LoggerFactory.getLogger(IRODSNioFileSystem.class);
+
+	private static final String GLOB_SYNTAX = "glob";
+	private static final String REGEX_SYNTAX = "regex";
+
+	private final IRODSNioFileSystemProvider provider;
+	private final String key;
+	private final IRODSAccount irodsAccount;
+	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private final IRODSAttributeCache attributeCache;
+	private volatile boolean open = true;
+
+	IRODSNioFileSystem(final IRODSNioFileSystemProvider provider, final String key, final IRODSAccount irodsAccount,
+			final IRODSAccessObjectFactory irodsAccessObjectFactory, final IRODSAttributeCache attributeCache) {
+		this.provider = provider;
+		this.key = key;
+		this.irodsAccount = irodsAccount;
+		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+		this.attributeCache = attributeCache;
+	}
+
+	/**
+	 * @return {@link IRODSAccount} used for the operations of this file system
+	 */
+	public IRODSAccount getIrodsAccount() {
+		return irodsAccount;
+	}
+
+	/**
+	 * @return {@link IRODSAccessObjectFactory} used for the operations of this
+	 *         file system
+	 */
+	public IRODSAccessObjectFactory getIrodsAccessObjectFactory() {
+		checkIfOpen();
+		return irodsAccessObjectFactory;
+	}
+
+	String getKey() {
+		return key;
+	}
+
+	IRODSAttributeCache getAttributeCache() {
+		return attributeCache;
+	}
+
+	/**
+	 * Drop any cached attributes, so that changes made to iRODS by other clients
+	 * are seen at once
+	 */
+	public void clearAttributeCache() {
+		attributeCache.clear();
+	}
+
+	@Override
+	public IRODSNioFileSystemProvider provider() {
+		return provider;
+	}
+
+	/**
+	 * Closes the file system and the connection of the calling thread, the
+	 * connections of other threads are closed as they are by the
+	 * {@link IRODSAccessObjectFactory}
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!open) {
+			return;
+		}
+
+		log.info("closing iRODS nio file system:{}", key);
+		open = false;
+		attributeCache.clear();
+		provider.removeFileSystem(this);
+		irodsAccessObjectFactory.closeSessionAndEatExceptions(irodsAccount);
+	}
+
+	@Override
+	public boolean isOpen() {
+		return open;
+	}
+
+	@Override
+	public boolean isReadOnly() {
+		return false;
+	}
+
+	@Override
+	public String getSeparator() {
+		return "/";
+	}
+
+	@Override
+	public Iterable<Path> getRootDirectories() {
+		return Collections.<Path> singletonList(new IRODSNioPath(this, "/"));
+	}
+
+	@Override
+	public Iterable<FileStore> getFileStores() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public Set<String> supportedFileAttributeViews() {
+		return Collections.singleton("basic");
+	}
+
+	@Override
+	public IRODSNioPath getPath(final String first, final String... more) {
+		checkIfOpen();
+		if (first == null) {
+			throw new IllegalArgumentException("null first");
+		}
+
+		StringBuilder sb = new StringBuilder(first);
+		for (String segment : more) {
+			if (segment.isEmpty()) {
+				continue;
+			}
+			if (sb.length() > 0) {
+				sb.append('/');
+			}
+			sb.append(segment);
+		}
+		return new IRODSNioPath(this, sb.toString());
+	}
+
+	@Override
+	public PathMatcher getPathMatcher(final String syntaxAndPattern) {
+		int colon = syntaxAndPattern.indexOf(':');
+		if (colon <= 0) {
+			throw new IllegalArgumentException("expected syntax:pattern, got:" + syntaxAndPattern);
+		}
+
+		String syntax = syntaxAndPattern.substring(0, colon);
+		String pattern = syntaxAndPattern.substring(colon + 1);
+		final Pattern regex;
+		if (syntax.equalsIgnoreCase(GLOB_SYNTAX)) {
+			regex = Pattern.compile(globToRegex(pattern));
+		} else if (syntax.equalsIgnoreCase(REGEX_SYNTAX)) {
+			regex = Pattern.compile(pattern);
+		} else {
+			throw new UnsupportedOperationException("unsupported path matcher syntax:" + syntax);
+		}
+
+		return new PathMatcher() {
+			@Override
+			public boolean matches(final Path path) {
+				return regex.matcher(path.toString()).matches();
+			}
+		};
+	}
+
+	/**
+	 * Translate a glob to a regular expression, supporting {@code *},
+	 * {@code **}, {@code ?}, {@code [...]} and {@code {a,b}}
+	 */
+	static String globToRegex(final String glob) {
+		StringBuilder regex = new StringBuilder();
+		boolean inGroup = false;
+		for (int i = 0; i < glob.length(); i++) {
+			char c = glob.charAt(i);
+			switch (c) {
+			case '*':
+				if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+					regex.append(".*");
+					i++;
+				} else {
+					regex.append("[^/]*");
+				}
+				break;
+			case '?':
+				regex.append("[^/]");
+				break;
+			case '[':
+				int close = glob.indexOf(']', i + 1);
+				if (close < 0) {
+					throw new IllegalArgumentException("unclosed [ in glob:" + glob);
+				}
+				String range = glob.substring(i + 1, close);
+				if (range.startsWith("!")) {
+					range = "^" + range.substring(1);
+				}
+				regex.append('[').append(range.replace("\\", "\\\\")).append(']');
+				i = close;
+				break;
+			case '{':
+				if (inGroup) {
+					throw new IllegalArgumentException("nested { in glob:" + glob);
+				}
+				regex.append("(?:");
+				inGroup = true;
+				break;
+			case '}':
+				if (!inGroup) {
+					throw new IllegalArgumentException("unmatched } in glob:" + glob);
+				}
+				regex.append(')');
+				inGroup = false;
+				break;
+			case ',':
+				regex.append(inGroup ? "|" : ",");
+				break;
+			case '\\':
+				if (i + 1 < glob.length()) {
+					regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+				}
+				break;
+			default:
+				regex.append(Pattern.quote(String.valueOf(c)));
+			}
+		}
+
+		if (inGroup) {
+			throw new IllegalArgumentException("unclosed { in glob:" + glob);
+		}
+		return regex.toString();
+	}
+
+	@Override
+	public UserPrincipalLookupService getUserPrincipalLookupService() {
+		throw new UnsupportedOperationException("user principal lookup is not supported");
+	}
+
+	@Override
+	public WatchService newWatchService() throws IOException {
+		throw new UnsupportedOperationException("watch service is not supported");
+	}
+
+	void checkIfOpen() {
+		if (!open) {
+			throw new ClosedFileSystemException();
+		}
+	}
+
+}
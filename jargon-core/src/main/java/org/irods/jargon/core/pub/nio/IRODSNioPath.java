@@ -0,0 +1,388 @@
+package org.irods.jargon.core.pub.nio;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.ProviderMismatchException;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.utils.IRODSUriUserInfo;
+import org.irods.jargon.core.utils.IRODSUriUtils;
+
+/**
+ * A {@link Path} in an {@link IRODSNioFileSystem}. The path is a string of
+ * names separated by {@code /}, an absolute path is an iRODS absolute path such
+ * as {@code /zone/home/user/file.txt}. A relative path is resolved against the
+ * home directory of the account of the file system.
+ * <p>
+ * Paths are immutable and are only a name, creating one does not access
+ * iRODS.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class IRODSNioPath implements Path {
+
+	private static final String SEPARATOR = "/";
+
+	private final IRODSNioFileSystem fileSystem;
+	private final String path;
+	private final String[] names;
+
+	IRODSNioPath(final IRODSNioFileSystem fileSystem, final String path) {
+		if (fileSystem == null) {
+			throw new IllegalArgumentException("null fileSystem");
+		}
+
+		if (path == null) {
+			throw new IllegalArgumentException("null path");
+		}
+
+		this.fileSystem = fileSystem;
+		this.path = normalizeSeparators(path);
+		names = splitNames(this.path);
+	}
+
+	private static String normalizeSeparators(final String path) {
+		StringBuilder sb = new StringBuilder(path.length());
+		char previous = 0;
+		for (int i = 0; i < path.length(); i++) {
+			char c = path.charAt(i);
+			if (c == '\u0000') {
+				throw new InvalidPathException(path, "nul character not allowed");
+			}
+			if (c == '/' && previous == '/') {
+				continue;
+			}
+			sb.append(c);
+			previous = c;
+		}
+
+		if (sb.length() > 1 && sb.charAt(sb.length() - 1) == '/') {
+			sb.setLength(sb.length() - 1);
+		}
+		return sb.toString();
+	}
+
+	private static String[] splitNames(final String path) {
+		String relative = path.startsWith(SEPARATOR) ? path.substring(1) : path;
+		if (relative.isEmpty()) {
+			return new String[0];
+		}
+		return relative.split(SEPARATOR);
+	}
+
+	private IRODSNioPath fromNames(final boolean absolute, final List<String> nameList) {
+		StringBuilder sb = new StringBuilder();
+		if (absolute) {
+			sb.append(SEPARATOR);
+		}
+		for (int i = 0; i < nameList.size(); i++) {
+			if (i > 0) {
+				sb.append(SEPARATOR);
+			}
+			sb.append(nameList.get(i));
+		}
+		return new IRODSNioPath(fileSystem, sb.toString());
+	}
+
+	private IRODSNioPath checkPath(final Path other) {
+		if (other == null) {
+			throw new IllegalArgumentException("null path");
+		}
+
+		if (!(other instanceof IRODSNioPath)) {
+			throw new ProviderMismatchException();
+		}
+		return (IRODSNioPath) other;
+	}
+
+	/**
+	 * @return {@code String} with the normalized absolute iRODS path for this
+	 *         path, resolving a relative path against the home directory
+	 */
+	String getIrodsAbsolutePath() {
+		return toAbsolutePath().normalize().toString();
+	}
+
+	@Override
+	public IRODSNioFileSystem getFileSystem() {
+		return fileSystem;
+	}
+
+	@Override
+	public boolean isAbsolute() {
+		return path.startsWith(SEPARATOR);
+	}
+
+	@Override
+	public Path getRoot() {
+		return isAbsolute() ? new IRODSNioPath(fileSystem, SEPARATOR) : null;
+	}
+
+	@Override
+	public Path getFileName() {
+		if (names.length == 0) {
+			return null;
+		}
+		return new IRODSNioPath(fileSystem, names[names.length - 1]);
+	}
+
+	@Override
+	public Path getParent() {
+		if (names.length == 0 || (names.length == 1 && !isAbsolute())) {
+			return null;
+		}
+		return fromNames(isAbsolute(), Arrays.asList(names).subList(0, names.length - 1));
+	}
+
+	@Override
+	public int getNameCount() {
+		return names.length;
+	}
+
+	@Override
+	public Path getName(final int index) {
+		if (index < 0 || index >= names.length) {
+			throw new IllegalArgumentException("invalid name index:" + index);
+		}
+		return new IRODSNioPath(fileSystem, names[index]);
+	}
+
+	@Override
+	public Path subpath(final int beginIndex, final int endIndex) {
+		if (beginIndex < 0 || endIndex > names.length || beginIndex >= endIndex) {
+			throw new IllegalArgumentException("invalid subpath range");
+		}
+		return fromNames(false, Arrays.asList(names).subList(beginIndex, endIndex));
+	}
+
+	@Override
+	public boolean startsWith(final Path other) {
+		if (!(other instanceof IRODSNioPath)) {
+			return false;
+		}
+
+		IRODSNioPath otherPath = (IRODSNioPath) other;
+		if (otherPath.fileSystem != fileSystem || otherPath.isAbsolute() != isAbsolute()
+				|| otherPath.names.length > names.length) {
+			return false;
+		}
+
+		for (int i = 0; i < otherPath.names.length; i++) {
+			if (!otherPath.names[i].equals(names[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean startsWith(final String other) {
+		return startsWith(new IRODSNioPath(fileSystem, other));
+	}
+
+	@Override
+	public boolean endsWith(final Path other) {
+		if (!(other instanceof IRODSNioPath)) {
+			return false;
+		}
+
+		IRODSNioPath otherPath = (IRODSNioPath) other;
+		if (otherPath.fileSystem != fileSystem || otherPath.names.length > names.length) {
+			return false;
+		}
+
+		if (otherPath.isAbsolute()) {
+			return isAbsolute() && otherPath.path.equals(path);
+		}
+
+		int offset = names.length - otherPath.names.length;
+		for (int i = 0; i < otherPath.names.length; i++) {
+			if (!otherPath.names[i].equals(names[offset + i])) {
+				return false;
+			}
+		}
+		return !otherPath.path.isEmpty() || path.isEmpty();
+	}
+
+	@Override
+	public boolean endsWith(final String other) {
+		return endsWith(new IRODSNioPath(fileSystem, other));
+	}
+
+	@Override
+	public Path normalize() {
+		List<String> normalized = new ArrayList<String>(names.length);
+		for (String name : names) {
+			if (name.equals(".")) {
+				continue;
+			}
+
+			if (name.equals("..")) {
+				if (!normalized.isEmpty() && !normalized.get(normalized.size() - 1).equals("..")) {
+					normalized.remove(normalized.size() - 1);
+					continue;
+				}
+
+				if (isAbsolute()) {
+					continue;
+				}
+			}
+			normalized.add(name);
+		}
+		return fromNames(isAbsolute(), normalized);
+	}
+
+	@Override
+	public Path resolve(final Path other) {
+		IRODSNioPath otherPath = checkPath(other);
+		if (otherPath.isAbsolute()) {
+			return otherPath;
+		}
+
+		if (otherPath.path.isEmpty()) {
+			return this;
+		}
+
+		if (path.isEmpty()) {
+			return otherPath;
+		}
+		return new IRODSNioPath(fileSystem, path + SEPARATOR + otherPath.path);
+	}
+
+	@Override
+	public Path resolve(final String other) {
+		return resolve(new IRODSNioPath(fileSystem, other));
+	}
+
+	@Override
+	public Path resolveSibling(final Path other) {
+		checkPath(other);
+		Path parent = getParent();
+		return parent == null ? other : parent.resolve(other);
+	}
+
+	@Override
+	public Path resolveSibling(final String other) {
+		return resolveSibling(new IRODSNioPath(fileSystem, other));
+	}
+
+	@Override
+	public Path relativize(final Path other) {
+		IRODSNioPath otherPath = checkPath(other);
+		if (otherPath.isAbsolute() != isAbsolute()) {
+			throw new IllegalArgumentException("cannot relativize an absolute and a relative path");
+		}
+
+		int common = 0;
+		while (common < names.length && common < otherPath.names.length
+				&& names[common].equals(otherPath.names[common])) {
+			common++;
+		}
+
+		List<String> relative = new ArrayList<String>();
+		for (int i = common; i < names.length; i++) {
+			relative.add("..");
+		}
+		for (int i = common; i < otherPath.names.length; i++) {
+			relative.add(otherPath.names[i]);
+		}
+		return fromNames(false, relative);
+	}
+
+	@Override
+	public URI toUri() {
+		IRODSAccount irodsAccount = fileSystem.getIrodsAccount();
+		return IRODSUriUtils.buildURI(irodsAccount.getHost(), irodsAccount.getPort(),
+				IRODSUriUserInfo.unauthenticatedInstance(irodsAccount.getUserName(), irodsAccount.getZone()),
+				toAbsolutePath().normalize().toString());
+	}
+
+	@Override
+	public IRODSNioPath toAbsolutePath() {
+		if (isAbsolute()) {
+			return this;
+		}
+		return new IRODSNioPath(fileSystem, fileSystem.getIrodsAccount().getHomeDirectory() + SEPARATOR + path);
+	}
+
+	/**
+	 * Returns the absolute, normalized path, checking that it exists. iRODS soft
+	 * links are not resolved.
+	 */
+	@Override
+	public Path toRealPath(final LinkOption... options) throws IOException {
+		Path realPath = toAbsolutePath().normalize();
+		if (fileSystem.provider().readAttributesIfExists(realPath) == null) {
+			throw new NoSuchFileException(realPath.toString());
+		}
+		return realPath;
+	}
+
+	@Override
+	public File toFile() {
+		throw new UnsupportedOperationException("an iRODS path is not a local file");
+	}
+
+	@Override
+	public WatchKey register(final WatchService watcher, final WatchEvent.Kind<?>[] events,
+			final WatchEvent.Modifier... modifiers) throws IOException {
+		throw new UnsupportedOperationException("watching iRODS paths is not supported");
+	}
+
+	@Override
+	public WatchKey register(final WatchService watcher, final WatchEvent.Kind<?>... events) throws IOException {
+		throw new UnsupportedOperationException("watching iRODS paths is not supported");
+	}
+
+	@Override
+	public Iterator<Path> iterator() {
+		List<Path> nameList = new ArrayList<Path>(names.length);
+		for (String name : names) {
+			nameList.add(new IRODSNioPath(fileSystem, name));
+		}
+		return nameList.iterator();
+	}
+
+	@Override
+	public int compareTo(final Path other) {
+		return path.compareTo(checkPath(other).path);
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof IRODSNioPath)) {
+			return false;
+		}
+
+		IRODSNioPath other = (IRODSNioPath) obj;
+		return other.fileSystem == fileSystem && other.path.equals(path);
+	}
+
+	@Override
+	public int hashCode() {
+		return path.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return path;
+	}
+
+}
@@ -0,0 +1,205 @@
+package org.irods.jargon.core.pub.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonReadableChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+import org.irods.jargon.core.pub.io.FileIOOperations.SeekWhenceType;
+import org.irods.jargon.core.pub.io.IRODSRandomAccessFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link SeekableByteChannel} over an open iRODS data object, using the read,
+ * seek and write operations of an {@link IRODSRandomAccessFile}, so small reads
+ * are served from its block cache and a seek is only sent to iRODS when the
+ * next read or write needs it.
+ * <p>
+ * iRODS updates the size of a data object when it is closed, so the channel
+ * keeps the size itself, starting from the size at open and growing with the
+ * writes. A data object cannot be truncated through an open handle, truncating
+ * to a smaller size is not supported.
+ * <p>
+ * Like the other iRODS file handles, the channel is not safe for use by more
+ * than one thread at a time.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class IRODSSeekableByteChannel implements SeekableByteChannel {
+
+	private static final Logger log = LoggerFactory.getLogger(IRODSSeekableByteChannel.class);
+
+	/**
+	 * Largest read or write sent in one call when the buffer is not backed by an
+	 * array
+	 */
+	private static final int MAX_COPY_BUFFER = 64 * 1024;
+
+	private final IRODSRandomAccessFile randomAccessFile;
+	private final IRODSNioFileSystem fileSystem;
+	private final String absolutePath;
+	private final boolean readable;
+	private final boolean writable;
+	private long position = 0;
+	private long size;
+	private boolean written = false;
+	private boolean open = true;
+
+	IRODSSeekableByteChannel(final IRODSRandomAccessFile randomAccessFile, final IRODSNioFileSystem fileSystem,
+			final String absolutePath, final boolean readable, final boolean writable, final long size) {
+		if (randomAccessFile == null) {
+			throw new IllegalArgumentException("null randomAccessFile");
+		}
+
+		if (fileSystem == null) {
+			throw new IllegalArgumentException("null fileSystem");
+		}
+
+		this.randomAccessFile = randomAccessFile;
+		this.fileSystem = fileSystem;
+		this.absolutePath = absolutePath;
+		this.readable = readable;
+		this.writable = writable;
+		this.size = size;
+	}
+
+	@Override
+	public int read(final ByteBuffer dst) throws IOException {
+		checkIfOpen();
+		if (!readable) {
+			throw new NonReadableChannelException();
+		}
+
+		if (!dst.hasRemaining()) {
+			return 0;
+		}
+
+		int read;
+		if (dst.hasArray()) {
+			read = randomAccessFile.read(dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+			if (read > 0) {
+				dst.position(dst.position() + read);
+			}
+		} else {
+			byte[] buffer = new byte[Math.min(dst.remaining(), MAX_COPY_BUFFER)];
+			read = randomAccessFile.read(buffer, 0, buffer.length);
+			if (read > 0) {
+				dst.put(buffer, 0, read);
+			}
+		}
+
+		if (read > 0) {
+			position += read;
+		}
+		return read;
+	}
+
+	@Override
+	public int write(final ByteBuffer src) throws IOException {
+		checkIfOpen();
+		if (!writable) {
+			throw new NonWritableChannelException();
+		}
+
+		int length = src.remaining();
+		if (src.hasArray()) {
+			randomAccessFile.write(src.array(), src.arrayOffset() + src.position(), length);
+			src.position(src.limit());
+		} else {
+			byte[] buffer = new byte[Math.min(length, MAX_COPY_BUFFER)];
+			int toWrite = length;
+			while (toWrite > 0) {
+				int chunk = Math.min(toWrite, buffer.length);
+				src.get(buffer, 0, chunk);
+				randomAccessFile.write(buffer, 0, chunk);
+				toWrite -= chunk;
+			}
+		}
+
+		position += length;
+		size = Math.max(size, position);
+		written = true;
+		return length;
+	}
+
+	@Override
+	public long position() throws IOException {
+		checkIfOpen();
+		return position;
+	}
+
+	@Override
+	public SeekableByteChannel position(final long newPosition) throws IOException {
+		checkIfOpen();
+		if (newPosition < 0) {
+			throw new IllegalArgumentException("position must not be negative");
+		}
+		randomAccessFile.seek(newPosition, SeekWhenceType.SEEK_START);
+		position = newPosition;
+		return this;
+	}
+
+	@Override
+	public long size() throws IOException {
+		checkIfOpen();
+		return size;
+	}
+
+	/**
+	 * Only a size at or past the current size is supported, which leaves the
+	 * data object unchanged
+	 */
+	@Override
+	public SeekableByteChannel truncate(final long newSize) throws IOException {
+		checkIfOpen();
+		if (newSize < 0) {
+			throw new IllegalArgumentException("size must not be negative");
+		}
+
+		if (!writable) {
+			throw new NonWritableChannelException();
+		}
+
+		if (newSize < size) {
+			throw new IOException("iRODS does not support truncating an open data object:" + absolutePath);
+		}
+
+		if (position > newSize) {
+			position(newSize);
+		}
+		return this;
+	}
+
+	@Override
+	public boolean isOpen() {
+		return open;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (!open) {
+			return;
+		}
+
+		open = false;
+		log.debug("closing channel for:{}", absolutePath);
+		try {
+			randomAccessFile.close();
+		} finally {
+			if (written) {
+				fileSystem.getAttributeCache().invalidate(absolutePath);
+			}
+		}
+	}
+
+	private void checkIfOpen() throws ClosedChannelException {
+		if (!open) {
+			throw new ClosedChannelException();
+		}
+	}
+
+}
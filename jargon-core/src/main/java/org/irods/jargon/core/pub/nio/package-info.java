@@ -0,0 +1,13 @@
+/**
+ * A {@code java.nio.file} file system provider for iRODS, registered for the
+ * {@code irods://} scheme. See
+ * {@link org.irods.jargon.core.pub.nio.IRODSNioFileSystemProvider} for how a
+ * file system is created and configured.
+ * <p>
+ * The provider is built on the iRODS access objects and the
+ * {@link org.irods.jargon.core.pub.io.IRODSRandomAccessFile}, and keeps a short
+ * lived cache of file attributes filled by collection listings, so that
+ * walking a tree does not cost an objStat for every path.
+ *
+ */
+package org.irods.jargon.core.pub.nio;
@@ -0,0 +1,55 @@
+package org.irods.jargon.core.query;
+
+/**
+ * A row of a query sent to several zones, tagged with the zone that returned it
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public final class FederatedQueryResultRow {
+
+	private final String zoneName;
+	private final IRODSQueryResultRow row;
+
+	/**
+	 * @param zoneName
+	 *            {@code String} with the zone that returned the row
+	 * @param row
+	 *            {@link IRODSQueryResultRow} as returned by the zone
+	 */
+	public FederatedQueryResultRow(final String zoneName, final IRODSQueryResultRow row) {
+		if (zoneName == null) {
+			throw new IllegalArgumentException("null zoneName");
+		}
+
+		if (row == null) {
+			throw new IllegalArgumentException("null row");
+		}
+
+		this.zoneName = zoneName;
+		this.row = row;
+	}
+
+	/**
+	 * @return {@code String} with the zone that returned the row
+	 */
+	public String getZoneName() {
+		return zoneName;
+	}
+
+	/**
+	 * @return {@link IRODSQueryResultRow} as returned by the zone
+	 */
+	public IRODSQueryResultRow getRow() {
+		return row;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("FederatedQueryResultRow [zoneName=").append(zoneName).append(", row=").append(row)
+				.append("]");
+		return builder.toString();
+	}
+
+}
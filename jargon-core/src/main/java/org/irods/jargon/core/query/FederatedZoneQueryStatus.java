@@ -0,0 +1,91 @@
+package org.irods.jargon.core.query;
+
+/**
+ * Status of one zone of a query sent to several zones, so a caller can tell
+ * whether the merged results are complete
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public final class FederatedZoneQueryStatus {
+
+	/**
+	 * State of the query in a zone
+	 */
+	public enum ZoneQueryState {
+		/**
+		 * results are still being read
+		 */
+		RUNNING,
+		/**
+		 * all results of the zone were returned
+		 */
+		COMPLETE,
+		/**
+		 * the query failed, rows returned before the failure were kept
+		 */
+		FAILED,
+		/**
+		 * the zone did not finish before its timeout, or the results were closed,
+		 * rows returned before then were kept
+		 */
+		TIMED_OUT
+	}
+
+	private final String zoneName;
+	private final ZoneQueryState zoneQueryState;
+	private final long rowCount;
+	private final Exception exception;
+
+	/**
+	 * @param zoneName
+	 *            {@code String} with the zone
+	 * @param zoneQueryState
+	 *            {@link ZoneQueryState} of the query in the zone
+	 * @param rowCount
+	 *            {@code long} with the count of rows of the zone returned to the
+	 *            caller
+	 * @param exception
+	 *            {@code Exception} that failed the query, or {@code null}
+	 */
+	public FederatedZoneQueryStatus(final String zoneName, final ZoneQueryState zoneQueryState,
+			final long rowCount, final Exception exception) {
+		this.zoneName = zoneName;
+		this.zoneQueryState = zoneQueryState;
+		this.rowCount = rowCount;
+		this.exception = exception;
+	}
+
+	public String getZoneName() {
+		return zoneName;
+	}
+
+	public ZoneQueryState getZoneQueryState() {
+		return zoneQueryState;
+	}
+
+	public long getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * @return {@code Exception} that failed the query in the zone, or
+	 *         {@code null}
+	 */
+	public Exception getException() {
+		return exception;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("FederatedZoneQueryStatus [zoneName=").append(zoneName).append(", zoneQueryState=")
+				.append(zoneQueryState).append(", rowCount=").append(rowCount);
+		if (exception != null) {
+			builder.append(", exception=").append(exception);
+		}
+		builder.append("]");
+		return builder.toString();
+	}
+
+}
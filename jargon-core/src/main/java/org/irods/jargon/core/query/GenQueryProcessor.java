@@ -193,6 +193,8 @@ public class GenQueryProcessor {
 			} catch (GenQueryBuilderException e) {
 				throw new JargonException("invalid builder query", e);
 			}
+		} else if (irodsQuery instanceof IRODSGenQueryFromPrepared) {
+			translatedIRODSQuery = ((IRODSGenQueryFromPrepared) irodsQuery).convertToTranslatedIRODSGenQuery();
 		} else {
 			throw new JargonException("unknown type of irodsGenQuery");
 		}
@@ -0,0 +1,76 @@
+package org.irods.jargon.core.query;
+
+import java.util.List;
+
+import org.irods.jargon.core.exception.JargonException;
+
+/**
+ * Represents an iRODS general query made by binding values to a
+ * {@link PreparedIRODSGenQuery}. The query is already translated, so it is run
+ * without parsing the query again.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class IRODSGenQueryFromPrepared extends AbstractIRODSGenQuery {
+
+	private final PreparedIRODSGenQuery preparedIRODSGenQuery;
+	private final List<TranslatedGenQueryCondition> boundConditions;
+
+	/**
+	 * Constructor creates a query that can be processed against iRODS.
+	 *
+	 * @param preparedIRODSGenQuery
+	 *            {@link PreparedIRODSGenQuery} that was bound
+	 * @param boundConditions
+	 *            {@code List} of {@link TranslatedGenQueryCondition} with the
+	 *            values bound
+	 * @param numberOfResultsDesired
+	 *            {@code int} with the number of results desired from the query
+	 */
+	IRODSGenQueryFromPrepared(final PreparedIRODSGenQuery preparedIRODSGenQuery,
+			final List<TranslatedGenQueryCondition> boundConditions, final int numberOfResultsDesired) {
+		super(numberOfResultsDesired);
+
+		if (preparedIRODSGenQuery == null) {
+			throw new IllegalArgumentException("null preparedIRODSGenQuery");
+		}
+
+		if (boundConditions == null) {
+			throw new IllegalArgumentException("null boundConditions");
+		}
+
+		this.preparedIRODSGenQuery = preparedIRODSGenQuery;
+		this.boundConditions = boundConditions;
+	}
+
+	/**
+	 * @return the {@link PreparedIRODSGenQuery} that was bound
+	 */
+	public PreparedIRODSGenQuery getPreparedIRODSGenQuery() {
+		return preparedIRODSGenQuery;
+	}
+
+	/**
+	 * Format the query in a format understandable by the mechanism that translates
+	 * the query to iRODS protocol and sends to iRODS.
+	 *
+	 * @return {@link TranslatedIRODSGenQuery} in a format ready to send to iRODS
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	public TranslatedIRODSGenQuery convertToTranslatedIRODSGenQuery() throws JargonException {
+		return TranslatedIRODSGenQuery.instance(preparedIRODSGenQuery.getSelectFields(), boundConditions, this,
+				preparedIRODSGenQuery.isDistinct());
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("IRODSGenQueryFromPrepared [preparedIRODSGenQuery=").append(preparedIRODSGenQuery)
+				.append(", boundConditions=").append(boundConditions).append(", numberOfResultsDesired=")
+				.append(numberOfResultsDesired).append("]");
+		return builder.toString();
+	}
+
+}
@@ -47,6 +47,15 @@ public class IRODSGenQueryTranslator {
 		this.irodsServerProperties = irodsServerProperties;
 	}
 
+	/**
+	 * Constructor for parsing query templates into a
+	 * {@link PreparedIRODSGenQuery}. The parsing and translation of a query does
+	 * not depend on the server, so no server properties are needed.
+	 */
+	IRODSGenQueryTranslator() {
+		irodsServerProperties = null;
+	}
+
 	/**
 	 * Public constructor allows specification of a mapping of extensible meta-data
 	 * values.
@@ -102,6 +111,28 @@ public class IRODSGenQueryTranslator {
 		return TranslatedIRODSGenQuery.instance(translatedSelects, translatedConditions, irodsQuery, isDistinct);
 	}
 
+	/**
+	 * Parse and translate a query template once, where condition values to be
+	 * given at each execution are written as an unquoted {@code ?}, as in
+	 * {@code select COLL_NAME, DATA_NAME where COLL_NAME = ? and DATA_NAME like ?}
+	 *
+	 * @param queryTemplate
+	 *            {@code String} with the query, as in iquest, with {@code ?} for
+	 *            values to be bound
+	 * @return {@link PreparedIRODSGenQuery}
+	 * @throws JargonQueryException
+	 *             for query error
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	PreparedIRODSGenQuery prepareQuery(final String queryTemplate) throws JargonQueryException, JargonException {
+		List<GenQuerySelectField> translatedSelects = translateSelects(parseSelectsIntoListOfNames(queryTemplate));
+		List<TranslatedGenQueryCondition> translatedConditions = translateConditions(queryTemplate);
+		reviewTranslationBeforeReturningQuery(translatedSelects, translatedConditions);
+		return new PreparedIRODSGenQuery(queryTemplate, translatedSelects, translatedConditions,
+				!doesQueryFlagNonDistinct(queryTemplate));
+	}
+
 	private void reviewTranslationBeforeReturningQuery(final List<GenQuerySelectField> translatedSelects,
 			final List<TranslatedGenQueryCondition> translatedConditions) throws JargonQueryException {
 		int i;
@@ -142,8 +173,13 @@ public class IRODSGenQueryTranslator {
 	 */
 	protected List<TranslatedGenQueryCondition> translateConditions(final IRODSGenQuery irodsQuery)
 			throws JargonQueryException, JargonException {
+		return translateConditions(irodsQuery.getQueryString());
+	}
+
+	private List<TranslatedGenQueryCondition> translateConditions(final String queryString)
+			throws JargonQueryException, JargonException {
 		int i;
-		List<GenQueryCondition> conditions = parseConditionsIntoList(irodsQuery.getQueryString());
+		List<GenQueryCondition> conditions = parseConditionsIntoList(queryString);
 
 		// FIXME: condition like x ='14' does not work....need to detect the
 		// conditional and compensate by putting spaces around
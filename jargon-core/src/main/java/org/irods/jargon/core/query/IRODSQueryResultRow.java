@@ -3,6 +3,8 @@
  */
 package org.irods.jargon.core.query;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -12,19 +14,28 @@ import org.irods.jargon.core.utils.IRODSDataConversionUtil;
 /**
  * Represents a row in a query response, with convenience methods to access
  * attributes
+ * <p>
+ * The values of the row are kept in an array, and rows of one result share the
+ * column names and a map from name to position. Values decoded by the typed
+ * accessors are kept, so asking for a column as a number or date again does
+ * not parse it again. The values of a row may not be changed.
  *
  * @author Mike Conway - DICE (www.irods.org)
  *
  */
 public class IRODSQueryResultRow {
 
-	private final List<String> queryResultColumns;
+	private final String[] queryResultColumns;
 	/**
 	 * index of this record in the results
 	 */
 	private final int recordCount;
 	private final boolean lastResult;
-	private final List<String> columnNames;
+	private final QueryResultColumnHeader columnHeader;
+	/**
+	 * typed values decoded from the columns, allocated when first needed
+	 */
+	private Object[] decodedColumns;
 
 	/**
 	 * Build a result row from a column of results produced by an IRODS GenQuery
@@ -39,7 +50,7 @@ public class IRODSQueryResultRow {
 	 */
 	public static IRODSQueryResultRow instance(final List<String> queryResultColumns, final List<String> columnNames)
 			throws JargonException {
-		return new IRODSQueryResultRow(queryResultColumns, columnNames, 0, false);
+		return instance(queryResultColumns, columnNames, 0, false);
 	}
 
 	/**
@@ -61,7 +72,17 @@ public class IRODSQueryResultRow {
 	 */
 	public static IRODSQueryResultRow instance(final List<String> queryResultColumns, final List<String> columnNames,
 			final int recordCount, final boolean lastResult) throws JargonException {
-		return new IRODSQueryResultRow(queryResultColumns, columnNames, recordCount, lastResult);
+
+		if (queryResultColumns == null) {
+			throw new JargonException("queryResultColumns is null");
+		}
+
+		if (columnNames == null) {
+			throw new JargonException("columnNames is null");
+		}
+
+		return new IRODSQueryResultRow(queryResultColumns.toArray(new String[queryResultColumns.size()]),
+				QueryResultColumnHeader.instance(columnNames), recordCount, lastResult);
 	}
 
 	/**
@@ -85,39 +106,55 @@ public class IRODSQueryResultRow {
 	 */
 	public static IRODSQueryResultRow instance(final List<String> queryResultColumns, final List<String> columnNames,
 			final int recordCount, final boolean lastResult, final int totalRecords) throws JargonException {
-		return new IRODSQueryResultRow(queryResultColumns, columnNames, recordCount, lastResult);
+		return instance(queryResultColumns, columnNames, recordCount, lastResult);
 	}
 
 	/**
-	 * Private constructor
+	 * Build a result row sharing the column header of the other rows of a result.
+	 * The array of values is kept, not copied.
 	 *
 	 * @param queryResultColumns
-	 *            {@code List<String} with the values for each column of the query
-	 * @param translatedIRODSQuery
-	 *            {@link TranslatedIRODSQuery} that produced this result
+	 *            {@code String[]} with the values for each column of the query
+	 * @param columnHeader
+	 *            {@link QueryResultColumnHeader} shared by the rows of the result
 	 * @param recordCount
 	 *            {@code int} with the index of the current record
 	 * @param lastResult
 	 *            {@code boolean} of {@code true} if there are more records to page
-	 * @throws JargonException
-	 *             for iRODS error
+	 * @return {@link IRODSQueryResultRow}
 	 */
-	private IRODSQueryResultRow(final List<String> queryResultColumns, final List<String> columnNames,
-			final int recordCount, final boolean lastResult) throws JargonException {
+	static IRODSQueryResultRow instance(final String[] queryResultColumns,
+			final QueryResultColumnHeader columnHeader, final int recordCount, final boolean lastResult) {
 
 		if (queryResultColumns == null) {
-			throw new JargonException("queryResultColumns is null");
+			throw new IllegalArgumentException("null queryResultColumns");
 		}
 
-		if (columnNames == null) {
-			throw new JargonException("columnNames is null");
+		if (columnHeader == null) {
+			throw new IllegalArgumentException("null columnHeader");
 		}
 
+		return new IRODSQueryResultRow(queryResultColumns, columnHeader, recordCount, lastResult);
+	}
+
+	/**
+	 * Private constructor
+	 *
+	 * @param queryResultColumns
+	 *            {@code String[]} with the values for each column of the query
+	 * @param columnHeader
+	 *            {@link QueryResultColumnHeader} with the column names
+	 * @param recordCount
+	 *            {@code int} with the index of the current record
+	 * @param lastResult
+	 *            {@code boolean} of {@code true} if there are more records to page
+	 */
+	private IRODSQueryResultRow(final String[] queryResultColumns, final QueryResultColumnHeader columnHeader,
+			final int recordCount, final boolean lastResult) {
 		this.queryResultColumns = queryResultColumns;
 		this.lastResult = lastResult;
 		this.recordCount = recordCount;
-		this.columnNames = columnNames;
-
+		this.columnHeader = columnHeader;
 	}
 
 	/**
@@ -131,10 +168,10 @@ public class IRODSQueryResultRow {
 	 *             Indicates that the column could not be located in the results.
 	 */
 	public String getColumn(final int columnNumber) throws JargonException {
-		if (columnNumber < 0 || columnNumber >= queryResultColumns.size()) {
+		if (columnNumber < 0 || columnNumber >= queryResultColumns.length) {
 			throw new JargonException("column out of range");
 		}
-		return queryResultColumns.get(columnNumber);
+		return queryResultColumns[columnNumber];
 	}
 
 	/**
@@ -159,7 +196,7 @@ public class IRODSQueryResultRow {
 			throw new JargonException("column name not found in result set:" + columnName);
 		}
 
-		return queryResultColumns.get(idx);
+		return getColumn(idx);
 
 	}
 
@@ -173,7 +210,15 @@ public class IRODSQueryResultRow {
 	 *             for iRODS error
 	 */
 	public Date getColumnAsDateOrNull(final int column) throws JargonException {
-		return IRODSDataConversionUtil.getDateFromIRODSValue(getColumn(column));
+		String value = getColumn(column);
+		Object decoded = getDecodedColumn(column);
+		if (decoded instanceof DecodedDate) {
+			return ((DecodedDate) decoded).toDate();
+		}
+
+		Date date = IRODSDataConversionUtil.getDateFromIRODSValue(value);
+		setDecodedColumn(column, new DecodedDate(date));
+		return date;
 	}
 
 	/**
@@ -186,7 +231,7 @@ public class IRODSQueryResultRow {
 	 *             for iRODS error
 	 */
 	public Date getColumnAsDateOrNull(final String columnName) throws JargonException {
-		return IRODSDataConversionUtil.getDateFromIRODSValue(getColumn(getColumnNamePosition(columnName)));
+		return getColumnAsDateOrNull(getColumnNamePosition(columnName));
 	}
 
 	/**
@@ -199,7 +244,15 @@ public class IRODSQueryResultRow {
 	 *             for iRODS error
 	 */
 	public int getColumnAsIntOrZero(final int column) throws JargonException {
-		return IRODSDataConversionUtil.getIntOrZeroFromIRODSValue(getColumn(column));
+		String value = getColumn(column);
+		Object decoded = getDecodedColumn(column);
+		if (decoded instanceof Integer) {
+			return (Integer) decoded;
+		}
+
+		int intValue = IRODSDataConversionUtil.getIntOrZeroFromIRODSValue(value);
+		setDecodedColumn(column, intValue);
+		return intValue;
 	}
 
 	/**
@@ -212,7 +265,7 @@ public class IRODSQueryResultRow {
 	 *             for iRODS error
 	 */
 	public int getColumnAsIntOrZero(final String columnName) throws JargonException {
-		return IRODSDataConversionUtil.getIntOrZeroFromIRODSValue(getColumn(getColumnNamePosition(columnName)));
+		return getColumnAsIntOrZero(getColumnNamePosition(columnName));
 	}
 
 	/**
@@ -225,7 +278,15 @@ public class IRODSQueryResultRow {
 	 *             for iRODS error
 	 */
 	public long getColumnAsLongOrZero(final int column) throws JargonException {
-		return IRODSDataConversionUtil.getLongOrZeroFromIRODSValue(getColumn(column));
+		String value = getColumn(column);
+		Object decoded = getDecodedColumn(column);
+		if (decoded instanceof Long) {
+			return (Long) decoded;
+		}
+
+		long longValue = IRODSDataConversionUtil.getLongOrZeroFromIRODSValue(value);
+		setDecodedColumn(column, longValue);
+		return longValue;
 	}
 
 	/**
@@ -238,7 +299,7 @@ public class IRODSQueryResultRow {
 	 *             for iRODS error
 	 */
 	public long getColumnAsLongOrZero(final String columnName) throws JargonException {
-		return IRODSDataConversionUtil.getLongOrZeroFromIRODSValue(getColumn(getColumnNamePosition(columnName)));
+		return getColumnAsLongOrZero(getColumnNamePosition(columnName));
 	}
 
 	/**
@@ -250,31 +311,44 @@ public class IRODSQueryResultRow {
 	 * @return {@code int}
 	 */
 	protected int getColumnNamePosition(final String columnName) {
-		int colPos = -1;
-		int i = 0;
-		for (String colNameInList : columnNames) {
-			if (columnName.equals(colNameInList)) {
-				colPos = i;
-				break;
-			}
-			i++;
-		}
+		return columnHeader.getColumnNamePosition(columnName);
+	}
+
+	/**
+	 * Decoded values are kept as immutable objects, so a row read by more than one
+	 * thread at worst decodes a value twice
+	 */
+	private Object getDecodedColumn(final int column) {
+		Object[] decoded = decodedColumns;
+		return decoded == null ? null : decoded[column];
+	}
 
-		return colPos;
+	private void setDecodedColumn(final int column, final Object value) {
+		Object[] decoded = decodedColumns;
+		if (decoded == null) {
+			decoded = new Object[queryResultColumns.length];
+			decodedColumns = decoded;
+		}
+		decoded[column] = value;
 	}
 
 	/**
 	 * Handy method to just get the results as a {@code List} for use in forEach and
 	 * other constructs
 	 *
-	 * @return {@code List<String>} containing the columns for this row.
+	 * @return {@code List<String>} containing the columns for this row, which may
+	 *         not be changed.
 	 */
 	public List<String> getColumnsAsList() {
-		return queryResultColumns;
+		return Collections.unmodifiableList(Arrays.asList(queryResultColumns));
 	}
 
+	/**
+	 * @return {@code List<String>} containing the columns for this row, which may
+	 *         not be changed.
+	 */
 	public List<String> getQueryResultColumns() {
-		return queryResultColumns;
+		return getColumnsAsList();
 	}
 
 	public int getRecordCount() {
@@ -295,16 +369,30 @@ public class IRODSQueryResultRow {
 		final int maxLen = 100;
 		StringBuilder builder = new StringBuilder();
 		builder.append("IRODSQueryResultRow [");
-		if (queryResultColumns != null) {
-			builder.append("queryResultColumns=")
-					.append(queryResultColumns.subList(0, Math.min(queryResultColumns.size(), maxLen))).append(", ");
-		}
+		builder.append("queryResultColumns=").append(
+				Arrays.asList(queryResultColumns).subList(0, Math.min(queryResultColumns.length, maxLen)))
+				.append(", ");
 		builder.append("recordCount=").append(recordCount).append(", lastResult=").append(lastResult).append(", ");
-		if (columnNames != null) {
-			builder.append("columnNames=").append(columnNames.subList(0, Math.min(columnNames.size(), maxLen)));
-		}
+		List<String> columnNames = columnHeader.getColumnNames();
+		builder.append("columnNames=").append(columnNames.subList(0, Math.min(columnNames.size(), maxLen)));
 		builder.append("]");
 		return builder.toString();
 	}
 
+	/**
+	 * A decoded date, kept as its time, as a {@code Date} may be changed by the
+	 * caller
+	 */
+	private static final class DecodedDate {
+		private final Long time;
+
+		DecodedDate(final Date date) {
+			time = date == null ? null : date.getTime();
+		}
+
+		Date toDate() {
+			return time == null ? null : new Date(time);
+		}
+	}
+
 }
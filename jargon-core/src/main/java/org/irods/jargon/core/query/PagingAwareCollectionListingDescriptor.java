@@ -87,6 +87,12 @@ public class PagingAwareCollectionListingDescriptor {
 	 * setting
 	 */
 	private boolean hasMore;
+	/**
+	 * Opaque token for the next page when paging with continuation tokens, will be
+	 * <code>null</code> when no more records are available or when paging by
+	 * offsets
+	 */
+	private String continuationToken;
 
 	/**
 	 * Return an {@code int} that is the absolute offset across both collections and
@@ -234,7 +240,11 @@ public class PagingAwareCollectionListingDescriptor {
 				.append(", dataObjectsCount=").append(dataObjectsCount).append(", dataObjectsTotalRecords=")
 				.append(dataObjectsTotalRecords).append(", collectionsComplete=").append(collectionsComplete)
 				.append(", dataObjectsComplete=").append(dataObjectsComplete).append(", pageSizeUtilized=")
-				.append(pageSizeUtilized).append(", hasMore=").append(hasMore).append("]");
+				.append(pageSizeUtilized).append(", hasMore=").append(hasMore);
+		if (continuationToken != null) {
+			builder.append(", continuationToken=").append(continuationToken);
+		}
+		builder.append("]");
 		return builder.toString();
 	}
 
@@ -246,4 +256,12 @@ public class PagingAwareCollectionListingDescriptor {
 		this.hasMore = hasMore;
 	}
 
+	public String getContinuationToken() {
+		return continuationToken;
+	}
+
+	public void setContinuationToken(final String continuationToken) {
+		this.continuationToken = continuationToken;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,218 @@
+package org.irods.jargon.core.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.irods.jargon.core.exception.JargonException;
+
+/**
+ * A query in iquest form that has been parsed and translated once, with
+ * condition values written as an unquoted {@code ?} to be bound at each
+ * execution, much like a JDBC prepared statement. For example:
+ *
+ * <pre>
+ * private static final PreparedIRODSGenQuery FILES_IN_COLL = PreparedIRODSGenQuery
+ * 		.instance("select DATA_NAME, DATA_SIZE where COLL_NAME = ? and DATA_NAME like ?");
+ * ...
+ * executor.executeIRODSQuery(FILES_IN_COLL.bind(500, collection, "%.txt"), 0);
+ * </pre>
+ *
+ * Binding makes an {@link IRODSGenQueryFromPrepared} that runs without parsing
+ * the query again, so services that run the same queries many times can
+ * prepare them once and keep them. The translation of a query does not depend
+ * on the iRODS server, so a prepared query can be run against any server.
+ * <p>
+ * This object is immutable, and is safe to share between threads.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public final class PreparedIRODSGenQuery {
+
+	/**
+	 * Condition value that marks a value to be bound
+	 */
+	public static final String PLACEHOLDER = "?";
+
+	private final String queryTemplate;
+	private final List<GenQuerySelectField> selectFields;
+	private final List<TranslatedGenQueryCondition> conditions;
+	private final int[] placeholderConditionIndexes;
+	private final boolean distinct;
+
+	/**
+	 * Parse and translate a query template
+	 *
+	 * @param queryTemplate
+	 *            {@code String} with the query, as in iquest, with an unquoted
+	 *            {@code ?} in place of each condition value to be bound
+	 * @return {@link PreparedIRODSGenQuery}
+	 * @throws JargonQueryException
+	 *             if the query is malformed
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	public static PreparedIRODSGenQuery instance(final String queryTemplate)
+			throws JargonQueryException, JargonException {
+		if (queryTemplate == null || queryTemplate.isEmpty()) {
+			throw new IllegalArgumentException("null or empty queryTemplate");
+		}
+
+		return new IRODSGenQueryTranslator().prepareQuery(queryTemplate);
+	}
+
+	PreparedIRODSGenQuery(final String queryTemplate, final List<GenQuerySelectField> selectFields,
+			final List<TranslatedGenQueryCondition> conditions, final boolean distinct) throws JargonQueryException {
+		this.queryTemplate = queryTemplate;
+		this.selectFields = Collections.unmodifiableList(new ArrayList<GenQuerySelectField>(selectFields));
+		this.conditions = Collections.unmodifiableList(new ArrayList<TranslatedGenQueryCondition>(conditions));
+		this.distinct = distinct;
+
+		int count = 0;
+		for (TranslatedGenQueryCondition condition : conditions) {
+			if (PLACEHOLDER.equals(condition.getValue())) {
+				if (condition.getOperator().equalsIgnoreCase(QueryConditionOperators.IS_NULL.getOperatorAsString())) {
+					throw new JargonQueryException("IS NULL condition cannot have a value");
+				}
+				count++;
+			}
+		}
+
+		placeholderConditionIndexes = new int[count];
+		count = 0;
+		for (int i = 0; i < conditions.size(); i++) {
+			if (PLACEHOLDER.equals(conditions.get(i).getValue())) {
+				placeholderConditionIndexes[count++] = i;
+			}
+		}
+	}
+
+	/**
+	 * Bind values to the placeholders, in the order they appear in the query.
+	 * <p>
+	 * A value is a {@code String}, which is quoted, or for the {@code in},
+	 * {@code not in}, {@code between} and {@code not between} operators, a
+	 * {@code Collection} of {@code String}. As with the query builder, values are
+	 * not escaped.
+	 *
+	 * @param numberOfResultsDesired
+	 *            {@code int} with the number of desired results
+	 * @param values
+	 *            {@code Object...} with a value for each placeholder
+	 * @return {@link IRODSGenQueryFromPrepared} that may be run by the
+	 *         {@code IRODSGenQueryExecutor}
+	 * @throws JargonQueryException
+	 *             if the values do not match the placeholders
+	 */
+	public IRODSGenQueryFromPrepared bind(final int numberOfResultsDesired, final Object... values)
+			throws JargonQueryException {
+
+		int valueCount = values == null ? 0 : values.length;
+		if (valueCount != placeholderConditionIndexes.length) {
+			throw new JargonQueryException("query has " + placeholderConditionIndexes.length
+					+ " placeholders, but was given " + valueCount + " values");
+		}
+
+		if (placeholderConditionIndexes.length == 0) {
+			return new IRODSGenQueryFromPrepared(this, conditions, numberOfResultsDesired);
+		}
+
+		List<TranslatedGenQueryCondition> boundConditions = new ArrayList<TranslatedGenQueryCondition>(conditions);
+		for (int i = 0; i < placeholderConditionIndexes.length; i++) {
+			TranslatedGenQueryCondition condition = conditions.get(placeholderConditionIndexes[i]);
+			boundConditions.set(placeholderConditionIndexes[i],
+					TranslatedGenQueryCondition.instanceWithFieldNameAndNumericTranslation(condition.getColumnName(),
+							condition.getOperator(), formatValue(condition.getOperator(), values[i], i),
+							condition.getColumnNumericTranslation()));
+		}
+
+		return new IRODSGenQueryFromPrepared(this, boundConditions, numberOfResultsDesired);
+	}
+
+	private static String formatValue(final String operator, final Object value, final int position)
+			throws JargonQueryException {
+
+		if (value == null) {
+			throw new JargonQueryException("null value for placeholder in position:" + position);
+		}
+
+		boolean multiValue = isMultiValueOperator(operator);
+
+		if (value instanceof String) {
+			if (multiValue) {
+				throw new JargonQueryException(
+						"operator " + operator + " needs a collection of values for placeholder in position:" + position);
+			}
+			StringBuilder sb = new StringBuilder();
+			sb.append('\'');
+			sb.append((String) value);
+			sb.append('\'');
+			return sb.toString();
+		}
+
+		if (value instanceof Collection<?>) {
+			if (!multiValue) {
+				throw new JargonQueryException(
+						"operator " + operator + " needs a single value for placeholder in position:" + position);
+			}
+
+			Collection<?> multiValues = (Collection<?>) value;
+			if (multiValues.isEmpty()) {
+				throw new JargonQueryException("empty collection of values for placeholder in position:" + position);
+			}
+
+			StringBuilder sb = new StringBuilder();
+			for (Object multi : multiValues) {
+				if (multi == null) {
+					throw new JargonQueryException("null value in collection for placeholder in position:" + position);
+				}
+				sb.append('\'');
+				sb.append(multi);
+				sb.append("' ");
+			}
+			return sb.toString();
+		}
+
+		throw new JargonQueryException("value for placeholder in position:" + position
+				+ " must be a String or a Collection of String");
+	}
+
+	private static boolean isMultiValueOperator(final String operator) {
+		return operator.equalsIgnoreCase(QueryConditionOperators.IN.getOperatorAsString())
+				|| operator.equalsIgnoreCase(QueryConditionOperators.NOT_IN.getOperatorAsString())
+				|| operator.equalsIgnoreCase(QueryConditionOperators.BETWEEN.getOperatorAsString())
+				|| operator.equalsIgnoreCase(QueryConditionOperators.NOT_BETWEEN.getOperatorAsString());
+	}
+
+	/**
+	 * @return {@code String} with the query template as given
+	 */
+	public String getQueryTemplate() {
+		return queryTemplate;
+	}
+
+	/**
+	 * @return {@code int} with the count of placeholders to be bound
+	 */
+	public int getPlaceholderCount() {
+		return placeholderConditionIndexes.length;
+	}
+
+	List<GenQuerySelectField> getSelectFields() {
+		return selectFields;
+	}
+
+	boolean isDistinct() {
+		return distinct;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("PreparedIRODSGenQuery [queryTemplate=").append(queryTemplate).append("]");
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,87 @@
+package org.irods.jargon.core.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column names of a query result, shared by every {@link IRODSQueryResultRow}
+ * of the result, with a map from column name to position so rows can look up a
+ * column by name without scanning the names.
+ * <p>
+ * This object is immutable, and is safe to share between threads.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+final class QueryResultColumnHeader {
+
+	private final List<String> columnNames;
+	private final Map<String, Integer> columnPositions;
+
+	/**
+	 * Build a header for the given column names
+	 *
+	 * @param columnNames
+	 *            {@code List<String>} with the column names, in the order of the
+	 *            columns in each row
+	 * @return {@link QueryResultColumnHeader}
+	 */
+	static QueryResultColumnHeader instance(final List<String> columnNames) {
+		if (columnNames == null) {
+			throw new IllegalArgumentException("null columnNames");
+		}
+
+		return new QueryResultColumnHeader(columnNames);
+	}
+
+	private QueryResultColumnHeader(final List<String> columnNames) {
+		this.columnNames = Collections.unmodifiableList(new ArrayList<String>(columnNames));
+		columnPositions = new HashMap<String, Integer>(columnNames.size() * 2);
+		int i = 0;
+		for (String columnName : this.columnNames) {
+			// the first of any duplicate names wins, as when the names were scanned
+			if (!columnPositions.containsKey(columnName)) {
+				columnPositions.put(columnName, i);
+			}
+			i++;
+		}
+	}
+
+	/**
+	 * Returns the index of the column with the given name, or -1 if not found
+	 *
+	 * @param columnName
+	 *            {@code String} with the name to resolve
+	 * @return {@code int}
+	 */
+	int getColumnNamePosition(final String columnName) {
+		Integer position = columnPositions.get(columnName);
+		return position == null ? -1 : position;
+	}
+
+	/**
+	 * @return {@code List<String>} with the column names, which may not be
+	 *         changed
+	 */
+	List<String> getColumnNames() {
+		return columnNames;
+	}
+
+	/**
+	 * @return {@code int} with the count of columns
+	 */
+	int size() {
+		return columnNames.size();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("QueryResultColumnHeader [columnNames=").append(columnNames).append("]");
+		return builder.toString();
+	}
+
+}
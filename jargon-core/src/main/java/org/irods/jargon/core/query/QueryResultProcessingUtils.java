@@ -4,7 +4,9 @@
 package org.irods.jargon.core.query;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.packinstr.GenQueryOut;
@@ -26,6 +28,9 @@ public class QueryResultProcessingUtils {
 	/**
 	 * Given the raw response from iRODS, translate into a list of result rows for
 	 * easier processing.
+	 * <p>
+	 * The rows share one column header, and values repeated in the response, such
+	 * as the collection name or owner of each data object, are kept once.
 	 *
 	 * @param queryResponse
 	 *            {@code Tag} set with the raw GenQuery response from iRODS.
@@ -57,7 +62,7 @@ public class QueryResultProcessingUtils {
 		log.info("rows returned from iRODS query: {}", rows);
 
 		List<IRODSQueryResultRow> resultSet = new ArrayList<IRODSQueryResultRow>(rows);
-		List<String> row;
+		String[] row;
 
 		int recordCount;
 		if (partialStartIndex == 0) {
@@ -71,15 +76,36 @@ public class QueryResultProcessingUtils {
 
 		int attributes = queryResponse.getTag(GenQueryOut.ATTRIB_CNT).getIntValue();
 
+		QueryResultColumnHeader columnHeader = QueryResultColumnHeader.instance(columnNames);
+
+		// getTags() copies, so get the values of each column once
+		Tag[] responseTags = queryResponse.getTags();
+		Tag[][] columnValues = new Tag[attributes][];
+		for (int j = 0; j < attributes; j++) {
+			columnValues[j] = responseTags[4 + j].getTags();
+		}
+
+		Map<String, String> sharedValues = new HashMap<String, String>();
+		String value;
+		String sharedValue;
+
 		for (int i = 0; i < rows; i++) {
 			// new row
-			row = new ArrayList<String>();
+			row = new String[attributes];
 			for (int j = 0; j < attributes; j++) {
-
-				row.add(queryResponse.getTags()[4 + j].getTags()[2 + i].getStringValue());
+				value = columnValues[j][2 + i].getStringValue();
+				if (value != null) {
+					sharedValue = sharedValues.get(value);
+					if (sharedValue == null) {
+						sharedValues.put(value, value);
+					} else {
+						value = sharedValue;
+					}
+				}
+				row[j] = value;
 			}
 
-			resultSet.add(IRODSQueryResultRow.instance(row, columnNames, recordCount++, lastRecord));
+			resultSet.add(IRODSQueryResultRow.instance(row, columnHeader, recordCount++, lastRecord));
 		}
 
 		return resultSet;
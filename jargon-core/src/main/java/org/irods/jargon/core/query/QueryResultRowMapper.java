@@ -0,0 +1,31 @@
+package org.irods.jargon.core.query;
+
+import org.irods.jargon.core.exception.JargonException;
+
+/**
+ * Maps a row of query results into a record type chosen by the caller, so
+ * that a large result can be read as records without keeping the rows. A
+ * mapper is called once per row, in order, and should hold no state about the
+ * rows it has seen, so that one mapper may be reused for any number of queries.
+ *
+ * @param <T>
+ *            type of the record
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public interface QueryResultRowMapper<T> {
+
+	/**
+	 * Map a row into a record
+	 *
+	 * @param row
+	 *            {@link IRODSQueryResultRow} with the values of the row, which
+	 *            may be read by column name or position
+	 * @return the record for the row, not {@code null}
+	 * @throws JargonException
+	 *             if the row cannot be mapped
+	 */
+	T mapRow(IRODSQueryResultRow row) throws JargonException;
+
+}
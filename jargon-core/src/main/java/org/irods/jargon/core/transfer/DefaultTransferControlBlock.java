@@ -43,6 +43,10 @@ public class DefaultTransferControlBlock implements TransferControlBlock {
 	private TransferOptions transferOptions = new TransferOptions();
 	private long totalBytesTransferredSoFar = 0L;
 	private long totalBytesToTransfer = 0L;
+	/**
+	 * Optional journal of a recursive transfer, used to resume it
+	 */
+	private TransferManifest transferManifest = null;
 
 	/*
 	 * (non-Javadoc)
@@ -417,4 +421,14 @@ public class DefaultTransferControlBlock implements TransferControlBlock {
 		return totalFilesTransferredSoFar - totalFilesSkippedSoFar;
 	}
 
+	@Override
+	public synchronized TransferManifest getTransferManifest() {
+		return transferManifest;
+	}
+
+	@Override
+	public synchronized void setTransferManifest(final TransferManifest transferManifest) {
+		this.transferManifest = transferManifest;
+	}
+
 }
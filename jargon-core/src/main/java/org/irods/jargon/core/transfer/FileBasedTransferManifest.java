@@ -0,0 +1,380 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link TransferManifest} kept in an append-only journal file on the local
+ * file system, so that a recursive transfer that dies part way through can be
+ * resumed by a new process.
+ * <p>
+ * Each record is a single line holding a record type, a CRC of the path, and
+ * the path. Records are written through to the operating system as they
+ * happen. A torn final record left by a crash is cut off on the next open, and
+ * any other record that fails its CRC is ignored. When the journal holds many
+ * more records than the state it describes, such as the per file records under
+ * directories that have since completed, it is compacted as it is opened.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class FileBasedTransferManifest implements TransferManifest {
+
+	private static final Logger log = LoggerFactory.getLogger(FileBasedTransferManifest.class);
+
+	static final char FILE_STARTED = 'S';
+	static final char FILE_COMPLETE = 'F';
+	static final char DIRECTORY_PENDING = 'P';
+	static final char DIRECTORY_COMPLETE = 'D';
+
+	/**
+	 * Compact when the journal holds more than this many records for each live
+	 * record
+	 */
+	static final int COMPACTION_RATIO = 2;
+
+	private final File manifestFile;
+	private final Set<String> completeFiles = new HashSet<String>();
+	private final Set<String> completeDirectories = new HashSet<String>();
+	private final Set<String> filesInProgress = new LinkedHashSet<String>();
+	private final Set<String> pendingDirectories = new LinkedHashSet<String>();
+	private FileChannel channel;
+
+	/**
+	 * Open a manifest, reading back any records left by a prior run of the
+	 * transfer
+	 *
+	 * @param manifestFile
+	 *            {@link File} that holds the journal. It will be created if it
+	 *            does not exist.
+	 * @return {@link FileBasedTransferManifest}
+	 * @throws FileRestartManagementException
+	 *             if the journal cannot be read or created
+	 */
+	public static FileBasedTransferManifest instance(final File manifestFile) throws FileRestartManagementException {
+		return new FileBasedTransferManifest(manifestFile);
+	}
+
+	private FileBasedTransferManifest(final File manifestFile) throws FileRestartManagementException {
+		if (manifestFile == null) {
+			throw new IllegalArgumentException("null manifestFile");
+		}
+
+		log.info("manifestFile:{}", manifestFile);
+		this.manifestFile = manifestFile;
+
+		try {
+			int records = 0;
+			if (manifestFile.exists()) {
+				truncateTornRecord();
+				records = load();
+			}
+
+			if (records > COMPACTION_RATIO * liveRecordCount()) {
+				log.info("compacting manifest with {} records", records);
+				compact();
+			}
+
+			channel = new FileOutputStream(manifestFile, true).getChannel();
+		} catch (IOException e) {
+			log.error("unable to open transfer manifest:{}", manifestFile, e);
+			throw new FileRestartManagementException("unable to open transfer manifest", e);
+		}
+	}
+
+	/**
+	 * Get the journal file behind this manifest
+	 *
+	 * @return {@link File}
+	 */
+	public File getManifestFile() {
+		return manifestFile;
+	}
+
+	@Override
+	public synchronized boolean isFileComplete(final String absolutePath) {
+		return completeFiles.contains(absolutePath) || isUnderCompleteDirectory(absolutePath);
+	}
+
+	@Override
+	public synchronized boolean isDirectoryComplete(final String absolutePath) {
+		return completeDirectories.contains(absolutePath) || isUnderCompleteDirectory(absolutePath);
+	}
+
+	@Override
+	public synchronized boolean isFileInProgress(final String absolutePath) {
+		return filesInProgress.contains(absolutePath);
+	}
+
+	@Override
+	public synchronized void markFileStarted(final String absolutePath) throws FileRestartManagementException {
+		if (filesInProgress.add(absolutePath)) {
+			append(FILE_STARTED, absolutePath);
+		}
+	}
+
+	@Override
+	public synchronized void markFileComplete(final String absolutePath) throws FileRestartManagementException {
+		filesInProgress.remove(absolutePath);
+		if (completeFiles.add(absolutePath)) {
+			append(FILE_COMPLETE, absolutePath);
+		}
+	}
+
+	@Override
+	public synchronized void markDirectoryPending(final String absolutePath) throws FileRestartManagementException {
+		if (pendingDirectories.add(absolutePath)) {
+			append(DIRECTORY_PENDING, absolutePath);
+		}
+	}
+
+	@Override
+	public synchronized void markDirectoryComplete(final String absolutePath) throws FileRestartManagementException {
+		pendingDirectories.remove(absolutePath);
+		if (completeDirectories.add(absolutePath)) {
+			append(DIRECTORY_COMPLETE, absolutePath);
+		}
+	}
+
+	@Override
+	public synchronized void close() throws FileRestartManagementException {
+		if (channel == null) {
+			return;
+		}
+		try {
+			channel.force(true);
+			channel.close();
+		} catch (IOException e) {
+			log.error("unable to close transfer manifest:{}", manifestFile, e);
+			throw new FileRestartManagementException("unable to close transfer manifest", e);
+		} finally {
+			channel = null;
+		}
+	}
+
+	/**
+	 * Get the directories that were started but not completed
+	 *
+	 * @return {@code Set} of {@code String} with the source paths
+	 */
+	public synchronized Set<String> getPendingDirectories() {
+		return new LinkedHashSet<String>(pendingDirectories);
+	}
+
+	/**
+	 * Get the files that were started but not completed
+	 *
+	 * @return {@code Set} of {@code String} with the source paths
+	 */
+	public synchronized Set<String> getFilesInProgress() {
+		return new LinkedHashSet<String>(filesInProgress);
+	}
+
+	private void append(final char recordType, final String absolutePath) throws FileRestartManagementException {
+		if (channel == null) {
+			throw new FileRestartManagementException("transfer manifest is closed");
+		}
+		try {
+			ByteBuffer record = ByteBuffer.wrap(formatRecord(recordType, absolutePath));
+			while (record.hasRemaining()) {
+				channel.write(record);
+			}
+		} catch (IOException e) {
+			log.error("unable to write transfer manifest:{}", manifestFile, e);
+			throw new FileRestartManagementException("unable to write transfer manifest", e);
+		}
+	}
+
+	/**
+	 * Replay the journal
+	 *
+	 * @return {@code int} with the count of records read
+	 */
+	private int load() throws IOException {
+		int records = 0;
+		BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(manifestFile), StandardCharsets.UTF_8));
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				records++;
+				if (line.length() < 11 || line.charAt(1) != ' ' || line.charAt(10) != ' ') {
+					log.warn("ignoring malformed manifest record:{}", line);
+					continue;
+				}
+				String path = line.substring(11);
+				if (!line.substring(2, 10).equals(crcOf(path))) {
+					log.warn("ignoring manifest record with bad crc:{}", line);
+					continue;
+				}
+				switch (line.charAt(0)) {
+				case FILE_STARTED:
+					filesInProgress.add(path);
+					break;
+				case FILE_COMPLETE:
+					filesInProgress.remove(path);
+					completeFiles.add(path);
+					break;
+				case DIRECTORY_PENDING:
+					pendingDirectories.add(path);
+					break;
+				case DIRECTORY_COMPLETE:
+					pendingDirectories.remove(path);
+					completeDirectories.add(path);
+					break;
+				default:
+					log.warn("ignoring unknown manifest record:{}", line);
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		log.info("loaded {} manifest records", records);
+		return records;
+	}
+
+	/**
+	 * Rewrite the journal with only the records needed to describe the current
+	 * state
+	 */
+	private void compact() throws IOException {
+		Set<String> survivingFiles = new HashSet<String>();
+		for (String path : completeFiles) {
+			if (!isUnderCompleteDirectory(path)) {
+				survivingFiles.add(path);
+			}
+		}
+		Set<String> survivingDirectories = new HashSet<String>();
+		for (String path : completeDirectories) {
+			if (!isUnderCompleteDirectory(path)) {
+				survivingDirectories.add(path);
+			}
+		}
+
+		completeFiles.retainAll(survivingFiles);
+		completeDirectories.retainAll(survivingDirectories);
+
+		File tempFile = new File(manifestFile.getAbsolutePath() + ".tmp");
+		FileOutputStream fos = new FileOutputStream(tempFile);
+		try {
+			for (String path : completeDirectories) {
+				fos.write(formatRecord(DIRECTORY_COMPLETE, path));
+			}
+			for (String path : completeFiles) {
+				fos.write(formatRecord(FILE_COMPLETE, path));
+			}
+			for (String path : pendingDirectories) {
+				fos.write(formatRecord(DIRECTORY_PENDING, path));
+			}
+			for (String path : filesInProgress) {
+				fos.write(formatRecord(FILE_STARTED, path));
+			}
+			fos.getChannel().force(true);
+		} finally {
+			fos.close();
+		}
+
+		try {
+			Files.move(tempFile.toPath(), manifestFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(tempFile.toPath(), manifestFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Count the records a compacted journal would hold
+	 */
+	private int liveRecordCount() {
+		int count = filesInProgress.size() + pendingDirectories.size();
+		for (String path : completeFiles) {
+			if (!isUnderCompleteDirectory(path)) {
+				count++;
+			}
+		}
+		for (String path : completeDirectories) {
+			if (!isUnderCompleteDirectory(path)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Cut off a final record that was only partly written, so that new records
+	 * start on a fresh line
+	 */
+	private void truncateTornRecord() throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(manifestFile, "rw");
+		try {
+			long length = raf.length();
+			long position = length;
+			while (position > 0) {
+				raf.seek(position - 1);
+				if (raf.read() == '\n') {
+					break;
+				}
+				position--;
+			}
+			if (position < length) {
+				log.warn("truncating torn record at end of manifest:{}", manifestFile);
+				raf.setLength(position);
+			}
+		} finally {
+			raf.close();
+		}
+	}
+
+	/**
+	 * See if any parent of the path is a completed directory. Both local and
+	 * iRODS separators are considered, as the manifest holds source paths for
+	 * puts and gets.
+	 */
+	private boolean isUnderCompleteDirectory(final String absolutePath) {
+		if (completeDirectories.isEmpty()) {
+			return false;
+		}
+		for (int i = absolutePath.length() - 1; i > 0; i--) {
+			char c = absolutePath.charAt(i);
+			if ((c == '/' || c == File.separatorChar) && completeDirectories.contains(absolutePath.substring(0, i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static byte[] formatRecord(final char recordType, final String absolutePath) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(recordType);
+		sb.append(' ');
+		sb.append(crcOf(absolutePath));
+		sb.append(' ');
+		sb.append(absolutePath);
+		sb.append('\n');
+		return sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String crcOf(final String absolutePath) {
+		CRC32 crc = new CRC32();
+		crc.update(absolutePath.getBytes(StandardCharsets.UTF_8));
+		return String.format("%08x", crc.getValue());
+	}
+
+}
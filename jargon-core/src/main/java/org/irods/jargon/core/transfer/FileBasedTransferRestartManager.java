@@ -0,0 +1,790 @@
+/**
+ *
+ */
+package org.irods.jargon.core.transfer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import org.apache.commons.codec.binary.Hex;
+import org.irods.jargon.core.connection.ConnectionConstants;
+import org.irods.jargon.core.transfer.FileRestartInfo.RestartStatus;
+import org.irods.jargon.core.transfer.FileRestartInfo.RestartType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Restart manager that persists long file restart information in a directory
+ * of memory-mapped journal files, so that restarts survive a JVM crash or
+ * redeploy.
+ * <p>
+ * Each {@link FileRestartInfo} is kept in its own journal file, named by a
+ * digest of the {@link FileRestartInfoIdentifier}. The journal holds a small
+ * header with the transfer description, followed by a fixed-size record area
+ * with two slots per {@link FileRestartDataSegment}. A segment update writes
+ * the slot not holding the latest generation, finishing with a CRC, so a torn
+ * write is detected at recovery and the previous generation is used instead.
+ * Because each transfer thread only ever writes its own segment slots, segment
+ * updates are done without taking the manager lock.
+ * <p>
+ * At construction the journal directory is scanned and every valid journal is
+ * loaded back into memory. Journals that cannot be read, as well as left over
+ * temporary files, are removed. See {@link #compact()}.
+ * <p>
+ * Java gives no way to release a mapping before it is garbage collected, and
+ * Windows will not delete or replace a file that is mapped. On Windows the
+ * journals are therefore not mapped, segment updates are written through an
+ * open channel instead, which is closed before the journal is deleted or
+ * replaced.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public class FileBasedTransferRestartManager extends AbstractRestartManager {
+
+	private static final Logger log = LoggerFactory.getLogger(FileBasedTransferRestartManager.class);
+
+	/**
+	 * File extension for a restart journal
+	 */
+	public static final String JOURNAL_EXTENSION = ".restart";
+
+	/**
+	 * File extension for a journal that is being written
+	 */
+	public static final String TEMP_EXTENSION = ".restart.tmp";
+
+	static final int MAGIC = 0x4A524E4C;
+	static final int VERSION = 1;
+
+	/*
+	 * header layout: magic, version, number of restarts, segment count,
+	 * metadata length, metadata crc, followed by the metadata bytes
+	 */
+	static final int HEADER_LENGTH = 24;
+	static final int NUMBER_RESTARTS_POSITION = 8;
+
+	/*
+	 * slot layout: generation, offset, length, thread number, crc of the
+	 * preceding 28 bytes
+	 */
+	static final int SLOT_LENGTH = 32;
+	static final int SLOT_CRC_POSITION = 28;
+	static final int SLOTS_PER_SEGMENT = 2;
+	static final long FIRST_GENERATION = 1L;
+
+	/**
+	 * Whether journals are memory-mapped by default, see the class comment
+	 */
+	static final boolean MAP_JOURNALS_BY_DEFAULT = !System.getProperty("os.name", "").startsWith("Windows");
+
+	private final File journalDirectory;
+	private final boolean mapJournals;
+
+	private final ConcurrentHashMap<FileRestartInfoIdentifier, JournalEntry> journalEntries = new ConcurrentHashMap<FileRestartInfoIdentifier, JournalEntry>(
+			8, 0.9f, 1);
+
+	/**
+	 * Create a restart manager that keeps its journals in the given directory,
+	 * recovering any journals left there by a previous process.
+	 *
+	 * @param journalDirectory
+	 *            {@link File} that is the directory holding the journals. This
+	 *            will be created if it does not exist.
+	 * @throws FileRestartManagementException
+	 *             if the directory cannot be used
+	 */
+	public FileBasedTransferRestartManager(final File journalDirectory) throws FileRestartManagementException {
+		this(journalDirectory, MAP_JOURNALS_BY_DEFAULT);
+	}
+
+	/**
+	 * Create a restart manager, choosing whether the journals are memory-mapped
+	 *
+	 * @param journalDirectory
+	 *            {@link File} that is the directory holding the journals
+	 * @param mapJournals
+	 *            {@code boolean} that is {@code true} to map the journals, or
+	 *            {@code false} to write segment updates through an open channel
+	 * @throws FileRestartManagementException
+	 *             if the directory cannot be used
+	 */
+	FileBasedTransferRestartManager(final File journalDirectory, final boolean mapJournals)
+			throws FileRestartManagementException {
+
+		if (journalDirectory == null) {
+			throw new IllegalArgumentException("null journalDirectory");
+		}
+
+		log.info("journalDirectory:{}", journalDirectory);
+
+		if (!journalDirectory.exists() && !journalDirectory.mkdirs()) {
+			log.error("unable to create journal directory:{}", journalDirectory);
+			throw new FileRestartManagementException("unable to create journal directory");
+		}
+
+		if (!journalDirectory.isDirectory()) {
+			log.error("journal directory is not a directory:{}", journalDirectory);
+			throw new FileRestartManagementException("journal directory is not a directory");
+		}
+
+		this.journalDirectory = journalDirectory;
+		this.mapJournals = mapJournals;
+		recover();
+	}
+
+	/**
+	 * Get the directory that holds the restart journals
+	 *
+	 * @return {@link File}
+	 */
+	public File getJournalDirectory() {
+		return journalDirectory;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.transfer.AbstractRestartManager#storeRestart(org
+	 * .irods.jargon.core.transfer.FileRestartInfo)
+	 */
+	@Override
+	public FileRestartInfoIdentifier storeRestart(final FileRestartInfo fileRestartInfo)
+			throws FileRestartManagementException {
+
+		log.info("storeRestart()");
+		if (fileRestartInfo == null) {
+			throw new IllegalArgumentException("null fileRestartInfo");
+		}
+
+		FileRestartInfoIdentifier identifier = FileRestartInfoIdentifier.instanceFromFileRestartInfo(fileRestartInfo);
+
+		synchronized (this) {
+			JournalEntry existing = journalEntries.get(identifier);
+			if (existing != null) {
+				existing.close();
+			}
+			JournalEntry entry = writeJournal(identifier, fileRestartInfo);
+			journalEntries.put(identifier, entry);
+		}
+		return identifier;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.transfer.AbstractRestartManager#deleteRestart(org
+	 * .irods.jargon.core.transfer.FileRestartInfoIdentifier)
+	 */
+	@Override
+	public void deleteRestart(final FileRestartInfoIdentifier fileRestartInfoIdentifier)
+			throws FileRestartManagementException {
+
+		log.info("deleteRestart()");
+		if (fileRestartInfoIdentifier == null) {
+			throw new IllegalArgumentException("null fileRestartInfoIdentifier");
+		}
+
+		synchronized (this) {
+			JournalEntry entry = journalEntries.remove(fileRestartInfoIdentifier);
+			if (entry != null) {
+				entry.close();
+			}
+			File journalFile = journalFileForIdentifier(fileRestartInfoIdentifier);
+			if (journalFile.exists() && !journalFile.delete()) {
+				log.error("unable to delete journal file:{}", journalFile);
+				throw new FileRestartManagementException("unable to delete restart journal");
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.transfer.AbstractRestartManager#retrieveRestart
+	 * (org.irods.jargon.core.transfer.FileRestartInfoIdentifier)
+	 */
+	@Override
+	public FileRestartInfo retrieveRestart(final FileRestartInfoIdentifier fileRestartInfoIdentifier)
+			throws FileRestartManagementException {
+
+		log.info("retrieveRestart()");
+		if (fileRestartInfoIdentifier == null) {
+			throw new IllegalArgumentException("null fileRestartInfoIdentifier");
+		}
+
+		JournalEntry entry = journalEntries.get(fileRestartInfoIdentifier);
+		if (entry == null) {
+			return null;
+		}
+		return entry.fileRestartInfo;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.transfer.AbstractRestartManager#updateSegment(org
+	 * .irods.jargon.core.transfer.FileRestartInfo,
+	 * org.irods.jargon.core.transfer.FileRestartDataSegment)
+	 */
+	@Override
+	public void updateSegment(final FileRestartInfo fileRestartInfo,
+			final FileRestartDataSegment fileRestartDataSegment) throws FileRestartManagementException {
+
+		log.info("updateSegment()");
+
+		if (fileRestartInfo == null) {
+			throw new IllegalArgumentException("null fileRestartInfo");
+		}
+
+		if (fileRestartDataSegment == null) {
+			throw new IllegalArgumentException("null fileRestartDataSegment");
+		}
+
+		JournalEntry entry = entryForIdentifier(fileRestartInfo.identifierFromThisInfo());
+		FileRestartDataSegment actualSegment = entry.segmentForThread(fileRestartDataSegment.getThreadNumber());
+		actualSegment.setOffset(fileRestartDataSegment.getOffset());
+		actualSegment.setLength(fileRestartDataSegment.getLength());
+		entry.writeSegment(actualSegment);
+	}
+
+	/**
+	 * Update the length of a segment in place in the journal. Each thread owns
+	 * its segment, so this does not synchronize on the manager.
+	 */
+	@Override
+	public void updateLengthForSegment(final FileRestartInfoIdentifier fileRestartInfoIdentifier,
+			final int threadNumber, final long length) throws FileRestartManagementException {
+
+		log.debug("updateLengthForSegment()");
+		if (fileRestartInfoIdentifier == null) {
+			throw new IllegalArgumentException("null identifier");
+		}
+
+		JournalEntry entry = entryForIdentifier(fileRestartInfoIdentifier);
+		FileRestartDataSegment dataSegment = entry.segmentForThread(threadNumber);
+		dataSegment.setLength(dataSegment.getLength() + length);
+		entry.writeSegment(dataSegment);
+	}
+
+	/**
+	 * Update the offset of a segment in place in the journal, setting the length
+	 * to zero. Each thread owns its segment, so this does not synchronize on the
+	 * manager.
+	 */
+	@Override
+	public void updateOffsetForSegment(final FileRestartInfoIdentifier fileRestartInfoIdentifier,
+			final int threadNumber, final long offset) throws FileRestartManagementException {
+
+		log.debug("updateOffsetForSegment()");
+		if (fileRestartInfoIdentifier == null) {
+			throw new IllegalArgumentException("null identifier");
+		}
+
+		JournalEntry entry = entryForIdentifier(fileRestartInfoIdentifier);
+		FileRestartDataSegment dataSegment = entry.segmentForThread(threadNumber);
+		dataSegment.setOffset(offset);
+		dataSegment.setLength(0);
+		entry.writeSegment(dataSegment);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.transfer.AbstractRestartManager#
+	 * incrementRestartAttempts(org.irods.jargon.core.transfer.FileRestartInfo)
+	 */
+	@Override
+	public FileRestartInfo incrementRestartAttempts(final FileRestartInfo fileRestartInfo)
+			throws RestartFailedException, FileRestartManagementException {
+
+		log.info("incrementRestartAttempts()");
+		if (fileRestartInfo == null) {
+			log.info("no restart to increment, returning null");
+			return null;
+		}
+		log.info("fileRestartInfo:{}", fileRestartInfo);
+
+		synchronized (this) {
+			JournalEntry entry = journalEntries.get(fileRestartInfo.identifierFromThisInfo());
+			if (entry == null) {
+				log.error("nothing to increment!");
+				return null;
+			}
+			int currentRestarts = entry.fileRestartInfo.getNumberRestarts();
+			currentRestarts++;
+			if (currentRestarts > ConnectionConstants.MAX_FILE_RESTART_ATTEMPTS) {
+				log.error("violates max restart attempts, go ahead and fail the restart attempt");
+				throw new RestartFailedException("restart failed with too many attempts");
+			}
+			entry.fileRestartInfo.setNumberRestarts(currentRestarts);
+			entry.writeNumberRestarts(currentRestarts);
+			return fileRestartInfo;
+		}
+	}
+
+	/**
+	 * Compact the journal directory. Every live journal is rewritten so that
+	 * only the current generation of each segment remains, and any stray
+	 * temporary files or journals not known to this manager are removed.
+	 * <p>
+	 * This rewrites journals in place and must not run while transfers are
+	 * updating segments.
+	 *
+	 * @throws FileRestartManagementException
+	 *             for restart error
+	 */
+	public synchronized void compact() throws FileRestartManagementException {
+		log.info("compact()");
+
+		List<File> liveJournals = new ArrayList<File>();
+		for (FileRestartInfoIdentifier identifier : journalEntries.keySet()) {
+			JournalEntry entry = journalEntries.get(identifier);
+			entry.close();
+			JournalEntry rewritten = writeJournal(identifier, entry.fileRestartInfo);
+			journalEntries.put(identifier, rewritten);
+			liveJournals.add(rewritten.journalFile);
+		}
+
+		File[] files = journalDirectory.listFiles();
+		if (files == null) {
+			return;
+		}
+
+		for (File file : files) {
+			if (!file.isFile()) {
+				continue;
+			}
+			if (file.getName().endsWith(TEMP_EXTENSION)
+					|| (file.getName().endsWith(JOURNAL_EXTENSION) && !liveJournals.contains(file))) {
+				log.info("removing unused journal file:{}", file);
+				if (!file.delete()) {
+					log.warn("unable to remove journal file:{}", file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Release the mapped journals held by this manager. The journals remain on
+	 * disk for recovery by a later instance.
+	 */
+	public synchronized void close() {
+		log.info("close()");
+		for (JournalEntry entry : journalEntries.values()) {
+			entry.close();
+		}
+		journalEntries.clear();
+	}
+
+	/**
+	 * Scan the journal directory and load every readable journal
+	 */
+	private synchronized void recover() throws FileRestartManagementException {
+		log.info("recover()");
+
+		File[] files = journalDirectory.listFiles();
+		if (files == null) {
+			throw new FileRestartManagementException("unable to list journal directory");
+		}
+
+		for (File file : files) {
+			if (!file.isFile()) {
+				continue;
+			}
+
+			if (file.getName().endsWith(TEMP_EXTENSION)) {
+				log.info("removing incomplete journal:{}", file);
+				if (!file.delete()) {
+					log.warn("unable to remove incomplete journal:{}", file);
+				}
+				continue;
+			}
+
+			if (!file.getName().endsWith(JOURNAL_EXTENSION)) {
+				continue;
+			}
+
+			try {
+				JournalEntry entry = readJournal(file);
+				journalEntries.put(entry.fileRestartInfo.identifierFromThisInfo(), entry);
+				log.info("recovered restart:{}", entry.fileRestartInfo);
+			} catch (IOException e) {
+				log.warn("unreadable restart journal will be removed:{}", file, e);
+				if (!file.delete()) {
+					log.warn("unable to remove unreadable journal:{}", file);
+				}
+			}
+		}
+	}
+
+	private JournalEntry entryForIdentifier(final FileRestartInfoIdentifier fileRestartInfoIdentifier)
+			throws FileRestartManagementException {
+		JournalEntry entry = journalEntries.get(fileRestartInfoIdentifier);
+		if (entry == null) {
+			throw new FileRestartManagementException("unable to find restart info");
+		}
+		return entry;
+	}
+
+	/**
+	 * Write a complete journal to a temporary file and move it into place, then
+	 * map it for segment updates
+	 */
+	private JournalEntry writeJournal(final FileRestartInfoIdentifier identifier,
+			final FileRestartInfo fileRestartInfo) throws FileRestartManagementException {
+
+		File journalFile = journalFileForIdentifier(identifier);
+		File tempFile = new File(journalDirectory, journalFile.getName() + ".tmp");
+
+		try {
+			byte[] metadata = encodeMetadata(fileRestartInfo);
+			int segmentCount = fileRestartInfo.getFileRestartDataSegments().size();
+			ByteBuffer contents = ByteBuffer.allocate(journalLength(metadata.length, segmentCount));
+			contents.putInt(MAGIC);
+			contents.putInt(VERSION);
+			contents.putInt(fileRestartInfo.getNumberRestarts());
+			contents.putInt(segmentCount);
+			contents.putInt(metadata.length);
+			contents.putInt(crcOf(metadata, 0, metadata.length));
+			contents.put(metadata);
+
+			int segmentArea = segmentAreaPosition(metadata.length);
+			for (int i = 0; i < segmentCount; i++) {
+				FileRestartDataSegment segment = fileRestartInfo.getFileRestartDataSegments().get(i);
+				if (segment.getThreadNumber() != i) {
+					log.error("segment out of order in restart info:{}", fileRestartInfo);
+					throw new FileRestartManagementException("thread number mismatch");
+				}
+				writeSlot(contents, slotPosition(segmentArea, i, FIRST_GENERATION), FIRST_GENERATION, segment);
+			}
+			contents.rewind();
+
+			RandomAccessFile tempRaf = new RandomAccessFile(tempFile, "rw");
+			try {
+				FileChannel channel = tempRaf.getChannel();
+				while (contents.hasRemaining()) {
+					channel.write(contents);
+				}
+				channel.force(true);
+			} finally {
+				tempRaf.close();
+			}
+
+			try {
+				Files.move(tempFile.toPath(), journalFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile.toPath(), journalFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			long[] generations = new long[segmentCount];
+			Arrays.fill(generations, FIRST_GENERATION);
+			return mapJournal(journalFile, fileRestartInfo, metadata.length, generations);
+
+		} catch (IOException e) {
+			log.error("io exception writing restart journal:{}", journalFile, e);
+			throw new FileRestartManagementException("unable to write restart journal", e);
+		}
+	}
+
+	/**
+	 * Read a journal written by this or an earlier manager, picking the latest
+	 * valid generation of each segment
+	 */
+	private JournalEntry readJournal(final File journalFile) throws IOException {
+
+		byte[] contents = Files.readAllBytes(journalFile.toPath());
+		ByteBuffer buffer = ByteBuffer.wrap(contents);
+
+		if (contents.length < HEADER_LENGTH || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			throw new IOException("not a restart journal");
+		}
+
+		int numberRestarts = buffer.getInt(NUMBER_RESTARTS_POSITION);
+		int segmentCount = buffer.getInt(12);
+		int metadataLength = buffer.getInt(16);
+		int metadataCrc = buffer.getInt(20);
+
+		if (segmentCount < 0 || metadataLength < 0
+				|| contents.length < journalLength(metadataLength, segmentCount)) {
+			throw new IOException("truncated restart journal");
+		}
+
+		if (crcOf(contents, HEADER_LENGTH, metadataLength) != metadataCrc) {
+			throw new IOException("restart journal metadata is corrupt");
+		}
+
+		FileRestartInfo fileRestartInfo = decodeMetadata(contents, HEADER_LENGTH, metadataLength);
+		fileRestartInfo.setNumberRestarts(numberRestarts);
+
+		int segmentArea = segmentAreaPosition(metadataLength);
+		long[] generations = new long[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			FileRestartDataSegment segment = new FileRestartDataSegment(i);
+			long bestGeneration = 0L;
+			for (int slot = 0; slot < SLOTS_PER_SEGMENT; slot++) {
+				int position = segmentArea + (((i * SLOTS_PER_SEGMENT) + slot) * SLOT_LENGTH);
+				if (crcOf(contents, position, SLOT_CRC_POSITION) != buffer.getInt(position + SLOT_CRC_POSITION)) {
+					// torn or never written slot
+					continue;
+				}
+				long generation = buffer.getLong(position);
+				if (generation > bestGeneration && buffer.getInt(position + 24) == i) {
+					bestGeneration = generation;
+					segment.setOffset(buffer.getLong(position + 8));
+					segment.setLength(buffer.getLong(position + 16));
+				}
+			}
+			if (bestGeneration == 0L) {
+				throw new IOException("no valid record for segment " + i);
+			}
+			generations[i] = bestGeneration;
+			fileRestartInfo.getFileRestartDataSegments().add(segment);
+		}
+
+		return mapJournal(journalFile, fileRestartInfo, metadataLength, generations);
+	}
+
+	/**
+	 * Open a journal for segment updates, mapped, or when not mapping, through a
+	 * channel that is held open until the entry is closed
+	 */
+	private JournalEntry mapJournal(final File journalFile, final FileRestartInfo fileRestartInfo,
+			final int metadataLength, final long[] generations) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(journalFile, "rw");
+		if (!mapJournals) {
+			return new JournalEntry(journalFile, fileRestartInfo, null, raf, segmentAreaPosition(metadataLength),
+					generations);
+		}
+
+		try {
+			FileChannel channel = raf.getChannel();
+			MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, channel.size());
+			return new JournalEntry(journalFile, fileRestartInfo, buffer, null, segmentAreaPosition(metadataLength),
+					generations);
+		} finally {
+			// the mapping stays valid after the channel is closed
+			raf.close();
+		}
+	}
+
+	/**
+	 * Derive the journal file name from the identifier, which is hashed to avoid
+	 * path characters and length limits
+	 */
+	File journalFileForIdentifier(final FileRestartInfoIdentifier identifier) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(identifier.getIrodsAccountIdentifier());
+		sb.append('\n');
+		sb.append(identifier.getRestartType());
+		sb.append('\n');
+		sb.append(identifier.getAbsolutePath());
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+			return new File(journalDirectory, Hex.encodeHexString(hash) + JOURNAL_EXTENSION);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	private static byte[] encodeMetadata(final FileRestartInfo fileRestartInfo) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(bos);
+		dos.writeUTF(fileRestartInfo.getIrodsAccountIdentifier());
+		dos.writeUTF(fileRestartInfo.getLocalAbsolutePath());
+		dos.writeUTF(fileRestartInfo.getIrodsAbsolutePath());
+		dos.writeUTF(fileRestartInfo.getRestartType().name());
+		dos.writeUTF(fileRestartInfo.getRestartStatus().name());
+		dos.flush();
+		return bos.toByteArray();
+	}
+
+	private static FileRestartInfo decodeMetadata(final byte[] contents, final int position, final int length)
+			throws IOException {
+		DataInputStream dis = new DataInputStream(new ByteArrayInputStream(contents, position, length));
+		FileRestartInfo fileRestartInfo = new FileRestartInfo();
+		fileRestartInfo.setIrodsAccountIdentifier(dis.readUTF());
+		fileRestartInfo.setLocalAbsolutePath(dis.readUTF());
+		fileRestartInfo.setIrodsAbsolutePath(dis.readUTF());
+		try {
+			fileRestartInfo.setRestartType(RestartType.valueOf(dis.readUTF()));
+			fileRestartInfo.setRestartStatus(RestartStatus.valueOf(dis.readUTF()));
+		} catch (IllegalArgumentException e) {
+			throw new IOException("unknown restart type or status in journal", e);
+		}
+		return fileRestartInfo;
+	}
+
+	private static void writeSlot(final ByteBuffer buffer, final int position, final long generation,
+			final FileRestartDataSegment segment) {
+		buffer.putLong(position, generation);
+		buffer.putLong(position + 8, segment.getOffset());
+		buffer.putLong(position + 16, segment.getLength());
+		buffer.putInt(position + 24, segment.getThreadNumber());
+		CRC32 crc = new CRC32();
+		for (int i = 0; i < SLOT_CRC_POSITION; i++) {
+			crc.update(buffer.get(position + i));
+		}
+		buffer.putInt(position + SLOT_CRC_POSITION, (int) crc.getValue());
+	}
+
+	private static int crcOf(final byte[] bytes, final int position, final int length) {
+		CRC32 crc = new CRC32();
+		crc.update(bytes, position, length);
+		return (int) crc.getValue();
+	}
+
+	private static int segmentAreaPosition(final int metadataLength) {
+		int position = HEADER_LENGTH + metadataLength;
+		// keep the slots 8 byte aligned
+		return (position + 7) & ~7;
+	}
+
+	/**
+	 * Successive generations of a segment alternate between its two slots
+	 */
+	private static int slotPosition(final int segmentArea, final int threadNumber, final long generation) {
+		int slot = (int) (generation % SLOTS_PER_SEGMENT);
+		return segmentArea + (((threadNumber * SLOTS_PER_SEGMENT) + slot) * SLOT_LENGTH);
+	}
+
+	private static int journalLength(final int metadataLength, final int segmentCount) {
+		return segmentAreaPosition(metadataLength) + (segmentCount * SLOTS_PER_SEGMENT * SLOT_LENGTH);
+	}
+
+	/**
+	 * In-memory view of a journal, either mapped or open for writing
+	 */
+	private static final class JournalEntry {
+		private final File journalFile;
+		private final FileRestartInfo fileRestartInfo;
+		/**
+		 * The mapped journal, or {@code null} if not mapped
+		 */
+		private final MappedByteBuffer buffer;
+		/**
+		 * The open journal when not mapped, or {@code null} if mapped
+		 */
+		private final RandomAccessFile unmappedFile;
+		private final int segmentArea;
+		/**
+		 * Last generation written for each segment, only touched by the thread
+		 * that owns the segment
+		 */
+		private final long[] generations;
+
+		JournalEntry(final File journalFile, final FileRestartInfo fileRestartInfo, final MappedByteBuffer buffer,
+				final RandomAccessFile unmappedFile, final int segmentArea, final long[] generations) {
+			this.journalFile = journalFile;
+			this.fileRestartInfo = fileRestartInfo;
+			this.buffer = buffer;
+			this.unmappedFile = unmappedFile;
+			this.segmentArea = segmentArea;
+			this.generations = generations;
+		}
+
+		FileRestartDataSegment segmentForThread(final int threadNumber) throws FileRestartManagementException {
+			if (threadNumber < 0 || threadNumber >= generations.length) {
+				log.error("fileRestartInfo does not contain the given segment:{}", threadNumber);
+				throw new FileRestartManagementException("unable to locate thread number");
+			}
+			FileRestartDataSegment segment = fileRestartInfo.getFileRestartDataSegments().get(threadNumber);
+			if (segment.getThreadNumber() != threadNumber) {
+				log.error("thread number in segment does not match requested:{}", threadNumber);
+				throw new FileRestartManagementException("thread number mismatch");
+			}
+			return segment;
+		}
+
+		/**
+		 * Write the segment into the slot that does not hold the current
+		 * generation. Absolute puts and positional channel writes do not touch a
+		 * shared position, so threads writing different segments do not
+		 * interfere.
+		 */
+		void writeSegment(final FileRestartDataSegment segment) throws FileRestartManagementException {
+			int threadNumber = segment.getThreadNumber();
+			long generation = generations[threadNumber] + 1;
+			int position = slotPosition(segmentArea, threadNumber, generation);
+			if (buffer != null) {
+				writeSlot(buffer, position, generation, segment);
+			} else {
+				ByteBuffer slot = ByteBuffer.allocate(SLOT_LENGTH);
+				writeSlot(slot, 0, generation, segment);
+				writeUnmapped(slot, position, false);
+			}
+			generations[threadNumber] = generation;
+		}
+
+		void writeNumberRestarts(final int numberRestarts) throws FileRestartManagementException {
+			if (buffer != null) {
+				buffer.putInt(NUMBER_RESTARTS_POSITION, numberRestarts);
+				buffer.force();
+			} else {
+				ByteBuffer value = ByteBuffer.allocate(4);
+				value.putInt(0, numberRestarts);
+				writeUnmapped(value, NUMBER_RESTARTS_POSITION, true);
+			}
+		}
+
+		private void writeUnmapped(final ByteBuffer bytes, final long position, final boolean force)
+				throws FileRestartManagementException {
+			try {
+				FileChannel channel = unmappedFile.getChannel();
+				long writePosition = position;
+				while (bytes.hasRemaining()) {
+					writePosition += channel.write(bytes, writePosition);
+				}
+				if (force) {
+					channel.force(false);
+				}
+			} catch (IOException e) {
+				log.error("io exception writing restart journal:{}", journalFile, e);
+				throw new FileRestartManagementException("unable to write restart journal", e);
+			}
+		}
+
+		/**
+		 * Flush the journal, and when not mapped close it, so that it may be
+		 * deleted or replaced
+		 */
+		void close() {
+			if (buffer != null) {
+				buffer.force();
+				return;
+			}
+
+			try {
+				try {
+					unmappedFile.getChannel().force(false);
+				} finally {
+					unmappedFile.close();
+				}
+			} catch (IOException e) {
+				log.warn("unable to close restart journal:{}", journalFile, e);
+			}
+		}
+	}
+
+}
@@ -253,4 +253,22 @@ public interface TransferControlBlock {
 	 */
 	void setTotalFilesSkippedSoFar(int totalFilesSkippedSoFar);
 
+	/**
+	 * Get the (optional) manifest that records the progress of a recursive
+	 * transfer so that it may be resumed
+	 *
+	 * @return {@link TransferManifest} or {@code null} if not used
+	 */
+	TransferManifest getTransferManifest();
+
+	/**
+	 * Set the (optional) manifest that records the progress of a recursive
+	 * transfer. Files and directories already recorded as complete will be
+	 * skipped without contacting iRODS. Set to {@code null} if not desired.
+	 *
+	 * @param transferManifest
+	 *            {@link TransferManifest}
+	 */
+	void setTransferManifest(TransferManifest transferManifest);
+
 }
@@ -0,0 +1,99 @@
+package org.irods.jargon.core.transfer;
+
+/**
+ * Journal of the progress of a recursive transfer. When a
+ * {@link TransferControlBlock} carries a manifest, a recursive put or get
+ * records each file and directory as it is finished, and a later run of the
+ * same transfer with the same manifest skips finished entries without listing
+ * or stat calls against iRODS or the local file system.
+ * <p>
+ * Paths are the source paths of the transfer, that is the local file for a put
+ * and the iRODS file for a get, the same as
+ * {@link TransferControlBlock#filter(String)}. The segment state of a file that
+ * was in progress is not kept here, it is kept by the
+ * {@link AbstractRestartManager} of the session when long file restart is
+ * enabled.
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+public interface TransferManifest {
+
+	/**
+	 * Check whether a file was completely transferred in this or a prior run
+	 *
+	 * @param absolutePath
+	 *            {@code String} with the source path of the file
+	 * @return {@code boolean} of {@code true} if the file may be skipped
+	 */
+	boolean isFileComplete(String absolutePath);
+
+	/**
+	 * Check whether a directory and everything underneath it was completely
+	 * transferred in this or a prior run
+	 *
+	 * @param absolutePath
+	 *            {@code String} with the source path of the directory
+	 * @return {@code boolean} of {@code true} if the directory may be skipped
+	 */
+	boolean isDirectoryComplete(String absolutePath);
+
+	/**
+	 * Check whether a file was started but not finished in a prior run
+	 *
+	 * @param absolutePath
+	 *            {@code String} with the source path of the file
+	 * @return {@code boolean} of {@code true} if the file was in progress
+	 */
+	boolean isFileInProgress(String absolutePath);
+
+	/**
+	 * Record that the transfer of a file has started
+	 *
+	 * @param absolutePath
+	 *            {@code String} with the source path of the file
+	 * @throws FileRestartManagementException
+	 *             if the manifest cannot be written
+	 */
+	void markFileStarted(String absolutePath) throws FileRestartManagementException;
+
+	/**
+	 * Record that a file has been completely transferred
+	 *
+	 * @param absolutePath
+	 *            {@code String} with the source path of the file
+	 * @throws FileRestartManagementException
+	 *             if the manifest cannot be written
+	 */
+	void markFileComplete(String absolutePath) throws FileRestartManagementException;
+
+	/**
+	 * Record that the processing of a directory has started, and that its
+	 * contents are still pending
+	 *
+	 * @param absolutePath
+	 *            {@code String} with the source path of the directory
+	 * @throws FileRestartManagementException
+	 *             if the manifest cannot be written
+	 */
+	void markDirectoryPending(String absolutePath) throws FileRestartManagementException;
+
+	/**
+	 * Record that a directory and all of its contents have been transferred
+	 *
+	 * @param absolutePath
+	 *            {@code String} with the source path of the directory
+	 * @throws FileRestartManagementException
+	 *             if the manifest cannot be written
+	 */
+	void markDirectoryComplete(String absolutePath) throws FileRestartManagementException;
+
+	/**
+	 * Flush and release the manifest
+	 *
+	 * @throws FileRestartManagementException
+	 *             if the manifest cannot be written
+	 */
+	void close() throws FileRestartManagementException;
+
+}
@@ -0,0 +1,55 @@
+package org.irods.jargon.core.checksum;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.irods.jargon.testutils.TestingPropertiesHelper;
+import org.irods.jargon.testutils.filemanip.FileGenerator;
+import org.irods.jargon.testutils.filemanip.ScratchFileUtils;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BulkLocalChecksumServiceTest {
+
+	private static Properties testingProperties = new Properties();
+	private static ScratchFileUtils scratchFileUtils = null;
+	public static final String IRODS_TEST_SUBDIR_PATH = "BulkLocalChecksumServiceTest";
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		TestingPropertiesHelper testingPropertiesLoader = new TestingPropertiesHelper();
+		testingProperties = testingPropertiesLoader.getTestProperties();
+		scratchFileUtils = new ScratchFileUtils(testingProperties);
+		scratchFileUtils.clearAndReinitializeScratchDirectory(IRODS_TEST_SUBDIR_PATH);
+	}
+
+	@Test
+	public void testComputeChecksumsMatchesStrategy() throws Exception {
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		List<String> paths = new ArrayList<String>();
+		for (int i = 0; i < 10; i++) {
+			paths.add(FileGenerator.generateFileOfFixedLengthGivenName(absPath,
+					"testComputeChecksumsMatchesStrategy" + i + ".txt", 1000 + i * 10000));
+		}
+		paths.add(absPath + "/doesNotExist.txt");
+
+		BulkLocalChecksumService service = new BulkLocalChecksumService(new LocalChecksumComputerFactoryImpl(),
+				ChecksumEncodingEnum.SHA256, 3, 4096);
+		Map<String, ChecksumValue> actual = service.computeChecksums(paths);
+
+		SHA256LocalChecksumComputerStrategy strategy = new SHA256LocalChecksumComputerStrategy();
+		for (int i = 0; i < 10; i++) {
+			String path = paths.get(i);
+			Assert.assertEquals("checksum mismatch for:" + path,
+					strategy.computeChecksumValueForLocalFile(path).getChecksumStringValue(),
+					actual.get(path).getChecksumStringValue());
+		}
+		Assert.assertEquals(10, service.getStatistics().getFilesComputed());
+		Assert.assertEquals(1, service.getStatistics().getFilesFailed());
+	}
+
+}
@@ -0,0 +1,102 @@
+package org.irods.jargon.core.checksum;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Properties;
+
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.irods.jargon.testutils.TestingPropertiesHelper;
+import org.irods.jargon.testutils.filemanip.FileGenerator;
+import org.irods.jargon.testutils.filemanip.ScratchFileUtils;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class FileBasedLocalChecksumCacheTest {
+
+	private static Properties testingProperties = new Properties();
+	private static ScratchFileUtils scratchFileUtils = null;
+	public static final String IRODS_TEST_SUBDIR_PATH = "FileBasedLocalChecksumCacheTest";
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		TestingPropertiesHelper testingPropertiesLoader = new TestingPropertiesHelper();
+		testingProperties = testingPropertiesLoader.getTestProperties();
+		scratchFileUtils = new ScratchFileUtils(testingProperties);
+		scratchFileUtils.clearAndReinitializeScratchDirectory(IRODS_TEST_SUBDIR_PATH);
+	}
+
+	@Test
+	public void testStoreAndRetrieveAfterReopen() throws Exception {
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		File cacheFile = new File(absPath, "testStoreAndRetrieveAfterReopen.cache");
+		String localFileName = FileGenerator.generateFileOfFixedLengthGivenName(absPath,
+				"testStoreAndRetrieveAfterReopen.txt", 1000);
+		LocalChecksumCacheKey key = LocalChecksumCacheKey.instance(new File(localFileName));
+		byte[] digest = new byte[] { 1, 2, 3, 4 };
+
+		FileBasedLocalChecksumCache cache = FileBasedLocalChecksumCache.instance(cacheFile);
+		cache.storeDigest(key, ChecksumEncodingEnum.MD5, digest);
+		cache.close();
+
+		FileBasedLocalChecksumCache reopened = FileBasedLocalChecksumCache.instance(cacheFile);
+		Assert.assertArrayEquals("did not get digest back", digest,
+				reopened.retrieveDigest(key, ChecksumEncodingEnum.MD5));
+		Assert.assertNull("should not get digest for other encoding",
+				reopened.retrieveDigest(key, ChecksumEncodingEnum.SHA256));
+		LocalChecksumCacheKey changedKey = new LocalChecksumCacheKey(key.getCanonicalPath(), key.getLength() + 1,
+				key.getLastModifiedNanos(), key.getFileKey());
+		Assert.assertNull("should not get digest for changed file",
+				reopened.retrieveDigest(changedKey, ChecksumEncodingEnum.MD5));
+		reopened.close();
+	}
+
+	@Test
+	public void testTornRecordIgnored() throws Exception {
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		File cacheFile = new File(absPath, "testTornRecordIgnored.cache");
+		LocalChecksumCacheKey key1 = new LocalChecksumCacheKey("/local/file1", 10L, 20L, "");
+		LocalChecksumCacheKey key2 = new LocalChecksumCacheKey("/local/file2", 10L, 20L, "");
+
+		FileBasedLocalChecksumCache cache = FileBasedLocalChecksumCache.instance(cacheFile);
+		cache.storeDigest(key1, ChecksumEncodingEnum.MD5, new byte[] { 1 });
+		cache.close();
+
+		FileOutputStream fos = new FileOutputStream(cacheFile, true);
+		try {
+			fos.write(new byte[] { 0, 0, 0, 40, 1, 2 });
+		} finally {
+			fos.close();
+		}
+
+		FileBasedLocalChecksumCache reopened = FileBasedLocalChecksumCache.instance(cacheFile);
+		Assert.assertNotNull("lost good record", reopened.retrieveDigest(key1, ChecksumEncodingEnum.MD5));
+		reopened.storeDigest(key2, ChecksumEncodingEnum.MD5, new byte[] { 2 });
+		reopened.close();
+
+		reopened = FileBasedLocalChecksumCache.instance(cacheFile);
+		Assert.assertNotNull("lost record after torn record", reopened.retrieveDigest(key2, ChecksumEncodingEnum.MD5));
+		reopened.close();
+	}
+
+	@Test
+	public void testCachingStrategyUsesStoredDigest() throws Exception {
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		File cacheFile = new File(absPath, "testCachingStrategyUsesStoredDigest.cache");
+		String localFileName = FileGenerator.generateFileOfFixedLengthGivenName(absPath,
+				"testCachingStrategyUsesStoredDigest.txt", 1000);
+
+		FileBasedLocalChecksumCache cache = FileBasedLocalChecksumCache.instance(cacheFile);
+		LocalChecksumComputerFactory factory = new LocalChecksumComputerFactoryImpl();
+		factory.setLocalChecksumCache(cache);
+		AbstractChecksumComputeStrategy strategy = factory.instance(ChecksumEncodingEnum.SHA256);
+
+		ChecksumValue computed = strategy.computeChecksumValueForLocalFile(localFileName);
+		Assert.assertEquals("digest not cached", 1, cache.size());
+		ChecksumValue cached = strategy.computeChecksumValueForLocalFile(localFileName);
+		Assert.assertEquals("cached checksum differs", computed.getChecksumTransmissionFormat(),
+				cached.getChecksumTransmissionFormat());
+		cache.close();
+	}
+
+}
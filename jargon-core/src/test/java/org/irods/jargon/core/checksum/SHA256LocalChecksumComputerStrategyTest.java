@@ -1,5 +1,7 @@
 package org.irods.jargon.core.checksum;
 
+import java.io.FileInputStream;
+import java.security.MessageDigest;
 import java.util.Properties;
 
 import org.apache.commons.codec.binary.Base64;
@@ -54,4 +56,34 @@ public class SHA256LocalChecksumComputerStrategyTest {
 		Assert.assertEquals("did no correctly compute base64 value", actual.getBase64ChecksumValue(), base64TestValue);
 	}
 
+	@Test
+	public void testChecksumFromStreamedDigestMatchesFile() throws Exception {
+		String testFileName = "testChecksumFromStreamedDigestMatchesFile.txt";
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String localFileName = FileGenerator.generateFileOfFixedLengthGivenName(absPath, testFileName, 100000);
+
+		SHA256LocalChecksumComputerStrategy checksumStrategy = new SHA256LocalChecksumComputerStrategy();
+		ChecksumValue expected = checksumStrategy.computeChecksumValueForLocalFile(localFileName);
+
+		MessageDigest digest = checksumStrategy.instanceMessageDigest();
+		FileInputStream fis = new FileInputStream(localFileName);
+		try {
+			byte[] buffer = new byte[4096];
+			int read;
+			while ((read = fis.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		} finally {
+			fis.close();
+		}
+
+		ChecksumValue actual = checksumStrategy.computeChecksumValueFromDigest(digest.digest());
+		Assert.assertEquals("streamed sha256 checksum does not match", expected.getChecksumStringValue(),
+				actual.getChecksumStringValue());
+		Assert.assertEquals("transmission value improper", expected.getChecksumTransmissionFormat(),
+				actual.getChecksumTransmissionFormat());
+		Assert.assertEquals("encoding improper", expected.getChecksumEncoding(), actual.getChecksumEncoding());
+
+	}
+
 }
@@ -0,0 +1,161 @@
+package org.irods.jargon.core.connection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.irods.jargon.core.connection.MetadataChangeEvent.MetadataChangeType;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BoundedMetadataCacheTest {
+
+	private static IRODSAccount irodsAccount;
+	private static IRODSAccount otherAccount;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		irodsAccount = IRODSAccount.instance("host", 1247, "user", "password", "/zone/home/user", "zone", "");
+		otherAccount = IRODSAccount.instance("host", 1247, "other", "password", "/zone/home/other", "zone", "");
+	}
+
+	@Test
+	public void testPutAndGet() {
+		BoundedMetadataCache target = new BoundedMetadataCache(100, 10000);
+		target.put(key(irodsAccount, "listing", "/zone/home/user", 0), "value");
+		Assert.assertEquals("value", target.get(key(irodsAccount, "listing", "/zone/home/user", 0)));
+		Assert.assertNull("other arguments should not match",
+				target.get(key(irodsAccount, "listing", "/zone/home/user", 500)));
+		Assert.assertNull("other account should not match",
+				target.get(key(otherAccount, "listing", "/zone/home/user", 0)));
+	}
+
+	@Test
+	public void testGetExpired() throws Exception {
+		BoundedMetadataCache target = new BoundedMetadataCache(100, 50);
+		target.put(key(irodsAccount, "listing", "/zone/home/user", 0), "value");
+		Thread.sleep(100);
+		Assert.assertNull("entry should have expired", target.get(key(irodsAccount, "listing", "/zone/home/user", 0)));
+		Assert.assertEquals(0, target.size());
+	}
+
+	@Test
+	public void testPutOverMaxDropsLeastRecentlyUsed() {
+		BoundedMetadataCache target = new BoundedMetadataCache(2, 10000);
+		target.put(key(irodsAccount, "listing", "/zone/a", 0), "a");
+		target.put(key(irodsAccount, "listing", "/zone/b", 0), "b");
+		// a is now more recently used than b
+		Assert.assertEquals("a", target.get(key(irodsAccount, "listing", "/zone/a", 0)));
+		target.put(key(irodsAccount, "listing", "/zone/c", 0), "c");
+
+		Assert.assertEquals(2, target.size());
+		Assert.assertEquals("a", target.get(key(irodsAccount, "listing", "/zone/a", 0)));
+		Assert.assertNull("b should have been dropped", target.get(key(irodsAccount, "listing", "/zone/b", 0)));
+		Assert.assertEquals("c", target.get(key(irodsAccount, "listing", "/zone/c", 0)));
+	}
+
+	@Test
+	public void testInvalidatePathPrefix() {
+		BoundedMetadataCache target = new BoundedMetadataCache(100, 10000);
+		target.put(key(irodsAccount, "listing", "/zone/home/user/coll", 0), "coll");
+		target.put(key(otherAccount, "listing", "/zone/home/user/coll/sub", 0), "sub");
+		target.put(key(irodsAccount, "listing", "/zone/home/user/collection2", 0), "collection2");
+		target.put(key(irodsAccount, "groups", null, "user"), "groups");
+
+		target.invalidatePathPrefix("/zone/home/user/coll");
+
+		Assert.assertNull(target.get(key(irodsAccount, "listing", "/zone/home/user/coll", 0)));
+		Assert.assertNull(target.get(key(otherAccount, "listing", "/zone/home/user/coll/sub", 0)));
+		Assert.assertEquals("a sibling sharing the prefix should be kept", "collection2",
+				target.get(key(irodsAccount, "listing", "/zone/home/user/collection2", 0)));
+		Assert.assertEquals("groups", target.get(key(irodsAccount, "groups", null, "user")));
+	}
+
+	@Test
+	public void testMetadataChangedDropsPathAndParent() {
+		BoundedMetadataCache target = new BoundedMetadataCache(100, 10000);
+		target.put(key(irodsAccount, "avus", "/zone/home/user/file.txt"), "avus");
+		target.put(key(irodsAccount, "listing", "/zone/home/user", 0), "listing");
+		target.put(key(irodsAccount, "listing", "/zone/home", 0), "grandparent");
+
+		target.metadataChanged(
+				MetadataChangeEvent.instanceForPath(MetadataChangeType.AVU_ADD, "/zone/home/user/file.txt"));
+
+		Assert.assertNull(target.get(key(irodsAccount, "avus", "/zone/home/user/file.txt")));
+		Assert.assertNull("parent listing should be dropped",
+				target.get(key(irodsAccount, "listing", "/zone/home/user", 0)));
+		Assert.assertEquals("grandparent", target.get(key(irodsAccount, "listing", "/zone/home", 0)));
+	}
+
+	@Test
+	public void testMetadataChangedMoveDropsSourceAndTarget() {
+		BoundedMetadataCache target = new BoundedMetadataCache(100, 10000);
+		target.put(key(irodsAccount, "listing", "/zone/home/user/from", 0), "from");
+		target.put(key(irodsAccount, "listing", "/zone/home/other", 0), "targetParent");
+		target.put(key(irodsAccount, "listing", "/zone/home/unrelated", 0), "unrelated");
+
+		target.metadataChanged(MetadataChangeEvent.instanceForMove("/zone/home/user/from", "/zone/home/other/to"));
+
+		Assert.assertNull(target.get(key(irodsAccount, "listing", "/zone/home/user/from", 0)));
+		Assert.assertNull(target.get(key(irodsAccount, "listing", "/zone/home/other", 0)));
+		Assert.assertEquals("unrelated", target.get(key(irodsAccount, "listing", "/zone/home/unrelated", 0)));
+	}
+
+	@Test
+	public void testMetadataChangedUserGroupClears() {
+		BoundedMetadataCache target = new BoundedMetadataCache(100, 10000);
+		target.put(key(irodsAccount, "permission", "/zone/home/user/file.txt", "user"), "own");
+		target.put(key(irodsAccount, "groups", null, "user"), "groups");
+
+		target.metadataChanged(MetadataChangeEvent.instanceForUserGroup("group"));
+
+		Assert.assertEquals(0, target.size());
+	}
+
+	@Test
+	public void testSessionPublishesToCacheAndListeners() throws Exception {
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		IRODSSession irodsSession = new IRODSSession(jargonProperties);
+		Assert.assertNull("cache should be off by default", irodsSession.getMetadataCache());
+
+		jargonProperties.setMetadataCacheTimeToLiveMillis(10000);
+		MetadataCache metadataCache = irodsSession.getMetadataCache();
+		Assert.assertTrue(metadataCache instanceof BoundedMetadataCache);
+		metadataCache.put(key(irodsAccount, "listing", "/zone/home/user", 0), "listing");
+
+		final List<MetadataChangeEvent> events = new ArrayList<MetadataChangeEvent>();
+		irodsSession.addMetadataChangeListener(new MetadataChangeListener() {
+
+			@Override
+			public void metadataChanged(final MetadataChangeEvent metadataChangeEvent) {
+				events.add(metadataChangeEvent);
+			}
+		});
+
+		irodsSession.publishMetadataChange(
+				MetadataChangeEvent.instanceForPath(MetadataChangeType.DELETE, "/zone/home/user/file.txt"));
+
+		Assert.assertNull(metadataCache.get(key(irodsAccount, "listing", "/zone/home/user", 0)));
+		Assert.assertEquals(1, events.size());
+		Assert.assertEquals(MetadataChangeType.DELETE, events.get(0).getMetadataChangeType());
+	}
+
+	@Test
+	public void testSessionUsesGivenCache() throws Exception {
+		IRODSSession irodsSession = new IRODSSession(new SettableJargonProperties());
+		BoundedMetadataCache metadataCache = new BoundedMetadataCache(10, 10000);
+		irodsSession.setMetadataCache(metadataCache);
+		Assert.assertSame("should use the given cache", metadataCache, irodsSession.getMetadataCache());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMoveEventForPathNotAllowed() {
+		MetadataChangeEvent.instanceForPath(MetadataChangeType.MOVE, "/zone/home/user");
+	}
+
+	private static MetadataCacheKey key(final IRODSAccount account, final String operation, final String path,
+			final Object... arguments) {
+		return MetadataCacheKey.instance(account, operation, path, arguments);
+	}
+
+}
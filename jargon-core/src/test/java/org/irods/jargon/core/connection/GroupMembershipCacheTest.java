@@ -0,0 +1,108 @@
+package org.irods.jargon.core.connection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.irods.jargon.core.pub.domain.UserGroup;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class GroupMembershipCacheTest {
+
+	private static IRODSAccount irodsAccount;
+	private static IRODSAccount otherZoneAccount;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		irodsAccount = IRODSAccount.instance("host", 1247, "user", "password", "/zone/home/user", "zone", "");
+		otherZoneAccount = IRODSAccount.instance("otherhost", 1247, "user", "password", "/otherZone/home/user",
+				"otherZone", "");
+	}
+
+	@Test
+	public void testCacheAndLookup() {
+		GroupMembershipCache target = new GroupMembershipCache();
+		target.cacheUserGroups(irodsAccount, "user", groups("group1", "public"), 10000, 100);
+
+		List<UserGroup> actual = target.lookup(irodsAccount, "user");
+		Assert.assertNotNull(actual);
+		Assert.assertEquals(2, actual.size());
+		Assert.assertEquals("group1", actual.get(0).getUserGroupName());
+		Assert.assertNull("other zone should not match", target.lookup(otherZoneAccount, "user"));
+		Assert.assertNull("other user should not match", target.lookup(irodsAccount, "other"));
+	}
+
+	@Test
+	public void testCacheCopiesGroups() {
+		GroupMembershipCache target = new GroupMembershipCache();
+		List<UserGroup> userGroups = groups("group1");
+		target.cacheUserGroups(irodsAccount, "user", userGroups, 10000, 100);
+		userGroups.clear();
+		Assert.assertEquals(1, target.lookup(irodsAccount, "user").size());
+	}
+
+	@Test
+	public void testLookupExpired() throws Exception {
+		GroupMembershipCache target = new GroupMembershipCache();
+		target.cacheUserGroups(irodsAccount, "user", groups("group1"), 50, 100);
+		Thread.sleep(100);
+		Assert.assertNull("entry should have expired", target.lookup(irodsAccount, "user"));
+		Assert.assertEquals(0, target.size());
+	}
+
+	@Test
+	public void testCacheTimeToLiveZeroNotCached() {
+		GroupMembershipCache target = new GroupMembershipCache();
+		target.cacheUserGroups(irodsAccount, "user", groups("group1"), 0, 100);
+		Assert.assertNull(target.lookup(irodsAccount, "user"));
+	}
+
+	@Test
+	public void testCacheFullClears() {
+		GroupMembershipCache target = new GroupMembershipCache();
+		target.cacheUserGroups(irodsAccount, "user1", groups("group1"), 10000, 2);
+		target.cacheUserGroups(irodsAccount, "user2", groups("group1"), 10000, 2);
+		target.cacheUserGroups(irodsAccount, "user3", groups("group1"), 10000, 2);
+		Assert.assertEquals(1, target.size());
+		Assert.assertNotNull(target.lookup(irodsAccount, "user3"));
+	}
+
+	@Test
+	public void testInvalidateUser() {
+		GroupMembershipCache target = new GroupMembershipCache();
+		target.cacheUserGroups(irodsAccount, "user1", groups("group1"), 10000, 100);
+		target.cacheUserGroups(irodsAccount, "user2", groups("group1"), 10000, 100);
+		target.invalidateUser(irodsAccount, "user1");
+		Assert.assertNull(target.lookup(irodsAccount, "user1"));
+		Assert.assertNotNull(target.lookup(irodsAccount, "user2"));
+	}
+
+	@Test
+	public void testInvalidateZone() {
+		GroupMembershipCache target = new GroupMembershipCache();
+		target.cacheUserGroups(irodsAccount, "user1", groups("group1"), 10000, 100);
+		target.cacheUserGroups(irodsAccount, "user2", groups("group1"), 10000, 100);
+		target.cacheUserGroups(otherZoneAccount, "user1", groups("group1"), 10000, 100);
+		target.invalidateZone(irodsAccount);
+		Assert.assertNull(target.lookup(irodsAccount, "user1"));
+		Assert.assertNull(target.lookup(irodsAccount, "user2"));
+		Assert.assertNotNull("other zone should be kept", target.lookup(otherZoneAccount, "user1"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLookupNullUser() {
+		new GroupMembershipCache().lookup(irodsAccount, null);
+	}
+
+	private static List<UserGroup> groups(final String... names) {
+		List<UserGroup> userGroups = new ArrayList<UserGroup>();
+		for (String name : names) {
+			UserGroup userGroup = new UserGroup();
+			userGroup.setUserGroupName(name);
+			userGroups.add(userGroup);
+		}
+		return userGroups;
+	}
+
+}
@@ -0,0 +1,111 @@
+package org.irods.jargon.core.connection;
+
+import org.irods.jargon.core.connection.ObjStatCache.CachedObjStat;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ObjStatCacheTest {
+
+	private static IRODSAccount irodsAccount;
+	private static IRODSAccount otherAccount;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		irodsAccount = IRODSAccount.instance("host", 1247, "user", "password", "/zone/home/user", "zone", "");
+		otherAccount = IRODSAccount.instance("host", 1247, "other", "password", "/zone/home/other", "zone", "");
+	}
+
+	@Test
+	public void testCacheAndLookup() {
+		ObjStatCache target = new ObjStatCache();
+		ObjStat objStat = new ObjStat();
+		objStat.setAbsolutePath("/zone/home/user/file.txt");
+		target.cacheObjStat(irodsAccount, "/zone/home/user/file.txt", objStat, 10000, 100);
+		CachedObjStat actual = target.lookup(irodsAccount, "/zone/home/user/file.txt");
+		Assert.assertNotNull("did not find cached objStat", actual);
+		Assert.assertFalse("should not be not found", actual.isNotFound());
+		Assert.assertSame("did not get cached objStat", objStat, actual.getObjStat());
+	}
+
+	@Test
+	public void testLookupOtherAccountNotCached() {
+		ObjStatCache target = new ObjStatCache();
+		target.cacheObjStat(irodsAccount, "/zone/home/user/file.txt", new ObjStat(), 10000, 100);
+		Assert.assertNull("should not find entry of another account",
+				target.lookup(otherAccount, "/zone/home/user/file.txt"));
+	}
+
+	@Test
+	public void testCacheNotFound() {
+		ObjStatCache target = new ObjStatCache();
+		target.cacheNotFound(irodsAccount, "/zone/home/user/nothere", 10000, 100);
+		CachedObjStat actual = target.lookup(irodsAccount, "/zone/home/user/nothere");
+		Assert.assertNotNull("did not find not found entry", actual);
+		Assert.assertTrue("should be not found", actual.isNotFound());
+		Assert.assertNull("should have no objStat", actual.getObjStat());
+	}
+
+	@Test
+	public void testZeroTimeToLiveNotCached() {
+		ObjStatCache target = new ObjStatCache();
+		target.cacheObjStat(irodsAccount, "/zone/home/user/file.txt", new ObjStat(), 0, 100);
+		Assert.assertNull("should not cache", target.lookup(irodsAccount, "/zone/home/user/file.txt"));
+		Assert.assertEquals("should be empty", 0, target.size());
+	}
+
+	@Test
+	public void testExpired() throws Exception {
+		ObjStatCache target = new ObjStatCache();
+		target.cacheObjStat(irodsAccount, "/zone/home/user/file.txt", new ObjStat(), 1, 100);
+		Thread.sleep(20);
+		Assert.assertNull("should have expired", target.lookup(irodsAccount, "/zone/home/user/file.txt"));
+	}
+
+	@Test
+	public void testInvalidateDropsPathAndParent() {
+		ObjStatCache target = new ObjStatCache();
+		target.cacheObjStat(irodsAccount, "/zone/home/user", new ObjStat(), 10000, 100);
+		target.cacheObjStat(irodsAccount, "/zone/home/user/file.txt", new ObjStat(), 10000, 100);
+		target.cacheObjStat(otherAccount, "/zone/home/user/file.txt", new ObjStat(), 10000, 100);
+		target.cacheObjStat(irodsAccount, "/zone/home/user/other.txt", new ObjStat(), 10000, 100);
+		target.invalidate("/zone/home/user/file.txt");
+		Assert.assertNull("should drop path", target.lookup(irodsAccount, "/zone/home/user/file.txt"));
+		Assert.assertNull("should drop path for every account", target.lookup(otherAccount, "/zone/home/user/file.txt"));
+		Assert.assertNull("should drop parent", target.lookup(irodsAccount, "/zone/home/user"));
+		Assert.assertNotNull("should keep sibling", target.lookup(irodsAccount, "/zone/home/user/other.txt"));
+	}
+
+	@Test
+	public void testInvalidateTree() {
+		ObjStatCache target = new ObjStatCache();
+		target.cacheObjStat(irodsAccount, "/zone/home/user/coll", new ObjStat(), 10000, 100);
+		target.cacheObjStat(irodsAccount, "/zone/home/user/coll/file.txt", new ObjStat(), 10000, 100);
+		target.cacheNotFound(irodsAccount, "/zone/home/user/coll/sub/nothere", 10000, 100);
+		target.cacheObjStat(irodsAccount, "/zone/home/user/coll2", new ObjStat(), 10000, 100);
+		target.invalidateTree("/zone/home/user/coll");
+		Assert.assertNull("should drop collection", target.lookup(irodsAccount, "/zone/home/user/coll"));
+		Assert.assertNull("should drop child", target.lookup(irodsAccount, "/zone/home/user/coll/file.txt"));
+		Assert.assertNull("should drop descendant", target.lookup(irodsAccount, "/zone/home/user/coll/sub/nothere"));
+		Assert.assertNotNull("should keep collection with same prefix",
+				target.lookup(irodsAccount, "/zone/home/user/coll2"));
+	}
+
+	@Test
+	public void testFullCacheCleared() {
+		ObjStatCache target = new ObjStatCache();
+		target.cacheObjStat(irodsAccount, "/zone/a", new ObjStat(), 10000, 2);
+		target.cacheObjStat(irodsAccount, "/zone/b", new ObjStat(), 10000, 2);
+		target.cacheObjStat(irodsAccount, "/zone/c", new ObjStat(), 10000, 2);
+		Assert.assertEquals("should have cleared and added one", 1, target.size());
+		Assert.assertNotNull("should have newest", target.lookup(irodsAccount, "/zone/c"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCacheNullObjStat() {
+		ObjStatCache target = new ObjStatCache();
+		target.cacheObjStat(irodsAccount, "/zone/a", null, 10000, 100);
+	}
+
+}
@@ -0,0 +1,203 @@
+package org.irods.jargon.core.connection;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.irods.jargon.core.connection.RequestCoalescer.CoalescedRequest;
+import org.irods.jargon.core.exception.FileNotFoundException;
+import org.irods.jargon.core.exception.JargonException;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class RequestCoalescerTest {
+
+	private static IRODSAccount irodsAccount;
+	private static IRODSAccount otherAccount;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		irodsAccount = IRODSAccount.instance("host", 1247, "user", "password", "/zone/home/user", "zone", "");
+		otherAccount = IRODSAccount.instance("host", 1247, "other", "password", "/zone/home/other", "zone", "");
+	}
+
+	@Test
+	public void testExecuteSharesInFlightRequest() throws Exception {
+		final RequestCoalescer target = new RequestCoalescer();
+		final CountDownLatch leaderStarted = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger calls = new AtomicInteger();
+
+		final CoalescedRequest<String> request = new CoalescedRequest<String>() {
+
+			@Override
+			public String execute() throws JargonException {
+				calls.incrementAndGet();
+				leaderStarted.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					throw new JargonException(e);
+				}
+				return "result";
+			}
+		};
+
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> leader = executorService.submit(call(target, irodsAccount, request));
+			Assert.assertTrue("leader did not start", leaderStarted.await(10, TimeUnit.SECONDS));
+			Future<String> follower = executorService.submit(call(target, irodsAccount, request));
+
+			// give the follower time to find the request in flight
+			Thread.sleep(200);
+			release.countDown();
+
+			Assert.assertEquals("result", leader.get(10, TimeUnit.SECONDS));
+			Assert.assertEquals("result", follower.get(10, TimeUnit.SECONDS));
+			Assert.assertEquals("request should be made once", 1, calls.get());
+			Assert.assertEquals("request should be forgotten when done", 0, target.size());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testExecuteAfterDoneRunsAgain() throws Exception {
+		RequestCoalescer target = new RequestCoalescer();
+		final AtomicInteger calls = new AtomicInteger();
+		CoalescedRequest<Integer> request = new CoalescedRequest<Integer>() {
+
+			@Override
+			public Integer execute() throws JargonException {
+				return calls.incrementAndGet();
+			}
+		};
+
+		Assert.assertEquals(Integer.valueOf(1), target.execute(irodsAccount, "count", request, "/zone/home/user"));
+		Assert.assertEquals(Integer.valueOf(2), target.execute(irodsAccount, "count", request, "/zone/home/user"));
+	}
+
+	@Test
+	public void testExecuteOtherAccountNotShared() throws Exception {
+		final RequestCoalescer target = new RequestCoalescer();
+		final AtomicInteger calls = new AtomicInteger();
+
+		// made while the request of the first account is in flight
+		final CoalescedRequest<String> otherRequest = new CoalescedRequest<String>() {
+
+			@Override
+			public String execute() throws JargonException {
+				calls.incrementAndGet();
+				return "other";
+			}
+		};
+
+		String actual = target.execute(irodsAccount, "objStat", new CoalescedRequest<String>() {
+
+			@Override
+			public String execute() throws JargonException {
+				calls.incrementAndGet();
+				return target.execute(otherAccount, "objStat", otherRequest, "/zone/home/user");
+			}
+		}, "/zone/home/user");
+
+		Assert.assertEquals("other", actual);
+		Assert.assertEquals(2, calls.get());
+	}
+
+	@Test
+	public void testExecuteSameRequestOnSameThreadDoesNotWait() throws Exception {
+		final RequestCoalescer target = new RequestCoalescer();
+		final CoalescedRequest<String> inner = new CoalescedRequest<String>() {
+
+			@Override
+			public String execute() throws JargonException {
+				return "inner";
+			}
+		};
+
+		String actual = target.execute(irodsAccount, "objStat", new CoalescedRequest<String>() {
+
+			@Override
+			public String execute() throws JargonException {
+				return target.execute(irodsAccount, "objStat", inner, "/zone/home/user");
+			}
+		}, "/zone/home/user");
+
+		Assert.assertEquals("inner", actual);
+	}
+
+	@Test
+	public void testExecuteSharesException() throws Exception {
+		final RequestCoalescer target = new RequestCoalescer();
+		final CountDownLatch leaderStarted = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		final CoalescedRequest<String> request = new CoalescedRequest<String>() {
+
+			@Override
+			public String execute() throws JargonException {
+				leaderStarted.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					throw new JargonException(e);
+				}
+				throw new FileNotFoundException("not found");
+			}
+		};
+
+		ExecutorService executorService = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> leader = executorService.submit(call(target, irodsAccount, request));
+			Assert.assertTrue("leader did not start", leaderStarted.await(10, TimeUnit.SECONDS));
+			Future<String> follower = executorService.submit(call(target, irodsAccount, request));
+			Thread.sleep(200);
+			release.countDown();
+
+			assertFileNotFound(leader);
+			assertFileNotFound(follower);
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testExecuteNullAccount() throws Exception {
+		new RequestCoalescer().execute(null, "objStat", new CoalescedRequest<String>() {
+
+			@Override
+			public String execute() throws JargonException {
+				return "result";
+			}
+		});
+	}
+
+	private static Callable<String> call(final RequestCoalescer target, final IRODSAccount account,
+			final CoalescedRequest<String> request) {
+		return new Callable<String>() {
+
+			@Override
+			public String call() throws Exception {
+				return target.execute(account, "objStat", request, "/zone/home/user");
+			}
+		};
+	}
+
+	private static void assertFileNotFound(final Future<String> future) throws Exception {
+		try {
+			future.get(10, TimeUnit.SECONDS);
+			Assert.fail("should have thrown");
+		} catch (ExecutionException e) {
+			Assert.assertTrue("should share the exception", e.getCause() instanceof FileNotFoundException);
+		}
+	}
+
+}
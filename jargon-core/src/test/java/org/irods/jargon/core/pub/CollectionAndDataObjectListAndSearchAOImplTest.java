@@ -1,10 +1,12 @@
 package org.irods.jargon.core.pub;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 
 import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.JargonProperties;
 import org.irods.jargon.core.connection.SettableJargonProperties;
 import org.irods.jargon.core.connection.SettableJargonPropertiesMBean;
 import org.irods.jargon.core.exception.FileNotFoundException;
@@ -651,6 +653,134 @@ public class CollectionAndDataObjectListAndSearchAOImplTest {
 		Assert.assertEquals(count * 2, entries.size());
 	}
 
+	@Test
+	public void testIterateFilesAndCollectionsUnderPath() throws Exception {
+
+		String subdirPrefix = "testIterateFilesAndCollectionsUnderPath";
+		String fileName = "testIterateFilesAndCollectionsUnderPath.txt";
+
+		int count = 30;
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		String targetIrodsCollection = testingPropertiesHelper.buildIRODSCollectionAbsolutePathFromTestProperties(
+				testingProperties, IRODS_TEST_SUBDIR_PATH + "/" + subdirPrefix);
+		IRODSFile irodsFile = irodsFileSystem.getIRODSFileFactory(irodsAccount)
+				.instanceIRODSFile(targetIrodsCollection);
+		irodsFile.mkdir();
+		irodsFile.close();
+
+		String myTarget = "";
+
+		for (int i = 0; i < count; i++) {
+			myTarget = targetIrodsCollection + "/c" + (10000 + i) + subdirPrefix;
+			irodsFile = irodsFileSystem.getIRODSFileFactory(irodsAccount).instanceIRODSFile(myTarget);
+			irodsFile.mkdir();
+			irodsFile.close();
+		}
+
+		for (int i = 0; i < count; i++) {
+			myTarget = targetIrodsCollection + "/c" + (10000 + i) + fileName;
+			irodsFile = irodsFileSystem.getIRODSFileFactory(irodsAccount).instanceIRODSFile(myTarget);
+			irodsFile.createNewFile();
+			irodsFile.close();
+		}
+
+		JargonProperties originalProperties = irodsFileSystem.getJargonProperties();
+		SettableJargonProperties settableJargonProperties = new SettableJargonProperties(originalProperties);
+		settableJargonProperties.setMaxFilesAndDirsQueryMax(7);
+		irodsFileSystem.getIrodsSession().setJargonProperties(settableJargonProperties);
+
+		try {
+			CollectionAndDataObjectListAndSearchAO actual = irodsFileSystem.getIRODSAccessObjectFactory()
+					.getCollectionAndDataObjectListAndSearchAO(irodsAccount);
+			int collections = 0;
+			int dataObjects = 0;
+			CollectionAndDataObjectListingIterator iterator = actual
+					.iterateDataObjectsAndCollectionsUnderPath(targetIrodsCollection);
+			try {
+				while (iterator.hasNext()) {
+					CollectionAndDataObjectListingEntry entry = iterator.next();
+					if (entry.isCollection()) {
+						Assert.assertEquals("data object before collection", 0, dataObjects);
+						collections++;
+					} else {
+						dataObjects++;
+					}
+				}
+			} finally {
+				iterator.close();
+			}
+
+			Assert.assertEquals("wrong collection count", count, collections);
+			Assert.assertEquals("wrong data object count", count, dataObjects);
+
+			// stop early, the open query is closed and the connection still works
+			iterator = actual.iterateDataObjectsAndCollectionsUnderPath(targetIrodsCollection);
+			Assert.assertTrue("no entries", iterator.hasNext());
+			iterator.next();
+			iterator.close();
+			Assert.assertFalse("should have no entries once closed", iterator.hasNext());
+
+			Assert.assertEquals("wrong count from stream", count * 2,
+					actual.iterateDataObjectsAndCollectionsUnderPath(targetIrodsCollection).stream().count());
+		} finally {
+			irodsFileSystem.getIrodsSession().setJargonProperties(originalProperties);
+		}
+	}
+
+	@Test
+	public void testListCollectionsAndDataObjectsUnderPathAfterName() throws Exception {
+
+		String subdirPrefix = "testListCollectionsAndDataObjectsUnderPathAfterName";
+		String fileName = "testListCollectionsAndDataObjectsUnderPathAfterName.txt";
+
+		int count = 5;
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		String targetIrodsCollection = testingPropertiesHelper.buildIRODSCollectionAbsolutePathFromTestProperties(
+				testingProperties, IRODS_TEST_SUBDIR_PATH + "/" + subdirPrefix);
+		IRODSFile irodsFile = irodsFileSystem.getIRODSFileFactory(irodsAccount)
+				.instanceIRODSFile(targetIrodsCollection);
+		irodsFile.mkdir();
+		irodsFile.close();
+
+		String myTarget = "";
+
+		for (int i = 0; i < count; i++) {
+			myTarget = targetIrodsCollection + "/c" + (10000 + i) + subdirPrefix;
+			irodsFile = irodsFileSystem.getIRODSFileFactory(irodsAccount).instanceIRODSFile(myTarget);
+			irodsFile.mkdir();
+			irodsFile.close();
+		}
+
+		for (int i = 0; i < count; i++) {
+			myTarget = targetIrodsCollection + "/c" + (10000 + i) + fileName;
+			irodsFile = irodsFileSystem.getIRODSFileFactory(irodsAccount).instanceIRODSFile(myTarget);
+			irodsFile.createNewFile();
+			irodsFile.close();
+		}
+
+		CollectionAndDataObjectListAndSearchAO actual = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getCollectionAndDataObjectListAndSearchAO(irodsAccount);
+		ObjStat objStat = actual.retrieveObjectStatForPath(targetIrodsCollection);
+
+		List<CollectionAndDataObjectListingEntry> entries = actual.listCollectionsUnderPathAfterName(objStat, null, 2);
+		Assert.assertEquals("wrong first page of collections", 2, entries.size());
+		Assert.assertFalse("should be more collections", entries.get(1).isLastResult());
+		entries = actual.listCollectionsUnderPathAfterName(objStat, entries.get(1).getNodeLabelDisplayValue(), 10);
+		Assert.assertEquals("wrong second page of collections", count - 2, entries.size());
+		Assert.assertEquals("wrong collection after name", "c10002" + subdirPrefix,
+				entries.get(0).getNodeLabelDisplayValue());
+		Assert.assertTrue("should be last collection", entries.get(entries.size() - 1).isLastResult());
+
+		entries = actual.listDataObjectsUnderPathAfterName(objStat, "c10000" + fileName, 10);
+		Assert.assertEquals("wrong page of data objects", count - 1, entries.size());
+		Assert.assertEquals("wrong data object after name", "c10001" + fileName, entries.get(0).getPathOrName());
+		Assert.assertTrue("should be last data object", entries.get(entries.size() - 1).isLastResult());
+	}
+
 	@Test
 	public void testListFilesAndCollectionsUnderPathWithAccessInfo() throws Exception {
 
@@ -1645,6 +1775,85 @@ public class CollectionAndDataObjectListAndSearchAOImplTest {
 
 	}
 
+	@Test
+	public void testRetrieveObjectStatsForPaths() throws Exception {
+
+		String testSubdir = "testRetrieveObjectStatsForPaths";
+		String testFilePrefix = "testRetrieveObjectStatsForPaths";
+		int count = 5;
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String fileNameOrig = FileGenerator.generateFileOfFixedLengthGivenName(absPath, testFilePrefix + ".txt", 3);
+
+		String targetIrodsCollection = testingPropertiesHelper.buildIRODSCollectionAbsolutePathFromTestProperties(
+				testingProperties, IRODS_TEST_SUBDIR_PATH + "/" + testSubdir);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		IRODSFileFactory irodsFileFactory = irodsFileSystem.getIRODSFileFactory(irodsAccount);
+		IRODSFile irodsFile = irodsFileFactory.instanceIRODSFile(targetIrodsCollection + "/subcoll");
+		irodsFile.mkdirs();
+
+		DataObjectAOImpl dataObjectAO = (DataObjectAOImpl) irodsFileSystem.getIRODSAccessObjectFactory()
+				.getDataObjectAO(irodsAccount);
+		List<String> paths = new ArrayList<String>();
+		for (int i = 0; i < count; i++) {
+			String path = targetIrodsCollection + "/" + testFilePrefix + i + ".txt";
+			dataObjectAO.putLocalDataObjectToIRODS(new File(fileNameOrig), irodsFileFactory.instanceIRODSFile(path),
+					true);
+			paths.add(path);
+		}
+		paths.add(targetIrodsCollection + "/idontexist.txt");
+		paths.add(targetIrodsCollection + "/subcoll");
+		paths.add(targetIrodsCollection + "/idontexist/either.txt");
+
+		CollectionAndDataObjectListAndSearchAO listAndSearchAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getCollectionAndDataObjectListAndSearchAO(irodsAccount);
+
+		List<ObjStat> objStats = listAndSearchAO.retrieveObjectStatsForPaths(paths);
+		Assert.assertEquals("did not get an objStat per path", paths.size(), objStats.size());
+
+		for (int i = 0; i < count; i++) {
+			ObjStat expected = listAndSearchAO.retrieveObjectStatForPath(paths.get(i));
+			ObjStat actual = objStats.get(i);
+			Assert.assertNotNull("did not find data object", actual);
+			Assert.assertEquals("wrong path", paths.get(i), actual.getAbsolutePath());
+			Assert.assertEquals("not a data object", ObjectType.DATA_OBJECT, actual.getObjectType());
+			Assert.assertEquals("wrong size", expected.getObjSize(), actual.getObjSize());
+			Assert.assertEquals("wrong id", expected.getDataId(), actual.getDataId());
+			Assert.assertEquals("wrong owner", expected.getOwnerName(), actual.getOwnerName());
+			Assert.assertEquals("wrong modified", expected.getModifiedAt(), actual.getModifiedAt());
+		}
+
+		Assert.assertNull("should not find missing data object", objStats.get(count));
+		ObjStat collectionStat = objStats.get(count + 1);
+		Assert.assertNotNull("did not find collection", collectionStat);
+		Assert.assertEquals("not a collection", ObjectType.COLLECTION, collectionStat.getObjectType());
+		Assert.assertEquals("wrong collection id",
+				listAndSearchAO.retrieveObjectStatForPath(paths.get(count + 1)).getDataId(),
+				collectionStat.getDataId());
+		Assert.assertNull("should not find data object in missing collection", objStats.get(count + 2));
+	}
+
+	@Test
+	public void testRetrieveObjectStatsForPathsEmpty() throws Exception {
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		CollectionAndDataObjectListAndSearchAO listAndSearchAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getCollectionAndDataObjectListAndSearchAO(irodsAccount);
+
+		List<ObjStat> objStats = listAndSearchAO.retrieveObjectStatsForPaths(new ArrayList<String>());
+		Assert.assertTrue("should be empty", objStats.isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRetrieveObjectStatsForPathsNull() throws Exception {
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		CollectionAndDataObjectListAndSearchAO listAndSearchAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getCollectionAndDataObjectListAndSearchAO(irodsAccount);
+
+		listAndSearchAO.retrieveObjectStatsForPaths(null);
+	}
+
 	@Test
 	public void testObjStatForDataObject() throws Exception {
 
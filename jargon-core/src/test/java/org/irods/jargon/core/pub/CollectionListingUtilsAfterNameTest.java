@@ -0,0 +1,196 @@
+package org.irods.jargon.core.pub;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.pub.domain.ObjStat.SpecColType;
+import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
+import org.irods.jargon.core.query.GenQuerySelectField;
+import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+import org.irods.jargon.core.query.TranslatedGenQueryCondition;
+import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class CollectionListingUtilsAfterNameTest {
+
+	private static final String PARENT_PATH = "/zone/home/user/dir";
+
+	private static IRODSAccount irodsAccount;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		irodsAccount = IRODSAccount.instance("host", 1247, "user", "password", "/zone/home/user", "zone", "");
+	}
+
+	@Test
+	public void testListDataObjectsAfterNameWithQuote() throws Exception {
+		FakeGenQueryExecutor fake = new FakeGenQueryExecutor(false, "a", "b", "b'c", "b'd", "bz", "c");
+		CollectionListingUtils listingUtils = new CollectionListingUtils(irodsAccount, factory(fake));
+
+		List<CollectionAndDataObjectListingEntry> actual = listingUtils.listDataObjectsUnderPathAfterName(objStat(),
+				"b'c", 2);
+
+		Assert.assertEquals(2, actual.size());
+		Assert.assertEquals("b'd", actual.get(0).getPathOrName());
+		Assert.assertEquals("bz", actual.get(1).getPathOrName());
+		Assert.assertFalse("should be more after this page", actual.get(1).isLastResult());
+		Assert.assertEquals("each query should be keyed before the quote", Arrays.asList("b", "b"),
+				fake.keysetValues);
+	}
+
+	@Test
+	public void testListDataObjectsAfterNameStartingWithQuote() throws Exception {
+		FakeGenQueryExecutor fake = new FakeGenQueryExecutor(false, "'a", "'b", "a");
+		CollectionListingUtils listingUtils = new CollectionListingUtils(irodsAccount, factory(fake));
+
+		List<CollectionAndDataObjectListingEntry> actual = listingUtils.listDataObjectsUnderPathAfterName(objStat(),
+				"'a", 1);
+
+		Assert.assertEquals(1, actual.size());
+		Assert.assertEquals("'b", actual.get(0).getPathOrName());
+		Assert.assertTrue("query should have no keyset condition", fake.keysetValues.isEmpty());
+	}
+
+	@Test
+	public void testListCollectionsAfterNameWithQuote() throws Exception {
+		FakeGenQueryExecutor fake = new FakeGenQueryExecutor(true, "a", "b'c", "b'd", "bz");
+		CollectionListingUtils listingUtils = new CollectionListingUtils(irodsAccount, factory(fake));
+
+		List<CollectionAndDataObjectListingEntry> actual = listingUtils.listCollectionsUnderPathAfterName(objStat(),
+				"b'c", 5);
+
+		Assert.assertEquals(2, actual.size());
+		Assert.assertEquals(PARENT_PATH + "/b'd", actual.get(0).getPathOrName());
+		Assert.assertEquals(PARENT_PATH + "/bz", actual.get(1).getPathOrName());
+		Assert.assertTrue("should be the end of the listing", actual.get(1).isLastResult());
+		Assert.assertEquals("query should be keyed before the quote", Arrays.asList(PARENT_PATH + "/b"),
+				fake.keysetValues);
+	}
+
+	@Test
+	public void testListDataObjectsAfterNameWithoutQuote() throws Exception {
+		FakeGenQueryExecutor fake = new FakeGenQueryExecutor(false, "a", "b", "c");
+		CollectionListingUtils listingUtils = new CollectionListingUtils(irodsAccount, factory(fake));
+
+		List<CollectionAndDataObjectListingEntry> actual = listingUtils.listDataObjectsUnderPathAfterName(objStat(),
+				"a", 5);
+
+		Assert.assertEquals(2, actual.size());
+		Assert.assertEquals("b", actual.get(0).getPathOrName());
+		Assert.assertEquals(Arrays.asList("a"), fake.keysetValues);
+	}
+
+	@Test
+	public void testKeysetNameForQuery() {
+		Assert.assertNull(CollectionListingUtils.keysetNameForQuery(null));
+		Assert.assertNull(CollectionListingUtils.keysetNameForQuery(""));
+		Assert.assertNull(CollectionListingUtils.keysetNameForQuery("'name"));
+		Assert.assertEquals("name", CollectionListingUtils.keysetNameForQuery("name"));
+		Assert.assertEquals("it", CollectionListingUtils.keysetNameForQuery("it's"));
+	}
+
+	private static ObjStat objStat() {
+		ObjStat objStat = new ObjStat();
+		objStat.setAbsolutePath(PARENT_PATH);
+		objStat.setObjectType(CollectionAndDataObjectListingEntry.ObjectType.COLLECTION);
+		objStat.setSpecColType(SpecColType.NORMAL);
+		objStat.setOwnerName("user");
+		objStat.setOwnerZone("zone");
+		return objStat;
+	}
+
+	private static IRODSAccessObjectFactory factory(final FakeGenQueryExecutor fake) throws Exception {
+		IRODSAccessObjectFactory irodsAccessObjectFactory = Mockito.mock(IRODSAccessObjectFactory.class);
+		IRODSGenQueryExecutor irodsGenQueryExecutor = (IRODSGenQueryExecutor) Proxy.newProxyInstance(
+				IRODSGenQueryExecutor.class.getClassLoader(), new Class<?>[] { IRODSGenQueryExecutor.class }, fake);
+		Mockito.when(irodsAccessObjectFactory.getIRODSGenQueryExecutor(irodsAccount))
+				.thenReturn(irodsGenQueryExecutor);
+		return irodsAccessObjectFactory;
+	}
+
+	/**
+	 * Answers paged queries from a sorted list of names, the way the catalog
+	 * would, and records the keyset values it was asked for
+	 */
+	private static class FakeGenQueryExecutor implements InvocationHandler {
+
+		private final boolean collections;
+		private final List<String> names;
+		private final List<String> keysetValues = new ArrayList<String>();
+
+		FakeGenQueryExecutor(final boolean collections, final String... names) {
+			this.collections = collections;
+			this.names = Arrays.asList(names);
+		}
+
+		@Override
+		public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+			if (!method.getName().equals("executeIRODSQueryWithPagingInZone")) {
+				throw new UnsupportedOperationException(method.getName());
+			}
+
+			AbstractIRODSGenQuery irodsQuery = (AbstractIRODSGenQuery) args[0];
+			int offset = (Integer) args[1];
+			TranslatedIRODSGenQuery translatedQuery = ((IRODSGenQueryFromBuilder) irodsQuery)
+					.convertToTranslatedIRODSGenQuery();
+
+			String keysetValue = null;
+			for (TranslatedGenQueryCondition condition : translatedQuery.getTranslatedQueryConditions()) {
+				if (condition.getOperator().trim().equals(">")) {
+					keysetValue = condition.getValue().trim();
+					Assert.assertTrue("keyset value should be quoted once",
+							keysetValue.startsWith("'") && keysetValue.endsWith("'"));
+					keysetValue = keysetValue.substring(1, keysetValue.length() - 1);
+					Assert.assertEquals("quote in keyset value", -1, keysetValue.indexOf('\''));
+					keysetValues.add(keysetValue);
+				}
+			}
+
+			List<String> matches = new ArrayList<String>();
+			for (String name : names) {
+				String value = collections ? PARENT_PATH + "/" + name : name;
+				if (keysetValue == null || value.compareTo(keysetValue) > 0) {
+					matches.add(name);
+				}
+			}
+
+			List<String> columnNames = new ArrayList<String>();
+			for (GenQuerySelectField selectField : translatedQuery.getSelectFields()) {
+				columnNames.add(selectField.getSelectFieldColumnName());
+			}
+
+			int end = Math.min(offset + irodsQuery.getNumberOfResultsDesired(), matches.size());
+			List<IRODSQueryResultRow> rows = new ArrayList<IRODSQueryResultRow>();
+			for (int i = offset; i < end; i++) {
+				List<String> values = new ArrayList<String>();
+				for (int j = 0; j < columnNames.size(); j++) {
+					values.add("0");
+				}
+				if (collections) {
+					values.set(0, PARENT_PATH);
+					values.set(1, PARENT_PATH + "/" + matches.get(i));
+					values.set(7, "");
+				} else {
+					values.set(0, PARENT_PATH);
+					values.set(1, matches.get(i));
+				}
+				rows.add(IRODSQueryResultRow.instance(values, columnNames));
+			}
+
+			return IRODSQueryResultSet.instance(translatedQuery, rows, end < matches.size() ? 1 : 0, 0);
+		}
+	}
+
+}
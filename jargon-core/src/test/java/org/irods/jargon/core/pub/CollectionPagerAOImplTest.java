@@ -249,4 +249,117 @@ public class CollectionPagerAOImplTest {
 
 	}
 
+	@Test
+	public void testRetrievePagesAfterContinuationToken() throws Exception {
+		final String parentPath = "/a/path";
+		final int pageSize = 4;
+		final IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+		final IRODSSession irodsSession = Mockito.mock(IRODSSession.class);
+		CollectionAndDataObjectListAndSearchAO collectionAndDataObjectListAndSearchAO = Mockito
+				.mock(CollectionAndDataObjectListAndSearchAO.class);
+
+		final JargonProperties jargonProperties = new SettableJargonProperties();
+		Mockito.when(irodsSession.getJargonProperties()).thenReturn(jargonProperties);
+
+		final ObjStat objStat = new ObjStat();
+		objStat.setAbsolutePath(parentPath);
+		objStat.setObjectType(ObjectType.COLLECTION);
+		objStat.setSpecColType(SpecColType.NORMAL);
+
+		Mockito.when(collectionAndDataObjectListAndSearchAO.retrieveObjectStatForPath(parentPath)).thenReturn(objStat);
+
+		/*
+		 * page 1 has the last 2 collections and the first 2 data objects, page 2 has
+		 * the last data object
+		 */
+		final List<CollectionAndDataObjectListingEntry> collections = new ArrayList<>();
+		collections.add(buildEntry(ObjectType.COLLECTION, parentPath + "/c1", true));
+		collections.add(buildEntry(ObjectType.COLLECTION, parentPath + "/c2", true));
+		Mockito.when(collectionAndDataObjectListAndSearchAO.listCollectionsUnderPathAfterName(objStat, "", pageSize))
+				.thenReturn(collections);
+
+		final List<CollectionAndDataObjectListingEntry> dataObjects = new ArrayList<>();
+		dataObjects.add(buildEntry(ObjectType.DATA_OBJECT, "d1", false));
+		dataObjects.add(buildEntry(ObjectType.DATA_OBJECT, "d2", false));
+		Mockito.when(collectionAndDataObjectListAndSearchAO.listDataObjectsUnderPathAfterName(objStat, "", 2))
+				.thenReturn(dataObjects);
+
+		final List<CollectionAndDataObjectListingEntry> moreDataObjects = new ArrayList<>();
+		moreDataObjects.add(buildEntry(ObjectType.DATA_OBJECT, "d3", true));
+		Mockito.when(collectionAndDataObjectListAndSearchAO.listDataObjectsUnderPathAfterName(objStat, "d2", pageSize))
+				.thenReturn(moreDataObjects);
+
+		final IRODSAccessObjectFactory irodsAccessObjectFactory = Mockito.mock(IRODSAccessObjectFactory.class);
+		Mockito.when(irodsAccessObjectFactory.getCollectionAndDataObjectListAndSearchAO(irodsAccount))
+				.thenReturn(collectionAndDataObjectListAndSearchAO);
+
+		final CollectionPagerAOImpl collectionPagerAO = new CollectionPagerAOImpl(irodsSession, irodsAccount);
+		collectionPagerAO.setIrodsAccessObjectFactory(irodsAccessObjectFactory);
+		collectionPagerAO.setCollectionAndDataObjectListAndSearchAO(collectionAndDataObjectListAndSearchAO);
+
+		PagingAwareCollectionListing actual = collectionPagerAO.retrievePageAfterContinuationToken(parentPath, null,
+				pageSize);
+		Assert.assertEquals("wrong entries in first page", 4,
+				actual.getCollectionAndDataObjectListingEntries().size());
+		Assert.assertTrue("collections should be complete",
+				actual.getPagingAwareCollectionListingDescriptor().isCollectionsComplete());
+		Assert.assertEquals("wrong colls count", 2, actual.getPagingAwareCollectionListingDescriptor().getCount());
+		Assert.assertEquals("wrong data objects count", 2,
+				actual.getPagingAwareCollectionListingDescriptor().getDataObjectsCount());
+		Assert.assertTrue("should be more", actual.getPagingAwareCollectionListingDescriptor().isHasMore());
+		String token = actual.getPagingAwareCollectionListingDescriptor().getContinuationToken();
+		Assert.assertNotNull("no continuation token", token);
+
+		actual = collectionPagerAO.retrievePageAfterContinuationToken(parentPath, token, pageSize);
+		Assert.assertEquals("wrong entries in second page", 1,
+				actual.getCollectionAndDataObjectListingEntries().size());
+		Assert.assertEquals("wrong data object", "d3",
+				actual.getCollectionAndDataObjectListingEntries().get(0).getPathOrName());
+		Assert.assertTrue("data objects should be complete",
+				actual.getPagingAwareCollectionListingDescriptor().isDataObjectsComplete());
+		Assert.assertFalse("should not be more", actual.getPagingAwareCollectionListingDescriptor().isHasMore());
+		Assert.assertNull("should be no continuation token",
+				actual.getPagingAwareCollectionListingDescriptor().getContinuationToken());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRetrievePageAfterContinuationTokenForAnotherPath() throws Exception {
+		final IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+		final IRODSSession irodsSession = Mockito.mock(IRODSSession.class);
+		final JargonProperties jargonProperties = new SettableJargonProperties();
+		Mockito.when(irodsSession.getJargonProperties()).thenReturn(jargonProperties);
+		final IRODSAccessObjectFactory irodsAccessObjectFactory = Mockito.mock(IRODSAccessObjectFactory.class);
+
+		final CollectionPagerAOImpl collectionPagerAO = new CollectionPagerAOImpl(irodsSession, irodsAccount);
+		collectionPagerAO.setIrodsAccessObjectFactory(irodsAccessObjectFactory);
+		final String token = new CollectionPagingContinuationToken("/a/path", true, "c1").encode();
+		collectionPagerAO.retrievePageAfterContinuationToken("/another/path", token, 0);
+	}
+
+	@Test
+	public void testContinuationTokenRoundTrip() throws Exception {
+		final CollectionPagingContinuationToken token = new CollectionPagingContinuationToken("/a/path", false,
+				"a name with spaces & 'quotes'");
+		final CollectionPagingContinuationToken actual = CollectionPagingContinuationToken.decode(token.encode());
+		Assert.assertEquals("wrong path", "/a/path", actual.getParentAbsolutePath());
+		Assert.assertFalse("should be in data objects", actual.isInCollections());
+		Assert.assertEquals("wrong name", "a name with spaces & 'quotes'", actual.getLastName());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testContinuationTokenInvalid() throws Exception {
+		CollectionPagingContinuationToken.decode("bm90IGEgdG9rZW4");
+	}
+
+	private CollectionAndDataObjectListingEntry buildEntry(final ObjectType objectType, final String pathOrName,
+			final boolean lastResult) {
+		final CollectionAndDataObjectListingEntry entry = new CollectionAndDataObjectListingEntry();
+		entry.setObjectType(objectType);
+		entry.setPathOrName(pathOrName);
+		entry.setLastResult(lastResult);
+		return entry;
+	}
+
 }
@@ -0,0 +1,87 @@
+package org.irods.jargon.core.pub;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+import org.irods.jargon.core.checksum.ChecksumValue;
+import org.irods.jargon.core.connection.DiscoveredServerPropertiesCache;
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.exception.FileIntegrityException;
+import org.irods.jargon.core.packinstr.DataObjInp;
+import org.irods.jargon.core.packinstr.TransferOptions;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class DataAOHelperTest {
+
+	private static IRODSAccount irodsAccount;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		irodsAccount = IRODSAccount.instance("host", 1247, "user", "password", "/zone/home/user", "zone", "");
+	}
+
+	@Test
+	public void testNormalPutWithVerifySendsChecksumToIrods() throws Exception {
+		DataAOHelper dataAOHelper = new DataAOHelper(factory(), irodsAccount);
+		IRODSFile targetFile = Mockito.mock(IRODSFile.class);
+		Mockito.when(targetFile.getAbsolutePath()).thenReturn("/zone/home/user/file.txt");
+		Mockito.when(targetFile.getResource()).thenReturn("");
+
+		TransferOptions transferOptions = new TransferOptions();
+		transferOptions.setComputeAndVerifyChecksumAfterTransfer(true);
+
+		DataObjInp dataObjInp = dataAOHelper.buildNormalPutDataObjInp(localFile("put"), true, targetFile,
+				transferOptions);
+
+		Assert.assertNotNull("no local checksum for iRODS to verify", dataObjInp.getFileChecksumValue());
+		Assert.assertTrue("put should ask iRODS to verify the checksum before registering",
+				dataObjInp.getParsedTags().contains("verifyChksum"));
+	}
+
+	@Test(expected = FileIntegrityException.class)
+	public void testVerifyChecksumAgainstIrodsMismatch() throws Exception {
+		IRODSAccessObjectFactory irodsAccessObjectFactory = factory();
+		DataObjectChecksumUtilitiesAO checksumUtils = Mockito.mock(DataObjectChecksumUtilitiesAO.class);
+		Mockito.when(irodsAccessObjectFactory.getDataObjectChecksumUtilitiesAO(irodsAccount))
+				.thenReturn(checksumUtils);
+		ChecksumValue irodsChecksum = new ChecksumValue();
+		irodsChecksum.setChecksumEncoding(ChecksumEncodingEnum.MD5);
+		irodsChecksum.setChecksumStringValue("00000000000000000000000000000000");
+		IRODSFile irodsFile = Mockito.mock(IRODSFile.class);
+		Mockito.when(checksumUtils.computeChecksumOnDataObject(irodsFile)).thenReturn(irodsChecksum);
+
+		DataAOHelper dataAOHelper = new DataAOHelper(irodsAccessObjectFactory, irodsAccount);
+		dataAOHelper.verifyChecksumAgainstIrods(localFile("get"), irodsFile, null, "mismatch");
+	}
+
+	private static IRODSAccessObjectFactory factory() throws Exception {
+		IRODSAccessObjectFactory irodsAccessObjectFactory = Mockito.mock(IRODSAccessObjectFactory.class);
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		jargonProperties.setChecksumEncoding(ChecksumEncodingEnum.MD5);
+		Mockito.when(irodsAccessObjectFactory.getJargonProperties()).thenReturn(jargonProperties);
+		Mockito.when(irodsAccessObjectFactory.getDiscoveredServerPropertiesCache())
+				.thenReturn(new DiscoveredServerPropertiesCache());
+		Mockito.when(irodsAccessObjectFactory.getIrodsSession()).thenReturn(new IRODSSession(jargonProperties));
+		return irodsAccessObjectFactory;
+	}
+
+	private static File localFile(final String prefix) throws Exception {
+		File localFile = File.createTempFile(prefix, ".txt");
+		localFile.deleteOnExit();
+		FileOutputStream fileOutputStream = new FileOutputStream(localFile);
+		try {
+			fileOutputStream.write("some data to checksum".getBytes("UTF-8"));
+		} finally {
+			fileOutputStream.close();
+		}
+		return localFile;
+	}
+
+}
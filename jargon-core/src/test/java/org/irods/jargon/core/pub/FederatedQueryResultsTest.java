@@ -0,0 +1,223 @@
+package org.irods.jargon.core.pub;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.FederatedQueryResultRow;
+import org.irods.jargon.core.query.FederatedZoneQueryStatus;
+import org.irods.jargon.core.query.FederatedZoneQueryStatus.ZoneQueryState;
+import org.irods.jargon.core.query.IRODSGenQueryFromPrepared;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+import org.irods.jargon.core.query.PreparedIRODSGenQuery;
+import org.irods.jargon.core.query.RodsGenQueryEnum;
+import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class FederatedQueryResultsTest {
+
+	private static IRODSAccount irodsAccount;
+	private static AbstractIRODSGenQuery query;
+	private static TranslatedIRODSGenQuery translatedQuery;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		irodsAccount = IRODSAccount.instance("host", 1247, "user", "password", "/zone1/home/user", "zone1", "");
+		query = PreparedIRODSGenQuery.instance("select DATA_NAME").bind(2);
+		translatedQuery = ((IRODSGenQueryFromPrepared) query).convertToTranslatedIRODSGenQuery();
+	}
+
+	@Test
+	public void testQueryInZonesUnordered() throws Exception {
+		IRODSGenQueryExecutor executor = Mockito.mock(IRODSGenQueryExecutor.class);
+		Mockito.when(executor.executeIRODSQueryInZone(query, 0, "zone1")).thenReturn(resultSet(0, "a", "b"));
+		Mockito.when(executor.executeIRODSQueryInZone(query, 0, "zone2")).thenReturn(resultSet(0, "c"));
+
+		FederatedQueryResults results = FederatedQueryResults.instance(query, Arrays.asList("zone1", "zone2"),
+				10000, null, factory(executor), irodsAccount);
+
+		List<String> zone1Names = new ArrayList<String>();
+		List<String> zone2Names = new ArrayList<String>();
+		while (results.hasNext()) {
+			FederatedQueryResultRow row = results.next();
+			if (row.getZoneName().equals("zone1")) {
+				zone1Names.add(row.getRow().getColumn(0));
+			} else {
+				Assert.assertEquals("zone2", row.getZoneName());
+				zone2Names.add(row.getRow().getColumn(0));
+			}
+		}
+
+		Assert.assertEquals(Arrays.asList("a", "b"), zone1Names);
+		Assert.assertEquals(Arrays.asList("c"), zone2Names);
+		Assert.assertFalse(results.isPartial());
+		Map<String, FederatedZoneQueryStatus> statuses = results.getZoneStatuses();
+		Assert.assertEquals(ZoneQueryState.COMPLETE, statuses.get("zone1").getZoneQueryState());
+		Assert.assertEquals(2, statuses.get("zone1").getRowCount());
+		Assert.assertEquals(ZoneQueryState.COMPLETE, statuses.get("zone2").getZoneQueryState());
+		Assert.assertEquals(1, statuses.get("zone2").getRowCount());
+	}
+
+	@Test
+	public void testQueryInZonesOrderedMergesPages() throws Exception {
+		IRODSGenQueryExecutor executor = Mockito.mock(IRODSGenQueryExecutor.class);
+		IRODSQueryResultSet firstPage = resultSet(2, "a", "d");
+		Mockito.when(executor.executeIRODSQueryInZone(query, 0, "zone1")).thenReturn(firstPage);
+		Mockito.when(executor.getMoreResultsInZone(firstPage, "zone1")).thenReturn(resultSet(0, "f"));
+		Mockito.when(executor.executeIRODSQueryInZone(query, 0, "zone2")).thenReturn(resultSet(0, "b", "e"));
+
+		FederatedQueryResults results = FederatedQueryResults.instance(query, Arrays.asList("zone1", "zone2"),
+				10000, RodsGenQueryEnum.COL_DATA_NAME.getName(), factory(executor), irodsAccount);
+
+		List<String> names = new ArrayList<String>();
+		List<String> zones = new ArrayList<String>();
+		while (results.hasNext()) {
+			FederatedQueryResultRow row = results.next();
+			names.add(row.getRow().getColumn(0));
+			zones.add(row.getZoneName());
+		}
+
+		Assert.assertEquals(Arrays.asList("a", "b", "d", "e", "f"), names);
+		Assert.assertEquals(Arrays.asList("zone1", "zone2", "zone1", "zone2", "zone1"), zones);
+		Assert.assertFalse(results.isPartial());
+		Assert.assertEquals(3, results.getZoneStatuses().get("zone1").getRowCount());
+	}
+
+	@Test
+	public void testQueryInZonesFailedZoneIsPartial() throws Exception {
+		IRODSGenQueryExecutor executor = Mockito.mock(IRODSGenQueryExecutor.class);
+		Mockito.when(executor.executeIRODSQueryInZone(query, 0, "zone1")).thenReturn(resultSet(0, "a"));
+		Mockito.when(executor.executeIRODSQueryInZone(query, 0, "zone2"))
+				.thenThrow(new JargonException("zone unavailable"));
+
+		FederatedQueryResults results = FederatedQueryResults.instance(query, Arrays.asList("zone1", "zone2"),
+				10000, RodsGenQueryEnum.COL_DATA_NAME.getName(), factory(executor), irodsAccount);
+
+		Assert.assertTrue(results.hasNext());
+		FederatedQueryResultRow row = results.next();
+		Assert.assertEquals("zone1", row.getZoneName());
+		Assert.assertFalse(results.hasNext());
+
+		Assert.assertTrue(results.isPartial());
+		FederatedZoneQueryStatus status = results.getZoneStatuses().get("zone2");
+		Assert.assertEquals(ZoneQueryState.FAILED, status.getZoneQueryState());
+		Assert.assertNotNull(status.getException());
+	}
+
+	@Test
+	public void testQueryInZonesSlowZoneTimesOut() throws Exception {
+		IRODSGenQueryExecutor executor = Mockito.mock(IRODSGenQueryExecutor.class);
+		Mockito.when(executor.executeIRODSQueryInZone(query, 0, "zone1")).thenReturn(resultSet(0, "a"));
+		Mockito.when(executor.executeIRODSQueryInZone(query, 0, "zone2"))
+				.thenAnswer(new Answer<IRODSQueryResultSet>() {
+
+					@Override
+					public IRODSQueryResultSet answer(final InvocationOnMock invocation) throws Throwable {
+						Thread.sleep(5000);
+						return resultSet(0, "b");
+					}
+				});
+
+		long start = System.currentTimeMillis();
+		FederatedQueryResults results = FederatedQueryResults.instance(query, Arrays.asList("zone1", "zone2"),
+				200, null, factory(executor), irodsAccount);
+
+		int count = 0;
+		while (results.hasNext()) {
+			Assert.assertEquals("zone1", results.next().getZoneName());
+			count++;
+		}
+
+		Assert.assertTrue("did not time out", System.currentTimeMillis() - start < 4000);
+		Assert.assertEquals(1, count);
+		Assert.assertTrue(results.isPartial());
+		Assert.assertEquals(ZoneQueryState.COMPLETE, results.getZoneStatuses().get("zone1").getZoneQueryState());
+		Assert.assertEquals(ZoneQueryState.TIMED_OUT, results.getZoneStatuses().get("zone2").getZoneQueryState());
+	}
+
+	@Test
+	public void testQueryInZonesSlowReaderKeepsRowsOfFinishedZones() throws Exception {
+		for (String orderBy : Arrays.asList(null, RodsGenQueryEnum.COL_DATA_NAME.getName())) {
+			IRODSGenQueryExecutor executor = Mockito.mock(IRODSGenQueryExecutor.class);
+			Mockito.when(executor.executeIRODSQueryInZone(query, 0, "zone1"))
+					.thenReturn(resultSet(0, "a", "c", "e", "g"));
+			Mockito.when(executor.executeIRODSQueryInZone(query, 0, "zone2")).thenReturn(resultSet(0, "b", "d", "f"));
+
+			FederatedQueryResults results = FederatedQueryResults.instance(query, Arrays.asList("zone1", "zone2"),
+					200, orderBy, factory(executor), irodsAccount);
+
+			List<String> names = new ArrayList<String>();
+			while (results.hasNext()) {
+				names.add(results.next().getRow().getColumn(0));
+				// read slower than the zone timeout
+				Thread.sleep(100);
+			}
+
+			Assert.assertEquals("rows lost for orderBy:" + orderBy, 7, names.size());
+			Assert.assertFalse(results.isPartial());
+			Assert.assertEquals(4, results.getZoneStatuses().get("zone1").getRowCount());
+			Assert.assertEquals(3, results.getZoneStatuses().get("zone2").getRowCount());
+		}
+	}
+
+	@Test
+	public void testQueryInZonesSlowReaderEndOfZoneNotLost() throws Exception {
+		IRODSGenQueryExecutor executor = Mockito.mock(IRODSGenQueryExecutor.class);
+		IRODSQueryResultSet firstPage = resultSet(2, "a", "b");
+		IRODSQueryResultSet secondPage = resultSet(2, "c", "d");
+		Mockito.when(executor.executeIRODSQueryInZone(query, 0, "zone1")).thenReturn(firstPage);
+		Mockito.when(executor.getMoreResultsInZone(firstPage, "zone1")).thenReturn(secondPage);
+		Mockito.when(executor.getMoreResultsInZone(secondPage, "zone1")).thenReturn(resultSet(0, "e", "f"));
+
+		long start = System.currentTimeMillis();
+		FederatedQueryResults results = FederatedQueryResults.instance(query, Arrays.asList("zone1"), 10000, null,
+				factory(executor), irodsAccount);
+
+		int count = 0;
+		while (results.hasNext()) {
+			results.next();
+			count++;
+			// keep the queue full while the zone finishes
+			Thread.sleep(150);
+		}
+
+		Assert.assertEquals(6, count);
+		Assert.assertTrue("waited for the zone timeout", System.currentTimeMillis() - start < 5000);
+		Assert.assertFalse(results.isPartial());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testQueryInZonesNoZones() throws Exception {
+		IRODSGenQueryExecutor executor = Mockito.mock(IRODSGenQueryExecutor.class);
+		FederatedQueryResults.instance(query, new ArrayList<String>(), 10000, null, factory(executor), irodsAccount);
+	}
+
+	private static IRODSAccessObjectFactory factory(final IRODSGenQueryExecutor executor) throws JargonException {
+		IRODSAccessObjectFactory irodsAccessObjectFactory = Mockito.mock(IRODSAccessObjectFactory.class);
+		Mockito.when(irodsAccessObjectFactory.getIRODSGenQueryExecutor(irodsAccount)).thenReturn(executor);
+		Mockito.when(irodsAccessObjectFactory.getIrodsSession()).thenReturn(Mockito.mock(IRODSSession.class));
+		return irodsAccessObjectFactory;
+	}
+
+	private static IRODSQueryResultSet resultSet(final int continuationIndex, final String... names)
+			throws JargonException {
+		List<String> columnNames = Arrays.asList(RodsGenQueryEnum.COL_DATA_NAME.getName());
+		List<IRODSQueryResultRow> rows = new ArrayList<IRODSQueryResultRow>();
+		for (String name : names) {
+			rows.add(IRODSQueryResultRow.instance(Arrays.asList(name), columnNames));
+		}
+		return IRODSQueryResultSet.instance(translatedQuery, rows, continuationIndex, 0);
+	}
+
+}
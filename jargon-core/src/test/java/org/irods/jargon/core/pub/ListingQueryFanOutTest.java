@@ -0,0 +1,112 @@
+package org.irods.jargon.core.pub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.exception.FileNotFoundException;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.ListingQueryFanOut.ListingQuery;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ListingQueryFanOutTest {
+
+	private static IRODSAccount irodsAccount;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		irodsAccount = IRODSAccount.instance("host", 1247, "user", "password", "/zone/home/user", "zone", "");
+	}
+
+	@Test
+	public void testQueryAllInOrderWithoutPool() throws Exception {
+		IRODSSession irodsSession = new IRODSSession(new SettableJargonProperties());
+		List<ListingQuery<String>> queries = new ArrayList<ListingQuery<String>>();
+		queries.add(query("collections"));
+		queries.add(query("dataObjects"));
+
+		List<String> results = ListingQueryFanOut.queryAll(irodsSession, irodsAccount, queries);
+		Assert.assertEquals(2, results.size());
+		Assert.assertEquals("collections", results.get(0));
+		Assert.assertEquals("dataObjects", results.get(1));
+	}
+
+	@Test
+	public void testQueryAllConcurrentlyWithPool() throws Exception {
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		jargonProperties.setListingQueryThreads(2);
+		IRODSSession irodsSession = new IRODSSession(jargonProperties);
+
+		final CountDownLatch secondQueryStarted = new CountDownLatch(1);
+		final Thread callingThread = Thread.currentThread();
+		final List<Thread> queryThreads = new ArrayList<Thread>();
+
+		List<ListingQuery<String>> queries = new ArrayList<ListingQuery<String>>();
+		queries.add(new ListingQuery<String>() {
+
+			@Override
+			public String query() throws JargonException {
+				// would time out if the queries were run one after another
+				try {
+					Assert.assertTrue("queries not run at the same time",
+							secondQueryStarted.await(10, TimeUnit.SECONDS));
+				} catch (InterruptedException e) {
+					throw new JargonException(e);
+				}
+				return "collections";
+			}
+		});
+		queries.add(new ListingQuery<String>() {
+
+			@Override
+			public String query() throws JargonException {
+				queryThreads.add(Thread.currentThread());
+				secondQueryStarted.countDown();
+				return "dataObjects";
+			}
+		});
+
+		List<String> results = ListingQueryFanOut.queryAll(irodsSession, irodsAccount, queries);
+		Assert.assertEquals("collections", results.get(0));
+		Assert.assertEquals("dataObjects", results.get(1));
+		Assert.assertNotSame("second query should run on the pool", callingThread, queryThreads.get(0));
+		Assert.assertSame("pool should be kept by the session", irodsSession.getListingQueryThreadPool(),
+				irodsSession.getListingQueryThreadPool());
+	}
+
+	@Test(expected = FileNotFoundException.class)
+	public void testQueryAllExceptionFromPool() throws Exception {
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		jargonProperties.setListingQueryThreads(2);
+		IRODSSession irodsSession = new IRODSSession(jargonProperties);
+
+		List<ListingQuery<String>> queries = new ArrayList<ListingQuery<String>>();
+		queries.add(query("collections"));
+		queries.add(new ListingQuery<String>() {
+
+			@Override
+			public String query() throws JargonException {
+				throw new FileNotFoundException("not found");
+			}
+		});
+
+		ListingQueryFanOut.queryAll(irodsSession, irodsAccount, queries);
+	}
+
+	private ListingQuery<String> query(final String result) {
+		return new ListingQuery<String>() {
+
+			@Override
+			public String query() throws JargonException {
+				return result;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,36 @@
+package org.irods.jargon.core.pub;
+
+import org.irods.jargon.core.connection.IRODSServerProperties;
+import org.irods.jargon.core.connection.IRODSServerProperties.IcatEnabled;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelStreamPutProcessorTest {
+
+	@Test
+	public void testWritersForServerBeforeReplicaTokens() {
+		Assert.assertEquals(3, ParallelStreamPutProcessor.writersForServer(serverProperties("rods4.2.8"), 3));
+	}
+
+	@Test
+	public void testWritersForServerRequiringReplicaTokens() {
+		Assert.assertEquals(1, ParallelStreamPutProcessor.writersForServer(serverProperties("rods4.2.9"), 3));
+		Assert.assertEquals(1, ParallelStreamPutProcessor.writersForServer(serverProperties("rods4.2.11"), 3));
+		Assert.assertEquals(1, ParallelStreamPutProcessor.writersForServer(serverProperties("rods4.3.0"), 3));
+	}
+
+	@Test
+	public void testWritersForServerOneConnection() {
+		Assert.assertEquals(1, ParallelStreamPutProcessor.writersForServer(serverProperties("rods4.2.8"), 1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWritersForServerNullProperties() {
+		ParallelStreamPutProcessor.writersForServer(null, 3);
+	}
+
+	private static IRODSServerProperties serverProperties(final String relVersion) {
+		return IRODSServerProperties.instance(IcatEnabled.ICAT_ENABLED, 100, relVersion, "d", "zone");
+	}
+
+}
@@ -0,0 +1,161 @@
+package org.irods.jargon.core.pub;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.QueryResultRowMapper;
+import org.irods.jargon.core.query.SpecificQuery;
+import org.irods.jargon.core.query.SpecificQueryResultSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SpecificQueryResultIteratorTest {
+
+	private static final List<String> COLUMN_NAMES = Arrays.asList("name", "size");
+
+	private static final QueryResultRowMapper<String> NAME_MAPPER = new QueryResultRowMapper<String>() {
+		@Override
+		public String mapRow(final IRODSQueryResultRow row) throws JargonException {
+			return row.getColumn("name");
+		}
+	};
+
+	@Test
+	public void testIterateMultiplePages() {
+		FakePageReader pageReader = new FakePageReader(3, 7);
+		SpecificQueryResultIterator<String> target = SpecificQueryResultIterator.instance(pageReader, NAME_MAPPER,
+				"alias");
+
+		List<String> actual = new ArrayList<String>();
+		while (target.hasNext()) {
+			actual.add(target.next());
+		}
+
+		Assert.assertEquals(7, actual.size());
+		Assert.assertEquals("name0", actual.get(0));
+		Assert.assertEquals("name6", actual.get(6));
+		Assert.assertEquals(7, target.getRowsRead());
+		Assert.assertEquals("continuation should be passed to each page", Arrays.asList(0, 1, 2),
+				pageReader.continuations);
+		Assert.assertEquals(Arrays.asList(0, 3, 6), pageReader.offsets);
+		Assert.assertEquals("query read to the end should not be closed", 0, pageReader.closeCount);
+		target.close();
+		Assert.assertEquals(0, pageReader.closeCount);
+	}
+
+	@Test
+	public void testCloseBeforeEndClosesQuery() {
+		FakePageReader pageReader = new FakePageReader(3, 7);
+		SpecificQueryResultIterator<String> target = SpecificQueryResultIterator.instance(pageReader, NAME_MAPPER,
+				"alias");
+
+		Assert.assertEquals("name0", target.next());
+		target.close();
+		target.close();
+
+		Assert.assertEquals(1, pageReader.closeCount);
+		Assert.assertEquals("only the first page should be read", 1, pageReader.continuations.size());
+		Assert.assertFalse(target.hasNext());
+	}
+
+	@Test
+	public void testStreamCloseClosesQuery() {
+		FakePageReader pageReader = new FakePageReader(3, 7);
+		SpecificQueryResultIterator<String> target = SpecificQueryResultIterator.instance(pageReader, NAME_MAPPER,
+				"alias");
+
+		target.stream().limit(2).count();
+		Assert.assertEquals(0, pageReader.closeCount);
+		target.stream().close();
+		Assert.assertEquals(1, pageReader.closeCount);
+	}
+
+	@Test
+	public void testEmptyResult() {
+		FakePageReader pageReader = new FakePageReader(3, 0);
+		SpecificQueryResultIterator<String> target = SpecificQueryResultIterator.instance(pageReader, NAME_MAPPER,
+				"alias");
+
+		Assert.assertFalse(target.hasNext());
+		Assert.assertEquals(0, target.getRowsRead());
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testNextPastEnd() {
+		SpecificQueryResultIterator<String> target = SpecificQueryResultIterator.instance(new FakePageReader(3, 1),
+				NAME_MAPPER, "alias");
+		target.next();
+		target.next();
+	}
+
+	@Test
+	public void testMapperErrorClosesQuery() {
+		FakePageReader pageReader = new FakePageReader(3, 7);
+		SpecificQueryResultIterator<String> target = SpecificQueryResultIterator.instance(pageReader,
+				new QueryResultRowMapper<String>() {
+					@Override
+					public String mapRow(final IRODSQueryResultRow row) throws JargonException {
+						throw new JargonException("bad row");
+					}
+				}, "alias");
+
+		try {
+			target.hasNext();
+			Assert.fail("should have thrown");
+		} catch (JargonRuntimeException e) {
+			// expected
+		}
+		Assert.assertEquals(1, pageReader.closeCount);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInstanceNullMapper() {
+		SpecificQueryResultIterator.instance(new FakePageReader(3, 1), null, "alias");
+	}
+
+	/**
+	 * Serves {@code total} rows in pages of {@code pageSize}, with the page number
+	 * as the continuation
+	 */
+	private static class FakePageReader implements SpecificQueryResultIterator.PageReader {
+
+		private final int pageSize;
+		private final int total;
+		private final List<Integer> continuations = new ArrayList<Integer>();
+		private final List<Integer> offsets = new ArrayList<Integer>();
+		private int closeCount = 0;
+
+		FakePageReader(final int pageSize, final int total) {
+			this.pageSize = pageSize;
+			this.total = total;
+		}
+
+		@Override
+		public SpecificQueryResultSet readPage(final int continuation, final int rowOffset) throws JargonException {
+			continuations.add(continuation);
+			offsets.add(rowOffset);
+			SpecificQuery specificQuery = SpecificQuery.instanceWithNoArguments("alias", continuation, "");
+
+			List<IRODSQueryResultRow> rows = new ArrayList<IRODSQueryResultRow>();
+			int end = Math.min(rowOffset + pageSize, total);
+			for (int i = rowOffset; i < end; i++) {
+				rows.add(IRODSQueryResultRow.instance(Arrays.asList("name" + i, String.valueOf(i)), COLUMN_NAMES));
+			}
+
+			boolean hasMore = end < total;
+			return new SpecificQueryResultSet(specificQuery, rows, COLUMN_NAMES, hasMore,
+					hasMore ? continuation + 1 : 0);
+		}
+
+		@Override
+		public void closeQuery(final SpecificQueryResultSet specificQueryResultSet) throws JargonException {
+			closeCount++;
+		}
+	}
+
+}
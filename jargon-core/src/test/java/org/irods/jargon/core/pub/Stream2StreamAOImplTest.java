@@ -240,4 +240,48 @@ public class Stream2StreamAOImplTest {
 
 	}
 
+	@Test
+	public void testStreamToIRODSFileInParallel() throws Exception {
+		String testFileName = "testStreamToIRODSFileInParallel.txt";
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String fileNameOrig = FileGenerator.generateFileOfFixedLengthGivenName(absPath, testFileName,
+				(12 * 1024 * 1024) + 13);
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		IRODSAccessObjectFactory irodsAccessObjectFactory = irodsFileSystem.getIRODSAccessObjectFactory();
+		IRODSFile targetIrodsFile = irodsAccessObjectFactory.getIRODSFileFactory(irodsAccount)
+				.instanceIRODSFile(targetIrodsCollection + "/" + testFileName);
+		targetIrodsFile.delete();
+
+		File localFile = new File(fileNameOrig);
+		InputStream inputStream = new FileInputStream(localFile);
+		Stream2StreamAO stream2StreamAO = irodsAccessObjectFactory.getStream2StreamAO(irodsAccount);
+		TransferStatistics transferStatistics;
+		try {
+			transferStatistics = stream2StreamAO.streamToIRODSFileInParallel(inputStream, targetIrodsFile, 3);
+		} finally {
+			inputStream.close();
+		}
+
+		Assert.assertEquals("wrong byte count", localFile.length(), transferStatistics.getTotalBytes());
+		Assert.assertNotNull("no checksum of stream", transferStatistics.getChecksumValue());
+		Assert.assertEquals("wrong connections used",
+				ParallelStreamPutProcessor.writersForServer(
+						irodsAccessObjectFactory.getIRODSServerProperties(irodsAccount), 3),
+				transferStatistics.getConnectionsUsed());
+
+		IRODSFile actualFile = irodsAccessObjectFactory.getIRODSFileFactory(irodsAccount)
+				.instanceIRODSFile(targetIrodsCollection + "/" + testFileName);
+		Assert.assertEquals("wrong length in iRODS", localFile.length(), actualFile.length());
+
+		ChecksumValue irodsChecksum = irodsAccessObjectFactory.getDataObjectChecksumUtilitiesAO(irodsAccount)
+				.computeChecksumOnDataObject(actualFile);
+		Assert.assertEquals("checksum of stream does not match iRODS",
+				irodsChecksum.getChecksumStringValue(),
+				transferStatistics.getChecksumValue().getChecksumStringValue());
+
+	}
+
 }
@@ -3,12 +3,19 @@ package org.irods.jargon.core.pub.aohelper;
 import static java.util.Arrays.asList;
 import static org.irods.jargon.core.pub.aohelper.CollectionAOHelper.buildCollectionListEntryFromResultSetRowForCollectionQuery;
 import static org.irods.jargon.core.pub.aohelper.CollectionAOHelper.buildSelectsNeededForCollectionsInCollectionsAndDataObjectsListingEntry;
+import static org.irods.jargon.core.pub.aohelper.CollectionAOHelper.resolveEffectivePermission;
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.protovalues.FilePermissionEnum;
+import org.irods.jargon.core.protovalues.UserTypeEnum;
 import org.irods.jargon.core.pub.domain.ObjStat.SpecColType;
+import org.irods.jargon.core.pub.domain.UserFilePermission;
 import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry;
 import org.irods.jargon.core.query.GenQueryBuilderException;
 import org.irods.jargon.core.query.GenQuerySelectField;
@@ -46,4 +53,29 @@ public final class CollectionAOHelperTest {
 		}
 		assertEquals("should be 1 and only 1 type column", 1, numTypeCols);
 	}
+
+	@Test
+	public void testResolveEffectivePermissionHighestOfUserAndGroups() {
+		final List<UserFilePermission> acl = new ArrayList<>();
+		acl.add(new UserFilePermission("user", "1", FilePermissionEnum.READ, UserTypeEnum.RODS_USER, "zone"));
+		acl.add(new UserFilePermission("group", "2", FilePermissionEnum.WRITE, UserTypeEnum.RODS_GROUP, "zone"));
+		acl.add(new UserFilePermission("other", "3", FilePermissionEnum.OWN, UserTypeEnum.RODS_USER, "zone"));
+		assertEquals(FilePermissionEnum.WRITE,
+				resolveEffectivePermission(acl, "user", "zone", new HashSet<>(asList("group", "public"))));
+		assertEquals(FilePermissionEnum.READ, resolveEffectivePermission(acl, "user", "zone", new HashSet<String>()));
+	}
+
+	@Test
+	public void testResolveEffectivePermissionOtherZoneNotGranted() {
+		final List<UserFilePermission> acl = new ArrayList<>();
+		acl.add(new UserFilePermission("user", "1", FilePermissionEnum.OWN, UserTypeEnum.RODS_USER, "otherZone"));
+		assertEquals(FilePermissionEnum.NONE,
+				resolveEffectivePermission(acl, "user", "zone", Collections.<String>emptySet()));
+	}
+
+	@Test
+	public void testResolveEffectivePermissionNothingGranted() {
+		assertEquals(FilePermissionEnum.NONE, resolveEffectivePermission(new ArrayList<UserFilePermission>(), "user",
+				"zone", Collections.<String>emptySet()));
+	}
 }
@@ -9,9 +9,11 @@ import java.io.FileInputStream;
 import java.io.RandomAccessFile;
 import java.util.Arrays;
 import java.util.Properties;
+import java.util.Random;
 
 import org.irods.jargon.core.checksum.ChecksumValue;
 import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.packinstr.DataObjInp.OpenFlags;
 import org.irods.jargon.core.pub.DataTransferOperations;
 import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
 import org.irods.jargon.core.pub.IRODSFileSystem;
@@ -334,4 +336,77 @@ public class IRODSRandomAccessFileTest {
 		Assert.assertTrue("did not read back any data", dataRead);
 	}
 
+	@Test
+	public void testManySmallRandomReadsMatchLocalFile() throws Exception {
+		String testFileName = "testManySmallRandomReadsMatchLocalFile.txt";
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String localFileName = FileGenerator.generateFileOfFixedLengthGivenName(absPath, testFileName,
+				300 * 1024);
+
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		IRODSAccessObjectFactory accessObjectFactory = irodsFileSystem.getIRODSAccessObjectFactory();
+		DataTransferOperations dto = accessObjectFactory.getDataTransferOperations(irodsAccount);
+		dto.putOperation(localFileName, targetIrodsCollection,
+				testingProperties.getProperty(TestingPropertiesHelper.IRODS_RESOURCE_KEY), null, null);
+
+		IRODSRandomAccessFile irodsRandomAccessFile = accessObjectFactory.getIRODSFileFactory(irodsAccount)
+				.instanceIRODSRandomAccessFile(targetIrodsCollection + '/' + testFileName, OpenFlags.READ);
+		RandomAccessFile localRandomAccessFile = new RandomAccessFile(localFileName, "r");
+
+		Random random = new Random(42);
+		byte[] expected = new byte[64];
+		byte[] actual = new byte[64];
+		for (int i = 0; i < 500; i++) {
+			long position = random.nextInt(300 * 1024 - 64);
+			localRandomAccessFile.seek(position);
+			localRandomAccessFile.readFully(expected);
+			irodsRandomAccessFile.seek(position, SeekWhenceType.SEEK_START);
+			irodsRandomAccessFile.readFully(actual);
+			Assert.assertArrayEquals("data at " + position + " does not match", expected, actual);
+			Assert.assertEquals("file pointer not advanced", position + 64, irodsRandomAccessFile.getFilePointer());
+		}
+
+		localRandomAccessFile.seek(1010);
+		irodsRandomAccessFile.seek(1000, SeekWhenceType.SEEK_START);
+		Assert.assertEquals("did not skip", 10, irodsRandomAccessFile.skipBytes(10));
+		Assert.assertEquals("skip not from the current position", 1010, irodsRandomAccessFile.getFilePointer());
+		Assert.assertEquals("byte after skip", localRandomAccessFile.read(), irodsRandomAccessFile.read());
+
+		localRandomAccessFile.close();
+		irodsRandomAccessFile.close();
+	}
+
+	@Test
+	public void testReadLineAndOverwriteThroughCache() throws Exception {
+		String testFileName = "testReadLineAndOverwriteThroughCache.txt";
+		String targetIrodsFile = testingPropertiesHelper.buildIRODSCollectionAbsolutePathFromTestProperties(
+				testingProperties, IRODS_TEST_SUBDIR_PATH + '/' + testFileName);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		IRODSFileFactory irodsFileFactory = irodsFileSystem.getIRODSFileFactory(irodsAccount);
+		IRODSFile irodsFile = irodsFileFactory.instanceIRODSFile(targetIrodsFile);
+		irodsFile.delete();
+
+		IRODSRandomAccessFile irodsRandomAccessFile = irodsFileFactory
+				.instanceIRODSRandomAccessFile(targetIrodsFile, OpenFlags.READ_WRITE_CREATE_IF_NOT_EXISTS);
+		irodsRandomAccessFile.writeBytes("first\r\nsecond\rthird\n\nlast");
+		irodsRandomAccessFile.seek(0, SeekWhenceType.SEEK_START);
+
+		Assert.assertEquals("first", irodsRandomAccessFile.readLine());
+		Assert.assertEquals("second", irodsRandomAccessFile.readLine());
+		Assert.assertEquals("third", irodsRandomAccessFile.readLine());
+		Assert.assertEquals("empty line should not be end of file", "", irodsRandomAccessFile.readLine());
+		Assert.assertEquals("last", irodsRandomAccessFile.readLine());
+		Assert.assertNull("should be end of file", irodsRandomAccessFile.readLine());
+
+		irodsRandomAccessFile.seek(0, SeekWhenceType.SEEK_START);
+		irodsRandomAccessFile.writeBytes("FIRST");
+		irodsRandomAccessFile.seek(0, SeekWhenceType.SEEK_START);
+		Assert.assertEquals("cached block not invalidated by write", "FIRST", irodsRandomAccessFile.readLine());
+		irodsRandomAccessFile.close();
+	}
+
 }
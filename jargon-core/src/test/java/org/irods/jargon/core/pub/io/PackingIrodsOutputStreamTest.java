@@ -8,6 +8,7 @@ import java.util.Properties;
 
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.connection.SettableJargonProperties;
 import org.irods.jargon.core.connection.SettableJargonPropertiesMBean;
 import org.irods.jargon.core.pub.DataObjectChecksumUtilitiesAO;
 import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
@@ -15,6 +16,7 @@ import org.irods.jargon.core.pub.IRODSFileSystem;
 import org.irods.jargon.testutils.TestingPropertiesHelper;
 import org.irods.jargon.testutils.filemanip.FileGenerator;
 import org.junit.AfterClass;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -242,4 +244,52 @@ public class PackingIrodsOutputStreamTest {
 
 	}
 
+	@Test
+	public void testWriteStreamWithWriteBehind() throws Exception {
+		String testFileName = "testWriteStreamWithWriteBehind.txt";
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String localFilePath = FileGenerator.generateFileOfFixedLengthGivenName(absPath, testFileName,
+				20 * 1024 * 1024 + 7);
+
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		IRODSAccessObjectFactory accessObjectFactory = irodsFileSystem.getIRODSAccessObjectFactory();
+		IRODSFileFactory irodsFileFactory = accessObjectFactory.getIRODSFileFactory(irodsAccount);
+		IRODSFile irodsFile = irodsFileFactory.instanceIRODSFile(targetIrodsCollection + '/' + testFileName);
+
+		JargonProperties savedProperties = irodsFileSystem.getJargonProperties();
+		SettableJargonProperties settableJargonProperties = new SettableJargonProperties(savedProperties);
+		settableJargonProperties.setPutBufferSize(1024 * 1024);
+		settableJargonProperties.setWriteBehindQueueDepth(2);
+		irodsFileSystem.getIrodsSession().setJargonProperties(settableJargonProperties);
+
+		try {
+			IRODSFileOutputStream irodsFileOutputStream = irodsFileFactory.instanceIRODSFileOutputStream(irodsFile);
+			Assert.assertTrue("stream should use write behind", irodsFileOutputStream.isWriteBehind());
+			PackingIrodsOutputStream packingIrodsOutputStream = new PackingIrodsOutputStream(irodsFileOutputStream);
+			InputStream fileInputStream = new BufferedInputStream(new FileInputStream(new File(localFilePath)));
+
+			byte[] buffer = new byte[8 * 1024];
+
+			int n = 0;
+
+			while (-1 != (n = fileInputStream.read(buffer))) {
+				packingIrodsOutputStream.write(buffer, 0, n);
+			}
+			fileInputStream.close();
+			packingIrodsOutputStream.close();
+			DataObjectChecksumUtilitiesAO dataObjectChecksumUtilitiesAO = irodsFileSystem.getIRODSAccessObjectFactory()
+					.getDataObjectChecksumUtilitiesAO(irodsAccount);
+			dataObjectChecksumUtilitiesAO.verifyLocalFileAgainstIrodsFileChecksum(localFilePath,
+					irodsFile.getAbsolutePath()); // throws exception
+			// if mismatch
+		} finally {
+			irodsFileSystem.getIrodsSession().setJargonProperties(savedProperties);
+		}
+
+	}
+
 }
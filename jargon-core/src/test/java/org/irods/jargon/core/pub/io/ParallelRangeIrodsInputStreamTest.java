@@ -0,0 +1,167 @@
+package org.irods.jargon.core.pub.io;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Properties;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.pub.DataObjectChecksumUtilitiesAO;
+import org.irods.jargon.core.pub.DataTransferOperations;
+import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
+import org.irods.jargon.core.pub.IRODSFileSystem;
+import org.irods.jargon.testutils.IRODSTestSetupUtilities;
+import org.irods.jargon.testutils.TestingPropertiesHelper;
+import org.irods.jargon.testutils.filemanip.ScratchFileUtils;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ParallelRangeIrodsInputStreamTest {
+
+	private static Properties testingProperties = new Properties();
+	private static TestingPropertiesHelper testingPropertiesHelper = new TestingPropertiesHelper();
+	private static ScratchFileUtils scratchFileUtils = null;
+	public static final String IRODS_TEST_SUBDIR_PATH = "ParallelRangeIrodsInputStreamTest";
+	private static IRODSTestSetupUtilities irodsTestSetupUtilities = null;
+	private static IRODSFileSystem irodsFileSystem;
+	private static JargonProperties originalProperties;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		TestingPropertiesHelper testingPropertiesLoader = new TestingPropertiesHelper();
+		testingProperties = testingPropertiesLoader.getTestProperties();
+		scratchFileUtils = new ScratchFileUtils(testingProperties);
+		irodsTestSetupUtilities = new IRODSTestSetupUtilities();
+		irodsTestSetupUtilities.initializeIrodsScratchDirectory();
+		irodsTestSetupUtilities.initializeDirectoryForTest(IRODS_TEST_SUBDIR_PATH);
+		irodsFileSystem = IRODSFileSystem.instance();
+		originalProperties = irodsFileSystem.getJargonProperties();
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+		irodsFileSystem.closeAndEatExceptions();
+	}
+
+	@After
+	public void afterEachTest() throws Exception {
+		irodsFileSystem.getIrodsSession().setJargonProperties(originalProperties);
+	}
+
+	@Test
+	public final void testReadWholeFile() throws Exception {
+
+		String testFileName = "testReadWholeFile.txt";
+		String newLocalFileName = "testReadWholeFile-new.txt";
+		int fileLength = 20 * 1024 * 1024 + 7;
+
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String localFilePath = org.irods.jargon.testutils.filemanip.FileGenerator
+				.generateFileOfFixedLengthGivenName(absPath, testFileName, fileLength);
+		File localFile = new File(localFilePath);
+
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		SettableJargonProperties settableJargonProperties = new SettableJargonProperties(originalProperties);
+		settableJargonProperties.setParallelCopyBufferSize(1024 * 1024);
+		irodsFileSystem.getIrodsSession().setJargonProperties(settableJargonProperties);
+
+		IRODSAccessObjectFactory accessObjectFactory = irodsFileSystem.getIRODSAccessObjectFactory();
+		IRODSFileFactory irodsFileFactory = accessObjectFactory.getIRODSFileFactory(irodsAccount);
+
+		IRODSFile irodsFile = irodsFileFactory.instanceIRODSFile(targetIrodsCollection, testFileName);
+
+		DataTransferOperations dto = accessObjectFactory.getDataTransferOperations(irodsAccount);
+		dto.putOperation(localFile, irodsFile, null, null);
+
+		ParallelRangeIrodsInputStream pris = irodsFileFactory.instanceParallelRangeIRODSFileInputStream(irodsFile);
+		Assert.assertEquals("wrong range length", fileLength, pris.getRangeLength());
+
+		File newLocal = new File(absPath, newLocalFileName);
+		OutputStream fileOutputStream = new BufferedOutputStream(new FileOutputStream(newLocal));
+
+		final byte[] buffer = new byte[5177];
+
+		int n = 0;
+		while (-1 != (n = pris.read(buffer))) {
+			fileOutputStream.write(buffer, 0, n);
+		}
+		fileOutputStream.flush();
+
+		pris.close();
+		fileOutputStream.close();
+
+		DataObjectChecksumUtilitiesAO dataObjectChecksumUtilitiesAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getDataObjectChecksumUtilitiesAO(irodsAccount);
+		dataObjectChecksumUtilitiesAO.verifyLocalFileAgainstIrodsFileChecksum(newLocal.getAbsolutePath(),
+				irodsFile.getAbsolutePath());
+
+	}
+
+	@Test
+	public final void testReadRangeAsChannelAndCloseEarly() throws Exception {
+
+		String testFileName = "testReadRangeAsChannelAndCloseEarly.txt";
+		int fileLength = 10 * 1024 * 1024 + 3;
+		long offset = 3 * 1024 * 1024 + 11;
+		int length = 5 * 1024 * 1024 + 5;
+
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String localFilePath = org.irods.jargon.testutils.filemanip.FileGenerator
+				.generateFileOfFixedLengthGivenName(absPath, testFileName, fileLength);
+		File localFile = new File(localFilePath);
+
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		SettableJargonProperties settableJargonProperties = new SettableJargonProperties(originalProperties);
+		settableJargonProperties.setParallelCopyBufferSize(512 * 1024);
+		irodsFileSystem.getIrodsSession().setJargonProperties(settableJargonProperties);
+
+		IRODSAccessObjectFactory accessObjectFactory = irodsFileSystem.getIRODSAccessObjectFactory();
+		IRODSFileFactory irodsFileFactory = accessObjectFactory.getIRODSFileFactory(irodsAccount);
+
+		IRODSFile irodsFile = irodsFileFactory.instanceIRODSFile(targetIrodsCollection, testFileName);
+
+		DataTransferOperations dto = accessObjectFactory.getDataTransferOperations(irodsAccount);
+		dto.putOperation(localFile, irodsFile, null, null);
+
+		byte[] expected = new byte[length];
+		RandomAccessFile localRandomAccessFile = new RandomAccessFile(localFile, "r");
+		try {
+			localRandomAccessFile.seek(offset);
+			localRandomAccessFile.readFully(expected);
+		} finally {
+			localRandomAccessFile.close();
+		}
+
+		ParallelRangeIrodsInputStream pris = irodsFileFactory.instanceParallelRangeIRODSFileInputStream(irodsFile,
+				offset, length, 3);
+		ByteBuffer actual = ByteBuffer.allocate(length);
+		while (actual.hasRemaining()) {
+			Assert.assertTrue("unexpected end of data", pris.read(actual) > 0);
+		}
+		Assert.assertArrayEquals("range does not match", expected, actual.array());
+		Assert.assertEquals("should be at end of range", -1, pris.read());
+		pris.close();
+		Assert.assertFalse("channel should be closed", pris.isOpen());
+
+		pris = irodsFileFactory.instanceParallelRangeIRODSFileInputStream(irodsFile, 0, -1, 4);
+		Assert.assertTrue("did not read first byte", pris.read() >= 0);
+		pris.close();
+	}
+
+}
@@ -0,0 +1,53 @@
+package org.irods.jargon.core.pub.io;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RandomAccessBlockCacheTest {
+
+	@Test
+	public void testEvictsLeastRecentlyUsedBlock() {
+		RandomAccessBlockCache cache = new RandomAccessBlockCache(4, 2);
+		cache.put(0, new byte[4]);
+		cache.put(1, new byte[4]);
+		cache.get(0);
+		cache.put(2, new byte[4]);
+		Assert.assertEquals(2, cache.size());
+		Assert.assertNotNull("recently used block evicted", cache.get(0));
+		Assert.assertNull("least recently used block not evicted", cache.get(1));
+	}
+
+	@Test
+	public void testSequentialMissesFetchMoreBlocks() {
+		RandomAccessBlockCache cache = new RandomAccessBlockCache(4, 32);
+		Assert.assertEquals(1, cache.blocksToFetch(0));
+		Assert.assertEquals(2, cache.blocksToFetch(1));
+		Assert.assertEquals(4, cache.blocksToFetch(3));
+		Assert.assertEquals(8, cache.blocksToFetch(7));
+		Assert.assertEquals("prefetch not capped at a quarter of the cache", 8, cache.blocksToFetch(15));
+		Assert.assertEquals("random miss should fetch one block", 1, cache.blocksToFetch(100));
+	}
+
+	@Test
+	public void testPrefetchStopsAtCachedBlock() {
+		RandomAccessBlockCache cache = new RandomAccessBlockCache(4, 32);
+		cache.put(2, new byte[4]);
+		cache.blocksToFetch(0);
+		Assert.assertEquals("fetch should stop before the cached block", 1, cache.blocksToFetch(1));
+	}
+
+	@Test
+	public void testInvalidateOverlappingAndShortBlocks() {
+		RandomAccessBlockCache cache = new RandomAccessBlockCache(4, 32);
+		cache.put(0, new byte[4]);
+		cache.put(1, new byte[4]);
+		cache.put(2, new byte[4]);
+		cache.put(5, new byte[2]);
+		cache.invalidate(5, 4);
+		Assert.assertNotNull(cache.get(0));
+		Assert.assertNull(cache.get(1));
+		Assert.assertNull(cache.get(2));
+		Assert.assertNull("short block past the write not invalidated", cache.get(5));
+	}
+
+}
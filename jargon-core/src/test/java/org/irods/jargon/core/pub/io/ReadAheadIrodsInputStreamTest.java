@@ -0,0 +1,150 @@
+package org.irods.jargon.core.pub.io;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.pub.DataObjectChecksumUtilitiesAO;
+import org.irods.jargon.core.pub.DataTransferOperations;
+import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
+import org.irods.jargon.core.pub.IRODSFileSystem;
+import org.irods.jargon.testutils.IRODSTestSetupUtilities;
+import org.irods.jargon.testutils.TestingPropertiesHelper;
+import org.irods.jargon.testutils.filemanip.ScratchFileUtils;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ReadAheadIrodsInputStreamTest {
+
+	private static Properties testingProperties = new Properties();
+	private static TestingPropertiesHelper testingPropertiesHelper = new TestingPropertiesHelper();
+	private static ScratchFileUtils scratchFileUtils = null;
+	public static final String IRODS_TEST_SUBDIR_PATH = "ReadAheadIrodsInputStreamTest";
+	private static IRODSTestSetupUtilities irodsTestSetupUtilities = null;
+	private static IRODSFileSystem irodsFileSystem;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		TestingPropertiesHelper testingPropertiesLoader = new TestingPropertiesHelper();
+		testingProperties = testingPropertiesLoader.getTestProperties();
+		scratchFileUtils = new ScratchFileUtils(testingProperties);
+		irodsTestSetupUtilities = new IRODSTestSetupUtilities();
+		irodsTestSetupUtilities.initializeIrodsScratchDirectory();
+		irodsTestSetupUtilities.initializeDirectoryForTest(IRODS_TEST_SUBDIR_PATH);
+		irodsFileSystem = IRODSFileSystem.instance();
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+		irodsFileSystem.closeAndEatExceptions();
+	}
+
+	@Test
+	public final void testReadWholeFile() throws Exception {
+
+		String testFileName = "testReadWholeFile.txt";
+		String newLocalFileName = "testReadWholeFile-new.txt";
+		int fileLength = 20 * 1024 * 1024 + 7;
+
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String localFilePath = org.irods.jargon.testutils.filemanip.FileGenerator
+				.generateFileOfFixedLengthGivenName(absPath, testFileName, fileLength);
+		File localFile = new File(localFilePath);
+
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		IRODSAccessObjectFactory accessObjectFactory = irodsFileSystem.getIRODSAccessObjectFactory();
+		IRODSFileFactory irodsFileFactory = accessObjectFactory.getIRODSFileFactory(irodsAccount);
+
+		IRODSFile irodsFile = irodsFileFactory.instanceIRODSFile(targetIrodsCollection, testFileName);
+
+		DataTransferOperations dto = accessObjectFactory.getDataTransferOperations(irodsAccount);
+		dto.putOperation(localFile, irodsFile, null, null);
+
+		ReadAheadIrodsInputStream ris = irodsFileFactory.instanceReadAheadIRODSFileInputStream(irodsFile, 3);
+
+		File newLocal = new File(absPath, newLocalFileName);
+		OutputStream fileOutputStream = new BufferedOutputStream(new FileOutputStream(newLocal));
+
+		final byte[] buffer = new byte[5177];
+
+		int n = 0;
+		while (-1 != (n = ris.read(buffer))) {
+			fileOutputStream.write(buffer, 0, n);
+		}
+		fileOutputStream.flush();
+
+		ris.close();
+		fileOutputStream.close();
+
+		DataObjectChecksumUtilitiesAO dataObjectChecksumUtilitiesAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getDataObjectChecksumUtilitiesAO(irodsAccount);
+		dataObjectChecksumUtilitiesAO.verifyLocalFileAgainstIrodsFileChecksum(newLocal.getAbsolutePath(),
+				irodsFile.getAbsolutePath());
+
+	}
+
+	@Test
+	public final void testSkipAndCloseEarly() throws Exception {
+
+		String testFileName = "testSkipAndCloseEarly.txt";
+		int fileLength = 10 * 1024 * 1024 + 3;
+		long skipTo = 6 * 1024 * 1024 + 11;
+
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String localFilePath = org.irods.jargon.testutils.filemanip.FileGenerator
+				.generateFileOfFixedLengthGivenName(absPath, testFileName, fileLength);
+		File localFile = new File(localFilePath);
+
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		IRODSAccessObjectFactory accessObjectFactory = irodsFileSystem.getIRODSAccessObjectFactory();
+		IRODSFileFactory irodsFileFactory = accessObjectFactory.getIRODSFileFactory(irodsAccount);
+
+		IRODSFile irodsFile = irodsFileFactory.instanceIRODSFile(targetIrodsCollection, testFileName);
+
+		DataTransferOperations dto = accessObjectFactory.getDataTransferOperations(irodsAccount);
+		dto.putOperation(localFile, irodsFile, null, null);
+
+		byte[] expected = new byte[100];
+		InputStream localIn = new FileInputStream(localFile);
+		try {
+			Assert.assertEquals(skipTo, localIn.skip(skipTo));
+			Assert.assertEquals(expected.length, localIn.read(expected));
+		} finally {
+			localIn.close();
+		}
+
+		ReadAheadIrodsInputStream ris = irodsFileFactory.instanceReadAheadIRODSFileInputStream(irodsFile);
+		Assert.assertTrue("did not read first byte", ris.read() >= 0);
+		Assert.assertEquals("did not skip", skipTo - 1, ris.skip(skipTo - 1));
+
+		byte[] actual = new byte[expected.length];
+		int read = 0;
+		while (read < actual.length) {
+			int n = ris.read(actual, read, actual.length - read);
+			Assert.assertTrue("unexpected end of data", n > 0);
+			read += n;
+		}
+		Assert.assertArrayEquals("data after skip does not match", expected, actual);
+		Assert.assertEquals("should not skip past end", fileLength - skipTo - expected.length,
+				ris.skip(Long.MAX_VALUE));
+		Assert.assertEquals("should be at end", -1, ris.read());
+
+		ris.close();
+	}
+
+}
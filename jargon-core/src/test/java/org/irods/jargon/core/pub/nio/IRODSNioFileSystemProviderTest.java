@@ -0,0 +1,210 @@
+package org.irods.jargon.core.pub.nio;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.pub.IRODSFileSystem;
+import org.irods.jargon.testutils.IRODSTestSetupUtilities;
+import org.irods.jargon.testutils.TestingPropertiesHelper;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class IRODSNioFileSystemProviderTest {
+
+	private static Properties testingProperties = new Properties();
+	private static TestingPropertiesHelper testingPropertiesHelper = new TestingPropertiesHelper();
+	public static final String IRODS_TEST_SUBDIR_PATH = "IRODSNioFileSystemProviderTest";
+	private static IRODSTestSetupUtilities irodsTestSetupUtilities = null;
+	private static IRODSFileSystem irodsFileSystem;
+	private IRODSNioFileSystem fileSystem;
+	private String targetIrodsCollection;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		TestingPropertiesHelper testingPropertiesLoader = new TestingPropertiesHelper();
+		testingProperties = testingPropertiesLoader.getTestProperties();
+		irodsTestSetupUtilities = new IRODSTestSetupUtilities();
+		irodsTestSetupUtilities.initializeIrodsScratchDirectory();
+		irodsTestSetupUtilities.initializeDirectoryForTest(IRODS_TEST_SUBDIR_PATH);
+		irodsFileSystem = IRODSFileSystem.instance();
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+		irodsFileSystem.closeAndEatExceptions();
+	}
+
+	@Before
+	public void beforeEachTest() throws Exception {
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		Map<String, Object> env = new HashMap<String, Object>();
+		env.put(IRODSNioFileSystemProvider.IRODS_ACCOUNT_ENV, irodsAccount);
+		env.put(IRODSNioFileSystemProvider.IRODS_ACCESS_OBJECT_FACTORY_ENV,
+				irodsFileSystem.getIRODSAccessObjectFactory());
+		fileSystem = new IRODSNioFileSystemProvider().newFileSystem(
+				URI.create("irods://" + irodsAccount.getUserName() + "@" + irodsAccount.getHost() + ":"
+						+ irodsAccount.getPort() + "/"),
+				env);
+		targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+	}
+
+	@After
+	public void afterEachTest() throws Exception {
+		fileSystem.close();
+	}
+
+	@Test
+	public void testWriteAndReadBack() throws Exception {
+		Path file = fileSystem.getPath(targetIrodsCollection, "testWriteAndReadBack.txt");
+		byte[] data = new byte[200 * 1024];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i % 251);
+		}
+
+		Files.write(file, data);
+		Assert.assertTrue(Files.isRegularFile(file));
+		Assert.assertEquals(data.length, Files.size(file));
+		Assert.assertArrayEquals(data, Files.readAllBytes(file));
+	}
+
+	@Test
+	public void testChannelSeekRead() throws Exception {
+		Path file = fileSystem.getPath(targetIrodsCollection, "testChannelSeekRead.txt");
+		byte[] data = new byte[100 * 1024];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i % 127);
+		}
+		Files.write(file, data);
+
+		SeekableByteChannel channel = Files.newByteChannel(file, StandardOpenOption.READ);
+		try {
+			Assert.assertEquals(data.length, channel.size());
+			channel.position(50000);
+			ByteBuffer buffer = ByteBuffer.allocate(100);
+			Assert.assertEquals(100, channel.read(buffer));
+			for (int i = 0; i < 100; i++) {
+				Assert.assertEquals(data[50000 + i], buffer.get(i));
+			}
+			Assert.assertEquals(50100, channel.position());
+		} finally {
+			channel.close();
+		}
+	}
+
+	@Test
+	public void testAppend() throws Exception {
+		Path file = fileSystem.getPath(targetIrodsCollection, "testAppend.txt");
+		Files.write(file, "hello ".getBytes("UTF-8"));
+		Files.write(file, "world".getBytes("UTF-8"), StandardOpenOption.APPEND);
+		Assert.assertEquals("hello world", new String(Files.readAllBytes(file), "UTF-8"));
+	}
+
+	@Test(expected = FileAlreadyExistsException.class)
+	public void testCreateNewWhenExists() throws Exception {
+		Path file = fileSystem.getPath(targetIrodsCollection, "testCreateNewWhenExists.txt");
+		Files.write(file, "data".getBytes("UTF-8"));
+		Files.newByteChannel(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW);
+	}
+
+	@Test
+	public void testDirectoryStreamFillsAttributeCache() throws Exception {
+		Path dir = fileSystem.getPath(targetIrodsCollection, "testDirectoryStreamFillsAttributeCache");
+		Files.createDirectory(dir);
+		int count = 30;
+		for (int i = 0; i < count; i++) {
+			Files.write(dir.resolve("file" + i + ".txt"), new byte[i]);
+		}
+		Files.createDirectory(dir.resolve("subdir"));
+		fileSystem.clearAttributeCache();
+
+		int files = 0;
+		int dirs = 0;
+		DirectoryStream<Path> stream = Files.newDirectoryStream(dir);
+		try {
+			for (Path child : stream) {
+				Assert.assertNotNull("listing did not cache attributes for:" + child, fileSystem.getAttributeCache()
+						.get(((IRODSNioPath) child).getIrodsAbsolutePath()));
+				if (Files.isDirectory(child)) {
+					dirs++;
+				} else {
+					String name = child.getFileName().toString();
+					int expected = Integer.parseInt(name.substring(4, name.indexOf('.')));
+					Assert.assertEquals(expected, Files.size(child));
+					files++;
+				}
+			}
+		} finally {
+			stream.close();
+		}
+
+		Assert.assertEquals(count, files);
+		Assert.assertEquals(1, dirs);
+	}
+
+	@Test
+	public void testDirectoryStreamWithGlob() throws Exception {
+		Path dir = fileSystem.getPath(targetIrodsCollection, "testDirectoryStreamWithGlob");
+		Files.createDirectory(dir);
+		Files.write(dir.resolve("a.txt"), new byte[1]);
+		Files.write(dir.resolve("b.csv"), new byte[1]);
+
+		int matched = 0;
+		DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.txt");
+		try {
+			for (Path child : stream) {
+				Assert.assertEquals("a.txt", child.getFileName().toString());
+				matched++;
+			}
+		} finally {
+			stream.close();
+		}
+		Assert.assertEquals(1, matched);
+	}
+
+	@Test
+	public void testMoveAndDelete() throws Exception {
+		Path dir = fileSystem.getPath(targetIrodsCollection, "testMoveAndDelete");
+		Files.createDirectory(dir);
+		Path source = dir.resolve("source.txt");
+		Path target = dir.resolve("target.txt");
+		Files.write(source, "data".getBytes("UTF-8"));
+
+		Files.move(source, target);
+		Assert.assertFalse(Files.exists(source));
+		Assert.assertTrue(Files.exists(target));
+
+		try {
+			Files.delete(dir);
+			Assert.fail("expected DirectoryNotEmptyException");
+		} catch (DirectoryNotEmptyException e) {
+			// expected
+		}
+
+		Files.delete(target);
+		Files.delete(dir);
+		Assert.assertFalse(Files.exists(dir));
+	}
+
+	@Test(expected = NoSuchFileException.class)
+	public void testReadAttributesMissing() throws Exception {
+		Files.size(fileSystem.getPath(targetIrodsCollection, "testReadAttributesMissing.txt"));
+	}
+
+}
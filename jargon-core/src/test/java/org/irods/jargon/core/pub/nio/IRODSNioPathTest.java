@@ -0,0 +1,93 @@
+package org.irods.jargon.core.pub.nio;
+
+import java.nio.file.Path;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class IRODSNioPathTest {
+
+	private static IRODSNioFileSystem fileSystem;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		IRODSAccount irodsAccount = IRODSAccount.instance("host", 1247, "test", "test", "/zone/home/test", "zone",
+				"");
+		fileSystem = new IRODSNioFileSystem(new IRODSNioFileSystemProvider(), "test@host:1247", irodsAccount, null,
+				new IRODSAttributeCache(0, 1));
+	}
+
+	@Test
+	public void testSeparatorsCollapsed() {
+		Path path = fileSystem.getPath("/zone//home/test/");
+		Assert.assertEquals("/zone/home/test", path.toString());
+		Assert.assertTrue(path.isAbsolute());
+		Assert.assertEquals(3, path.getNameCount());
+	}
+
+	@Test
+	public void testParentAndFileName() {
+		Path path = fileSystem.getPath("/zone/home/test/file.txt");
+		Assert.assertEquals("/zone/home/test", path.getParent().toString());
+		Assert.assertEquals("file.txt", path.getFileName().toString());
+		Assert.assertEquals("/", fileSystem.getPath("/zone").getParent().toString());
+		Assert.assertNull(fileSystem.getPath("/").getParent());
+		Assert.assertNull(fileSystem.getPath("file.txt").getParent());
+	}
+
+	@Test
+	public void testRelativeResolvedAgainstHome() {
+		Path path = fileSystem.getPath("dir", "file.txt");
+		Assert.assertFalse(path.isAbsolute());
+		Assert.assertEquals("/zone/home/test/dir/file.txt", path.toAbsolutePath().toString());
+	}
+
+	@Test
+	public void testNormalize() {
+		Assert.assertEquals("/zone/home/other",
+				fileSystem.getPath("/zone/home/test/./x/../../other").normalize().toString());
+		Assert.assertEquals("../a", fileSystem.getPath("../a/./b/..").normalize().toString());
+		Assert.assertEquals("/a", fileSystem.getPath("/../a").normalize().toString());
+	}
+
+	@Test
+	public void testResolveAndRelativize() {
+		Path base = fileSystem.getPath("/zone/home");
+		Path child = base.resolve("test/file.txt");
+		Assert.assertEquals("/zone/home/test/file.txt", child.toString());
+		Assert.assertEquals("/other", base.resolve("/other").toString());
+		Assert.assertEquals("test/file.txt", base.relativize(child).toString());
+		Assert.assertEquals("../../x", child.getParent().relativize(fileSystem.getPath("/zone/x")).toString());
+		Assert.assertEquals("/zone/home/sibling", fileSystem.getPath("/zone/home/test").resolveSibling("sibling")
+				.toString());
+	}
+
+	@Test
+	public void testStartsAndEndsWith() {
+		Path path = fileSystem.getPath("/zone/home/test/file.txt");
+		Assert.assertTrue(path.startsWith("/zone/home"));
+		Assert.assertFalse(path.startsWith("/zone/ho"));
+		Assert.assertFalse(path.startsWith("zone"));
+		Assert.assertTrue(path.endsWith("test/file.txt"));
+		Assert.assertFalse(path.endsWith("st/file.txt"));
+		Assert.assertEquals("home/test", path.subpath(1, 3).toString());
+	}
+
+	@Test
+	public void testUriRoundTrip() {
+		Path path = fileSystem.getPath("/zone/home/test/file.txt");
+		Assert.assertEquals("irods://test.zone@host:1247/zone/home/test/file.txt", path.toUri().toString());
+	}
+
+	@Test
+	public void testGlobMatcher() {
+		Assert.assertTrue(fileSystem.getPathMatcher("glob:/zone/**/*.{txt,csv}")
+				.matches(fileSystem.getPath("/zone/home/test/a.csv")));
+		Assert.assertFalse(fileSystem.getPathMatcher("glob:/zone/*/*.txt")
+				.matches(fileSystem.getPath("/zone/home/test/a.txt")));
+		Assert.assertTrue(fileSystem.getPathMatcher("glob:file?.[a-c]").matches(fileSystem.getPath("file1.b")));
+	}
+
+}
@@ -4,6 +4,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import org.irods.jargon.core.exception.JargonException;
@@ -221,4 +222,67 @@ public class IRODSQueryResultRowTest {
 
 	}
 
+	@Test
+	public void testGetByColumnNameSharedHeader() throws Exception {
+
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add(RodsGenQueryEnum.COL_DATA_NAME.getName());
+		columnNames.add(RodsGenQueryEnum.COL_DATA_SIZE.getName());
+		QueryResultColumnHeader columnHeader = QueryResultColumnHeader.instance(columnNames);
+
+		IRODSQueryResultRow row1 = IRODSQueryResultRow.instance(new String[] { "file1", "100" }, columnHeader, 1,
+				false);
+		IRODSQueryResultRow row2 = IRODSQueryResultRow.instance(new String[] { "file2", "200" }, columnHeader, 2,
+				true);
+
+		Assert.assertEquals("file1", row1.getColumn(RodsGenQueryEnum.COL_DATA_NAME.getName()));
+		Assert.assertEquals("file2", row2.getColumn(RodsGenQueryEnum.COL_DATA_NAME.getName()));
+		Assert.assertEquals(200L, row2.getColumnAsLongOrZero(RodsGenQueryEnum.COL_DATA_SIZE.getName()));
+		Assert.assertEquals(2, row2.getRecordCount());
+		Assert.assertTrue(row2.isLastResult());
+
+	}
+
+	@Test
+	public void testGetColumnAsTypesDecodedAgain() throws Exception {
+
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add(RodsGenQueryEnum.COL_DATA_SIZE.getName());
+		columnNames.add(RodsGenQueryEnum.COL_D_MODIFY_TIME.getName());
+		columnNames.add(RodsGenQueryEnum.COL_D_CREATE_TIME.getName());
+
+		List<String> values = new ArrayList<String>();
+		values.add("12");
+		values.add("1500000000");
+		values.add("");
+
+		IRODSQueryResultRow resultRow = IRODSQueryResultRow.instance(values, columnNames);
+		Assert.assertEquals(12L, resultRow.getColumnAsLongOrZero(0));
+		Assert.assertEquals(12, resultRow.getColumnAsIntOrZero(0));
+		Assert.assertEquals(12L, resultRow.getColumnAsLongOrZero(RodsGenQueryEnum.COL_DATA_SIZE.getName()));
+
+		Date modified = resultRow.getColumnAsDateOrNull(1);
+		Assert.assertEquals(1500000000000L, modified.getTime());
+		modified.setTime(0L);
+		Assert.assertEquals("changing a returned date should not change the row", 1500000000000L,
+				resultRow.getColumnAsDateOrNull(RodsGenQueryEnum.COL_D_MODIFY_TIME.getName()).getTime());
+
+		Assert.assertNull(resultRow.getColumnAsDateOrNull(2));
+		Assert.assertNull(resultRow.getColumnAsDateOrNull(2));
+		Assert.assertEquals("1500000000", resultRow.getColumn(1));
+
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testColumnsAsListNotChanged() throws Exception {
+
+		List<String> resultColumns = new ArrayList<String>();
+		resultColumns.add(RodsGenQueryEnum.COL_AUDIT_ACTION_ID.getName());
+
+		IRODSQueryResultRow resultRow = IRODSQueryResultRow.instance(resultColumns, resultColumns);
+		Assert.assertEquals(resultColumns, resultRow.getColumnsAsList());
+		resultRow.getColumnsAsList().set(0, "changed");
+
+	}
+
 }
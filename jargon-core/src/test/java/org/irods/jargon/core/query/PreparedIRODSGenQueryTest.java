@@ -0,0 +1,77 @@
+package org.irods.jargon.core.query;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PreparedIRODSGenQueryTest {
+
+	@Test
+	public final void testPrepareAndBind() throws Exception {
+		PreparedIRODSGenQuery prepared = PreparedIRODSGenQuery.instance(
+				"select COLL_NAME, DATA_NAME where COLL_NAME = ? and DATA_NAME like ? and DATA_REPL_NUM = '0'");
+		Assert.assertEquals("wrong placeholder count", 2, prepared.getPlaceholderCount());
+
+		IRODSGenQueryFromPrepared query = prepared.bind(100, "/zone/home/user", "%.txt");
+		Assert.assertEquals("wrong results desired", 100, query.getNumberOfResultsDesired());
+		TranslatedIRODSGenQuery translated = query.convertToTranslatedIRODSGenQuery();
+		Assert.assertEquals("wrong selects", 2, translated.getSelectFields().size());
+		Assert.assertEquals("wrong select", RodsGenQueryEnum.COL_COLL_NAME.getName(),
+				translated.getSelectFields().get(0).getSelectFieldColumnName());
+		Assert.assertTrue("should be distinct", translated.isDistinct());
+		Assert.assertEquals("wrong conditions", 3, translated.getTranslatedQueryConditions().size());
+		TranslatedGenQueryCondition condition = translated.getTranslatedQueryConditions().get(0);
+		Assert.assertEquals("wrong column", String.valueOf(RodsGenQueryEnum.COL_COLL_NAME.getNumericValue()),
+				condition.getColumnNumericTranslation());
+		Assert.assertEquals("wrong operator", "=", condition.getOperator());
+		Assert.assertEquals("wrong bound value", "'/zone/home/user'", condition.getValue());
+		Assert.assertEquals("wrong bound value", "'%.txt'",
+				translated.getTranslatedQueryConditions().get(1).getValue());
+		Assert.assertEquals("literal should be kept", "'0'",
+				translated.getTranslatedQueryConditions().get(2).getValue());
+	}
+
+	@Test
+	public final void testBindTwiceDoesNotChangePrepared() throws Exception {
+		PreparedIRODSGenQuery prepared = PreparedIRODSGenQuery.instance("select DATA_NAME where COLL_NAME = ?");
+		TranslatedIRODSGenQuery first = prepared.bind(10, "/a").convertToTranslatedIRODSGenQuery();
+		TranslatedIRODSGenQuery second = prepared.bind(10, "/b").convertToTranslatedIRODSGenQuery();
+		Assert.assertEquals("wrong first value", "'/a'", first.getTranslatedQueryConditions().get(0).getValue());
+		Assert.assertEquals("wrong second value", "'/b'", second.getTranslatedQueryConditions().get(0).getValue());
+	}
+
+	@Test
+	public final void testBindInCollection() throws Exception {
+		PreparedIRODSGenQuery prepared = PreparedIRODSGenQuery.instance("select DATA_NAME where COLL_NAME in ?");
+		TranslatedIRODSGenQuery translated = prepared.bind(10, Arrays.asList("/a", "/b"))
+				.convertToTranslatedIRODSGenQuery();
+		Assert.assertEquals("wrong in value", "'/a' '/b' ",
+				translated.getTranslatedQueryConditions().get(0).getValue());
+	}
+
+	@Test
+	public final void testNonDistinct() throws Exception {
+		PreparedIRODSGenQuery prepared = PreparedIRODSGenQuery.instance("select non-distinct DATA_NAME");
+		Assert.assertEquals("should have no placeholders", 0, prepared.getPlaceholderCount());
+		Assert.assertFalse("should not be distinct", prepared.bind(10).convertToTranslatedIRODSGenQuery().isDistinct());
+	}
+
+	@Test(expected = JargonQueryException.class)
+	public final void testBindWrongValueCount() throws Exception {
+		PreparedIRODSGenQuery prepared = PreparedIRODSGenQuery.instance("select DATA_NAME where COLL_NAME = ?");
+		prepared.bind(10, "/a", "/b");
+	}
+
+	@Test(expected = JargonQueryException.class)
+	public final void testBindCollectionForSingleValue() throws Exception {
+		PreparedIRODSGenQuery prepared = PreparedIRODSGenQuery.instance("select DATA_NAME where COLL_NAME = ?");
+		prepared.bind(10, Arrays.asList("/a"));
+	}
+
+	@Test(expected = JargonQueryException.class)
+	public final void testPrepareBadSelect() throws Exception {
+		PreparedIRODSGenQuery.instance("select NOT_A_FIELD where COLL_NAME = ?");
+	}
+
+}
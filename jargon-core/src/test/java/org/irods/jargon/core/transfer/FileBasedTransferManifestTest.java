@@ -0,0 +1,100 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Properties;
+
+import org.irods.jargon.testutils.TestingPropertiesHelper;
+import org.irods.jargon.testutils.filemanip.ScratchFileUtils;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class FileBasedTransferManifestTest {
+
+	private static Properties testingProperties = new Properties();
+	private static ScratchFileUtils scratchFileUtils = null;
+	public static final String IRODS_TEST_SUBDIR_PATH = "FileBasedTransferManifestTest";
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		TestingPropertiesHelper testingPropertiesLoader = new TestingPropertiesHelper();
+		testingProperties = testingPropertiesLoader.getTestProperties();
+		scratchFileUtils = new ScratchFileUtils(testingProperties);
+		scratchFileUtils.clearAndReinitializeScratchDirectory(IRODS_TEST_SUBDIR_PATH);
+	}
+
+	@Test
+	public void testResumeFromManifest() throws Exception {
+		File manifestFile = new File(scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH),
+				"testResumeFromManifest.manifest");
+		FileBasedTransferManifest manifest = FileBasedTransferManifest.instance(manifestFile);
+		manifest.markDirectoryPending("/zone/home/test/top");
+		manifest.markDirectoryPending("/zone/home/test/top/sub1");
+		manifest.markFileStarted("/zone/home/test/top/sub1/file1.txt");
+		manifest.markFileComplete("/zone/home/test/top/sub1/file1.txt");
+		manifest.markDirectoryComplete("/zone/home/test/top/sub1");
+		manifest.markDirectoryPending("/zone/home/test/top/sub2");
+		manifest.markFileStarted("/zone/home/test/top/sub2/file2.txt");
+		manifest.close();
+
+		FileBasedTransferManifest resumed = FileBasedTransferManifest.instance(manifestFile);
+		Assert.assertTrue("sub1 should be complete", resumed.isDirectoryComplete("/zone/home/test/top/sub1"));
+		Assert.assertTrue("file under complete dir should be complete",
+				resumed.isFileComplete("/zone/home/test/top/sub1/file1.txt"));
+		Assert.assertFalse("sub2 should not be complete", resumed.isDirectoryComplete("/zone/home/test/top/sub2"));
+		Assert.assertTrue("file2 should be in progress", resumed.isFileInProgress("/zone/home/test/top/sub2/file2.txt"));
+		Assert.assertFalse("file2 should not be complete", resumed.isFileComplete("/zone/home/test/top/sub2/file2.txt"));
+		Assert.assertTrue("top should be pending", resumed.getPendingDirectories().contains("/zone/home/test/top"));
+		Assert.assertFalse("similar named dir should not be complete",
+				resumed.isDirectoryComplete("/zone/home/test/top/sub10"));
+		resumed.close();
+	}
+
+	@Test
+	public void testTornRecordIgnored() throws Exception {
+		File manifestFile = new File(scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH),
+				"testTornRecordIgnored.manifest");
+		FileBasedTransferManifest manifest = FileBasedTransferManifest.instance(manifestFile);
+		manifest.markFileComplete("/local/dir/file1.txt");
+		manifest.close();
+
+		FileOutputStream fos = new FileOutputStream(manifestFile, true);
+		try {
+			fos.write("F 0000".getBytes("UTF-8"));
+		} finally {
+			fos.close();
+		}
+
+		FileBasedTransferManifest resumed = FileBasedTransferManifest.instance(manifestFile);
+		Assert.assertTrue("lost good record", resumed.isFileComplete("/local/dir/file1.txt"));
+		resumed.markFileComplete("/local/dir/file2.txt");
+		resumed.close();
+
+		resumed = FileBasedTransferManifest.instance(manifestFile);
+		Assert.assertTrue("lost record after torn record", resumed.isFileComplete("/local/dir/file2.txt"));
+		resumed.close();
+	}
+
+	@Test
+	public void testCompactionOnOpen() throws Exception {
+		File manifestFile = new File(scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH),
+				"testCompactionOnOpen.manifest");
+		FileBasedTransferManifest manifest = FileBasedTransferManifest.instance(manifestFile);
+		manifest.markDirectoryPending("/local/dir");
+		for (int i = 0; i < 20; i++) {
+			manifest.markFileStarted("/local/dir/file" + i);
+			manifest.markFileComplete("/local/dir/file" + i);
+		}
+		manifest.markDirectoryComplete("/local/dir");
+		manifest.close();
+		long lengthBefore = manifestFile.length();
+
+		FileBasedTransferManifest compacted = FileBasedTransferManifest.instance(manifestFile);
+		Assert.assertTrue("manifest not compacted", manifestFile.length() < lengthBefore);
+		Assert.assertTrue("lost directory", compacted.isDirectoryComplete("/local/dir"));
+		Assert.assertTrue("lost file", compacted.isFileComplete("/local/dir/file7"));
+		compacted.close();
+	}
+
+}
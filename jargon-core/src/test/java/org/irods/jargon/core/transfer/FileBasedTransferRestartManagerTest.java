@@ -0,0 +1,177 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Properties;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.transfer.FileRestartInfo.RestartType;
+import org.irods.jargon.testutils.TestingPropertiesHelper;
+import org.irods.jargon.testutils.filemanip.ScratchFileUtils;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class FileBasedTransferRestartManagerTest {
+
+	private static Properties testingProperties = new Properties();
+	private static ScratchFileUtils scratchFileUtils = null;
+	public static final String IRODS_TEST_SUBDIR_PATH = "FileBasedTransferRestartManagerTest";
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		TestingPropertiesHelper testingPropertiesLoader = new TestingPropertiesHelper();
+		testingProperties = testingPropertiesLoader.getTestProperties();
+		scratchFileUtils = new ScratchFileUtils(testingProperties);
+		scratchFileUtils.clearAndReinitializeScratchDirectory(IRODS_TEST_SUBDIR_PATH);
+	}
+
+	@Test
+	public void testStoreAndRetrieve() throws Exception {
+		File journalDir = new File(
+				scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH + "/testStoreAndRetrieve"));
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(journalDir);
+		FileRestartInfo fileRestartInfo = buildRestartInfo(4);
+		FileRestartInfoIdentifier actual = manager.storeRestart(fileRestartInfo);
+		Assert.assertNotNull("null identifier", actual);
+		Assert.assertEquals(fileRestartInfo.getIrodsAbsolutePath(), actual.getAbsolutePath());
+
+		FileRestartInfo retrievedInfo = manager.retrieveRestart(actual);
+		Assert.assertNotNull("did not get info back from key", retrievedInfo);
+		Assert.assertTrue("no journal file", manager.journalFileForIdentifier(actual).exists());
+		manager.close();
+	}
+
+	@Test
+	public void testRecoverAfterRestart() throws Exception {
+		File journalDir = new File(scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH + "/testRecoverAfterRestart"));
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(journalDir);
+		FileRestartInfo fileRestartInfo = buildRestartInfo(4);
+		FileRestartInfoIdentifier identifier = manager.storeRestart(fileRestartInfo);
+		manager.updateOffsetForSegment(identifier, 2, 1000L);
+		manager.updateLengthForSegment(identifier, 2, 300L);
+		manager.updateLengthForSegment(identifier, 2, 200L);
+		manager.updateLengthForSegment(identifier, 3, 50L);
+		manager.incrementRestartAttempts(fileRestartInfo);
+		manager.close();
+
+		FileBasedTransferRestartManager recovered = new FileBasedTransferRestartManager(journalDir);
+		FileRestartInfo retrievedInfo = recovered.retrieveRestart(identifier);
+		Assert.assertNotNull("did not recover info", retrievedInfo);
+		Assert.assertEquals(fileRestartInfo.getLocalAbsolutePath(), retrievedInfo.getLocalAbsolutePath());
+		Assert.assertEquals(4, retrievedInfo.getFileRestartDataSegments().size());
+		Assert.assertEquals(1000L, retrievedInfo.getFileRestartDataSegments().get(2).getOffset());
+		Assert.assertEquals(500L, retrievedInfo.getFileRestartDataSegments().get(2).getLength());
+		Assert.assertEquals(50L, retrievedInfo.getFileRestartDataSegments().get(3).getLength());
+		Assert.assertEquals(1, retrievedInfo.getNumberRestarts());
+		recovered.close();
+	}
+
+	@Test
+	public void testRecoverTornSegmentUsesPriorGeneration() throws Exception {
+		File journalDir = new File(scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH + "/testRecoverTornSegment"));
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(journalDir);
+		FileRestartInfo fileRestartInfo = buildRestartInfo(1);
+		FileRestartInfoIdentifier identifier = manager.storeRestart(fileRestartInfo);
+		manager.updateLengthForSegment(identifier, 0, 100L);
+		manager.updateLengthForSegment(identifier, 0, 100L);
+		File journalFile = manager.journalFileForIdentifier(identifier);
+		manager.close();
+
+		// generation 3 went to the second slot, corrupt its crc
+		RandomAccessFile raf = new RandomAccessFile(journalFile, "rw");
+		try {
+			long lastSlotCrc = raf.length() - FileBasedTransferRestartManager.SLOT_LENGTH
+					+ FileBasedTransferRestartManager.SLOT_CRC_POSITION;
+			raf.seek(lastSlotCrc);
+			raf.writeInt(0);
+		} finally {
+			raf.close();
+		}
+
+		FileBasedTransferRestartManager recovered = new FileBasedTransferRestartManager(journalDir);
+		FileRestartInfo retrievedInfo = recovered.retrieveRestart(identifier);
+		Assert.assertNotNull("did not recover info", retrievedInfo);
+		Assert.assertEquals(100L, retrievedInfo.getFileRestartDataSegments().get(0).getLength());
+		recovered.close();
+	}
+
+	@Test
+	public void testDelete() throws Exception {
+		File journalDir = new File(
+				scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH + "/testDelete"));
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(journalDir);
+		FileRestartInfoIdentifier actual = manager.storeRestart(buildRestartInfo(2));
+		manager.deleteRestart(actual);
+		Assert.assertNull("did not remove info", manager.retrieveRestart(actual));
+		Assert.assertFalse("did not remove journal", manager.journalFileForIdentifier(actual).exists());
+	}
+
+	@Test
+	public void testCompactRemovesStrayFiles() throws Exception {
+		File journalDir = new File(
+				scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH + "/testCompact"));
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(journalDir);
+		FileRestartInfoIdentifier actual = manager.storeRestart(buildRestartInfo(2));
+		File stray = new File(journalDir, "stray" + FileBasedTransferRestartManager.TEMP_EXTENSION);
+		Assert.assertTrue(stray.createNewFile());
+		manager.compact();
+		Assert.assertFalse("did not remove stray file", stray.exists());
+		Assert.assertNotNull("lost live restart", manager.retrieveRestart(actual));
+		manager.close();
+	}
+
+	@Test
+	public void testUnmappedJournalUpdateReplaceAndDelete() throws Exception {
+		File journalDir = new File(scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH + "/testUnmappedJournal"));
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(journalDir, false);
+		FileRestartInfo fileRestartInfo = buildRestartInfo(2);
+		FileRestartInfoIdentifier identifier = manager.storeRestart(fileRestartInfo);
+		manager.updateOffsetForSegment(identifier, 1, 1000L);
+		manager.updateLengthForSegment(identifier, 1, 300L);
+		manager.incrementRestartAttempts(fileRestartInfo);
+		manager.compact();
+		manager.updateLengthForSegment(identifier, 1, 200L);
+		manager.close();
+
+		FileBasedTransferRestartManager recovered = new FileBasedTransferRestartManager(journalDir, false);
+		FileRestartInfo retrievedInfo = recovered.retrieveRestart(identifier);
+		Assert.assertNotNull("did not recover info", retrievedInfo);
+		Assert.assertEquals(1000L, retrievedInfo.getFileRestartDataSegments().get(1).getOffset());
+		Assert.assertEquals(500L, retrievedInfo.getFileRestartDataSegments().get(1).getLength());
+		Assert.assertEquals(1, retrievedInfo.getNumberRestarts());
+
+		recovered.storeRestart(buildRestartInfo(2));
+		recovered.deleteRestart(identifier);
+		Assert.assertNull("did not remove info", recovered.retrieveRestart(identifier));
+		Assert.assertFalse("did not remove journal", recovered.journalFileForIdentifier(identifier).exists());
+		recovered.close();
+	}
+
+	@Test(expected = FileRestartManagementException.class)
+	public void testUpdateNonExistentSegment() throws Exception {
+		File journalDir = new File(scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH + "/testUpdateNonExistentSegment"));
+		FileBasedTransferRestartManager manager = new FileBasedTransferRestartManager(journalDir);
+		FileRestartInfo fileRestartInfo = buildRestartInfo(4);
+		manager.storeRestart(fileRestartInfo);
+		manager.updateSegment(fileRestartInfo, new FileRestartDataSegment(100));
+	}
+
+	private FileRestartInfo buildRestartInfo(final int nbrThreads) throws Exception {
+		IRODSAccount account = TestingPropertiesHelper.buildBogusIrodsAccount();
+		FileRestartInfo fileRestartInfo = new FileRestartInfo();
+		fileRestartInfo.setIrodsAbsolutePath("/irods/path");
+		fileRestartInfo.setLocalAbsolutePath("/local/path");
+		fileRestartInfo.setRestartType(RestartType.PUT);
+		fileRestartInfo.setIrodsAccountIdentifier(account.toString());
+		for (int i = 0; i < nbrThreads; i++) {
+			fileRestartInfo.getFileRestartDataSegments().add(new FileRestartDataSegment(i));
+		}
+		return fileRestartInfo;
+	}
+
+}
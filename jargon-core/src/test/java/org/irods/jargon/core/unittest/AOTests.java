@@ -6,8 +6,10 @@ import org.irods.jargon.core.pub.CollectionAOImplTest;
 import org.irods.jargon.core.pub.CollectionAndDataObjectListAndSearchAOImplForSoftLinksTest;
 import org.irods.jargon.core.pub.CollectionAndDataObjectListAndSearchAOImplTest;
 import org.irods.jargon.core.pub.CollectionAuditAOImplTest;
+import org.irods.jargon.core.pub.CollectionListingUtilsAfterNameTest;
 import org.irods.jargon.core.pub.CollectionListingUtilsTest;
 import org.irods.jargon.core.pub.CollectionPagerAOImplTest;
+import org.irods.jargon.core.pub.DataAOHelperTest;
 import org.irods.jargon.core.pub.DataObjectAOImplForSoftLinkTest;
 import org.irods.jargon.core.pub.DataObjectAOImplTest;
 import org.irods.jargon.core.pub.DataObjectAuditAOImplTest;
@@ -21,6 +23,7 @@ import org.irods.jargon.core.pub.FederatedCollectionAndDataObjectListAndSearchAO
 import org.irods.jargon.core.pub.FederatedDataObjectAOImplTest;
 import org.irods.jargon.core.pub.FederatedDataTransferOperationsImplTest;
 import org.irods.jargon.core.pub.FederatedIRODSGenQueryExecutorImplTest;
+import org.irods.jargon.core.pub.FederatedQueryResultsTest;
 import org.irods.jargon.core.pub.FederatedSpecificQueryAOTest;
 import org.irods.jargon.core.pub.FederatedUserAOTest;
 import org.irods.jargon.core.pub.IRODSAccessObjectFactoryImplTest;
@@ -29,11 +32,13 @@ import org.irods.jargon.core.pub.IRODSFileSystemTest;
 import org.irods.jargon.core.pub.IRODSGenQueryExecutorImplBuilderQueriesTest;
 import org.irods.jargon.core.pub.IRODSGenQueryExecutorImplTest;
 import org.irods.jargon.core.pub.IRODSRegistrationOfFilesAOImplTest;
+import org.irods.jargon.core.pub.ListingQueryFanOutTest;
 import org.irods.jargon.core.pub.MountedCollectionAOImplForMSSOTest;
 import org.irods.jargon.core.pub.MountedCollectionAOImplTest;
 import org.irods.jargon.core.pub.MountedFilesystemCollectionAOImplTest;
 import org.irods.jargon.core.pub.MountedFilesystemCollectionAndDataObjectListAndSearchAOImplTest;
 import org.irods.jargon.core.pub.MountedFilesystemsDataTransferOperationsImplTest;
+import org.irods.jargon.core.pub.ParallelStreamPutProcessorTest;
 import org.irods.jargon.core.pub.ProtocolExtensionPointImplTest;
 import org.irods.jargon.core.pub.QuotaAOImplTest;
 import org.irods.jargon.core.pub.RemoteExecutionOfCommandsAOImplTest;
@@ -43,6 +48,7 @@ import org.irods.jargon.core.pub.ResourceGroupAOImplTest;
 import org.irods.jargon.core.pub.RuleProcessingAOImplTest;
 import org.irods.jargon.core.pub.SimpleQueryExecutorAOImplTest;
 import org.irods.jargon.core.pub.SpecificQueryAOTest;
+import org.irods.jargon.core.pub.SpecificQueryResultIteratorTest;
 import org.irods.jargon.core.pub.Stream2StreamAOImplTest;
 import org.irods.jargon.core.pub.TrashOperationsAOImplTest;
 import org.irods.jargon.core.pub.TrashOperationsTest;
@@ -78,7 +84,9 @@ import org.junit.runners.Suite;
 		IRODSFileSystemSingletonWrapperTest.class, ResourceAOHelperTest.class, CollectionPagerAOImplTest.class,
 		DataObjectChecksumUtilitiesAOImplTest.class, CollectionListingUtilsTest.class,
 		FederatedDataObjectAOImplTest.class, DataObjectChecksumUtilitiesAOImplTest.class, TrashOperationsTest.class,
-		TrashOperationsAOImplTest.class })
+		TrashOperationsAOImplTest.class, ListingQueryFanOutTest.class, FederatedQueryResultsTest.class,
+		SpecificQueryResultIteratorTest.class, DataAOHelperTest.class,
+		CollectionListingUtilsAfterNameTest.class, ParallelStreamPutProcessorTest.class })
 
 /**
  * Suite to run Access Object tests in org.irods.jargon.pub.*
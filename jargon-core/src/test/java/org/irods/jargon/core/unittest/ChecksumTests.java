@@ -1,6 +1,8 @@
 package org.irods.jargon.core.unittest;
 
+import org.irods.jargon.core.checksum.BulkLocalChecksumServiceTest;
 import org.irods.jargon.core.checksum.ChecksumManagerImplTest;
+import org.irods.jargon.core.checksum.FileBasedLocalChecksumCacheTest;
 import org.irods.jargon.core.checksum.LocalChecksumComputerFactoryImplTest;
 import org.irods.jargon.core.checksum.MD5LocalChecksumComputerStrategyTest;
 import org.irods.jargon.core.checksum.SHA256LocalChecksumComputerStrategyTest;
@@ -15,7 +17,8 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ MD5LocalChecksumComputerStrategyTest.class, SHA256LocalChecksumComputerStrategyTest.class,
-		LocalChecksumComputerFactoryImplTest.class, ChecksumManagerImplTest.class })
+		LocalChecksumComputerFactoryImplTest.class, ChecksumManagerImplTest.class,
+		FileBasedLocalChecksumCacheTest.class, BulkLocalChecksumServiceTest.class })
 public class ChecksumTests {
 
 }
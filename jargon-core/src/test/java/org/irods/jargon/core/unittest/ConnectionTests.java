@@ -1,19 +1,23 @@
 package org.irods.jargon.core.unittest;
 
+import org.irods.jargon.core.connection.BoundedMetadataCacheTest;
 import org.irods.jargon.core.connection.ClientServerNegotationPolicyFromPropertiesBuilderTest;
 import org.irods.jargon.core.connection.ClientServerNegotiationPolicyTest;
 import org.irods.jargon.core.connection.ConnectionProgressStatusTest;
 import org.irods.jargon.core.connection.DefaultPropertiesJargonConfigTest;
 import org.irods.jargon.core.connection.DiscoveredServerPropertiesCacheTest;
 import org.irods.jargon.core.connection.EnvironmentalInfoAccessorTest;
+import org.irods.jargon.core.connection.GroupMembershipCacheTest;
 import org.irods.jargon.core.connection.IRODSAccountTest;
 import org.irods.jargon.core.connection.IRODSServerPropertiesTest;
 import org.irods.jargon.core.connection.IRODSSessionTest;
 import org.irods.jargon.core.connection.IRODSSimpleConnectionTest;
 import org.irods.jargon.core.connection.IRODSSimpleProtocolManagerTest;
+import org.irods.jargon.core.connection.ObjStatCacheTest;
 import org.irods.jargon.core.connection.PAMAuthTest;
 import org.irods.jargon.core.connection.PipelineConfigurationTest;
 import org.irods.jargon.core.connection.ProxyUserFunctionalTest;
+import org.irods.jargon.core.connection.RequestCoalescerTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -23,7 +27,8 @@ import org.junit.runners.Suite;
 		DefaultPropertiesJargonConfigTest.class, ConnectionProgressStatusTest.class, PAMAuthTest.class,
 		DiscoveredServerPropertiesCacheTest.class, IRODSAccountTest.class,
 		ClientServerNegotationPolicyFromPropertiesBuilderTest.class, ClientServerNegotiationPolicyTest.class,
-		PipelineConfigurationTest.class, ProxyUserFunctionalTest.class })
+		PipelineConfigurationTest.class, ProxyUserFunctionalTest.class, ObjStatCacheTest.class,
+		RequestCoalescerTest.class, BoundedMetadataCacheTest.class, GroupMembershipCacheTest.class })
 public class ConnectionTests {
 
 }
@@ -19,9 +19,15 @@ import org.irods.jargon.core.pub.io.MountedFilesystemIRODSFileImplTest;
 import org.irods.jargon.core.pub.io.MountedFilesystemIRODSFileOutputStreamTest;
 import org.irods.jargon.core.pub.io.PackingIrodsInputStreamTest;
 import org.irods.jargon.core.pub.io.PackingIrodsOutputStreamTest;
+import org.irods.jargon.core.pub.io.ParallelRangeIrodsInputStreamTest;
+import org.irods.jargon.core.pub.io.RandomAccessBlockCacheTest;
+import org.irods.jargon.core.pub.io.ReadAheadIrodsInputStreamTest;
 import org.irods.jargon.core.pub.io.RemoteExecutionBinaryResultInputStreamTest;
 import org.irods.jargon.core.pub.io.SessionClosingIRODSFIleInputStreamTest;
 import org.irods.jargon.core.pub.io.SessionClosingIRODSFileOutputStreamTest;
+import org.irods.jargon.core.pub.nio.IRODSNioFileSystemProviderTest;
+import org.irods.jargon.core.pub.nio.IRODSNioFileSystemProviderUriTest;
+import org.irods.jargon.core.pub.nio.IRODSNioPathTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -35,7 +41,9 @@ import org.junit.runners.Suite;
 		IRODSFIleInputStreamForSoftLinksTest.class, IRODSFileOutputStreamForSoftLinksTest.class,
 		MountedFilesystemIRODSFileImplTest.class, MountedFileSystemIRODSFileInputStreamTest.class,
 		MountedFilesystemIRODSFileOutputStreamTest.class, PackingIrodsOutputStreamTest.class,
-		PackingIrodsInputStreamTest.class })
+		PackingIrodsInputStreamTest.class, ReadAheadIrodsInputStreamTest.class,
+		RandomAccessBlockCacheTest.class, ParallelRangeIrodsInputStreamTest.class, IRODSNioPathTest.class,
+		IRODSNioFileSystemProviderTest.class, IRODSNioFileSystemProviderUriTest.class })
 public class FileTests {
 
 }
@@ -7,6 +7,7 @@ import org.irods.jargon.core.query.IRODSGenQueryBuilderTest;
 import org.irods.jargon.core.query.IRODSGenQueryFromBuilderTest;
 import org.irods.jargon.core.query.IRODSGenQueryTranslatorTest;
 import org.irods.jargon.core.query.IRODSSimpleQueryResultSetTest;
+import org.irods.jargon.core.query.PreparedIRODSGenQueryTest;
 import org.irods.jargon.core.query.SimpleQueryTest;
 import org.irods.jargon.core.query.TranslatedIRODSQueryTest;
 import org.irods.jargon.core.query.UserFilePermissionTest;
@@ -16,7 +17,8 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ IRODSGenQueryTranslatorTest.class, GenQuerySelectFieldTest.class, TranslatedIRODSQueryTest.class,
 		IRODSSimpleQueryResultSetTest.class, IRODSGenQueryFromBuilderTest.class, SimpleQueryTest.class,
-		UserFilePermissionTest.class, IRODSGenQueryBuilderTest.class, GenQueryFunctionalTests.class })
+		UserFilePermissionTest.class, IRODSGenQueryBuilderTest.class, GenQueryFunctionalTests.class,
+		PreparedIRODSGenQueryTest.class })
 public class IRODSQueryTests {
 
 }
@@ -0,0 +1,110 @@
+package org.irods.jargon.datautils.usage;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Change in storage usage between two {@link StorageUsageReport}s of the same
+ * path and grouping
+ *
+ * @author Mike Conway - NIEHS
+ *
+ */
+public class StorageUsageDelta {
+
+	private String scopePath = "";
+	private StorageUsageGroupBy groupBy = StorageUsageGroupBy.OWNER;
+	private Date fromDate;
+	private Date toDate;
+
+	/**
+	 * change of each group in either report, ordered by group value
+	 */
+	private List<StorageUsageDeltaEntry> entries = new ArrayList<StorageUsageDeltaEntry>();
+
+	private long totalDataSizeChange = 0L;
+	private long totalReplicaCountChange = 0L;
+
+	public String getScopePath() {
+		return scopePath;
+	}
+
+	public void setScopePath(final String scopePath) {
+		this.scopePath = scopePath;
+	}
+
+	public StorageUsageGroupBy getGroupBy() {
+		return groupBy;
+	}
+
+	public void setGroupBy(final StorageUsageGroupBy groupBy) {
+		this.groupBy = groupBy;
+	}
+
+	public Date getFromDate() {
+		return fromDate;
+	}
+
+	public void setFromDate(final Date fromDate) {
+		this.fromDate = fromDate;
+	}
+
+	public Date getToDate() {
+		return toDate;
+	}
+
+	public void setToDate(final Date toDate) {
+		this.toDate = toDate;
+	}
+
+	public List<StorageUsageDeltaEntry> getEntries() {
+		return entries;
+	}
+
+	public void setEntries(final List<StorageUsageDeltaEntry> entries) {
+		this.entries = entries;
+	}
+
+	public long getTotalDataSizeChange() {
+		return totalDataSizeChange;
+	}
+
+	public void setTotalDataSizeChange(final long totalDataSizeChange) {
+		this.totalDataSizeChange = totalDataSizeChange;
+	}
+
+	public long getTotalReplicaCountChange() {
+		return totalReplicaCountChange;
+	}
+
+	public void setTotalReplicaCountChange(final long totalReplicaCountChange) {
+		this.totalReplicaCountChange = totalReplicaCountChange;
+	}
+
+	@Override
+	public String toString() {
+		final int maxLen = 10;
+		StringBuilder builder = new StringBuilder();
+		builder.append("StorageUsageDelta [");
+		if (scopePath != null) {
+			builder.append("scopePath=").append(scopePath).append(", ");
+		}
+		if (groupBy != null) {
+			builder.append("groupBy=").append(groupBy).append(", ");
+		}
+		if (fromDate != null) {
+			builder.append("fromDate=").append(fromDate).append(", ");
+		}
+		if (toDate != null) {
+			builder.append("toDate=").append(toDate).append(", ");
+		}
+		if (entries != null) {
+			builder.append("entries=").append(entries.subList(0, Math.min(entries.size(), maxLen))).append(", ");
+		}
+		builder.append("totalDataSizeChange=").append(totalDataSizeChange).append(", totalReplicaCountChange=")
+				.append(totalReplicaCountChange).append("]");
+		return builder.toString();
+	}
+
+}
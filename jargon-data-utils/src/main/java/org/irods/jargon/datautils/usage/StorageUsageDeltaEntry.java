@@ -0,0 +1,112 @@
+package org.irods.jargon.datautils.usage;
+
+/**
+ * Change in the storage used by one group between two
+ * {@link StorageUsageReport}s. A group missing from a report has a size and
+ * count of 0 in that report.
+ *
+ * @author Mike Conway - NIEHS
+ *
+ */
+public class StorageUsageDeltaEntry {
+
+	private String groupValue = "";
+	private long dataSizeBefore = 0L;
+	private long dataSizeAfter = 0L;
+	private long replicaCountBefore = 0L;
+	private long replicaCountAfter = 0L;
+
+	public StorageUsageDeltaEntry() {
+	}
+
+	/**
+	 * @param groupValue
+	 *            {@code String} with the value of the grouped column
+	 * @param before
+	 *            {@link StorageUsageEntry} from the earlier report, or
+	 *            {@code null} if the group was not in it
+	 * @param after
+	 *            {@link StorageUsageEntry} from the later report, or {@code null}
+	 *            if the group was not in it
+	 */
+	public StorageUsageDeltaEntry(final String groupValue, final StorageUsageEntry before,
+			final StorageUsageEntry after) {
+		this.groupValue = groupValue;
+		if (before != null) {
+			dataSizeBefore = before.getDataSize();
+			replicaCountBefore = before.getReplicaCount();
+		}
+		if (after != null) {
+			dataSizeAfter = after.getDataSize();
+			replicaCountAfter = after.getReplicaCount();
+		}
+	}
+
+	/**
+	 * @return {@code long} with the change in bytes, negative if usage went down
+	 */
+	public long getDataSizeChange() {
+		return dataSizeAfter - dataSizeBefore;
+	}
+
+	/**
+	 * @return {@code long} with the change in the count of replicas
+	 */
+	public long getReplicaCountChange() {
+		return replicaCountAfter - replicaCountBefore;
+	}
+
+	public String getGroupValue() {
+		return groupValue;
+	}
+
+	public void setGroupValue(final String groupValue) {
+		this.groupValue = groupValue;
+	}
+
+	public long getDataSizeBefore() {
+		return dataSizeBefore;
+	}
+
+	public void setDataSizeBefore(final long dataSizeBefore) {
+		this.dataSizeBefore = dataSizeBefore;
+	}
+
+	public long getDataSizeAfter() {
+		return dataSizeAfter;
+	}
+
+	public void setDataSizeAfter(final long dataSizeAfter) {
+		this.dataSizeAfter = dataSizeAfter;
+	}
+
+	public long getReplicaCountBefore() {
+		return replicaCountBefore;
+	}
+
+	public void setReplicaCountBefore(final long replicaCountBefore) {
+		this.replicaCountBefore = replicaCountBefore;
+	}
+
+	public long getReplicaCountAfter() {
+		return replicaCountAfter;
+	}
+
+	public void setReplicaCountAfter(final long replicaCountAfter) {
+		this.replicaCountAfter = replicaCountAfter;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("StorageUsageDeltaEntry [");
+		if (groupValue != null) {
+			builder.append("groupValue=").append(groupValue).append(", ");
+		}
+		builder.append("dataSizeBefore=").append(dataSizeBefore).append(", dataSizeAfter=").append(dataSizeAfter)
+				.append(", replicaCountBefore=").append(replicaCountBefore).append(", replicaCountAfter=")
+				.append(replicaCountAfter).append("]");
+		return builder.toString();
+	}
+
+}
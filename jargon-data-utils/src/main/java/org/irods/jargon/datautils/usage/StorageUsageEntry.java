@@ -0,0 +1,93 @@
+package org.irods.jargon.datautils.usage;
+
+/**
+ * Storage used by one group in a {@link StorageUsageReport}, such as one owner
+ * or one resource
+ *
+ * @author Mike Conway - NIEHS
+ *
+ */
+public class StorageUsageEntry {
+
+	/**
+	 * value of the grouped column, such as the owner name, or the collection
+	 * prefix
+	 */
+	private String groupValue = "";
+
+	/**
+	 * total size in bytes of the replicas in the group
+	 */
+	private long dataSize = 0L;
+
+	/**
+	 * count of replicas in the group
+	 */
+	private long replicaCount = 0L;
+
+	public StorageUsageEntry() {
+	}
+
+	/**
+	 * @param groupValue
+	 *            {@code String} with the value of the grouped column
+	 * @param dataSize
+	 *            {@code long} with the total size in bytes
+	 * @param replicaCount
+	 *            {@code long} with the count of replicas
+	 */
+	public StorageUsageEntry(final String groupValue, final long dataSize, final long replicaCount) {
+		this.groupValue = groupValue;
+		this.dataSize = dataSize;
+		this.replicaCount = replicaCount;
+	}
+
+	/**
+	 * Add usage to this entry
+	 *
+	 * @param dataSize
+	 *            {@code long} with the size in bytes to add
+	 * @param replicaCount
+	 *            {@code long} with the count of replicas to add
+	 */
+	public void add(final long dataSize, final long replicaCount) {
+		this.dataSize += dataSize;
+		this.replicaCount += replicaCount;
+	}
+
+	public String getGroupValue() {
+		return groupValue;
+	}
+
+	public void setGroupValue(final String groupValue) {
+		this.groupValue = groupValue;
+	}
+
+	public long getDataSize() {
+		return dataSize;
+	}
+
+	public void setDataSize(final long dataSize) {
+		this.dataSize = dataSize;
+	}
+
+	public long getReplicaCount() {
+		return replicaCount;
+	}
+
+	public void setReplicaCount(final long replicaCount) {
+		this.replicaCount = replicaCount;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("StorageUsageEntry [");
+		if (groupValue != null) {
+			builder.append("groupValue=").append(groupValue).append(", ");
+		}
+		builder.append("dataSize=").append(dataSize).append(", replicaCount=").append(replicaCount).append("]");
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,45 @@
+package org.irods.jargon.datautils.usage;
+
+import org.irods.jargon.core.query.RodsGenQueryEnum;
+
+/**
+ * How a {@link StorageUsageReport} is broken down, with the GenQuery column
+ * that the usage is grouped by
+ *
+ * @author Mike Conway - NIEHS
+ *
+ */
+public enum StorageUsageGroupBy {
+
+	/**
+	 * by the owner of each data object
+	 */
+	OWNER(RodsGenQueryEnum.COL_D_OWNER_NAME),
+	/**
+	 * by the resource of each replica
+	 */
+	RESOURCE(RodsGenQueryEnum.COL_D_RESC_NAME),
+	/**
+	 * by the replica status, where 1 is good and 0 is stale
+	 */
+	REPLICA_STATUS(RodsGenQueryEnum.COL_D_REPL_STATUS),
+	/**
+	 * by collection, or by the collection at a given depth, such as the top level
+	 * project collections
+	 */
+	COLLECTION(RodsGenQueryEnum.COL_COLL_NAME);
+
+	private final RodsGenQueryEnum groupByColumn;
+
+	StorageUsageGroupBy(final RodsGenQueryEnum groupByColumn) {
+		this.groupByColumn = groupByColumn;
+	}
+
+	/**
+	 * @return {@link RodsGenQueryEnum} with the column the usage is grouped by
+	 */
+	public RodsGenQueryEnum getGroupByColumn() {
+		return groupByColumn;
+	}
+
+}
@@ -0,0 +1,125 @@
+package org.irods.jargon.datautils.usage;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Storage used under an iRODS path, broken down by a {@link StorageUsageGroupBy}.
+ * Sizes and counts are of replicas, so a data object with two replicas counts
+ * twice, as it uses storage twice.
+ * <p>
+ * This is a POJO that may be written as JSON, as it is when kept as a snapshot.
+ *
+ * @author Mike Conway - NIEHS
+ *
+ */
+public class StorageUsageReport {
+
+	/**
+	 * absolute path the report covers, including all collections under it
+	 */
+	private String scopePath = "";
+
+	private StorageUsageGroupBy groupBy = StorageUsageGroupBy.OWNER;
+
+	/**
+	 * for {@link StorageUsageGroupBy#COLLECTION}, the count of path components
+	 * collections were rolled up to, or 0 if each collection is its own group
+	 */
+	private int collectionDepth = 0;
+
+	/**
+	 * when the report was run
+	 */
+	private Date reportDate = new Date();
+
+	/**
+	 * usage of each group, ordered by group value
+	 */
+	private List<StorageUsageEntry> entries = new ArrayList<StorageUsageEntry>();
+
+	private long totalDataSize = 0L;
+
+	private long totalReplicaCount = 0L;
+
+	public String getScopePath() {
+		return scopePath;
+	}
+
+	public void setScopePath(final String scopePath) {
+		this.scopePath = scopePath;
+	}
+
+	public StorageUsageGroupBy getGroupBy() {
+		return groupBy;
+	}
+
+	public void setGroupBy(final StorageUsageGroupBy groupBy) {
+		this.groupBy = groupBy;
+	}
+
+	public int getCollectionDepth() {
+		return collectionDepth;
+	}
+
+	public void setCollectionDepth(final int collectionDepth) {
+		this.collectionDepth = collectionDepth;
+	}
+
+	public Date getReportDate() {
+		return reportDate;
+	}
+
+	public void setReportDate(final Date reportDate) {
+		this.reportDate = reportDate;
+	}
+
+	public List<StorageUsageEntry> getEntries() {
+		return entries;
+	}
+
+	public void setEntries(final List<StorageUsageEntry> entries) {
+		this.entries = entries;
+	}
+
+	public long getTotalDataSize() {
+		return totalDataSize;
+	}
+
+	public void setTotalDataSize(final long totalDataSize) {
+		this.totalDataSize = totalDataSize;
+	}
+
+	public long getTotalReplicaCount() {
+		return totalReplicaCount;
+	}
+
+	public void setTotalReplicaCount(final long totalReplicaCount) {
+		this.totalReplicaCount = totalReplicaCount;
+	}
+
+	@Override
+	public String toString() {
+		final int maxLen = 10;
+		StringBuilder builder = new StringBuilder();
+		builder.append("StorageUsageReport [");
+		if (scopePath != null) {
+			builder.append("scopePath=").append(scopePath).append(", ");
+		}
+		if (groupBy != null) {
+			builder.append("groupBy=").append(groupBy).append(", ");
+		}
+		builder.append("collectionDepth=").append(collectionDepth).append(", ");
+		if (reportDate != null) {
+			builder.append("reportDate=").append(reportDate).append(", ");
+		}
+		if (entries != null) {
+			builder.append("entries=").append(entries.subList(0, Math.min(entries.size(), maxLen))).append(", ");
+		}
+		builder.append("totalDataSize=").append(totalDataSize).append(", totalReplicaCount=")
+				.append(totalReplicaCount).append("]");
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,98 @@
+package org.irods.jargon.datautils.usage;
+
+import java.io.File;
+import java.util.List;
+
+import org.irods.jargon.core.exception.JargonException;
+
+/**
+ * Service to report the storage used under an iRODS path, broken down by
+ * owner, resource, replica status or collection, for capacity planning. The
+ * sums and counts are computed by iRODS with grouped aggregate GenQueries, and
+ * the results are paged and merged as they arrive, so the data object rows are
+ * never brought to the client.
+ * <p>
+ * Reports may be saved as dated snapshots in a local directory, and a report
+ * compared with an earlier snapshot to find the change in usage.
+ *
+ * @author Mike Conway - NIEHS
+ *
+ */
+public interface StorageUsageReportService {
+
+	/**
+	 * Prefix of the names of the snapshot files written by
+	 * {@link #saveSnapshot(StorageUsageReport, File)}
+	 */
+	String SNAPSHOT_FILE_PREFIX = "storage-usage-";
+
+	/**
+	 * Report the storage used under a path, grouped by the given column
+	 *
+	 * @param scopePath
+	 *            {@code String} with the absolute path of a collection. Data
+	 *            objects in the collection and all collections under it are
+	 *            included. This may be the zone, such as {@code /tempZone}, to
+	 *            report on the zone.
+	 * @param groupBy
+	 *            {@link StorageUsageGroupBy} with how to break down the usage
+	 * @param collectionDepth
+	 *            {@code int} used for {@link StorageUsageGroupBy#COLLECTION}, with
+	 *            the count of path components to roll collections up to, such as
+	 *            3 to report on {@code /zone/home/project}, or 0 to report each
+	 *            collection on its own. Ignored for other groupings.
+	 * @return {@link StorageUsageReport} dated now
+	 * @throws JargonException
+	 *             {@link JargonException}
+	 */
+	StorageUsageReport generateStorageUsageReport(String scopePath, StorageUsageGroupBy groupBy, int collectionDepth)
+			throws JargonException;
+
+	/**
+	 * Save a report as a JSON file in a local directory, named with the grouping
+	 * and date of the report
+	 *
+	 * @param storageUsageReport
+	 *            {@link StorageUsageReport} to save
+	 * @param snapshotDirectory
+	 *            {@link File} with the local directory for snapshots, which is
+	 *            created if it does not exist
+	 * @return {@link File} that was written
+	 * @throws JargonException
+	 *             {@link JargonException} if the snapshot cannot be written
+	 */
+	File saveSnapshot(StorageUsageReport storageUsageReport, File snapshotDirectory) throws JargonException;
+
+	/**
+	 * List the snapshots in a local directory for a path and grouping, oldest
+	 * first
+	 *
+	 * @param snapshotDirectory
+	 *            {@link File} with the local directory for snapshots
+	 * @param scopePath
+	 *            {@code String} with the path the reports cover
+	 * @param groupBy
+	 *            {@link StorageUsageGroupBy} of the reports
+	 * @param collectionDepth
+	 *            {@code int} with the collection depth of the reports, ignored
+	 *            unless grouped by collection
+	 * @return {@code List} of {@link StorageUsageReport}, empty if there are none
+	 * @throws JargonException
+	 *             {@link JargonException} if a snapshot cannot be read
+	 */
+	List<StorageUsageReport> listSnapshots(File snapshotDirectory, String scopePath, StorageUsageGroupBy groupBy,
+			int collectionDepth) throws JargonException;
+
+	/**
+	 * Compute the change in usage of each group from one report to a later one
+	 *
+	 * @param earlier
+	 *            {@link StorageUsageReport} that was run first
+	 * @param later
+	 *            {@link StorageUsageReport} that was run later, of the same path
+	 *            and grouping
+	 * @return {@link StorageUsageDelta}
+	 */
+	StorageUsageDelta computeDelta(StorageUsageReport earlier, StorageUsageReport later);
+
+}
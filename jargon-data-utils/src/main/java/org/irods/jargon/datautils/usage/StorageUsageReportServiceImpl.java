@@ -0,0 +1,385 @@
+package org.irods.jargon.datautils.usage;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
+import org.irods.jargon.core.pub.IRODSGenQueryExecutor;
+import org.irods.jargon.core.query.GenQueryBuilderException;
+import org.irods.jargon.core.query.GenQueryField.SelectFieldTypes;
+import org.irods.jargon.core.query.IRODSGenQueryBuilder;
+import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+import org.irods.jargon.core.query.JargonQueryException;
+import org.irods.jargon.core.query.QueryConditionOperators;
+import org.irods.jargon.core.query.RodsGenQueryEnum;
+import org.irods.jargon.core.service.AbstractJargonService;
+import org.irods.jargon.core.utils.MiscIRODSUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Report storage usage with grouped aggregate GenQueries. Each report runs the
+ * query for the data objects in the scope collection, and for those in the
+ * collections under it, selecting the grouped column with the sum of the data
+ * size and the count of replicas. iRODS groups by the selected column, and each
+ * page of groups is merged into the report as it arrives.
+ * <p>
+ * GenQuery cannot group on part of a column, so reports by collection prefix
+ * are queried by collection, and the collections are rolled up to the prefix
+ * as they are merged. That is one row per collection rather than one per data
+ * object.
+ *
+ * @author Mike Conway - NIEHS
+ *
+ */
+public class StorageUsageReportServiceImpl extends AbstractJargonService implements StorageUsageReportService {
+
+	public static final Logger log = LoggerFactory.getLogger(StorageUsageReportServiceImpl.class);
+
+	private static final String SNAPSHOT_FILE_SUFFIX = ".json";
+
+	/**
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory}
+	 * @param irodsAccount
+	 *            {@link IRODSAccount}
+	 */
+	public StorageUsageReportServiceImpl(final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final IRODSAccount irodsAccount) {
+		super(irodsAccessObjectFactory, irodsAccount);
+	}
+
+	public StorageUsageReportServiceImpl() {
+	}
+
+	@Override
+	public StorageUsageReport generateStorageUsageReport(final String scopePath, final StorageUsageGroupBy groupBy,
+			final int collectionDepth) throws JargonException {
+
+		log.info("generateStorageUsageReport()");
+
+		if (scopePath == null || scopePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty scopePath");
+		}
+
+		if (groupBy == null) {
+			throw new IllegalArgumentException("null groupBy");
+		}
+
+		if (collectionDepth < 0) {
+			throw new IllegalArgumentException("collectionDepth must be >= 0");
+		}
+
+		log.info("scopePath:{}", scopePath);
+		log.info("groupBy:{}", groupBy);
+		log.info("collectionDepth:{}", collectionDepth);
+
+		String normalizedScopePath = normalizePath(scopePath);
+		int effectiveDepth = groupBy == StorageUsageGroupBy.COLLECTION ? collectionDepth : 0;
+
+		StorageUsageReport report = new StorageUsageReport();
+		report.setScopePath(normalizedScopePath);
+		report.setGroupBy(groupBy);
+		report.setCollectionDepth(effectiveDepth);
+		report.setReportDate(new Date());
+
+		Map<String, StorageUsageEntry> usage = new TreeMap<String, StorageUsageEntry>();
+
+		if (!normalizedScopePath.equals("/")) {
+			queryAndMergeUsage(normalizedScopePath, QueryConditionOperators.EQUAL, normalizedScopePath, groupBy,
+					effectiveDepth, usage);
+			queryAndMergeUsage(normalizedScopePath, QueryConditionOperators.LIKE, normalizedScopePath + "/%",
+					groupBy, effectiveDepth, usage);
+		} else {
+			queryAndMergeUsage(normalizedScopePath, QueryConditionOperators.LIKE, "/%", groupBy, effectiveDepth,
+					usage);
+		}
+
+		long totalDataSize = 0L;
+		long totalReplicaCount = 0L;
+		for (StorageUsageEntry entry : usage.values()) {
+			report.getEntries().add(entry);
+			totalDataSize += entry.getDataSize();
+			totalReplicaCount += entry.getReplicaCount();
+		}
+		report.setTotalDataSize(totalDataSize);
+		report.setTotalReplicaCount(totalReplicaCount);
+
+		log.info("report:{}", report);
+		return report;
+	}
+
+	/**
+	 * Run one grouped query, paging through the groups and merging each into the
+	 * usage map
+	 */
+	private void queryAndMergeUsage(final String scopePath, final QueryConditionOperators collectionOperator,
+			final String collectionValue, final StorageUsageGroupBy groupBy, final int collectionDepth,
+			final Map<String, StorageUsageEntry> usage) throws JargonException {
+
+		IRODSGenQueryExecutor irodsGenQueryExecutor = getIrodsAccessObjectFactory()
+				.getIRODSGenQueryExecutor(getIrodsAccount());
+		String zone = MiscIRODSUtils.getZoneInPath(scopePath);
+
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		IRODSQueryResultSet resultSet;
+
+		try {
+			builder.addSelectAsGenQueryValue(groupBy.getGroupByColumn())
+					.addSelectAsAgregateGenQueryValue(RodsGenQueryEnum.COL_DATA_SIZE, SelectFieldTypes.SUM)
+					.addSelectAsAgregateGenQueryValue(RodsGenQueryEnum.COL_D_DATA_ID, SelectFieldTypes.COUNT)
+					.addConditionAsGenQueryField(RodsGenQueryEnum.COL_COLL_NAME, collectionOperator,
+							collectionValue);
+
+			IRODSGenQueryFromBuilder irodsQuery = builder.exportIRODSQueryFromBuilder(
+					getIrodsAccessObjectFactory().getJargonProperties().getMaxFilesAndDirsQueryMax());
+			resultSet = irodsGenQueryExecutor.executeIRODSQueryInZone(irodsQuery, 0, zone);
+		} catch (GenQueryBuilderException | JargonQueryException e) {
+			log.error("query exception for storage usage query", e);
+			throw new JargonException("error in storage usage query", e);
+		}
+
+		try {
+			while (true) {
+				for (IRODSQueryResultRow row : resultSet.getResults()) {
+					String groupValue = row.getColumn(0);
+					if (collectionDepth > 0) {
+						groupValue = rollUpCollection(groupValue, collectionDepth);
+					}
+
+					StorageUsageEntry entry = usage.get(groupValue);
+					if (entry == null) {
+						entry = new StorageUsageEntry(groupValue, 0L, 0L);
+						usage.put(groupValue, entry);
+					}
+					entry.add(row.getColumnAsLongOrZero(1), row.getColumnAsLongOrZero(2));
+				}
+
+				if (!resultSet.isHasMoreRecords()) {
+					break;
+				}
+
+				log.debug("getting next page of storage usage");
+				resultSet = irodsGenQueryExecutor.getMoreResultsInZone(resultSet, zone);
+			}
+		} catch (JargonQueryException e) {
+			log.error("query exception for storage usage query", e);
+			throw new JargonException("error in storage usage query", e);
+		} finally {
+			if (resultSet.isHasMoreRecords()) {
+				try {
+					irodsGenQueryExecutor.closeResults(resultSet);
+				} catch (JargonException e) {
+					log.warn("error closing storage usage query, ignored", e);
+				}
+			}
+		}
+	}
+
+	@Override
+	public File saveSnapshot(final StorageUsageReport storageUsageReport, final File snapshotDirectory)
+			throws JargonException {
+
+		log.info("saveSnapshot()");
+
+		if (storageUsageReport == null) {
+			throw new IllegalArgumentException("null storageUsageReport");
+		}
+
+		if (storageUsageReport.getReportDate() == null || storageUsageReport.getGroupBy() == null) {
+			throw new IllegalArgumentException("storageUsageReport has no reportDate or groupBy");
+		}
+
+		if (snapshotDirectory == null) {
+			throw new IllegalArgumentException("null snapshotDirectory");
+		}
+
+		if (!snapshotDirectory.isDirectory() && !snapshotDirectory.mkdirs()) {
+			throw new JargonException("unable to create snapshot directory:" + snapshotDirectory);
+		}
+
+		SimpleDateFormat dateFormat = new SimpleDateFormat("yyyyMMdd'T'HHmmssSSS'Z'");
+		dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+		File snapshotFile = new File(snapshotDirectory,
+				SNAPSHOT_FILE_PREFIX + storageUsageReport.getGroupBy().name().toLowerCase() + "-"
+						+ dateFormat.format(storageUsageReport.getReportDate()) + SNAPSHOT_FILE_SUFFIX);
+		log.info("snapshotFile:{}", snapshotFile);
+
+		final ObjectMapper mapper = new ObjectMapper();
+		try {
+			mapper.writeValue(snapshotFile, storageUsageReport);
+		} catch (final IOException e) {
+			log.error("cannot write snapshot:{}", snapshotFile, e);
+			throw new JargonException("error writing storage usage snapshot", e);
+		}
+
+		return snapshotFile;
+	}
+
+	@Override
+	public List<StorageUsageReport> listSnapshots(final File snapshotDirectory, final String scopePath,
+			final StorageUsageGroupBy groupBy, final int collectionDepth) throws JargonException {
+
+		log.info("listSnapshots()");
+
+		if (snapshotDirectory == null) {
+			throw new IllegalArgumentException("null snapshotDirectory");
+		}
+
+		if (scopePath == null || scopePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty scopePath");
+		}
+
+		if (groupBy == null) {
+			throw new IllegalArgumentException("null groupBy");
+		}
+
+		List<StorageUsageReport> snapshots = new ArrayList<StorageUsageReport>();
+		File[] snapshotFiles = snapshotDirectory.listFiles();
+		if (snapshotFiles == null) {
+			log.info("no snapshot directory:{}", snapshotDirectory);
+			return snapshots;
+		}
+
+		String normalizedScopePath = normalizePath(scopePath);
+		int effectiveDepth = groupBy == StorageUsageGroupBy.COLLECTION ? collectionDepth : 0;
+		String namePrefix = SNAPSHOT_FILE_PREFIX + groupBy.name().toLowerCase() + "-";
+
+		final ObjectMapper mapper = new ObjectMapper();
+		for (File snapshotFile : snapshotFiles) {
+			if (!snapshotFile.isFile() || !snapshotFile.getName().startsWith(namePrefix)
+					|| !snapshotFile.getName().endsWith(SNAPSHOT_FILE_SUFFIX)) {
+				continue;
+			}
+
+			StorageUsageReport snapshot;
+			try {
+				snapshot = mapper.readValue(snapshotFile, StorageUsageReport.class);
+			} catch (final IOException e) {
+				log.error("cannot read snapshot:{}", snapshotFile, e);
+				throw new JargonException("error reading storage usage snapshot", e);
+			}
+
+			if (normalizedScopePath.equals(snapshot.getScopePath()) && snapshot.getGroupBy() == groupBy
+					&& snapshot.getCollectionDepth() == effectiveDepth && snapshot.getReportDate() != null) {
+				snapshots.add(snapshot);
+			}
+		}
+
+		Collections.sort(snapshots, new Comparator<StorageUsageReport>() {
+			@Override
+			public int compare(final StorageUsageReport o1, final StorageUsageReport o2) {
+				return o1.getReportDate().compareTo(o2.getReportDate());
+			}
+		});
+
+		log.info("found {} snapshots", snapshots.size());
+		return snapshots;
+	}
+
+	@Override
+	public StorageUsageDelta computeDelta(final StorageUsageReport earlier, final StorageUsageReport later) {
+
+		log.info("computeDelta()");
+
+		if (earlier == null) {
+			throw new IllegalArgumentException("null earlier");
+		}
+
+		if (later == null) {
+			throw new IllegalArgumentException("null later");
+		}
+
+		if (earlier.getGroupBy() != later.getGroupBy()
+				|| earlier.getCollectionDepth() != later.getCollectionDepth()) {
+			throw new IllegalArgumentException("reports are not grouped the same way");
+		}
+
+		if (earlier.getScopePath() == null || !earlier.getScopePath().equals(later.getScopePath())) {
+			throw new IllegalArgumentException("reports are not of the same path");
+		}
+
+		Map<String, StorageUsageEntry> before = mapEntries(earlier);
+		Map<String, StorageUsageEntry> after = mapEntries(later);
+		TreeSet<String> groupValues = new TreeSet<String>(before.keySet());
+		groupValues.addAll(after.keySet());
+
+		StorageUsageDelta delta = new StorageUsageDelta();
+		delta.setScopePath(later.getScopePath());
+		delta.setGroupBy(later.getGroupBy());
+		delta.setFromDate(earlier.getReportDate());
+		delta.setToDate(later.getReportDate());
+
+		long totalDataSizeChange = 0L;
+		long totalReplicaCountChange = 0L;
+		for (String groupValue : groupValues) {
+			StorageUsageDeltaEntry entry = new StorageUsageDeltaEntry(groupValue, before.get(groupValue),
+					after.get(groupValue));
+			delta.getEntries().add(entry);
+			totalDataSizeChange += entry.getDataSizeChange();
+			totalReplicaCountChange += entry.getReplicaCountChange();
+		}
+		delta.setTotalDataSizeChange(totalDataSizeChange);
+		delta.setTotalReplicaCountChange(totalReplicaCountChange);
+
+		return delta;
+	}
+
+	private static Map<String, StorageUsageEntry> mapEntries(final StorageUsageReport report) {
+		Map<String, StorageUsageEntry> entries = new TreeMap<String, StorageUsageEntry>();
+		for (StorageUsageEntry entry : report.getEntries()) {
+			entries.put(entry.getGroupValue(), entry);
+		}
+		return entries;
+	}
+
+	/**
+	 * Roll a collection up to the collection at the given depth, so
+	 * {@code /zone/home/project/run1} at depth 3 is {@code /zone/home/project}.
+	 * Collections at or above the depth are their own group.
+	 *
+	 * @param collectionName
+	 *            {@code String} with the absolute path of a collection
+	 * @param collectionDepth
+	 *            {@code int} with the count of path components to keep
+	 * @return {@code String} with the collection at the depth
+	 */
+	static String rollUpCollection(final String collectionName, final int collectionDepth) {
+		int components = 0;
+		for (int i = 1; i < collectionName.length(); i++) {
+			if (collectionName.charAt(i) == '/') {
+				components++;
+				if (components == collectionDepth) {
+					return collectionName.substring(0, i);
+				}
+			}
+		}
+		return collectionName;
+	}
+
+	private static String normalizePath(final String path) {
+		String normalized = path.trim();
+		while (normalized.length() > 1 && normalized.endsWith("/")) {
+			normalized = normalized.substring(0, normalized.length() - 1);
+		}
+		return normalized;
+	}
+
+}
@@ -0,0 +1,10 @@
+/**
+ * Reports of storage used in iRODS, grouped by owner, resource, replica status
+ * or collection, computed with aggregate GenQueries so data object rows are
+ * never brought to the client. Reports may be kept as dated snapshots on the
+ * local file system, and compared to find the change in usage between runs.
+ *
+ * @author Mike Conway - NIEHS
+ *
+ */
+package org.irods.jargon.datautils.usage;
@@ -17,6 +17,7 @@ import org.irods.jargon.datautils.tree.DiffTreePostProcessorTest;
 import org.irods.jargon.datautils.tree.FileTreeDiffEntryTest;
 import org.irods.jargon.datautils.tree.FileTreeDiffUtilityTest;
 import org.irods.jargon.datautils.tree.FileTreeNodeTest;
+import org.irods.jargon.datautils.usage.StorageUsageReportServiceImplTest;
 import org.irods.jargon.datautils.visitor.IrodsVisitedCompositeTest;
 import org.irods.jargon.datautils.visitor.IrodsVisitedLeafTest;
 import org.junit.runner.RunWith;
@@ -29,7 +30,8 @@ import org.junit.runners.Suite;
 		FileShoppingCartTest.class, ShoppingCartServiceImplTest.class, DiffTreePostProcessorTest.class,
 		LocalTarFileArchiverTest.class, LocalFileGzipCompressorTest.class, FileSamplerServiceImplTest.class,
 		ConnectionTesterImplTest.class, MetadataManifestProcessorImplTest.class, AvuAutocompleteServiceImplTest.class,
-		AbstractIndexerVisitorTest.class, IrodsVisitedLeafTest.class, IrodsVisitedCompositeTest.class })
+		AbstractIndexerVisitorTest.class, IrodsVisitedLeafTest.class, IrodsVisitedCompositeTest.class,
+		StorageUsageReportServiceImplTest.class })
 
 public class AllTests {
 
@@ -0,0 +1,163 @@
+package org.irods.jargon.datautils.usage;
+
+import java.io.File;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.pub.DataTransferOperations;
+import org.irods.jargon.core.pub.IRODSFileSystem;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.irods.jargon.testutils.TestingPropertiesHelper;
+import org.irods.jargon.testutils.filemanip.FileGenerator;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class StorageUsageReportServiceImplTest {
+
+	private static Properties testingProperties = new Properties();
+	private static org.irods.jargon.testutils.TestingPropertiesHelper testingPropertiesHelper = new TestingPropertiesHelper();
+	private static org.irods.jargon.testutils.filemanip.ScratchFileUtils scratchFileUtils = null;
+	public static final String IRODS_TEST_SUBDIR_PATH = "StorageUsageReportServiceImplTest";
+	private static org.irods.jargon.testutils.IRODSTestSetupUtilities irodsTestSetupUtilities = null;
+	private static IRODSFileSystem irodsFileSystem = null;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		org.irods.jargon.testutils.TestingPropertiesHelper testingPropertiesLoader = new TestingPropertiesHelper();
+		testingProperties = testingPropertiesLoader.getTestProperties();
+		scratchFileUtils = new org.irods.jargon.testutils.filemanip.ScratchFileUtils(testingProperties);
+		scratchFileUtils.clearAndReinitializeScratchDirectory(IRODS_TEST_SUBDIR_PATH);
+		irodsTestSetupUtilities = new org.irods.jargon.testutils.IRODSTestSetupUtilities();
+		irodsTestSetupUtilities.initializeIrodsScratchDirectory();
+		irodsTestSetupUtilities.initializeDirectoryForTest(IRODS_TEST_SUBDIR_PATH);
+		irodsFileSystem = IRODSFileSystem.instance();
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+		irodsFileSystem.closeAndEatExceptions();
+	}
+
+	@Test
+	public void testGenerateStorageUsageReportByOwner() throws Exception {
+		String testDirName = "testGenerateStorageUsageReportByOwner";
+		String testFileName = "testGenerateStorageUsageReportByOwner.dat";
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String localFileName = FileGenerator.generateFileOfFixedLengthGivenName(absPath, testFileName, 100);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		String targetIrodsCollection = testingPropertiesHelper.buildIRODSCollectionAbsolutePathFromTestProperties(
+				testingProperties, IRODS_TEST_SUBDIR_PATH + '/' + testDirName);
+		IRODSFile irodsFile = irodsFileSystem.getIRODSAccessObjectFactory().getIRODSFileFactory(irodsAccount)
+				.instanceIRODSFile(targetIrodsCollection + "/subdir");
+		irodsFile.mkdirs();
+
+		DataTransferOperations dto = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getDataTransferOperations(irodsAccount);
+		dto.putOperation(localFileName, targetIrodsCollection + "/subdir",
+				irodsAccount.getDefaultStorageResource(), null, null);
+		dto.putOperation(localFileName, targetIrodsCollection, irodsAccount.getDefaultStorageResource(), null,
+				null);
+
+		StorageUsageReportService service = new StorageUsageReportServiceImpl(
+				irodsFileSystem.getIRODSAccessObjectFactory(), irodsAccount);
+		StorageUsageReport report = service.generateStorageUsageReport(targetIrodsCollection,
+				StorageUsageGroupBy.OWNER, 0);
+
+		Assert.assertEquals("should be one owner", 1, report.getEntries().size());
+		StorageUsageEntry entry = report.getEntries().get(0);
+		Assert.assertEquals(irodsAccount.getUserName(), entry.getGroupValue());
+		Assert.assertEquals(200L, entry.getDataSize());
+		Assert.assertEquals(2L, entry.getReplicaCount());
+		Assert.assertEquals(200L, report.getTotalDataSize());
+
+		report = service.generateStorageUsageReport(targetIrodsCollection, StorageUsageGroupBy.COLLECTION,
+				targetIrodsCollection.split("/").length - 1);
+		Assert.assertEquals("subdir should be rolled up", 1, report.getEntries().size());
+		Assert.assertEquals(targetIrodsCollection, report.getEntries().get(0).getGroupValue());
+		Assert.assertEquals(2L, report.getEntries().get(0).getReplicaCount());
+	}
+
+	@Test
+	public void testSaveAndListSnapshots() throws Exception {
+		String absPath = scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH + "/testSaveAndListSnapshots");
+		File snapshotDirectory = new File(absPath);
+
+		StorageUsageReport first = buildReport("/zone/home", StorageUsageGroupBy.RESOURCE, new Date(1000L));
+		first.getEntries().add(new StorageUsageEntry("demoResc", 100L, 1L));
+		StorageUsageReport second = buildReport("/zone/home/", StorageUsageGroupBy.RESOURCE, new Date(2000L));
+		second.setScopePath("/zone/home");
+		second.getEntries().add(new StorageUsageEntry("demoResc", 300L, 2L));
+		StorageUsageReport otherGrouping = buildReport("/zone/home", StorageUsageGroupBy.OWNER, new Date(3000L));
+
+		StorageUsageReportService service = new StorageUsageReportServiceImpl();
+		service.saveSnapshot(second, snapshotDirectory);
+		service.saveSnapshot(first, snapshotDirectory);
+		File saved = service.saveSnapshot(otherGrouping, snapshotDirectory);
+		Assert.assertTrue("snapshot not written", saved.exists());
+
+		List<StorageUsageReport> snapshots = service.listSnapshots(snapshotDirectory, "/zone/home/",
+				StorageUsageGroupBy.RESOURCE, 0);
+		Assert.assertEquals(2, snapshots.size());
+		Assert.assertEquals("oldest should be first", 1000L, snapshots.get(0).getReportDate().getTime());
+		Assert.assertEquals(300L, snapshots.get(1).getEntries().get(0).getDataSize());
+
+		Assert.assertTrue("missing directory should have no snapshots",
+				service.listSnapshots(new File(snapshotDirectory, "missing"), "/zone/home",
+						StorageUsageGroupBy.RESOURCE, 0).isEmpty());
+	}
+
+	@Test
+	public void testComputeDelta() throws Exception {
+		StorageUsageReport earlier = buildReport("/zone", StorageUsageGroupBy.OWNER, new Date(1000L));
+		earlier.getEntries().add(new StorageUsageEntry("alice", 100L, 1L));
+		earlier.getEntries().add(new StorageUsageEntry("bob", 50L, 5L));
+		StorageUsageReport later = buildReport("/zone", StorageUsageGroupBy.OWNER, new Date(2000L));
+		later.getEntries().add(new StorageUsageEntry("alice", 300L, 2L));
+		later.getEntries().add(new StorageUsageEntry("carol", 10L, 1L));
+
+		StorageUsageReportService service = new StorageUsageReportServiceImpl();
+		StorageUsageDelta delta = service.computeDelta(earlier, later);
+
+		Assert.assertEquals(3, delta.getEntries().size());
+		Assert.assertEquals("alice", delta.getEntries().get(0).getGroupValue());
+		Assert.assertEquals(200L, delta.getEntries().get(0).getDataSizeChange());
+		Assert.assertEquals(-50L, delta.getEntries().get(1).getDataSizeChange());
+		Assert.assertEquals(-5L, delta.getEntries().get(1).getReplicaCountChange());
+		Assert.assertEquals(10L, delta.getEntries().get(2).getDataSizeChange());
+		Assert.assertEquals(160L, delta.getTotalDataSizeChange());
+		Assert.assertEquals(-3L, delta.getTotalReplicaCountChange());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testComputeDeltaDifferentGrouping() throws Exception {
+		StorageUsageReportService service = new StorageUsageReportServiceImpl();
+		service.computeDelta(buildReport("/zone", StorageUsageGroupBy.OWNER, new Date()),
+				buildReport("/zone", StorageUsageGroupBy.RESOURCE, new Date()));
+	}
+
+	@Test
+	public void testRollUpCollection() throws Exception {
+		Assert.assertEquals("/zone/home/project",
+				StorageUsageReportServiceImpl.rollUpCollection("/zone/home/project/run1/raw", 3));
+		Assert.assertEquals("/zone/home/project",
+				StorageUsageReportServiceImpl.rollUpCollection("/zone/home/project", 3));
+		Assert.assertEquals("/zone/home", StorageUsageReportServiceImpl.rollUpCollection("/zone/home", 3));
+		Assert.assertEquals("/zone", StorageUsageReportServiceImpl.rollUpCollection("/zone/home/project", 1));
+	}
+
+	private StorageUsageReport buildReport(final String scopePath, final StorageUsageGroupBy groupBy,
+			final Date reportDate) {
+		StorageUsageReport report = new StorageUsageReport();
+		report.setScopePath(scopePath);
+		report.setGroupBy(groupBy);
+		report.setReportDate(reportDate);
+		return report;
+	}
+
+}